@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks matching the optional include regex (the first argument) with the {@link GCProfiler} enabled, so
+ * both ops/s and the allocation rate (gc.alloc.rate.norm) are reported for every parser. When a second argument is
+ * present the results are also written to that file in JSON form.
+ * <pre>
+ * mvn -P benchmarks test-compile exec:exec
+ * mvn -P benchmarks test-compile exec:exec -Dbenchmarks.include=HeaderParseBenchmark
+ * </pre>
+ */
+public final class Benchmarks {
+
+    public static void main(final String[] args) throws RunnerException {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(
+                args.length > 0 ?
+                    args[0] :
+                    ".*"
+            ).addProfiler(GCProfiler.class)
+            .shouldFailOnError(true);
+
+        if (args.length > 1) {
+            options.result(args[1])
+                .resultFormat(ResultFormatType.JSON);
+        }
+
+        new Runner(
+            options.build()
+        ).run();
+    }
+
+    /**
+     * Stop creation
+     */
+    private Benchmarks() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.header.Accept;
+import walkingkooka.net.header.AcceptEncoding;
+import walkingkooka.net.header.AcceptLanguage;
+import walkingkooka.net.header.CacheControl;
+import walkingkooka.net.header.ClientCookie;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
+import walkingkooka.text.CaseSensitivity;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HttpHeaderName#parseValue(String)} for headers sent by browsers on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderParseBenchmark {
+
+    private final HttpHeaderNameParseCache parseCache = HttpHeaderNameParseCache.with(
+        Sets.of(
+            HttpHeaderName.ACCEPT,
+            HttpHeaderName.ACCEPT_LANGUAGE
+        ),
+        1000
+    );
+
+    @Benchmark
+    public Accept accept() {
+        return HttpHeaderName.ACCEPT.parseValue(BenchmarkCorpora.ACCEPT);
+    }
+
+    @Benchmark
+    public Accept acceptParseCache() {
+        return this.parseCache.parseValue(
+            HttpHeaderName.ACCEPT,
+            BenchmarkCorpora.ACCEPT
+        );
+    }
+
+    @Benchmark
+    public AcceptEncoding acceptEncoding() {
+        return HttpHeaderName.ACCEPT_ENCODING.parseValue(BenchmarkCorpora.ACCEPT_ENCODING);
+    }
+
+    @Benchmark
+    public AcceptLanguage acceptLanguage() {
+        return HttpHeaderName.ACCEPT_LANGUAGE.parseValue(BenchmarkCorpora.ACCEPT_LANGUAGE);
+    }
+
+    @Benchmark
+    public AcceptLanguage acceptLanguageParseCache() {
+        return this.parseCache.parseValue(
+            HttpHeaderName.ACCEPT_LANGUAGE,
+            BenchmarkCorpora.ACCEPT_LANGUAGE
+        );
+    }
+
+    @Benchmark
+    public CacheControl cacheControl() {
+        return HttpHeaderName.CACHE_CONTROL.parseValue(BenchmarkCorpora.CACHE_CONTROL);
+    }
+
+    @Benchmark
+    public List<ClientCookie> cookie() {
+        return HttpHeaderName.COOKIE.parseValue(BenchmarkCorpora.COOKIE);
+    }
+
+    @Benchmark
+    public HttpHeaderName<?> headerNameConstant() {
+        return HttpHeaderName.with("accept-language");
+    }
+
+    @Benchmark
+    public Optional<HttpHeaderName<?>> headerNameConstantBytes() {
+        return HttpHeaderName.constant(
+            ACCEPT_LANGUAGE_BYTES,
+            0,
+            ACCEPT_LANGUAGE_BYTES.length
+        );
+    }
+
+    private final static byte[] ACCEPT_LANGUAGE_BYTES = "accept-language".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The previous lookup, a case insensitive sorted map of all constants, kept for comparison.
+     */
+    @Benchmark
+    public HttpHeaderName<?> headerNameConstantSortedMap() {
+        return SORTED_CONSTANTS.get("accept-language");
+    }
+
+    private final static Map<String, HttpHeaderName<?>> SORTED_CONSTANTS = sortedConstants();
+
+    private static Map<String, HttpHeaderName<?>> sortedConstants() {
+        final Map<String, HttpHeaderName<?>> constants = Maps.sorted(
+            CaseSensitivity.INSENSITIVE.comparator()
+        );
+
+        for (final Field field : HttpHeaderName.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && HttpHeaderName.class == field.getType()) {
+                try {
+                    final HttpHeaderName<?> constant = (HttpHeaderName<?>) field.get(null);
+                    constants.put(
+                        constant.value(),
+                        constant
+                    );
+                } catch (final IllegalAccessException cause) {
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+
+        return constants;
+    }
+
+    @Benchmark
+    public HttpHeaderName<?> headerNameUnknown() {
+        return HttpHeaderName.with("X-Request-Id");
+    }
+}
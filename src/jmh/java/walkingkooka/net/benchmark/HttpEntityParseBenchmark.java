@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.Binary;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpEntityMultipartReader;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.net.http.server.HttpRequest;
+import walkingkooka.net.http.server.HttpRequests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of http entities, multipart bodies either copied or streamed, and whole requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpEntityParseBenchmark {
+
+    private Binary json;
+
+    private Binary multipart;
+
+    private HttpEntity multipartEntity;
+
+    @Setup
+    public void setup() {
+        this.json = Binary.with(BenchmarkCorpora.JSON_ENTITY);
+        this.multipart = Binary.with(BenchmarkCorpora.MULTIPART_ENTITY);
+        this.multipartEntity = HttpEntity.parse(this.multipart);
+    }
+
+    @Benchmark
+    public HttpEntity json() {
+        return HttpEntity.parse(this.json);
+    }
+
+    @Benchmark
+    public HttpEntity multipart() {
+        return HttpEntity.parse(this.multipart);
+    }
+
+    @Benchmark
+    public List<HttpEntity> multiparts() {
+        return this.multipartEntity.multiparts();
+    }
+
+    @Benchmark
+    public long multipartReader() throws IOException {
+        long total = 0;
+
+        final HttpEntityMultipartReader reader = this.multipartEntity.multipartReader(
+            16,
+            1024
+        );
+        final byte[] buffer = new byte[8 * 1024];
+
+        for (; ; ) {
+            final Optional<HttpEntity> part = reader.next();
+            if (false == part.isPresent()) {
+                break;
+            }
+
+            final InputStream body = part.get()
+                .bodyInputStream();
+            for (; ; ) {
+                final int read = body.read(buffer);
+                if (-1 == read) {
+                    break;
+                }
+                total += read;
+            }
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public HttpRequest request() {
+        return HttpRequests.parse(
+            HttpTransport.UNSECURED,
+            BenchmarkCorpora.GET_REQUEST
+        );
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.net.header.MediaTypeBoundary;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a multipart boundary for large response bodies, either searching the body for collisions or
+ * simply trusting a random boundary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeBoundaryBenchmark {
+
+    /**
+     * 1MB and 100MB bodies.
+     */
+    @Param({"1048576", "104857600"})
+    public int bodySize;
+
+    private byte[] body;
+
+    private Random random;
+
+    @Setup
+    public void setup() {
+        this.random = new Random(1);
+
+        this.body = new byte[this.bodySize];
+        this.random.nextBytes(this.body);
+    }
+
+    @Benchmark
+    public MediaTypeBoundary generate() {
+        return MediaTypeBoundary.generate(
+            this.body,
+            this::nextByte
+        );
+    }
+
+    @Benchmark
+    public MediaTypeBoundary random() {
+        return MediaTypeBoundary.random(this::nextByte);
+    }
+
+    private Byte nextByte() {
+        return (byte) this.random.nextInt();
+    }
+}
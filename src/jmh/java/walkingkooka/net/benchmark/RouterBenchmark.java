@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.net.http.server.HttpRequest;
+import walkingkooka.net.http.server.HttpRequestAttribute;
+import walkingkooka.net.http.server.HttpRequestAttributeRouterBuilder;
+import walkingkooka.net.http.server.HttpRequestAttributeRouting;
+import walkingkooka.net.http.server.HttpRequests;
+import walkingkooka.route.RouteMappings;
+import walkingkooka.route.Router;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares routing a request through {@link RouteMappings}, which tests every routing, against the trie compiled by
+ * {@link HttpRequestAttributeRouterBuilder}. The request matches the last route added, the worst case for a linear
+ * search, and a fresh {@link HttpRequest#routerParameters()} is created each time as {@link walkingkooka.net.http.server.HttpHandlers#router}
+ * would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int routes;
+
+    private Router<HttpRequestAttribute<?>, Integer> linear;
+
+    private Router<HttpRequestAttribute<?>, Integer> compiled;
+
+    private HttpRequest request;
+
+    @Setup
+    public void setup() {
+        RouteMappings<HttpRequestAttribute<?>, Integer> mappings = RouteMappings.empty();
+        HttpRequestAttributeRouterBuilder<Integer> builder = HttpRequestAttributeRouterBuilder.empty();
+
+        for (int i = 0; i < this.routes; i++) {
+            final HttpRequestAttributeRouting routing = HttpRequestAttributeRouting.empty()
+                .method(
+                    0 == i % 4 ?
+                        HttpMethod.POST :
+                        HttpMethod.GET
+                ).path(UrlPath.parse("/api/v1/resource" + i + "/*/items"));
+
+            mappings = mappings.add(
+                routing.build(),
+                i
+            );
+            builder = builder.add(
+                routing,
+                i
+            );
+        }
+
+        this.linear = mappings.router();
+        this.compiled = builder.build();
+
+        final int last = this.routes - 1;
+        this.request = HttpRequests.parse(
+            HttpTransport.UNSECURED,
+            (0 == last % 4 ? "POST" : "GET") + " /api/v1/resource" + last + "/12345/items?page=2 HTTP/1.1\r\n" +
+                "Host: " + BenchmarkCorpora.HOST_NAME + "\r\n" +
+                "Accept-Encoding: " + BenchmarkCorpora.ACCEPT_ENCODING + "\r\n" +
+                "\r\n"
+        );
+    }
+
+    @Benchmark
+    public Optional<Integer> linear() {
+        return this.linear.route(
+            this.request.routerParameters()
+        );
+    }
+
+    @Benchmark
+    public Optional<Integer> compiled() {
+        return this.compiled.route(
+            this.request.routerParameters()
+        );
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.net.AbsoluteUrl;
+import walkingkooka.net.HostAddress;
+import walkingkooka.net.IpPort;
+import walkingkooka.net.RelativeUrl;
+import walkingkooka.net.Url;
+import walkingkooka.net.UrlCredentials;
+import walkingkooka.net.UrlFragment;
+import walkingkooka.net.UrlParameterName;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.UrlPathSegments;
+import walkingkooka.net.UrlQueryString;
+import walkingkooka.net.UrlScheme;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of absolute and relative urls along with {@link HostAddress} validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlParseBenchmark {
+
+    @Benchmark
+    public AbsoluteUrl absoluteCdnUrl() {
+        return Url.parseAbsolute(BenchmarkCorpora.CDN_URL);
+    }
+
+    @Benchmark
+    public AbsoluteUrl absoluteCredentialsPortUrl() {
+        return Url.parseAbsolute(BenchmarkCorpora.CREDENTIALS_PORT_URL);
+    }
+
+    /**
+     * The previous parser which extracted components from a {@link URL}, kept for comparison.
+     */
+    @Benchmark
+    public AbsoluteUrl absoluteCdnUrlJavaNetUrl() throws MalformedURLException {
+        return javaNetUrl(BenchmarkCorpora.CDN_URL);
+    }
+
+    @Benchmark
+    public AbsoluteUrl absoluteCredentialsPortUrlJavaNetUrl() throws MalformedURLException {
+        return javaNetUrl(BenchmarkCorpora.CREDENTIALS_PORT_URL);
+    }
+
+    private static AbsoluteUrl javaNetUrl(final String text) throws MalformedURLException {
+        final URL url = new URL(text);
+
+        final String userInfo = url.getUserInfo();
+        final int separator = null != userInfo ?
+            userInfo.indexOf(':') :
+            -1;
+        final int port = url.getPort();
+        final String query = url.getQuery();
+        final String fragment = url.getRef();
+
+        return Url.absolute(
+            UrlScheme.with(url.getProtocol()),
+            -1 != separator ?
+                Optional.of(
+                    UrlCredentials.with(
+                        userInfo.substring(0, separator),
+                        userInfo.substring(separator + 1)
+                    )
+                ) :
+                AbsoluteUrl.NO_CREDENTIALS,
+            HostAddress.with(url.getHost()),
+            -1 != port ?
+                Optional.of(IpPort.with(port)) :
+                AbsoluteUrl.NO_PORT,
+            UrlPath.parse(url.getPath()),
+            UrlQueryString.parse(null != query ? query : ""),
+            UrlFragment.parse(null != fragment ? fragment : "")
+        );
+    }
+
+    @Benchmark
+    public RelativeUrl relativeUrl() {
+        return Url.parseRelative("/assets/v2/app.js?v=1234&utm_source=newsletter#top");
+    }
+
+    /**
+     * Parses the CDN query string and reads a single parameter, leaving the others undecoded.
+     */
+    @Benchmark
+    public Optional<String> queryStringParameter() {
+        return UrlQueryString.parse(CDN_QUERY)
+            .parameter(UTM_CAMPAIGN);
+    }
+
+    /**
+     * Parses the CDN query string and creates the {@link java.util.Map} of all parameters.
+     */
+    @Benchmark
+    public Map<UrlParameterName, List<String>> queryStringParameters() {
+        return UrlQueryString.parse(CDN_QUERY)
+            .parameters();
+    }
+
+    private final static String CDN_QUERY = BenchmarkCorpora.CDN_URL.substring(
+        BenchmarkCorpora.CDN_URL.indexOf('?') + 1,
+        BenchmarkCorpora.CDN_URL.indexOf('#')
+    );
+
+    private final static UrlParameterName UTM_CAMPAIGN = UrlParameterName.with("utm_campaign");
+
+    @Benchmark
+    public UrlFragment fragment() {
+        return UrlFragment.parse("section%201/caf%C3%A9+notes");
+    }
+
+    @Benchmark
+    public String pathToString() {
+        return PATH.toString();
+    }
+
+    private final static UrlPath PATH = UrlPath.parse("/assets/v2/images/caf%C3%A9%20menu/large.jpg");
+
+    @Benchmark
+    public UrlPath pathNormalize() {
+        return REST_PATH.normalize();
+    }
+
+    @Benchmark
+    public UrlPathSegments pathNormalizedSegments() {
+        return REST_PATH.normalizedSegments();
+    }
+
+    private final static UrlPath REST_PATH = UrlPath.parse("/api/v1/organisations/42/projects/./7/../17/repositories/abc/branches/main/commits");
+
+    @Benchmark
+    public HostAddress hostName() {
+        return HostAddress.with(BenchmarkCorpora.HOST_NAME);
+    }
+
+    @Benchmark
+    public HostAddress ip4() {
+        return HostAddress.with(BenchmarkCorpora.IP4);
+    }
+
+    @Benchmark
+    public HostAddress ip6() {
+        return HostAddress.with(BenchmarkCorpora.IP6);
+    }
+}
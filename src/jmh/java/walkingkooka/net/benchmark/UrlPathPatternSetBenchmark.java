@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.UrlPathPatternMatch;
+import walkingkooka.net.UrlPathPatternSet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares testing every {@link UrlPath#predicate()} of many ACL and cache rule like patterns against a single
+ * {@link UrlPathPatternSet}. Most patterns share a few leading names, and the path matches several patterns including
+ * one with a single star.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlPathPatternSetBenchmark {
+
+    @Param({"1000", "10000"})
+    public int patterns;
+
+    private List<UrlPath> patternList;
+
+    private List<Predicate<UrlPath>> predicates;
+
+    private UrlPathPatternSet patternSet;
+
+    private UrlPath path;
+
+    @Setup
+    public void setup() {
+        final List<UrlPath> patterns = Lists.array();
+        final List<Predicate<UrlPath>> predicates = Lists.array();
+
+        for (int i = 0; i < this.patterns; i++) {
+            final UrlPath pattern;
+            switch (i % 4) {
+                case 0:
+                    pattern = UrlPath.parse("/api/v" + (i % 3) + "/tenant" + i + "/*/items");
+                    break;
+                case 1:
+                    pattern = UrlPath.parse("/static/tenant" + i + "/**");
+                    break;
+                case 2:
+                    pattern = UrlPath.parse("/api/v" + (i % 3) + "/*/orders" + i);
+                    break;
+                default:
+                    pattern = UrlPath.parse("/assets/v2/images/products/" + i + "/*");
+                    break;
+            }
+            patterns.add(pattern);
+            predicates.add(pattern.predicate());
+        }
+
+        patterns.add(UrlPath.parse("/api/**"));
+        predicates.add(UrlPath.parse("/api/**").predicate());
+
+        this.patternList = patterns;
+        this.predicates = predicates;
+        this.patternSet = UrlPath.patternSet(patterns);
+
+        // matches the last case 0 pattern and /api/**
+        final int last = (this.patterns - 1) / 4 * 4;
+        this.path = UrlPath.parse("/api/v" + (last % 3) + "/tenant" + last + "/12345/items");
+    }
+
+    @Benchmark
+    public List<UrlPath> predicates() {
+        final List<UrlPath> matches = Lists.array();
+
+        final UrlPath path = this.path;
+        final List<UrlPath> patterns = this.patternList;
+        final List<Predicate<UrlPath>> predicates = this.predicates;
+        final int count = predicates.size();
+
+        for (int i = 0; i < count; i++) {
+            if (predicates.get(i).test(path)) {
+                matches.add(patterns.get(i));
+            }
+        }
+
+        return matches;
+    }
+
+    @Benchmark
+    public List<UrlPathPatternMatch> patternSet() {
+        return this.patternSet.matches(this.path);
+    }
+}
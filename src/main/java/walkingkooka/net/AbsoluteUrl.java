@@ -18,10 +18,10 @@
 package walkingkooka.net;
 
 import walkingkooka.compare.Comparators;
-import walkingkooka.text.CharSequences;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -48,64 +48,250 @@ public final class AbsoluteUrl extends AbsoluteOrRelativeUrl implements HasHostA
     }
 
     /**
-     * Parses a {@link String url} into a {@link AbsoluteUrl}
+     * Parses a {@link String url} into a {@link AbsoluteUrl}.
+     * <br>
+     * A single pass records the offsets of each component, following the rules of {@link URL#URL(String)} such as
+     * ignoring surrounding whitespace and producing the same error messages, without consulting protocol handlers, so
+     * any scheme is accepted. The components are then created from those offsets.
      */
     static AbsoluteUrl parseAbsolute0(final String url) {
         Objects.requireNonNull(url, "url");
 
-        try {
-            return extractUrlComponents(
-                new URL(url)
-            );
-        } catch (final MalformedURLException cause) {
-            throw new IllegalArgumentException(cause.getMessage(), cause);
+        int start = 0;
+        int limit = url.length();
+
+        while (limit > 0 && url.charAt(limit - 1) <= ' ') {
+            limit--;
+        }
+        while (start < limit && url.charAt(start) <= ' ') {
+            start++;
+        }
+        if (url.regionMatches(true, start, URL_PREFIX, 0, URL_PREFIX.length())) {
+            start += URL_PREFIX.length();
+        }
+
+        // scheme
+        final int schemeStart = start;
+        final int schemeEnd = schemeEnd(
+            url,
+            start,
+            limit
+        );
+        if (-1 == schemeEnd) {
+            throw new IllegalArgumentException("no protocol: " + url);
+        }
+        start = schemeEnd + 1;
+
+        // fragment
+        final int fragmentEnd = limit;
+        int fragmentStart = url.indexOf('#', start);
+        if (-1 != fragmentStart) {
+            limit = fragmentStart;
+            fragmentStart++;
+        }
+
+        // query
+        final int queryEnd = limit;
+        int queryStart = url.indexOf('?', start);
+        if (-1 != queryStart && queryStart < limit) {
+            limit = queryStart;
+            queryStart++;
+        } else {
+            queryStart = -1;
+        }
+
+        // authority
+        int authorityStart = start;
+        int authorityEnd = start;
+        if (start <= limit - 2 && '/' == url.charAt(start) && '/' == url.charAt(start + 1)) {
+            authorityStart = start + 2;
+            authorityEnd = url.indexOf('/', authorityStart);
+            if (authorityEnd < 0 || authorityEnd > limit) {
+                authorityEnd = limit;
+            }
+            start = authorityEnd;
+        }
+
+        // credentials
+        int credentialsEnd = -1;
+        int hostStart = authorityStart;
+        int hostEnd = authorityEnd;
+
+        final int at = url.indexOf('@', authorityStart);
+        if (-1 != at && at < authorityEnd) {
+            if (at != url.lastIndexOf('@', authorityEnd - 1)) {
+                // more than one @, treat as missing host
+                hostStart = authorityStart;
+                hostEnd = authorityStart;
+            } else {
+                credentialsEnd = at;
+                hostStart = at + 1;
+            }
+        }
+
+        // host & port
+        int port = -1;
+        if (hostStart < hostEnd) {
+            if ('[' == url.charAt(hostStart)) {
+                final int close = url.indexOf(']', hostStart);
+                if (close - hostStart <= 2 || close >= hostEnd) {
+                    throw invalidAuthority(url, authorityStart, authorityEnd);
+                }
+                final int afterClose = close + 1;
+                if (afterClose < hostEnd) {
+                    if (':' != url.charAt(afterClose)) {
+                        throw invalidAuthority(url, authorityStart, authorityEnd);
+                    }
+                    if (afterClose + 1 < hostEnd) {
+                        port = port(url, afterClose + 1, hostEnd);
+                    }
+                }
+                hostEnd = afterClose;
+            } else {
+                final int colon = url.indexOf(':', hostStart);
+                if (-1 != colon && colon < hostEnd) {
+                    if (colon + 1 < hostEnd) {
+                        port = port(url, colon + 1, hostEnd);
+                    }
+                    hostEnd = colon;
+                }
+            }
         }
-    }
 
-    private static AbsoluteUrl extractUrlComponents(final URL url) {
         return AbsoluteUrl.with(
-            UrlScheme.with(url.getProtocol()),
-            credentials(url),
+            UrlScheme.with(
+                url.substring(schemeStart, schemeEnd)
+                    .toLowerCase(Locale.ROOT)
+            ),
+            credentialsEnd > authorityStart ?
+                credentials(
+                    url,
+                    authorityStart,
+                    credentialsEnd
+                ) :
+                NO_CREDENTIALS,
             HostAddress.with(
-                checkHost(url)
+                checkHost(url, hostStart, hostEnd)
+            ),
+            -1 != port ?
+                Optional.of(IpPort.with(port)) :
+                NO_PORT,
+            UrlPath.parse(
+                substring(url, start, limit)
             ),
-            ipPort(url),
-            UrlPath.parse(url.getPath()),
-            UrlQueryString.parse(nullToEmpty(url.getQuery())),
-            UrlFragment.parse(nullToEmpty(url.getRef()))
+            UrlQueryString.parse(
+                -1 != queryStart ?
+                    substring(url, queryStart, queryEnd) :
+                    ""
+            ),
+            UrlFragment.parse(
+                -1 != fragmentStart ?
+                    substring(url, fragmentStart, fragmentEnd) :
+                    ""
+            )
         );
     }
 
-    private static String checkHost(final URL url) {
-        final String host = url.getHost();
-        if (CharSequences.isNullOrEmpty(host)) {
-            throw new IllegalArgumentException("Missing host name");
+    /**
+     * {@link URL} ignores this prefix.
+     */
+    private final static String URL_PREFIX = "url:";
+
+    /**
+     * Returns the index of the colon following a valid scheme, or -1 if the scheme is missing or invalid.
+     */
+    private static int schemeEnd(final String url,
+                                 final int start,
+                                 final int limit) {
+        int end = -1;
+
+        if (start < limit && '#' != url.charAt(start)) {
+            for (int i = start; i < limit; i++) {
+                final char c = url.charAt(i);
+                if ('/' == c) {
+                    break;
+                }
+                if (':' == c) {
+                    if (isScheme(url, start, i)) {
+                        end = i;
+                    }
+                    break;
+                }
+            }
         }
-        return host;
+
+        return end;
     }
 
-    private static Optional<UrlCredentials> credentials(final URL url) {
-        final String userInfo = url.getUserInfo();
-        return CharSequences.isNullOrEmpty(userInfo) ?
-            NO_CREDENTIALS :
-            credentials0(userInfo);
+    private static boolean isScheme(final String url,
+                                    final int start,
+                                    final int end) {
+        boolean valid = end > start && Character.isLetter(url.charAt(start));
+
+        for (int i = start + 1; valid && i < end; i++) {
+            final char c = url.charAt(i);
+            valid = Character.isLetterOrDigit(c) || '.' == c || '+' == c || '-' == c;
+        }
+
+        return valid;
+    }
+
+    private static IllegalArgumentException invalidAuthority(final String url,
+                                                             final int start,
+                                                             final int end) {
+        return new IllegalArgumentException("Invalid authority field: " + url.substring(start, end));
     }
 
-    private static Optional<UrlCredentials> credentials0(final String userInfo) {
-        final int separator = userInfo.indexOf(":");
-        if (-1 == separator) {
+    private static int port(final String url,
+                            final int start,
+                            final int end) {
+        final int port;
+        try {
+            port = Integer.parseInt(
+                url.substring(
+                    start,
+                    end
+                )
+            );
+        } catch (final NumberFormatException cause) {
+            throw new IllegalArgumentException(cause.getMessage(), cause);
+        }
+        if (port < -1) {
+            throw new IllegalArgumentException("Invalid port number :" + port);
+        }
+        return port;
+    }
+
+    private static String checkHost(final String url,
+                                    final int start,
+                                    final int end) {
+        if (start == end) {
+            throw new IllegalArgumentException("Missing host name");
+        }
+        return url.substring(start, end);
+    }
+
+    private static Optional<UrlCredentials> credentials(final String url,
+                                                        final int start,
+                                                        final int end) {
+        final int separator = url.indexOf(':', start);
+        if (-1 == separator || separator >= end) {
             throw new IllegalArgumentException("Invalid user credentials");
         }
-        return Optional.of(UrlCredentials.with(
-            userInfo.substring(0, separator),
-            userInfo.substring(separator + 1)));
+        return Optional.of(
+            UrlCredentials.with(
+                url.substring(start, separator),
+                url.substring(separator + 1, end)
+            )
+        );
     }
 
-    private static Optional<IpPort> ipPort(final URL url) {
-        final int value = url.getPort();
-        return -1 != value ?
-            Optional.of(IpPort.with(value)) :
-            NO_PORT;
+    private static String substring(final String url,
+                                    final int start,
+                                    final int end) {
+        return start == end ?
+            "" :
+            url.substring(start, end);
     }
 
     /**
@@ -24,8 +24,6 @@ import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.CharacterConstant;
 
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Objects;
@@ -115,7 +113,7 @@ public final class DataUrl extends Url {
         switch (encoding) {
             case "":
                 base64 = false;
-                binary = URLDecoder.decode(encodedData)
+                binary = UrlPercentCodec.DATA.decode(encodedData)
                     .getBytes(StandardCharsets.UTF_8);
                 break;
             case "base64":
@@ -218,7 +216,7 @@ public final class DataUrl extends Url {
         } else {
             b.append(',')
                 .append(
-                    URLEncoder.encode(
+                    UrlPercentCodec.DATA.encode(
                         new String(
                             binary,
                             StandardCharsets.UTF_8
@@ -22,9 +22,6 @@ import walkingkooka.CanBeEmpty;
 import walkingkooka.HasValue;
 import walkingkooka.text.HasText;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.util.Objects;
 
 /**
@@ -52,16 +49,9 @@ public final class UrlFragment implements HasValue<String>,
      * Parses the given text typically from a URL into a {@link UrlFragment}.
      */
     public static UrlFragment parse(final String value) throws NullPointerException, IllegalArgumentException {
-        try {
-            return with(
-                URLDecoder.decode(
-                    value.replace("+", ENCODED_PLUS_SIGN),
-                    UTF8
-                )
-            );
-        } catch (final UnsupportedEncodingException cause) {
-            throw new Error(cause);
-        }
+        return with(
+            UrlPercentCodec.FRAGMENT.decode(value)
+        );
     }
 
     /**
@@ -167,80 +157,9 @@ public final class UrlFragment implements HasValue<String>,
 
     @Override
     public String toString() {
-        return encode(this.value)
-            .replace(ENCODED_SPACE, "%20")
-            //
-            .replace(ENCODED_PLUS_SIGN, "+")
-            //
-            .replace(ENCODED_EXCLAIMATION, "!")
-            .replace(ENCODED_DOLLAR_SIGN, "$")
-            .replace(ENCODED_AMPERSAND, "&")
-            .replace(ENCODED_SINGLE_QUOTE, "'")
-            .replace(ENCODED_OPEN_PARENS, "(")
-            .replace(ENCODED_CLOSE_PARENS, ")")
-            .replace(ENCODED_STAR, "*")
-            .replace(ENCODED_COMMA, ",")
-            .replace(ENCODED_SEMI_COLON, ";")
-            .replace(ENCODED_EQUALS_SIGN, "=")
-            //
-            .replace(ENCODED_COLON, ":")
-            //
-            .replace(ENCODED_AT_SIGN, "@")
-            .replace(ENCODED_SLASH, "/")
-            //
-            .replace(ENCODED_QUESTION_MARK, "?")
-            //
-            .replace(ENCODED_BRACKET_OPEN, "[")
-            .replace(ENCODED_BRACKET_CLOSE, "]");
+        return UrlPercentCodec.FRAGMENT.encode(this.value);
     }
 
-    // The scheme- or implementation-specific reserved character + may be used in the scheme, userinfo, host, path, query, and fragment,
-
-    private final static String ENCODED_PLUS_SIGN = encode("+");
-
-    // and the scheme- or implementation-specific reserved characters !, $, &, ', (, ), *, ,, ;, and = may be used in the
-    // userinfo, host, path, query, and fragment.
-    private final static String ENCODED_EXCLAIMATION = encode("!");
-
-    private final static String ENCODED_DOLLAR_SIGN = encode("$");
-
-    private final static String ENCODED_AMPERSAND = encode("&");
-
-    private final static String ENCODED_SINGLE_QUOTE = encode("'");
-
-    private final static String ENCODED_OPEN_PARENS = encode("(");
-
-    private final static String ENCODED_CLOSE_PARENS = encode(")");
-
-    private final static String ENCODED_STAR = encode("*");
-
-    private final static String ENCODED_COMMA = encode(",");
-
-    private final static String ENCODED_SEMI_COLON = encode(";");
-
-    private final static String ENCODED_EQUALS_SIGN = encode("=");
-
-    // The generic reserved character : may be used in the userinfo, path, query and fragment
-
-    private final static String ENCODED_COLON = encode(":");
-
-    // the generic reserved characters @ and / may be used in the path, query and fragment,
-    private final static String ENCODED_AT_SIGN = encode("@");
-
-    private final static String ENCODED_SLASH = encode("/");
-
-    // and the generic reserved character ? may be used in the query and fragment.
-
-    private final static String ENCODED_QUESTION_MARK = encode("?");
-
-    // additional characters
-    private final static String ENCODED_BRACKET_OPEN = encode("[");
-    private final static String ENCODED_BRACKET_CLOSE = encode("]");
-
-    private final static String ENCODED_SPACE = encode(" ");
-
-    private final static String UTF8 = "UTF-8";
-
     void toString0(final StringBuilder b) {
         if (!this.value.isEmpty()) {
             b.append(Url.FRAGMENT_START.character());
@@ -261,11 +180,4 @@ public final class UrlFragment implements HasValue<String>,
     public int compareTo(final UrlFragment other) {
         return this.value.compareTo(other.value);
     }
-
-    // UrlEncode........................................................................................................
-
-    @SuppressWarnings("deprecation") //
-    private static String encode(final String raw) {
-        return URLEncoder.encode(raw);
-    }
 }
@@ -17,12 +17,6 @@
 
 package walkingkooka.net;
 
-import walkingkooka.NeverError;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
-
 /**
  * A query string parameter.
  */
@@ -30,18 +24,10 @@ final class UrlParameterKeyValuePair {
 
     static UrlParameterKeyValuePair nameAndValue(final UrlParameterName name,
                                                  final String value) {
-        String encoded;
-        try {
-            encoded = name.value() +
-                Url.QUERY_NAME_VALUE_SEPARATOR.character() +
-                URLEncoder.encode(value,
-                    "UTF-8"
-                );
-        } catch (final UnsupportedEncodingException cause) {
-            encoded = NeverError.unsupportedEncodingException(cause);
-        }
         return new UrlParameterKeyValuePair(
-            encoded,
+            name.value() +
+                Url.QUERY_NAME_VALUE_SEPARATOR.character() +
+                UrlPercentCodec.QUERY.encode(value),
             name,
             value,
             Url.QUERY_PARAMETER_SEPARATOR.character(),
@@ -74,16 +60,11 @@ final class UrlParameterKeyValuePair {
         String value = "";
         if (-1 != equalsSign) {
             name = name.substring(0, equalsSign);
-            try {
-                value = URLDecoder.decode(
-                    encodedWithoutSeparator.substring(
-                        equalsSign + 1
-                    ),
-                    "UTF-8"
-                );
-            } catch (final UnsupportedEncodingException cause) {
-                NeverError.unsupportedEncodingException(cause);
-            }
+            value = decode(
+                encodedWithoutSeparator.substring(
+                    equalsSign + 1
+                )
+            );
         }
 
         return new UrlParameterKeyValuePair(
@@ -95,6 +76,13 @@ final class UrlParameterKeyValuePair {
         );
     }
 
+    /**
+     * Decodes an encoded parameter value.
+     */
+    static String decode(final String encoded) {
+        return UrlPercentCodec.QUERY.decode(encoded);
+    }
+
     /**
      * Private ctor use factories.
      */
@@ -23,6 +23,7 @@ import walkingkooka.naming.PathSeparator;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -85,6 +86,13 @@ public abstract class UrlPath implements Path<UrlPath, UrlPathName>,
         return UrlPathPredicate.with(this);
     }
 
+    /**
+     * {@see UrlPathPatternSet}
+     */
+    public static UrlPathPatternSet patternSet(final Collection<UrlPath> patterns) {
+        return UrlPathPatternSet.with(patterns);
+    }
+
     // parse............................................................................................................
 
     /**
@@ -243,6 +251,16 @@ public abstract class UrlPath implements Path<UrlPath, UrlPathName>,
      */
     public abstract UrlPath normalize();
 
+    /**
+     * Returns a compact normalized view of this path, which unlike {@link #normalize()} does not create a
+     * {@link UrlPath} for each name.
+     */
+    public final UrlPathSegments normalizedSegments() {
+        return UrlPathSegments.normalize(
+            this.value()
+        );
+    }
+
     /**
      * Returns the parent of this path or itself if its a root.
      */
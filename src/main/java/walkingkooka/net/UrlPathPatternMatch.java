@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A pattern from a {@link UrlPathPatternSet} that matched a {@link UrlPath}, along with the names matched by each
+ * single star in the pattern in order.
+ */
+public final class UrlPathPatternMatch {
+
+    static UrlPathPatternMatch with(final UrlPath pattern,
+                                    final List<UrlPathName> captures) {
+        return new UrlPathPatternMatch(
+            Objects.requireNonNull(pattern, "pattern"),
+            Objects.requireNonNull(captures, "captures")
+        );
+    }
+
+    /**
+     * Private ctor use factory.
+     */
+    private UrlPathPatternMatch(final UrlPath pattern,
+                                final List<UrlPathName> captures) {
+        super();
+        this.pattern = pattern;
+        this.captures = captures;
+    }
+
+    /**
+     * The pattern that matched.
+     */
+    public UrlPath pattern() {
+        return this.pattern;
+    }
+
+    private final UrlPath pattern;
+
+    /**
+     * The names matched by each single star, names matched by a double star are not captured.
+     */
+    public List<UrlPathName> captures() {
+        return this.captures;
+    }
+
+    private final List<UrlPathName> captures;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.pattern,
+            this.captures
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof UrlPathPatternMatch &&
+                this.equals0((UrlPathPatternMatch) other);
+    }
+
+    private boolean equals0(final UrlPathPatternMatch other) {
+        return this.pattern.equals(other.pattern) &&
+            this.captures.equals(other.captures);
+    }
+
+    @Override
+    public String toString() {
+        // for readability use the un-encoded String
+        return this.pattern.value() + " " + this.captures;
+    }
+}
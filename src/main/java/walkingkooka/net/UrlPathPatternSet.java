@@ -0,0 +1,378 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Many {@link UrlPath} patterns, using the same syntax as {@link UrlPath#predicate()}, compiled into a single trie.
+ * Rather than testing every pattern the names of a path are walked once, and all matching patterns are returned along
+ * with the names matched by each single star.
+ * <pre>
+ * /path1/&star;/path3
+ * /&star;
+ * /&star;&star;
+ * </pre>
+ */
+public final class UrlPathPatternSet {
+
+    private final static String STAR = "*";
+
+    private final static String STAR_STAR = "**";
+
+    /**
+     * Compiles the given patterns, ignoring duplicates. A pattern with a double star that is not last is rejected
+     * just like {@link UrlPath#predicate()}.
+     */
+    public static UrlPathPatternSet with(final Collection<UrlPath> patterns) {
+        Objects.requireNonNull(patterns, "patterns");
+
+        final List<UrlPath> copy = Lists.array();
+        for (final UrlPath pattern : patterns) {
+            Objects.requireNonNull(pattern, "pattern");
+            if (false == copy.contains(pattern)) {
+                copy.add(pattern);
+            }
+        }
+
+        final int count = copy.size();
+        final UrlPath[] patternsArray = new UrlPath[count];
+        final int[][] stars = new int[count][];
+        final UrlPathPatternSetNode root = UrlPathPatternSetNode.empty();
+
+        for (int i = 0; i < count; i++) {
+            final UrlPath pattern = copy.get(i);
+            patternsArray[i] = pattern;
+            stars[i] = add(
+                i,
+                pattern,
+                root
+            );
+        }
+
+        return new UrlPathPatternSet(
+            patternsArray,
+            stars,
+            root,
+            width(root)
+        );
+    }
+
+    /**
+     * Adds the pattern to the trie, returning the index of each name matched by a single star.
+     */
+    private static int[] add(final int index,
+                             final UrlPath pattern,
+                             final UrlPathPatternSetNode root) {
+        final List<UrlPathName> names = pattern.namesList();
+        final int count = names.size();
+
+        int[] stars = new int[count];
+        int starCount = 0;
+
+        UrlPathPatternSetNode node = root;
+        boolean starStar = false;
+
+        for (int i = 0; i < count; i++) {
+            final UrlPathName name = names.get(i);
+
+            switch (name.value()) {
+                case STAR:
+                    node = node.star();
+                    stars[starCount++] = i;
+                    break;
+                case STAR_STAR:
+                    if (i + 1 < count) {
+                        throw UrlPathPredicate.starStarNotLast(pattern);
+                    }
+                    node.addStarStar(index);
+                    starStar = true;
+                    break;
+                default:
+                    node = node.literal(name);
+                    break;
+            }
+        }
+
+        if (false == starStar) {
+            node.addTerminal(index);
+        }
+
+        return Arrays.copyOf(
+            stars,
+            starCount
+        );
+    }
+
+    /**
+     * Returns the most nodes that may be active after matching the same number of names, which is at most the number
+     * of nodes at the same depth.
+     */
+    private static int width(final UrlPathPatternSetNode root) {
+        UrlPathPatternSetNode[] level = new UrlPathPatternSetNode[]{root};
+        int count = 1;
+        int width = 1;
+
+        while (count > 0) {
+            final List<UrlPathPatternSetNode> children = Lists.array();
+            for (int i = 0; i < count; i++) {
+                level[i].children(children);
+            }
+
+            count = children.size();
+            width = Math.max(
+                width,
+                count
+            );
+            level = children.toArray(new UrlPathPatternSetNode[count]);
+        }
+
+        return width;
+    }
+
+    /**
+     * Private ctor use factory.
+     */
+    private UrlPathPatternSet(final UrlPath[] patterns,
+                              final int[][] stars,
+                              final UrlPathPatternSetNode root,
+                              final int width) {
+        super();
+        this.patterns = patterns;
+        this.stars = stars;
+        this.root = root;
+        this.width = width;
+    }
+
+    /**
+     * Returns all patterns matching the given {@link UrlPath} in the order they were given, each with the names
+     * matched by its single stars.
+     */
+    public List<UrlPathPatternMatch> matches(final UrlPath path) {
+        Objects.requireNonNull(path, "path");
+
+        final List<UrlPathName> names = path.namesList();
+
+        final int width = this.width;
+        UrlPathPatternSetNode[] current = new UrlPathPatternSetNode[Math.min(width, 4)];
+        UrlPathPatternSetNode[] next = new UrlPathPatternSetNode[current.length];
+        current[0] = this.root;
+        int currentCount = 1;
+
+        int[] matched = new int[8];
+        int matchedCount = 0;
+
+        for (final UrlPathName name : names) {
+            // each node has at most a literal and a star child
+            final int capacity = Math.min(
+                width,
+                currentCount * 2
+            );
+            if (next.length < capacity) {
+                next = new UrlPathPatternSetNode[capacity];
+            }
+            int nextCount = 0;
+
+            for (int i = 0; i < currentCount; i++) {
+                final UrlPathPatternSetNode node = current[i];
+
+                // a double star matches one or more remaining names
+                final int[] starStars = node.starStars;
+                if (starStars.length > 0) {
+                    matched = add(
+                        matched,
+                        matchedCount,
+                        starStars
+                    );
+                    matchedCount += starStars.length;
+                }
+
+                nextCount = node.next(
+                    name,
+                    next,
+                    nextCount
+                );
+            }
+
+            final UrlPathPatternSetNode[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+
+            if (0 == currentCount) {
+                break;
+            }
+        }
+
+        // all names were matched, patterns ending here or with a double star match
+        for (int i = 0; i < currentCount; i++) {
+            final UrlPathPatternSetNode node = current[i];
+
+            final int[] terminals = node.terminals;
+            matched = add(
+                matched,
+                matchedCount,
+                terminals
+            );
+            matchedCount += terminals.length;
+
+            final int[] starStars = node.starStars;
+            matched = add(
+                matched,
+                matchedCount,
+                starStars
+            );
+            matchedCount += starStars.length;
+        }
+
+        return this.matches(
+            names,
+            matched,
+            matchedCount
+        );
+    }
+
+    private static int[] add(final int[] matched,
+                             final int count,
+                             final int[] patterns) {
+        final int length = patterns.length;
+
+        int[] added = matched;
+        if (count + length > matched.length) {
+            added = Arrays.copyOf(
+                matched,
+                Math.max(
+                    matched.length * 2,
+                    count + length
+                )
+            );
+        }
+        System.arraycopy(
+            patterns,
+            0,
+            added,
+            count,
+            length
+        );
+        return added;
+    }
+
+    private List<UrlPathPatternMatch> matches(final List<UrlPathName> names,
+                                              final int[] matched,
+                                              final int count) {
+        final List<UrlPathPatternMatch> matches;
+
+        if (0 == count) {
+            matches = Lists.empty();
+        } else {
+            // each pattern is reached at most once but not in the order they were given
+            Arrays.sort(
+                matched,
+                0,
+                count
+            );
+
+            final UrlPathPatternMatch[] array = new UrlPathPatternMatch[count];
+            for (int i = 0; i < count; i++) {
+                final int pattern = matched[i];
+                array[i] = UrlPathPatternMatch.with(
+                    this.patterns[pattern],
+                    captures(
+                        names,
+                        this.stars[pattern]
+                    )
+                );
+            }
+            matches = Lists.of(array);
+        }
+
+        return matches;
+    }
+
+    private static List<UrlPathName> captures(final List<UrlPathName> names,
+                                              final int[] stars) {
+        final int count = stars.length;
+        final UrlPathName[] captures = new UrlPathName[count];
+
+        for (int i = 0; i < count; i++) {
+            captures[i] = names.get(stars[i]);
+        }
+
+        return Lists.of(captures);
+    }
+
+    /**
+     * All patterns without duplicates in the order given.
+     */
+    public List<UrlPath> patterns() {
+        return Lists.of(this.patterns);
+    }
+
+    private final UrlPath[] patterns;
+
+    /**
+     * The index of each name matched by a single star, for each pattern.
+     */
+    private final int[][] stars;
+
+    private final UrlPathPatternSetNode root;
+
+    /**
+     * The most nodes that may be active at once, which limits the growth of the arrays holding the current and next
+     * nodes.
+     */
+    private final int width;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.patterns);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof UrlPathPatternSet &&
+                this.equals0((UrlPathPatternSet) other);
+    }
+
+    private boolean equals0(final UrlPathPatternSet other) {
+        return Arrays.equals(this.patterns, other.patterns);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+
+        for (final UrlPath pattern : this.patterns) {
+            if (b.length() > 0) {
+                b.append(", ");
+            }
+            // for readability use the un-encoded String
+            b.append(pattern.value());
+        }
+
+        return b.toString();
+    }
+}
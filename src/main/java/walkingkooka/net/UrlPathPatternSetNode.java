@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A node in the trie of a {@link UrlPathPatternSet}. Each level matches one {@link UrlPathName} either literally or by
+ * a single star. Patterns that end at this node, or end with a double star after it are recorded by index.
+ */
+final class UrlPathPatternSetNode {
+
+    private final static int[] NONE = new int[0];
+
+    static UrlPathPatternSetNode empty() {
+        return new UrlPathPatternSetNode();
+    }
+
+    private UrlPathPatternSetNode() {
+        super();
+    }
+
+    /**
+     * Returns the child for the given literal name, creating it if necessary.
+     */
+    UrlPathPatternSetNode literal(final UrlPathName name) {
+        Map<UrlPathName, UrlPathPatternSetNode> literals = this.literals;
+        if (null == literals) {
+            literals = new HashMap<>();
+            this.literals = literals;
+        }
+        return literals.computeIfAbsent(
+            name,
+            (n) -> empty()
+        );
+    }
+
+    /**
+     * Returns the single star child, creating it if necessary.
+     */
+    UrlPathPatternSetNode star() {
+        UrlPathPatternSetNode star = this.star;
+        if (null == star) {
+            star = empty();
+            this.star = star;
+        }
+        return star;
+    }
+
+    void addTerminal(final int pattern) {
+        this.terminals = add(
+            this.terminals,
+            pattern
+        );
+    }
+
+    void addStarStar(final int pattern) {
+        this.starStars = add(
+            this.starStars,
+            pattern
+        );
+    }
+
+    private static int[] add(final int[] patterns,
+                             final int pattern) {
+        final int length = patterns.length;
+        final int[] added = Arrays.copyOf(
+            patterns,
+            length + 1
+        );
+        added[length] = pattern;
+        return added;
+    }
+
+    /**
+     * Adds the children matching the given name to next, returning the new count.
+     */
+    int next(final UrlPathName name,
+             final UrlPathPatternSetNode[] next,
+             final int count) {
+        int i = count;
+
+        final Map<UrlPathName, UrlPathPatternSetNode> literals = this.literals;
+        if (null != literals) {
+            final UrlPathPatternSetNode literal = literals.get(name);
+            if (null != literal) {
+                next[i++] = literal;
+            }
+        }
+
+        final UrlPathPatternSetNode star = this.star;
+        if (null != star) {
+            next[i++] = star;
+        }
+
+        return i;
+    }
+
+    /**
+     * Adds all children to the given list.
+     */
+    void children(final List<UrlPathPatternSetNode> children) {
+        if (null != this.literals) {
+            children.addAll(this.literals.values());
+        }
+        if (null != this.star) {
+            children.add(this.star);
+        }
+    }
+
+    /**
+     * Children matched by name, lazily created as most nodes near the leaves have none.
+     */
+    private Map<UrlPathName, UrlPathPatternSetNode> literals;
+
+    private UrlPathPatternSetNode star;
+
+    /**
+     * Patterns that end at this node.
+     */
+    int[] terminals = NONE;
+
+    /**
+     * Patterns that end with a double star immediately after this node, and match any remaining names.
+     */
+    int[] starStars = NONE;
+
+    @Override
+    public String toString() {
+        return (null != this.literals ? this.literals.keySet().toString() : "[]") +
+            (null != this.star ? " *" : "") +
+            " " + Arrays.toString(this.terminals) +
+            " " + Arrays.toString(this.starStars);
+    }
+}
@@ -61,12 +61,7 @@ final class UrlPathPredicate implements Predicate<UrlPath> {
                     break;
                 case "**":
                     if (names.hasNext()) {
-                        throw new IllegalArgumentException(
-                            "Pattern should only contain \"**\" at the end, " +
-                                CharSequences.quoteAndEscape(
-                                    path.value()
-                                )
-                        );
+                        throw starStarNotLast(path);
                     }
                     component = UrlPathPredicateComponent.starStar();
                     break;
@@ -87,6 +82,18 @@ final class UrlPathPredicate implements Predicate<UrlPath> {
         return component;
     }
 
+    /**
+     * Shared with {@link UrlPathPatternSet}, which accepts the same patterns.
+     */
+    static IllegalArgumentException starStarNotLast(final UrlPath path) {
+        return new IllegalArgumentException(
+            "Pattern should only contain \"**\" at the end, " +
+                CharSequences.quoteAndEscape(
+                    path.value()
+                )
+        );
+    }
+
     private UrlPathPredicate(final UrlPath path,
                              final UrlPathPredicateComponent first) {
         this.path = path;
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import walkingkooka.HasValue;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compact normalized view of a {@link UrlPath}, holding a single {@link String} and the offset of each segment. Unlike
+ * {@link UrlPath#normalize()} no parent chain is created, and {@link UrlPathName names} are only created when
+ * requested by {@link #name(int)}.
+ * <br>
+ * Like {@link UrlPath} iteration, the first name is always the root, followed by each segment and an empty name when
+ * the path ends with a separator.
+ */
+public final class UrlPathSegments implements HasValue<String> {
+
+    /**
+     * Normalizes the given {@link UrlPath#value()} in a single pass, removing empty segments, dot segments and the
+     * segment before each double dot segment. Percent encoded characters within a name are normalized just like
+     * {@link UrlPath#normalize()}.
+     */
+    static UrlPathSegments normalize(final String path) {
+        final int length = path.length();
+
+        final StringBuilder b = new StringBuilder(length + 1);
+        b.append(UrlPath.SEPARATOR_CHAR);
+
+        int[] starts = new int[8];
+        int count = 0;
+
+        int from = 0;
+        while (from <= length) {
+            int to = path.indexOf(UrlPath.SEPARATOR_CHAR, from);
+            if (-1 == to) {
+                to = length;
+            }
+            final int nameLength = to - from;
+
+            if (0 == nameLength) {
+                // keep a trailing separator after a name, other empty names are duplicate separators
+                if (to == length && count > 0) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    b.append(UrlPath.SEPARATOR_CHAR);
+                    starts[count++] = b.length();
+                }
+            } else if (isCurrent(path, from, nameLength)) {
+                // skip
+            } else if (isParent(path, from, nameLength)) {
+                if (count > 0) {
+                    count--;
+                    b.setLength(
+                        Math.max(
+                            1,
+                            starts[count] - 1
+                        )
+                    );
+                }
+            } else {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                if (UrlPath.SEPARATOR_CHAR != b.charAt(b.length() - 1)) {
+                    b.append(UrlPath.SEPARATOR_CHAR);
+                }
+                starts[count++] = b.length();
+
+                final int percent = path.indexOf('%', from);
+                if (-1 != percent && percent < to) {
+                    b.append(
+                        UrlPathName.with(
+                            path.substring(from, to)
+                        ).normalize(UrlPath.ROOT)
+                            .name()
+                            .value()
+                    );
+                } else {
+                    b.append(path, from, to);
+                }
+            }
+
+            from = to + 1;
+        }
+
+        return new UrlPathSegments(
+            b.toString(),
+            Arrays.copyOf(starts, count)
+        );
+    }
+
+    private static boolean isCurrent(final String path,
+                                     final int from,
+                                     final int length) {
+        return 1 == length && '.' == path.charAt(from);
+    }
+
+    private static boolean isParent(final String path,
+                                    final int from,
+                                    final int length) {
+        return 2 == length && '.' == path.charAt(from) && '.' == path.charAt(from + 1);
+    }
+
+    /**
+     * Private ctor use factory.
+     */
+    private UrlPathSegments(final String value,
+                            final int[] starts) {
+        super();
+        this.value = value;
+        this.starts = starts;
+    }
+
+    /**
+     * The number of names including the root.
+     */
+    public int count() {
+        return this.starts.length + 1;
+    }
+
+    /**
+     * Returns the {@link UrlPathName} at the given index, where 0 is always the root.
+     */
+    public UrlPathName name(final int index) {
+        final int count = this.count();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + count);
+        }
+
+        return 0 == index ?
+            UrlPathName.ROOT :
+            UrlPathName.with(
+                this.value.substring(
+                    this.start(index),
+                    this.end(index)
+                )
+            );
+    }
+
+    private int start(final int index) {
+        return this.starts[index - 1];
+    }
+
+    private int end(final int index) {
+        final int[] starts = this.starts;
+        return index < starts.length ?
+            starts[index] - 1 :
+            this.value.length();
+    }
+
+    /**
+     * Tests if this path starts with the other path, where only whole names match. The other path is not normalized.
+     * <pre>
+     * /abc/def startsWith /abc
+     * true
+     *
+     * /abc/def startsWith /abc/
+     * true
+     *
+     * /abc/def startsWith /a
+     * false
+     * </pre>
+     */
+    public boolean startsWith(final UrlPath other) {
+        Objects.requireNonNull(other, "other");
+
+        final String value = this.value;
+        final String otherValue = other.value();
+        final int otherLength = otherValue.length();
+
+        return value.startsWith(otherValue) &&
+            (
+                otherLength == value.length() ||
+                    0 == otherLength ||
+                    UrlPath.SEPARATOR_CHAR == otherValue.charAt(otherLength - 1) ||
+                    UrlPath.SEPARATOR_CHAR == value.charAt(otherLength)
+            );
+    }
+
+    /**
+     * Returns the normalized path, which always starts with a separator.
+     */
+    @Override
+    public String value() {
+        return this.value;
+    }
+
+    private final String value;
+
+    /**
+     * The start of each name after the root within {@link #value}, each name ends at the separator before the next
+     * start.
+     */
+    private final int[] starts;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof UrlPathSegments &&
+                this.equals0((UrlPathSegments) other);
+    }
+
+    private boolean equals0(final UrlPathSegments other) {
+        return this.value.equals(other.value) &&
+            Arrays.equals(this.starts, other.starts);
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
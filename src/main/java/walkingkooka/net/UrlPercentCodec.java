@@ -0,0 +1,386 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import walkingkooka.InvalidCharacterException;
+
+/**
+ * Percent encodes and decodes url components. Each component has a table of the characters that are never encoded,
+ * decoding returns the text unchanged when it contains nothing to decode, and escaped bytes are decoded as UTF-8
+ * directly into a single char array without intermediate byte arrays or Strings.
+ */
+final class UrlPercentCodec {
+
+    /**
+     * Query string parameter names and values, using the same form encoding as {@link java.net.URLEncoder} where a
+     * space is encoded as a plus sign.
+     */
+    final static UrlPercentCodec QUERY = new UrlPercentCodec(
+        "-._*",
+        true, // plusIsSpace
+        true // strict
+    );
+
+    /**
+     * The data portion of a {@link DataUrl} which is form encoded just like {@link #QUERY}.
+     */
+    final static UrlPercentCodec DATA = QUERY;
+
+    /**
+     * The fragment which also leaves reserved characters that may appear in a fragment unencoded.
+     * <pre>
+     * The scheme- or implementation-specific reserved characters !, $, &, ', (, ), *, ,, ;, and = may be used in the
+     * userinfo, host, path, query, and fragment. Additionally, the generic reserved character : may be used in the userinfo,
+     * path, query and fragment, the generic reserved characters @ and / may be used in the path, query and fragment,
+     * and the generic reserved character ? may be used in the query and fragment.
+     * </pre>
+     */
+    final static UrlPercentCodec FRAGMENT = new UrlPercentCodec(
+        "-._*+!$&'(),;=:@/?[]",
+        false, // plusIsSpace
+        true // strict
+    );
+
+    /**
+     * A complete path, only unreserved characters and the separator are not encoded. Invalid escapes are decoded as is.
+     */
+    final static UrlPercentCodec PATH = new UrlPercentCodec(
+        "-._~" + UrlPath.SEPARATOR_CHAR,
+        false, // plusIsSpace
+        false // strict
+    );
+
+    /**
+     * A single {@link UrlPathName}, only unreserved characters are not encoded. Invalid escapes are decoded as is.
+     */
+    final static UrlPercentCodec PATH_NAME = new UrlPercentCodec(
+        "-._~",
+        false, // plusIsSpace
+        false // strict
+    );
+
+    private UrlPercentCodec(final String safe,
+                            final boolean plusIsSpace,
+                            final boolean strict) {
+        super();
+
+        final boolean[] table = new boolean[256];
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            table[c] = true;
+            table[Character.toLowerCase(c)] = true;
+        }
+        for (int i = 0; i < safe.length(); i++) {
+            table[safe.charAt(i)] = true;
+        }
+        this.safe = table;
+
+        this.plusIsSpace = plusIsSpace;
+        this.strict = strict;
+    }
+
+    // decode...........................................................................................................
+
+    /**
+     * Decodes the given text, returning the same {@link String} if it has no escapes.
+     */
+    String decode(final String text) {
+        final int length = text.length();
+
+        int i = 0;
+        while (i < length && false == this.isEscape(text.charAt(i))) {
+            i++;
+        }
+
+        return i == length ?
+            text :
+            this.decode0(
+                text,
+                i
+            );
+    }
+
+    private String decode0(final String text,
+                           final int first) {
+        final int length = text.length();
+
+        // decoded text is never longer than the encoded
+        final char[] buffer = new char[length];
+        text.getChars(0, first, buffer, 0);
+
+        int to = first;
+        int i = first;
+
+        while (i < length) {
+            final char c = text.charAt(i);
+
+            if (PERCENT == c) {
+                final int b = this.escapedByte(text, i);
+                if (-1 == b) {
+                    // lenient, keep the invalid escape
+                    buffer[to++] = c;
+                    i++;
+                    continue;
+                }
+
+                if (b < 0x80) {
+                    buffer[to++] = (char) b;
+                    i += ESCAPE_LENGTH;
+                    continue;
+                }
+
+                // UTF-8 lead byte followed by one or more escaped continuation bytes
+                int count;
+                int codePoint;
+                int min = 0x80;
+                int max = 0xBF;
+
+                if (b >= 0xC2 && b <= 0xDF) {
+                    count = 1;
+                    codePoint = b & 0x1F;
+                } else if (b >= 0xE0 && b <= 0xEF) {
+                    count = 2;
+                    codePoint = b & 0x0F;
+                    if (0xE0 == b) {
+                        min = 0xA0;
+                    }
+                } else if (b >= 0xF0 && b <= 0xF4) {
+                    count = 3;
+                    codePoint = b & 0x07;
+                    if (0xF0 == b) {
+                        min = 0x90;
+                    } else if (0xF4 == b) {
+                        max = 0x8F;
+                    }
+                } else {
+                    count = 0;
+                    codePoint = -1;
+                }
+                i += ESCAPE_LENGTH;
+
+                while (count > 0) {
+                    final int continuation = i < length && PERCENT == text.charAt(i) ?
+                        this.escapedByte(text, i) :
+                        -1;
+                    if (continuation < min || continuation > max) {
+                        codePoint = -1;
+                        break;
+                    }
+                    codePoint = (codePoint << 6) | (continuation & 0x3F);
+                    min = 0x80;
+                    max = 0xBF;
+                    count--;
+                    i += ESCAPE_LENGTH;
+                }
+
+                // encoded surrogates are also malformed
+                if (-1 == codePoint || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                    buffer[to++] = REPLACEMENT;
+                } else {
+                    to += Character.toChars(codePoint, buffer, to);
+                }
+                continue;
+            }
+
+            buffer[to++] = this.plusIsSpace && PLUS == c ?
+                ' ' :
+                c;
+            i++;
+        }
+
+        return new String(
+            buffer,
+            0,
+            to
+        );
+    }
+
+    /**
+     * Returns the byte value of the escape at the given position or -1 if it is invalid and this codec is lenient.
+     */
+    private int escapedByte(final String text,
+                            final int percent) {
+        final int length = text.length();
+
+        int value = -1;
+
+        if (percent + 1 < length) {
+            final int high = Character.digit(text.charAt(percent + 1), 16);
+            if (-1 != high) {
+                if (percent + 2 < length) {
+                    final int low = Character.digit(text.charAt(percent + 2), 16);
+                    if (-1 != low) {
+                        value = high * 16 + low;
+                    } else {
+                        this.invalidEscape(text, percent + 2);
+                    }
+                } else {
+                    this.invalidEscape(text, percent);
+                }
+            } else {
+                this.invalidEscape(text, percent + 1);
+            }
+        } else {
+            this.invalidEscape(text, percent);
+        }
+
+        return value;
+    }
+
+    /**
+     * Fails if any escape between the given offsets is invalid. Does nothing if this codec is lenient.
+     */
+    void checkEscapes(final String text,
+                      final int start,
+                      final int end) {
+        if (this.strict) {
+            for (int i = start; i < end; i++) {
+                if (PERCENT == text.charAt(i)) {
+                    if (i + 2 >= end) {
+                        throw new InvalidCharacterException(text, i);
+                    }
+                    this.escapedByte(text, i);
+                    i += 2;
+                }
+            }
+        }
+    }
+
+    /**
+     * Strict codecs fail with the position of the invalid character, otherwise the escape is ignored.
+     */
+    private void invalidEscape(final String text,
+                               final int i) {
+        if (this.strict) {
+            throw new InvalidCharacterException(text, i);
+        }
+    }
+
+    private boolean isEscape(final char c) {
+        return PERCENT == c || (this.plusIsSpace && PLUS == c);
+    }
+
+    // encode...........................................................................................................
+
+    /**
+     * Encodes the given text, returning the same {@link String} if no character needs encoding.
+     */
+    String encode(final String text) {
+        final int length = text.length();
+
+        int i = 0;
+        while (i < length && this.isSafe(text.charAt(i))) {
+            i++;
+        }
+
+        return i == length ?
+            text :
+            this.encode0(
+                text,
+                i
+            );
+    }
+
+    private String encode0(final String text,
+                           final int first) {
+        final int length = text.length();
+        final StringBuilder b = new StringBuilder(length + 16);
+        b.append(text, 0, first);
+
+        for (int i = first; i < length; i++) {
+            final char c = text.charAt(i);
+
+            if (this.isSafe(c)) {
+                b.append(c);
+                continue;
+            }
+            if (this.plusIsSpace && ' ' == c) {
+                b.append(PLUS);
+                continue;
+            }
+
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(
+                    c,
+                    text.charAt(i + 1)
+                );
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced just like String#getBytes
+                codePoint = '?';
+            }
+
+            if (codePoint < 0x80) {
+                escape(codePoint, b);
+            } else if (codePoint < 0x800) {
+                escape(0xC0 | (codePoint >> 6), b);
+                escape(0x80 | (codePoint & 0x3F), b);
+            } else if (codePoint < 0x10000) {
+                escape(0xE0 | (codePoint >> 12), b);
+                escape(0x80 | ((codePoint >> 6) & 0x3F), b);
+                escape(0x80 | (codePoint & 0x3F), b);
+            } else {
+                escape(0xF0 | (codePoint >> 18), b);
+                escape(0x80 | ((codePoint >> 12) & 0x3F), b);
+                escape(0x80 | ((codePoint >> 6) & 0x3F), b);
+                escape(0x80 | (codePoint & 0x3F), b);
+            }
+        }
+
+        return b.toString();
+    }
+
+    private static void escape(final int value,
+                               final StringBuilder b) {
+        b.append(PERCENT)
+            .append(HEX_DIGITS[value >> 4])
+            .append(HEX_DIGITS[value & 0xF]);
+    }
+
+    private boolean isSafe(final char c) {
+        return c < 256 && this.safe[c];
+    }
+
+    /**
+     * Characters that are never encoded, indexed by character.
+     */
+    private final boolean[] safe;
+
+    /**
+     * When true a plus sign is decoded as a space and a space is encoded as a plus sign.
+     */
+    private final boolean plusIsSpace;
+
+    /**
+     * When true invalid escapes fail, otherwise they are decoded as is.
+     */
+    private final boolean strict;
+
+    private final static char PERCENT = '%';
+
+    private final static char PLUS = '+';
+
+    private final static int ESCAPE_LENGTH = 3;
+
+    private final static char REPLACEMENT = '\uFFFD';
+
+    private final static char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+}
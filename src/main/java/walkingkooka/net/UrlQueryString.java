@@ -21,10 +21,10 @@ import walkingkooka.Cast;
 import walkingkooka.HasValue;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.text.CharSequences;
 import walkingkooka.text.HasText;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -60,40 +60,104 @@ public final class UrlQueryString implements HasValue<String>,
             parseNotEmpty(value);
     }
 
+    /**
+     * Scans the query string once recording the offsets of each pair, names and values are only created when a
+     * parameter is requested. Empty names and invalid escapes still fail here.
+     */
     private static UrlQueryString parseNotEmpty(final String queryString) {
-        final List<UrlParameterKeyValuePair> pairs = Lists.array();
-        final Map<UrlParameterName, UrlParameterValueList> parameters = Maps.ordered();
-
         final char paramSeparator = Url.QUERY_PARAMETER_SEPARATOR.character();
         final char paramSeparator2 = Url.QUERY_PARAMETER_SEPARATOR2.character();
+        final char nameValueSeparator = Url.QUERY_NAME_VALUE_SEPARATOR.character();
+
+        int[] offsets = new int[OFFSETS_PER_PAIR * 8];
+        int count = 0;
 
         // parse query
         final int length = queryString.length();
         int start = 0;
+        int nameEnd = -1;
 
-        for (int i = 0; i < length; i++) {
-            final char c = queryString.charAt(i);
+        for (int i = 0; i <= length; i++) {
+            final char c = i < length ?
+                queryString.charAt(i) :
+                paramSeparator;
+
+            if (nameValueSeparator == c) {
+                if (-1 == nameEnd) {
+                    nameEnd = i;
+                }
+                continue;
+            }
 
             // end of name/value pair
             if (paramSeparator == c || paramSeparator2 == c) {
-                final UrlParameterKeyValuePair pair = UrlParameterKeyValuePair.encodedWithSeparator(queryString.substring(start, i), c);
-                addToMap(pair, parameters);
-                pairs.add(pair);
+                if (start < length) {
+                    if (-1 == nameEnd) {
+                        nameEnd = i;
+                    }
+                    checkPair(
+                        queryString,
+                        start,
+                        nameEnd,
+                        i
+                    );
+
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count] = start;
+                    offsets[count + NAME_END] = nameEnd;
+                    offsets[count + PAIR_END] = i;
+                    count += OFFSETS_PER_PAIR;
+                }
+
                 start = i + 1;
+                nameEnd = -1;
             }
         }
 
-        if (start < length) {
-            final UrlParameterKeyValuePair pair = UrlParameterKeyValuePair.encodedWithoutSeparator(queryString.substring(start, length));
-            addToMap(pair, parameters);
-            pairs.add(pair);
-        }
-
         return new UrlQueryString(
             queryString,
-            Lists.immutable(pairs),
-            Maps.readOnly(parameters)
+            Arrays.copyOf(offsets, count)
+        );
+    }
+
+    /**
+     * Fails if the name is empty or the value has an invalid escape, just like creating the pair would.
+     */
+    private static void checkPair(final String queryString,
+                                  final int start,
+                                  final int nameEnd,
+                                  final int end) {
+        UrlPercentCodec.QUERY.checkEscapes(
+            queryString,
+            nameEnd + 1,
+            end
         );
+
+        if (start == nameEnd) {
+            // fails with the same message as UrlParameterName#with
+            CharSequences.failIfNullOrEmpty("", "name");
+        }
+    }
+
+    /**
+     * Each pair records the start, the end of the name and the end of the pair which excludes any separator.
+     */
+    private final static int NAME_END = 1;
+
+    private final static int PAIR_END = 2;
+
+    private final static int OFFSETS_PER_PAIR = 3;
+
+    /**
+     * Private constructor used by {@link #parse(String)}.
+     */
+    private UrlQueryString(final String queryString,
+                           final int[] offsets) {
+        super();
+        this.queryString = queryString;
+        this.offsets = offsets;
     }
 
     /**
@@ -105,6 +169,7 @@ public final class UrlQueryString implements HasValue<String>,
                    final Map<UrlParameterName, UrlParameterValueList> parameters) {
         super();
         this.queryString = queryString;
+        this.offsets = null;
         this.pairs = pairs;
         this.parameters = parameters;
     }
@@ -132,20 +197,42 @@ public final class UrlQueryString implements HasValue<String>,
      * Returns a read-only {@link Map} holding all the parameters and values.
      */
     public Map<UrlParameterName, List<String>> parameters() {
-        return Cast.to(this.parameters);
+        return Cast.to(this.parameters0());
+    }
+
+    private Map<UrlParameterName, UrlParameterValueList> parameters0() {
+        if (null == this.parameters) {
+            final Map<UrlParameterName, UrlParameterValueList> parameters = Maps.ordered();
+            for (final UrlParameterKeyValuePair pair : this.pairs()) {
+                addToMap(pair, parameters);
+            }
+            this.parameters = Maps.readOnly(parameters);
+        }
+        return this.parameters;
     }
 
     /**
      * Lazily created map.
      */
-    private final Map<UrlParameterName, UrlParameterValueList> parameters;
+    private Map<UrlParameterName, UrlParameterValueList> parameters;
 
     /**
-     * Makes a copy of all parameters.
+     * Makes a copy of all parameters, the value lists are also copied as they are modified by the caller.
      */
     private Map<UrlParameterName, UrlParameterValueList> parametersCopy() {
         final Map<UrlParameterName, UrlParameterValueList> copy = Maps.ordered();
-        copy.putAll(this.parameters);
+
+        for (final Map.Entry<UrlParameterName, UrlParameterValueList> nameAndValues : this.parameters0().entrySet()) {
+            final UrlParameterValueList values = UrlParameterValueList.empty();
+            for (final String value : nameAndValues.getValue()) {
+                values.addParameterValue(value);
+            }
+            copy.put(
+                nameAndValues.getKey(),
+                values
+            );
+        }
+
         return copy;
     }
 
@@ -155,10 +242,22 @@ public final class UrlQueryString implements HasValue<String>,
     public Optional<String> parameter(final UrlParameterName name) {
         Optional<String> value = Optional.empty();
 
-        for (UrlParameterKeyValuePair pair : this.pairs) {
-            if (pair.name.equals(name)) {
-                value = Optional.ofNullable(pair.value);
-                break;
+        if (null != this.pairs) {
+            for (UrlParameterKeyValuePair pair : this.pairs) {
+                if (pair.name.equals(name)) {
+                    value = Optional.ofNullable(pair.value);
+                    break;
+                }
+            }
+        } else {
+            final int[] offsets = this.offsets;
+            for (int i = 0; i < offsets.length; i += OFFSETS_PER_PAIR) {
+                if (this.isName(i, name)) {
+                    value = Optional.of(
+                        this.value(i)
+                    );
+                    break;
+                }
             }
         }
 
@@ -169,13 +268,68 @@ public final class UrlQueryString implements HasValue<String>,
      * Retrieves the parameter with the name returning all values or an empty list.
      */
     public List<String> parameterValues(final UrlParameterName name) {
-        return this.parameters()
-            .getOrDefault(
+        return null != this.parameters ?
+            this.parameters.getOrDefault(
                 name,
                 PARAMETER_VALUES_MISSING
+            ) :
+            this.parameterValuesOffsets(name);
+    }
+
+    /**
+     * Scans the recorded offsets decoding only the values of pairs with the given name.
+     */
+    private List<String> parameterValuesOffsets(final UrlParameterName name) {
+        UrlParameterValueList values = null;
+
+        final int[] offsets = this.offsets;
+        for (int i = 0; i < offsets.length; i += OFFSETS_PER_PAIR) {
+            if (this.isName(i, name)) {
+                if (null == values) {
+                    values = UrlParameterValueList.empty();
+                }
+                values.addParameterValue(
+                    this.value(i)
+                );
+            }
+        }
+
+        return null != values ?
+            values :
+            PARAMETER_VALUES_MISSING;
+    }
+
+    private boolean isName(final int pair,
+                           final UrlParameterName name) {
+        final int[] offsets = this.offsets;
+        final int start = offsets[pair];
+        final String value = name.value();
+        final int length = value.length();
+
+        return offsets[pair + NAME_END] - start == length &&
+            this.queryString.regionMatches(
+                start,
+                value,
+                0,
+                length
             );
     }
 
+    private String value(final int pair) {
+        final int[] offsets = this.offsets;
+        final int nameEnd = offsets[pair + NAME_END];
+        final int end = offsets[pair + PAIR_END];
+
+        return nameEnd < end ?
+            UrlParameterKeyValuePair.decode(
+                this.queryString.substring(
+                    nameEnd + 1,
+                    end
+                )
+            ) :
+            "";
+    }
+
     private final static List<String> PARAMETER_VALUES_MISSING = Lists.empty();
 
     /**
@@ -193,7 +347,7 @@ public final class UrlQueryString implements HasValue<String>,
     private UrlQueryString addParametersNonEmpty(final UrlQueryString queryString) {
         UrlQueryString result = this;
 
-        for (final UrlParameterKeyValuePair nameAndValues : queryString.pairs) {
+        for (final UrlParameterKeyValuePair nameAndValues : queryString.pairs()) {
             result = result.addParameter0(
                 nameAndValues.name,
                 nameAndValues.value
@@ -295,11 +449,7 @@ public final class UrlQueryString implements HasValue<String>,
     }
 
     private static String encodeParameterValue(final String value) {
-        try {
-            return URLEncoder.encode(value, "UTF-8");
-        } catch (final UnsupportedEncodingException never) {
-            throw new Error(never);
-        }
+        return UrlPercentCodec.QUERY.encode(value);
     }
 
     /**
@@ -376,14 +526,46 @@ public final class UrlQueryString implements HasValue<String>,
      */
     private List<UrlParameterKeyValuePair> pairsCopy() {
         final List<UrlParameterKeyValuePair> copy = Lists.array();
-        copy.addAll(this.pairs);
+        copy.addAll(this.pairs());
         return copy;
     }
 
+    private List<UrlParameterKeyValuePair> pairs() {
+        if (null == this.pairs) {
+            final String queryString = this.queryString;
+            final int length = queryString.length();
+            final int[] offsets = this.offsets;
+            final List<UrlParameterKeyValuePair> pairs = Lists.array();
+
+            for (int i = 0; i < offsets.length; i += OFFSETS_PER_PAIR) {
+                final int start = offsets[i];
+                final int end = offsets[i + PAIR_END];
+                final String encoded = queryString.substring(start, end);
+
+                pairs.add(
+                    end < length ?
+                        UrlParameterKeyValuePair.encodedWithSeparator(
+                            encoded,
+                            queryString.charAt(end)
+                        ) :
+                        UrlParameterKeyValuePair.encodedWithoutSeparator(encoded)
+                );
+            }
+
+            this.pairs = Lists.immutable(pairs);
+        }
+        return this.pairs;
+    }
+
+    /**
+     * Cache of all pairs taken from the query string, lazily created from {@link #offsets}.
+     */
+    private List<UrlParameterKeyValuePair> pairs;
+
     /**
-     * Cache of {@link Map} of all parameters taken from the query string.
+     * The start, name end and end of each pair within the query string, or null when the pairs were given.
      */
-    private final List<UrlParameterKeyValuePair> pairs;
+    private final int[] offsets;
 
     // Object.........................................................................................................
 
@@ -17,7 +17,10 @@
 
 package walkingkooka.net.header;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -74,6 +77,51 @@ public final class AcceptEncoding extends Header2<List<AcceptEncodingValue>>
                 .count() == 1;
     }
 
+    // select.........................................................................................................
+
+    /**
+     * Returns the {@link ContentEncoding} with the highest quality factor, ignoring any with a quality factor of zero.
+     * An encoding named explicitly overrides a wildcard, so <code>*, gzip;q=0</code> refuses gzip, and the first of
+     * several encodings with the same quality factor is returned.
+     */
+    public Optional<ContentEncoding> select(final Collection<ContentEncoding> encodings) {
+        Objects.requireNonNull(encodings, "encodings");
+
+        ContentEncoding selected = null;
+        float selectedQualityFactor = 0;
+
+        for (final ContentEncoding encoding : encodings) {
+            final float qualityFactor = this.qualityFactor(encoding);
+            if (qualityFactor > selectedQualityFactor) {
+                selected = encoding;
+                selectedQualityFactor = qualityFactor;
+            }
+        }
+
+        return Optional.ofNullable(selected);
+    }
+
+    private float qualityFactor(final ContentEncoding encoding) {
+        float named = -1;
+        float wildcard = 0;
+
+        for (final AcceptEncodingValue value : this.value) {
+            if (value.test(encoding)) {
+                final float qualityFactor = value.qualityFactorOrDefault();
+
+                if (value.isWildcard()) {
+                    wildcard = Math.max(wildcard, qualityFactor);
+                } else {
+                    named = Math.max(named, qualityFactor);
+                }
+            }
+        }
+
+        return named >= 0 ?
+            named :
+            wildcard;
+    }
+
     // Header.....................................................................................................
 
     @Override
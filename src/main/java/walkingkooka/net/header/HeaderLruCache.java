@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A thread safe map holding at most the max entries, evicting the least recently used once full. Unique keys such as
+ * request ids therefore cannot grow the cache without bounds, while keys that become popular after it has filled are
+ * still admitted.
+ */
+final class HeaderLruCache<K, V> {
+
+    static <K, V> HeaderLruCache<K, V> with(final int maxEntries) {
+        return new HeaderLruCache<>(maxEntries);
+    }
+
+    private HeaderLruCache(final int maxEntries) {
+        super();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(
+            16,
+            0.75f,
+            true // access order
+        );
+    }
+
+    /**
+     * Returns the cached value or null, marking it as the most recently used.
+     */
+    V get(final K key) {
+        synchronized (this.entries) {
+            return this.entries.get(key);
+        }
+    }
+
+    /**
+     * Caches the value unless another was already cached, which is returned instead, evicting the least recently used
+     * entries if the maximum is exceeded. Returns null when the given value was cached.
+     */
+    V putIfAbsent(final K key,
+                  final V value) {
+        final LinkedHashMap<K, V> entries = this.entries;
+
+        synchronized (entries) {
+            final V previous = entries.get(key);
+            if (null == previous) {
+                entries.put(
+                    key,
+                    value
+                );
+
+                final Iterator<K> eldest = entries.keySet().iterator();
+                while (entries.size() > this.maxEntries) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * The number of entries currently cached.
+     */
+    int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private final int maxEntries;
+
+    /**
+     * Access ordered so the first entry is always the least recently used.
+     */
+    private final LinkedHashMap<K, V> entries;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.size() + "/" + this.maxEntries;
+    }
+}
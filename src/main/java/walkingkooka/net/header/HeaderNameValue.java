@@ -43,9 +43,17 @@ abstract class HeaderNameValue implements Name {
 
     @Override
     public final int hashCode() {
-        return this.caseSensitivity().hash(this.name);
+        if (0 == this.hashCode) {
+            this.hashCode = this.caseSensitivity().hash(this.name);
+        }
+        return this.hashCode;
     }
 
+    /**
+     * Cached as names such as {@link HttpHeaderName} are shared and frequently used as {@link java.util.Map} keys.
+     */
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -790,6 +790,20 @@ final public class HttpHeaderName<T> extends HeaderNameValueShared<T>
         HttpHeaderNameScope.REQUEST
     );
 
+    /**
+     * A {@link HttpHeaderName} holding <code>Vary</code>
+     * <pre>
+     * Vary: *
+     * Vary: <header-name>, <header-name>, ...
+     *
+     * Vary: Accept-Encoding
+     * </pre>
+     */
+    public final static HttpHeaderName<String> VARY = registerMultiStringConstant(
+        "Vary",
+        HttpHeaderNameScope.RESPONSE
+    );
+
     /**
      * A {@link HttpHeaderName} holding <code>Warning</code>
      * <pre>
@@ -804,25 +818,111 @@ final public class HttpHeaderName<T> extends HeaderNameValueShared<T>
         HttpHeaderNameScope.REQUEST
     );
 
+    /**
+     * A perfect hash table of all {@link #CONSTANTS}, this must be declared after all constants.
+     */
+    private final static HttpHeaderNameLookup LOOKUP = HttpHeaderNameLookup.with(
+        CONSTANTS.values()
+    );
+
+    /**
+     * Returns the constant {@link HttpHeaderName} matching the characters between start and end ignoring case, without
+     * creating a {@link String}.
+     */
+    public static Optional<HttpHeaderName<?>> constant(final CharSequence text,
+                                                       final int start,
+                                                       final int end) {
+        Objects.requireNonNull(text, "text");
+        checkRange(
+            start,
+            end,
+            text.length()
+        );
+
+        return Optional.ofNullable(
+            LOOKUP.get(
+                text,
+                start,
+                end
+            )
+        );
+    }
+
+    /**
+     * Returns the constant {@link HttpHeaderName} matching the ASCII bytes between start and end ignoring case, without
+     * creating a {@link String}.
+     */
+    public static Optional<HttpHeaderName<?>> constant(final byte[] bytes,
+                                                       final int start,
+                                                       final int end) {
+        Objects.requireNonNull(bytes, "bytes");
+        checkRange(
+            start,
+            end,
+            bytes.length
+        );
+
+        return Optional.ofNullable(
+            LOOKUP.get(
+                bytes,
+                start,
+                end
+            )
+        );
+    }
+
+    private static void checkRange(final int start,
+                                   final int end,
+                                   final int length) {
+        if (start < 0) {
+            throw new IllegalArgumentException("Invalid start " + start + " < 0");
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("Invalid end " + end + " < start " + start);
+        }
+        if (end > length) {
+            throw new IllegalArgumentException("Invalid end " + end + " > length " + length);
+        }
+    }
+
     /**
      * Factory that creates a {@link HttpHeaderName}.
      */
     public static HttpHeaderName<?> with(final String name) {
         Objects.requireNonNull(name, "name");
 
-        final HttpHeaderName<?> httpHeaderName = CONSTANTS.get(name);
+        final HttpHeaderName<?> httpHeaderName = LOOKUP.get(
+            name,
+            0,
+            name.length()
+        );
         return null != httpHeaderName ?
             httpHeaderName :
-            new HttpHeaderName<>(
-                checkName(name),
-                HttpHeaderNameScope.UNKNOWN,
-                HeaderHandler.string(),
-                NOT_CONDITIONAL,
-                NOT_CONTENT,
-                true
+            INTERNED.intern(
+                name,
+                HttpHeaderName::unknown
             );
     }
 
+    /**
+     * Shares {@link HttpHeaderName} that are not constants, such as <code>X-Request-Id</code> or vendor headers.
+     */
+    private final static HttpHeaderNameInterner INTERNED = HttpHeaderNameInterner.with(
+        1024, // maxEntries
+        64 // maxLength
+    );
+
+    private static HttpHeaderName<?> unknown(final String name) {
+        return new HttpHeaderName<>(
+            checkName(name),
+            HttpHeaderNameScope.UNKNOWN,
+            HeaderHandler.string(),
+            NOT_CONDITIONAL,
+            NOT_CONTENT,
+            true
+        );
+    }
+
     private static String checkName(final String name) {
         return PREDICATE.failIfNullOrEmptyOrFalse(
             "name",
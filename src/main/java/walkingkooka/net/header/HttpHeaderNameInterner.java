@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import java.util.function.Function;
+
+/**
+ * A bounded thread safe table of {@link HttpHeaderName} that are not constants, such as <code>X-Request-Id</code>, so
+ * repeated custom headers share a single instance and skip validation.
+ * <br>
+ * Names are keyed by their exact text, so the original case is kept, and held in a {@link HeaderLruCache}. Long names
+ * are never interned.
+ */
+final class HttpHeaderNameInterner {
+
+    static HttpHeaderNameInterner with(final int maxEntries,
+                                       final int maxLength) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Invalid maxEntries " + maxEntries + " < 0");
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Invalid maxLength " + maxLength + " < 0");
+        }
+
+        return new HttpHeaderNameInterner(
+            maxEntries,
+            maxLength
+        );
+    }
+
+    private HttpHeaderNameInterner(final int maxEntries,
+                                   final int maxLength) {
+        super();
+        this.names = HeaderLruCache.with(maxEntries);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the previously interned {@link HttpHeaderName} or creates and interns one using the factory. The factory
+     * is expected to validate the name and throw if it is invalid.
+     */
+    HttpHeaderName<?> intern(final String name,
+                             final Function<String, HttpHeaderName<?>> factory) {
+        final HeaderLruCache<String, HttpHeaderName<?>> names = this.names;
+
+        HttpHeaderName<?> header = names.get(name);
+
+        if (null == header) {
+            // an invalid name throws and is never interned
+            header = factory.apply(name);
+
+            if (name.length() <= this.maxLength) {
+                final HttpHeaderName<?> previous = names.putIfAbsent(
+                    name,
+                    header
+                );
+                if (null != previous) {
+                    header = previous;
+                }
+            }
+        }
+
+        return header;
+    }
+
+    /**
+     * The number of names currently interned.
+     */
+    int size() {
+        return this.names.size();
+    }
+
+    private final HeaderLruCache<String, HttpHeaderName<?>> names;
+
+    private final int maxLength;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.names.toString();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import walkingkooka.text.CaseSensitivity;
+
+import java.util.Collection;
+
+/**
+ * A perfect hash table holding the {@link HttpHeaderName} constants, which finds a constant ignoring case from a
+ * {@link CharSequence} or ASCII bytes, without creating a {@link String}.
+ * <br>
+ * When created a seed is searched for, that gives every constant its own slot. A lookup then hashes the characters
+ * once, and compares them with the single candidate in that slot.
+ */
+final class HttpHeaderNameLookup {
+
+    /**
+     * The number of seeds tried for a table size, before the table size is doubled.
+     */
+    private final static int MAX_SEEDS = 1024;
+
+    static HttpHeaderNameLookup with(final Collection<HttpHeaderName<?>> constants) {
+        int size = Integer.highestOneBit(
+            Math.max(
+                constants.size(),
+                1
+            )
+        ) << 2;
+
+        for (; ; ) {
+            for (int seed = 1; seed <= MAX_SEEDS; seed++) {
+                final HttpHeaderName<?>[] table = table(
+                    constants,
+                    size,
+                    seed
+                );
+                if (null != table) {
+                    return new HttpHeaderNameLookup(
+                        table,
+                        seed
+                    );
+                }
+            }
+            size <<= 1;
+        }
+    }
+
+    /**
+     * Attempts to fill a table of the given size, returning null if any two constants share a slot.
+     */
+    private static HttpHeaderName<?>[] table(final Collection<HttpHeaderName<?>> constants,
+                                             final int size,
+                                             final int seed) {
+        final HttpHeaderName<?>[] table = new HttpHeaderName<?>[size];
+        final int mask = size - 1;
+
+        for (final HttpHeaderName<?> constant : constants) {
+            final String name = constant.value();
+            final int slot = hash(
+                name,
+                0,
+                name.length(),
+                seed
+            ) & mask;
+
+            if (null != table[slot]) {
+                return null;
+            }
+            table[slot] = constant;
+        }
+
+        return table;
+    }
+
+    private HttpHeaderNameLookup(final HttpHeaderName<?>[] table,
+                                 final int seed) {
+        super();
+        this.table = table;
+        this.mask = table.length - 1;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the constant matching the characters ignoring case or null.
+     */
+    HttpHeaderName<?> get(final CharSequence text,
+                          final int start,
+                          final int end) {
+        final HttpHeaderName<?> candidate = this.table[
+            hash(
+                text,
+                start,
+                end,
+                this.seed
+            ) & this.mask
+            ];
+        return null != candidate && equalsIgnoringCase(candidate.value(), text, start, end) ?
+            candidate :
+            null;
+    }
+
+    /**
+     * Returns the constant matching the ASCII bytes ignoring case or null.
+     */
+    HttpHeaderName<?> get(final byte[] bytes,
+                          final int start,
+                          final int end) {
+        final HttpHeaderName<?> candidate = this.table[
+            hash(
+                bytes,
+                start,
+                end,
+                this.seed
+            ) & this.mask
+            ];
+        return null != candidate && equalsIgnoringCase(candidate.value(), bytes, start, end) ?
+            candidate :
+            null;
+    }
+
+    /**
+     * Each slot holds a single constant or null.
+     */
+    private final HttpHeaderName<?>[] table;
+
+    private final int mask;
+
+    private final int seed;
+
+    // hash.............................................................................................................
+
+    /**
+     * A FNV-1a style hash of the characters, setting the 0x20 bit so upper and lower case ASCII letters hash the same.
+     */
+    private static int hash(final CharSequence text,
+                            final int start,
+                            final int end,
+                            final int seed) {
+        int hash = seed;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ (text.charAt(i) | 0x20)) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The bytes are treated as ISO-8859-1 and hash identically to the same characters.
+     */
+    private static int hash(final byte[] bytes,
+                            final int start,
+                            final int end,
+                            final int seed) {
+        int hash = seed;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ ((bytes[i] & 0xff) | 0x20)) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private final static int FNV_PRIME = 0x01000193;
+
+    // equalsIgnoringCase...............................................................................................
+
+    private static boolean equalsIgnoringCase(final String name,
+                                              final CharSequence text,
+                                              final int start,
+                                              final int end) {
+        final int length = name.length();
+        boolean equals = length == end - start;
+
+        if (equals) {
+            for (int i = 0; i < length; i++) {
+                if (false == CaseSensitivity.INSENSITIVE.isEqual(name.charAt(i), text.charAt(start + i))) {
+                    equals = false;
+                    break;
+                }
+            }
+        }
+
+        return equals;
+    }
+
+    private static boolean equalsIgnoringCase(final String name,
+                                              final byte[] bytes,
+                                              final int start,
+                                              final int end) {
+        final int length = name.length();
+        boolean equals = length == end - start;
+
+        if (equals) {
+            for (int i = 0; i < length; i++) {
+                if (false == CaseSensitivity.INSENSITIVE.isEqual(name.charAt(i), (char) (bytes[start + i] & 0xff))) {
+                    equals = false;
+                    break;
+                }
+            }
+        }
+
+        return equals;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "size=" + this.table.length + " seed=" + this.seed;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread safe cache of parsed header values keyed by the raw header text, for a selected set of {@link HttpHeaderName}.
+ * Headers sent by browsers such as {@link HttpHeaderName#ACCEPT} or {@link HttpHeaderName#USER_AGENT} repeat the same text
+ * on every request, and because the parsed values are immutable they may be shared.
+ * <br>
+ * Headers that were not selected are always parsed by {@link HttpHeaderName#parseValue(String)}. Each selected header
+ * has its own {@link HeaderLruCache} holding up to the max entries. Text that fails to parse is never cached.
+ */
+public final class HttpHeaderNameParseCache {
+
+    /**
+     * A cache that caches no headers and always parses.
+     */
+    public final static HttpHeaderNameParseCache DISABLED = new HttpHeaderNameParseCache(
+        Sets.empty(),
+        1
+    );
+
+    public static HttpHeaderNameParseCache with(final Set<HttpHeaderName<?>> headers,
+                                                final int maxEntries) {
+        Objects.requireNonNull(headers, "headers");
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntries " + maxEntries + " <= 0");
+        }
+
+        return new HttpHeaderNameParseCache(
+            headers,
+            maxEntries
+        );
+    }
+
+    private HttpHeaderNameParseCache(final Set<HttpHeaderName<?>> headers,
+                                     final int maxEntries) {
+        super();
+
+        final Map<HttpHeaderName<?>, HeaderLruCache<String, Object>> headerToEntries = Maps.hash();
+        for (final HttpHeaderName<?> header : headers) {
+            headerToEntries.put(
+                Objects.requireNonNull(header, "header"),
+                HeaderLruCache.with(maxEntries)
+            );
+        }
+        this.headerToEntries = headerToEntries;
+    }
+
+    /**
+     * Returns the cached value for the given header text, parsing and caching when absent and the header was selected.
+     */
+    public <T> T parseValue(final HttpHeaderName<T> header,
+                            final String text) {
+        Objects.requireNonNull(header, "header");
+        Objects.requireNonNull(text, "text");
+
+        final HeaderLruCache<String, Object> entries = this.headerToEntries.get(header);
+
+        T value;
+        if (null == entries) {
+            value = header.parseValue(text);
+        } else {
+            final Object cached = entries.get(text);
+
+            if (null != cached) {
+                this.hitCount.incrementAndGet();
+                value = Cast.to(cached);
+            } else {
+                this.missCount.incrementAndGet();
+
+                // a failed parse throws and is never cached
+                value = header.parseValue(text);
+
+                final Object previous = entries.putIfAbsent(
+                    text,
+                    value
+                );
+                if (null != previous) {
+                    value = Cast.to(previous);
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * The cached values for each selected header, the map itself is never modified after construction.
+     */
+    private final Map<HttpHeaderName<?>, HeaderLruCache<String, Object>> headerToEntries;
+
+    // stats............................................................................................................
+
+    /**
+     * The number of values currently cached for all headers.
+     */
+    public int size() {
+        int size = 0;
+        for (final HeaderLruCache<String, Object> entries : this.headerToEntries.values()) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * The number of parses of selected headers that reused a cached value.
+     */
+    public long hitCount() {
+        return this.hitCount.get();
+    }
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * The number of parses of selected headers that were not cached.
+     */
+    public long missCount() {
+        return this.missCount.get();
+    }
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "hits=" + this.hitCount() + " misses=" + this.missCount() + " size=" + this.size();
+    }
+}
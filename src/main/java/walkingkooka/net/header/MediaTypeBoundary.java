@@ -81,40 +81,99 @@ public final class MediaTypeBoundary implements HasValue<String>,
             BOUNDARY_LENGTH);
     }
 
+    /**
+     * Each candidate boundary is located in the body using Knuth-Morris-Pratt, so every attempt takes time linear in
+     * the body size rather than comparing the boundary at every offset.
+     */
     // @VisibleForTesting
     static MediaTypeBoundary generate0(final byte[] body,
                                        final Supplier<Byte> boundaryCharacters,
                                        final int boundaryLength) {
+        final byte[] boundary = new byte[boundaryLength];
+        final int[] failure = new int[boundaryLength];
 
-        final int bodyLength = body.length;
-        final byte[] boundary = new byte[boundaryLength + PREFIX_LENGTH];
-        boundary[0] = '-';
-        boundary[1] = '-';
+        do {
+            for (int i = 0; i < boundaryLength; i++) {
+                boundary[i] = BOUNDARY_CHARACTERS[boundaryCharacters.get() & BOUNDARY_CHARACTERS.length - 1];
+            }
+        } while (contains(body, boundary, failure));
 
-        final int last = bodyLength - boundaryLength + 1;
+        final char[] chars = new char[boundaryLength];
+        for (int i = 0; i < boundaryLength; i++) {
+            chars[i] = (char) boundary[i];
+        }
+        final String text = new String(chars);
 
-        Outer:
-        for (; ; ) {
-            for (int i = 0; i < boundaryLength; i++) {
-                boundary[PREFIX_LENGTH + i] = BOUNDARY_CHARACTERS[boundaryCharacters.get() & BOUNDARY_CHARACTERS.length - 1];
+        return new MediaTypeBoundary(text, text);
+    }
+
+    /**
+     * Returns true if the boundary appears anywhere within the body, the failure array is filled with the KMP
+     * partial match table.
+     */
+    private static boolean contains(final byte[] body,
+                                    final byte[] boundary,
+                                    final int[] failure) {
+        final int boundaryLength = boundary.length;
+
+        // failure[i] is the length of the longest proper prefix of boundary[0..i] which is also a suffix
+        int k = 0;
+        failure[0] = 0;
+        for (int i = 1; i < boundaryLength; i++) {
+            while (k > 0 && boundary[i] != boundary[k]) {
+                k = failure[k - 1];
+            }
+            if (boundary[i] == boundary[k]) {
+                k++;
             }
+            failure[i] = k;
+        }
 
-            Inner:
-            for (int bodyIndex = 0; bodyIndex < last; bodyIndex++) {
-                for (int boundaryIndex = 0; boundaryIndex < boundaryLength; boundaryIndex++) {
-                    if (body[bodyIndex + boundaryIndex] != boundary[PREFIX_LENGTH + boundaryIndex]) {
-                        continue Inner;
-                    }
+        boolean found = false;
+        int matched = 0;
+        for (final byte b : body) {
+            while (matched > 0 && b != boundary[matched]) {
+                matched = failure[matched - 1];
+            }
+            if (b == boundary[matched]) {
+                matched++;
+                if (boundaryLength == matched) {
+                    found = true;
+                    break;
                 }
-                continue Outer;
             }
-
-            break;
         }
 
+        return found;
+    }
+
+    /**
+     * Generates a boundary from a {@link java.security.SecureRandom}, without checking any body for collisions.
+     */
+    public static MediaTypeBoundary random() {
+        return random(MediaTypeBoundaryInterop::randomByte);
+    }
+
+    /**
+     * Generates a boundary without checking any body for collisions, which is only safe when the source is random,
+     * such as a {@link java.security.SecureRandom}. Each of the 40 characters carries 6 bits, so the chance of the
+     * boundary appearing within a body is negligible, and bodies may be streamed rather than scanned first.
+     */
+    public static MediaTypeBoundary random(final Supplier<Byte> boundaryCharacters) {
+        Objects.requireNonNull(boundaryCharacters, "boundaryCharacters");
+
+        return random0(
+            boundaryCharacters,
+            BOUNDARY_LENGTH
+        );
+    }
+
+    // @VisibleForTesting
+    static MediaTypeBoundary random0(final Supplier<Byte> boundaryCharacters,
+                                     final int boundaryLength) {
         final char[] chars = new char[boundaryLength];
         for (int i = 0; i < boundaryLength; i++) {
-            chars[i] = (char) boundary[PREFIX_LENGTH + i];
+            chars[i] = (char) BOUNDARY_CHARACTERS[boundaryCharacters.get() & BOUNDARY_CHARACTERS.length - 1];
         }
         final String text = new String(chars);
 
@@ -239,8 +298,6 @@ public final class MediaTypeBoundary implements HasValue<String>,
 
     // MediaTypeBoundary................................................................................................
 
-    private final static int PREFIX_LENGTH = 2;
-
     /**
      * Creates a {@link MediaType#MULTIPART_BYTE_RANGES} with this boundary parameter.
      */
@@ -37,14 +37,21 @@ import walkingkooka.net.header.MediaType;
 import walkingkooka.net.header.MediaTypeBoundary;
 import walkingkooka.net.header.MediaTypeParameterName;
 import walkingkooka.net.http.server.WebFile;
+import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.CharacterConstant;
 import walkingkooka.text.HasText;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -93,6 +100,11 @@ public abstract class HttpEntity implements HasHeaders,
      */
     final static Map<HttpHeaderName<?>, HttpEntityHeaderValueList> NO_HEADERS_HTTP_ENTITY_HEADER_VALUE_LIST = Maps.empty();
 
+    /**
+     * The {@link #contentLength()} returned by a streamed body without a {@link HttpHeaderName#CONTENT_LENGTH} header.
+     */
+    public final static long UNKNOWN_CONTENT_LENGTH = -1;
+
     /**
      * A {@link HttpEntity} with no headers and no body.
      */
@@ -178,13 +190,19 @@ public abstract class HttpEntity implements HasHeaders,
                             mode = MODE_HEADER_NAME_OR_CR; // empty line ?
                             // header line is empty must be end of headers.
                             if (headerName.length() + headerValue.length() == 0) {
-                                httpEntity = httpEntity.setBody(
-                                    binary.extract(
-                                        Range.greaterThanEquals(
-                                            Long.valueOf(1 + i) // CR
+                                httpEntity = httpEntity.isTransferEncodingChunked() ?
+                                    parseChunked(
+                                        httpEntity,
+                                        bytes,
+                                        1 + i
+                                    ) :
+                                    httpEntity.setBody(
+                                        binary.extract(
+                                            Range.greaterThanEquals(
+                                                Long.valueOf(1 + i) // CR
+                                            )
                                         )
-                                    )
-                                );
+                                    );
                                 mode = MODE_BODY;
                                 break HeadersLoop;
                             }
@@ -243,6 +261,113 @@ public abstract class HttpEntity implements HasHeaders,
         return httpEntity;
     }
 
+    /**
+     * Decodes a <code>Transfer-Encoding: chunked</code> body starting at the given offset, adding any trailers to the
+     * headers. The <code>Transfer-Encoding</code> header is kept, so the entity remains chunked when written.
+     * <pre>
+     * chunked-body   = *chunk
+     *                  last-chunk
+     *                  trailer-part
+     *                  CRLF
+     * chunk          = chunk-size [ chunk-ext ] CRLF
+     *                  chunk-data CRLF
+     * </pre>
+     */
+    private static HttpEntity parseChunked(final HttpEntity headers,
+                                           final byte[] bytes,
+                                           final int offset) {
+        final int length = bytes.length;
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        int i = offset;
+        for (; ; ) {
+            // chunk-size
+            long size = 0;
+            final int sizeStart = i;
+
+            while (i < length) {
+                final int digit = Character.digit(bytes[i], 16);
+                if (-1 == digit) {
+                    break;
+                }
+                size = size * 16 + digit;
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Chunk size too large at " + sizeStart);
+                }
+                i++;
+            }
+            if (sizeStart == i) {
+                throw new IllegalArgumentException("Invalid chunk size at " + sizeStart);
+            }
+
+            // skip chunk-ext
+            while (i < length && CR != bytes[i]) {
+                i++;
+            }
+            i = chunkedCrLf(bytes, i);
+
+            if (0 == size) {
+                break;
+            }
+            if (i + size > length) {
+                throw new IllegalArgumentException("Incomplete chunk at " + i);
+            }
+            body.write(
+                bytes,
+                i,
+                (int) size
+            );
+            i = chunkedCrLf(
+                bytes,
+                i + (int) size
+            );
+        }
+
+        // trailer-part followed by an empty line
+        final HttpEntity trailers = parse(
+            Binary.with(
+                Arrays.copyOfRange(
+                    bytes,
+                    i,
+                    length
+                )
+            )
+        );
+        if (trailers.body().size() > 0) {
+            throw new IllegalArgumentException("Unexpected content after chunked body");
+        }
+
+        HttpEntity entity = headers.setBody(
+            Binary.with(
+                body.toByteArray()
+            )
+        );
+
+        for (final Entry<HttpHeaderName<?>, List<?>> headerAndValues : trailers.headers().entrySet()) {
+            final HttpHeaderName<?> header = headerAndValues.getKey();
+
+            for (final Object value : headerAndValues.getValue()) {
+                entity = entity.addHeader(
+                    header,
+                    Cast.to(value)
+                );
+            }
+        }
+
+        return entity;
+    }
+
+    /**
+     * Checks a CRLF follows returning the offset after it.
+     */
+    private static int chunkedCrLf(final byte[] bytes,
+                                   final int offset) {
+        if (offset + 1 >= bytes.length || CR != bytes[offset] || LF != bytes[offset + 1]) {
+            throw new IllegalArgumentException("Chunk missing CRLF at " + offset);
+        }
+        return offset + 2;
+    }
+
     /**
      * Package private ctor to limit sub classing
      */
@@ -291,25 +416,67 @@ public abstract class HttpEntity implements HasHeaders,
     }
 
     /**
-     * Getter that returns the content length
+     * Getter that returns the content length or {@link #UNKNOWN_CONTENT_LENGTH} for a streamed body of unknown length.
      */
     public abstract long contentLength();
 
     /**
-     * Would be mutator that sets or replaces the content-length if it is wrong or different from the body's actual length
+     * Would be mutator that sets or replaces the content-length if it is wrong or different from the body's actual length.
+     * Entities with an {@link #UNKNOWN_CONTENT_LENGTH} or that are {@link #isTransferEncodingChunked()} are returned
+     * unchanged, as a chunked message must not include a content-length.
      */
     public final HttpEntity setContentLength() {
-        return this.setHeader0(
-            HttpHeaderName.CONTENT_LENGTH,
-            HttpEntityHeaderValueList.one(
+        final long contentLength = this.contentLength();
+
+        return UNKNOWN_CONTENT_LENGTH == contentLength || this.isTransferEncodingChunked() ?
+            this :
+            this.setHeader0(
                 HttpHeaderName.CONTENT_LENGTH,
-                Long.valueOf(
-                    this.contentLength()
+                HttpEntityHeaderValueList.one(
+                    HttpHeaderName.CONTENT_LENGTH,
+                    Long.valueOf(contentLength)
                 )
-            )
-        );
+            );
+    }
+
+    /**
+     * Returns true if the last <code>Transfer-Encoding</code> is <code>chunked</code>, in which case the
+     * {@link #body()} holds the decoded body, and is chunked when the entity is written.
+     */
+    public final boolean isTransferEncodingChunked() {
+        final Optional<String> transferEncoding = HttpHeaderName.TRANSFER_ENCODING.header(this);
+        boolean chunked = false;
+
+        if (transferEncoding.isPresent()) {
+            final String codings = transferEncoding.get();
+            chunked = CaseSensitivity.INSENSITIVE.equals(
+                CHUNKED,
+                codings.substring(codings.lastIndexOf(',') + 1)
+                    .trim()
+            );
+        }
+
+        return chunked;
     }
 
+    /**
+     * Would be setter that returns an entity whose body is chunked when written, removing any
+     * {@link HttpHeaderName#CONTENT_LENGTH}.
+     */
+    public final HttpEntity setTransferEncodingChunked() {
+        return this.isTransferEncodingChunked() ?
+            this :
+            this.setHeader(
+                HttpHeaderName.TRANSFER_ENCODING,
+                Lists.of(CHUNKED)
+            ).removeHeader(HttpHeaderName.CONTENT_LENGTH);
+    }
+
+    /**
+     * The <code>Transfer-Encoding</code> coding for a chunked body.
+     */
+    public final static String CHUNKED = "chunked";
+
     /**
      * Sets the content-type replacing any existing value as necessary.
      */
@@ -430,11 +597,61 @@ public abstract class HttpEntity implements HasHeaders,
         final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers = this.headers2();
         return body.isEmpty() && headers.isEmpty() ?
             EMPTY :
-            body.equals(this.body()) ?
+            this.isBody(body) ?
                 this :
                 this.replace(headers, body);
     }
 
+    /**
+     * Returns true if the given {@link Binary} is the same as the current body.
+     */
+    boolean isBody(final Binary body) {
+        return body.equals(this.body());
+    }
+
+    /**
+     * Returns the body as an {@link InputStream}. For most entities this simply reads the {@link #body()}, but entities
+     * created by {@link #setBodyInputStream(InputStream)} return the original stream which may only be consumed once.
+     */
+    @GwtIncompatible
+    public InputStream bodyInputStream() {
+        return this.body()
+            .inputStream();
+    }
+
+    /**
+     * Writes the body to the given {@link WritableByteChannel} returning the number of bytes written. Entities created
+     * by {@link #setBodyWebFile(WebFile)} use {@link WebFile#transferTo(WritableByteChannel)}, so file backed content
+     * may be copied without passing through the heap.
+     */
+    @GwtIncompatible
+    public long bodyTransferTo(final WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "channel");
+
+        final ByteBuffer buffer = ByteBuffer.wrap(
+            this.body()
+                .value()
+        );
+        final long count = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return count;
+    }
+
+    /**
+     * Would be setter that returns a {@link HttpEntity} with the given {@link InputStream} as its body. The stream is
+     * not read until the body is required, and large bodies may be copied from {@link #bodyInputStream()} with bounded
+     * memory. Note the {@link HttpHeaderName#CONTENT_LENGTH} is not set or updated.
+     */
+    @GwtIncompatible
+    public final HttpEntity setBodyInputStream(final InputStream body) {
+        return HttpEntityInputStream.with(
+            this.headers2(),
+            body
+        );
+    }
+
     /**
      * Clears the body
      */
@@ -469,6 +686,16 @@ public abstract class HttpEntity implements HasHeaders,
         return HttpEntityInterop.setBody(this, file, defaultCharset);
     }
 
+    /**
+     * Returns a {@link HttpEntity} whose body streams the content of the {@link WebFile} when it is eventually written,
+     * rather than reading the entire file into memory. The content is not opened until the body is read. In javascript
+     * the text content is copied using the {@link #charset()} of this entity.
+     */
+    public final HttpEntity setBodyWebFile(final WebFile file) {
+        Objects.requireNonNull(file, "file");
+        return HttpEntityInterop.setBodyWebFile(this, file);
+    }
+
     // isEmpty.........................................................................................................
 
     /**
@@ -534,28 +761,13 @@ public abstract class HttpEntity implements HasHeaders,
      * https://www.w3.org/Protocols/rfc1341/7_2_Multipart.html
      */
     public final List<HttpEntity> multiparts() {
-        final Optional<MediaType> maybeContentType = this.contentType();
-        if (false == maybeContentType.isPresent()) {
-            throw new IllegalArgumentException("Not multipart, missing content-type");
-        }
-
-        final MediaType contentType = maybeContentType.get();
-        if (false == MediaType.MULTIPART_FORM_DATA.test(contentType)) {
-            throw new IllegalArgumentException("Not multipart, wrong content-type " + contentType);
-        }
-
-        final Optional<MediaTypeBoundary> maybeBoundary = MediaTypeParameterName.BOUNDARY.parameterValue(contentType);
-        if (false == maybeBoundary.isPresent()) {
-            throw new IllegalArgumentException("Multipart, content-type missing boundary");
-        }
+        final MediaTypeBoundary mediaTypeBoundary = this.multipartBoundary();
 
         final List<HttpEntity> parts = Lists.array();
 
         final Binary binary = this.body();
         final int binaryEnd = binary.size();
 
-        final MediaTypeBoundary mediaTypeBoundary = maybeBoundary.get();
-
         // first boundary
         byte[] boundary = dashDashBoundaryBytes(mediaTypeBoundary);
 
@@ -626,6 +838,42 @@ public abstract class HttpEntity implements HasHeaders,
         return Lists.immutable(parts);
     }
 
+    /**
+     * Returns a {@link HttpEntityMultipartReader} which reads each part from {@link #bodyInputStream()} only as it is
+     * needed, rather than requiring the entire body and a copy of every part like {@link #multiparts()}.
+     */
+    @GwtIncompatible
+    public final HttpEntityMultipartReader multipartReader(final int maxParts,
+                                                           final int maxHeaderSize) {
+        return HttpEntityMultipartReader.with(
+            this.bodyInputStream(),
+            this.multipartBoundary(),
+            maxParts,
+            maxHeaderSize
+        );
+    }
+
+    /**
+     * Verifies the content-type is multipart/form-data and returns its boundary.
+     */
+    private MediaTypeBoundary multipartBoundary() {
+        final Optional<MediaType> maybeContentType = this.contentType();
+        if (false == maybeContentType.isPresent()) {
+            throw new IllegalArgumentException("Not multipart, missing content-type");
+        }
+
+        final MediaType contentType = maybeContentType.get();
+        if (false == MediaType.MULTIPART_FORM_DATA.test(contentType)) {
+            throw new IllegalArgumentException("Not multipart, wrong content-type " + contentType);
+        }
+
+        final Optional<MediaTypeBoundary> maybeBoundary = MediaTypeParameterName.BOUNDARY.parameterValue(contentType);
+        if (false == maybeBoundary.isPresent()) {
+            throw new IllegalArgumentException("Multipart, content-type missing boundary");
+        }
+        return maybeBoundary.get();
+    }
+
     /**
      * Tests if a DASH DASH is at the given offset assuming it follows a boundary.
      * <pre>
@@ -668,7 +916,7 @@ public abstract class HttpEntity implements HasHeaders,
      * --boundary
      * </pre>
      */
-    private static byte[] dashDashBoundaryBytes(final MediaTypeBoundary boundary) {
+    static byte[] dashDashBoundaryBytes(final MediaTypeBoundary boundary) {
         return boundary(
             boundary,
             new byte[DASH_DASH.length + boundary.value().length()],
@@ -683,7 +931,7 @@ public abstract class HttpEntity implements HasHeaders,
      * --boundary
      * </pre>
      */
-    private static byte[] crLfDashDashBoundaryBytes(final MediaTypeBoundary boundary) {
+    static byte[] crLfDashDashBoundaryBytes(final MediaTypeBoundary boundary) {
         final byte[] bytes = new byte[CR_LF.length + DASH_DASH.length + boundary.value().length()];
 
         bytes[0] = CR;
@@ -716,7 +964,7 @@ public abstract class HttpEntity implements HasHeaders,
     /**
      * Verifies the part has the content-disposition and maybe content-type headers. Any other headers will result in an {@link IllegalArgumentException}.
      */
-    private void validateMultipartHeaders(final int partNumber) {
+    void validateMultipartHeaders(final int partNumber) {
         HttpHeaderName.CONTENT_DISPOSITION.header(this)
             .orElseThrow(
                 () -> new IllegalArgumentException("Part " + partNumber + " missing header " + CharSequences.quoteAndEscape(HttpHeaderName.CONTENT_DISPOSITION.value()))
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.header.HttpHeaderName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link HttpEntity} whose body is an {@link InputStream} that is only consumed when the body is actually needed.
+ * The {@link #contentLength()} is taken from the {@link HttpHeaderName#CONTENT_LENGTH} header and is
+ * {@link HttpEntity#UNKNOWN_CONTENT_LENGTH} when absent, so large bodies may be streamed via {@link #bodyInputStream()}
+ * without ever being held in memory. Calling {@link #body()} or {@link #bodyText()} reads the entire stream once.
+ */
+@GwtIncompatible
+final class HttpEntityInputStream extends HttpEntityNotEmpty {
+
+    /**
+     * Creates a new {@link HttpEntityInputStream}
+     */
+    // @VisibleForTesting
+    static HttpEntityInputStream with(final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers,
+                                      final InputStream body) {
+        return new HttpEntityInputStream(
+            headers,
+            HttpEntityInputStreamBody.with(body)
+        );
+    }
+
+    /**
+     * Creates a new {@link HttpEntityInputStream} that opens the body when first consumed.
+     */
+    static HttpEntityInputStream lazy(final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers,
+                                      final Supplier<InputStream> opener,
+                                      final Object source) {
+        return new HttpEntityInputStream(
+            headers,
+            HttpEntityInputStreamBody.lazy(
+                opener,
+                source
+            )
+        );
+    }
+
+    /**
+     * Private ctor
+     */
+    private HttpEntityInputStream(final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers,
+                                  final HttpEntityInputStreamBody body) {
+        super(headers);
+        this.body = body;
+    }
+
+    // headers..........................................................................................................
+
+    /**
+     * The new entity shares the same {@link HttpEntityInputStreamBody} so the body is still only consumed once.
+     */
+    @Override
+    HttpEntity replaceHeaders(final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers) {
+        return new HttpEntityInputStream(
+            Maps.readOnly(headers),
+            this.body
+        );
+    }
+
+    // contentLength....................................................................................................
+
+    @Override
+    public long contentLength() {
+        return HttpHeaderName.CONTENT_LENGTH.header(this)
+            .orElse(
+                this.body.isRead() ?
+                    this.body().size() :
+                    UNKNOWN_CONTENT_LENGTH
+            );
+    }
+
+    // body ............................................................................................................
+
+    @Override
+    public Binary body() {
+        return this.body.binary();
+    }
+
+    @Override
+    public InputStream bodyInputStream() {
+        return this.body.inputStream();
+    }
+
+    @Override
+    public long bodyTransferTo(final WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "channel");
+
+        return this.body.transferTo(channel);
+    }
+
+    /**
+     * Comparing would require reading the stream, so always assume the body is different.
+     */
+    @Override
+    boolean isBody(final Binary body) {
+        return false;
+    }
+
+    private final HttpEntityInputStreamBody body;
+
+    // bodyText ........................................................................................................
+
+    @Override
+    public String bodyText() {
+        return new String(
+            this.body().value(),
+            this.charset()
+        );
+    }
+
+    // replace..........................................................................................................
+
+    @Override
+    HttpEntity replace(final Map<HttpHeaderName<?>, HttpEntityHeaderValueList> headers,
+                       final Binary body) {
+        return headers.isEmpty() && body.isEmpty() ?
+            EMPTY :
+            HttpEntityBinary.with(Maps.readOnly(headers), body);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.http.server.WebFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The lazily consumed body of a {@link HttpEntityInputStream}. This is shared by all entities created by replacing
+ * headers so the {@link InputStream} is only ever consumed once, either by streaming it via {@link #inputStream()} or
+ * by reading it fully into a {@link Binary} via {@link #binary()}, which is then cached. When created by
+ * {@link #lazy(Supplier, Object)} the {@link InputStream} is not opened until first consumed, so a body that is
+ * replaced or never written does not hold an open stream.
+ */
+@GwtIncompatible
+final class HttpEntityInputStreamBody {
+
+    static HttpEntityInputStreamBody with(final InputStream inputStream) {
+        Objects.requireNonNull(inputStream, "inputStream");
+
+        return new HttpEntityInputStreamBody(
+            () -> inputStream,
+            inputStream
+        );
+    }
+
+    /**
+     * Creates a body that opens its {@link InputStream} using the given {@link Supplier} when first consumed. The
+     * source is only used by {@link #toString()}.
+     */
+    static HttpEntityInputStreamBody lazy(final Supplier<InputStream> opener,
+                                          final Object source) {
+        return new HttpEntityInputStreamBody(
+            Objects.requireNonNull(opener, "opener"),
+            Objects.requireNonNull(source, "source")
+        );
+    }
+
+    private HttpEntityInputStreamBody(final Supplier<InputStream> opener,
+                                      final Object source) {
+        super();
+        this.opener = opener;
+        this.source = source;
+    }
+
+    /**
+     * Returns the original {@link InputStream} the first time it is called, afterwards if the body was read, a new
+     * {@link InputStream} over the cached {@link Binary}.
+     */
+    synchronized InputStream inputStream() {
+        final Binary binary = this.binary;
+        if (null != binary) {
+            return binary.inputStream();
+        }
+        this.consumed();
+        return this.opener.get();
+    }
+
+    /**
+     * Reads and caches the entire body, closing the {@link InputStream} afterwards.
+     */
+    synchronized Binary binary() {
+        Binary binary = this.binary;
+        if (null == binary) {
+            this.consumed();
+
+            try (final InputStream inputStream = this.opener.get()) {
+                binary = Binary.with(inputStream.readAllBytes());
+            } catch (final IOException cause) {
+                throw new HttpException("Unable to read body, " + cause.getMessage(), cause);
+            }
+            this.binary = binary;
+        }
+        return binary;
+    }
+
+    /**
+     * Copies the body to the given {@link WritableByteChannel}, consuming it unless it was already read. When the
+     * source is a {@link WebFile} its {@link WebFile#transferTo(WritableByteChannel)} is used, which for files avoids
+     * copying the content through the heap.
+     */
+    synchronized long transferTo(final WritableByteChannel channel) throws IOException {
+        final Binary binary = this.binary;
+        final long count;
+
+        if (null != binary) {
+            final ByteBuffer buffer = ByteBuffer.wrap(binary.value());
+            count = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            this.consumed();
+
+            final Object source = this.source;
+            if (source instanceof WebFile) {
+                count = ((WebFile) source).transferTo(channel);
+            } else {
+                try (final InputStream inputStream = this.opener.get()) {
+                    count = inputStream.transferTo(
+                        Channels.newOutputStream(channel)
+                    );
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns true if the body has been read into memory.
+     */
+    synchronized boolean isRead() {
+        return null != this.binary;
+    }
+
+    private void consumed() {
+        if (this.consumed) {
+            throw new IllegalStateException("Body already consumed");
+        }
+        this.consumed = true;
+    }
+
+    /**
+     * Returns the {@link InputStream}, this is called at most once.
+     */
+    private final Supplier<InputStream> opener;
+
+    private final Object source;
+
+    private boolean consumed;
+
+    private Binary binary;
+
+    @Override
+    public String toString() {
+        return this.source.toString();
+    }
+}
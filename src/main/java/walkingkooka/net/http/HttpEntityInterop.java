@@ -47,4 +47,18 @@ final class HttpEntityInterop extends HttpEntityInteropJ2cl {
             throw new WebFileException("Unable to read content", cause);
         }
     }
+
+    /**
+     * The {@link WebFile#content()} is only opened when the body is written, so entities whose body is replaced or
+     * never written, such as responses to HEAD, do not leak an open stream.
+     */
+    @GwtIncompatible
+    static HttpEntity setBodyWebFile(final HttpEntity entity,
+                                     final WebFile file) {
+        return HttpEntityInputStream.lazy(
+            entity.headers2(),
+            file::content,
+            file
+        );
+    }
 }
@@ -38,4 +38,13 @@ class HttpEntityInteropJ2cl {
                               final Charset defaultCharset) {
         return entity.setBodyText(file.contentText(defaultCharset));
     }
+
+    static HttpEntity setBodyWebFile(final HttpEntity entity,
+                                     final WebFile file) {
+        return setBody(
+            entity,
+            file,
+            entity.charset()
+        );
+    }
 }
@@ -0,0 +1,466 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.header.MediaTypeBoundary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reads the parts of a multipart/form-data body one at a time from an {@link InputStream}, without ever holding the
+ * whole body or a complete part in memory. Each part returned by {@link #next()} has its headers already parsed and
+ * a body that streams the bytes up to the next boundary, which is located with a Boyer-Moore-Horspool scan of a
+ * fixed size window. Any unread bytes of the previous part are skipped when the next part is requested.
+ * <pre>
+ * --boundary
+ * Content-Disposition: form-data; name="field1"
+ *
+ * value1
+ * --boundary--
+ * </pre>
+ */
+@GwtIncompatible
+public final class HttpEntityMultipartReader implements Closeable {
+
+    /**
+     * The size of the window, unless the boundary is very long.
+     */
+    private final static int BUFFER_SIZE = 8 * 1024;
+
+    static HttpEntityMultipartReader with(final InputStream input,
+                                          final MediaTypeBoundary boundary,
+                                          final int maxParts,
+                                          final int maxHeaderSize) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(boundary, "boundary");
+        if (maxParts <= 0) {
+            throw new IllegalArgumentException("Invalid max parts " + maxParts + " <= 0");
+        }
+        if (maxHeaderSize <= 0) {
+            throw new IllegalArgumentException("Invalid max header size " + maxHeaderSize + " <= 0");
+        }
+
+        return new HttpEntityMultipartReader(
+            input,
+            boundary,
+            maxParts,
+            maxHeaderSize
+        );
+    }
+
+    private HttpEntityMultipartReader(final InputStream input,
+                                      final MediaTypeBoundary boundary,
+                                      final int maxParts,
+                                      final int maxHeaderSize) {
+        this.input = input;
+        this.boundary = boundary;
+        this.maxParts = maxParts;
+        this.maxHeaderSize = maxHeaderSize;
+
+        this.delimiter = HttpEntity.crLfDashDashBoundaryBytes(boundary);
+        this.delimiterSkips = skips(this.delimiter);
+
+        this.buffer = new byte[Math.max(BUFFER_SIZE, this.delimiter.length * 2)];
+    }
+
+    /**
+     * Returns the next part, or {@link Optional#empty()} once the closing boundary has been read. The body of the
+     * returned part is only valid until the next call to this method.
+     */
+    public Optional<HttpEntity> next() throws IOException {
+        Optional<HttpEntity> next = Optional.empty();
+
+        if (false == this.finished) {
+            if (null == this.part) {
+                this.initialBoundary();
+            } else {
+                this.part.skipRemaining();
+                this.part = null;
+            }
+
+            if (false == this.afterBoundary()) {
+                final int partNumber = this.partCount;
+                if (partNumber >= this.maxParts) {
+                    throw new IllegalArgumentException("Too many parts, max " + this.maxParts);
+                }
+                this.partCount++;
+
+                final HttpEntity headers = this.headers(partNumber);
+                headers.validateMultipartHeaders(partNumber);
+
+                final HttpEntityMultipartReaderPartInputStream part = new HttpEntityMultipartReaderPartInputStream(
+                    this,
+                    partNumber
+                );
+                this.part = part;
+                next = Optional.of(
+                    headers.setBodyInputStream(part)
+                );
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * Skips any preamble up to and including the first dash-dash boundary, which unlike later boundaries need not be
+     * preceded by a CRLF.
+     */
+    private void initialBoundary() throws IOException {
+        final byte[] dashDashBoundary = HttpEntity.dashDashBoundaryBytes(this.boundary);
+        final int[] skips = skips(dashDashBoundary);
+
+        for (; ; ) {
+            final int found = indexOf(
+                this.buffer,
+                this.start,
+                this.end,
+                dashDashBoundary,
+                skips
+            );
+            if (-1 != found) {
+                this.start = found + dashDashBoundary.length;
+                break;
+            }
+            // keep any bytes that may be the start of the boundary
+            this.start = Math.max(
+                this.start,
+                this.end - dashDashBoundary.length + 1
+            );
+            if (false == this.fill()) {
+                throw new IllegalArgumentException("Missing initial boundary");
+            }
+        }
+    }
+
+    /**
+     * Consumes the bytes following a boundary, returning true if this was the closing boundary.
+     * <pre>
+     * --boundary--
+     * --boundary CRLF
+     * </pre>
+     */
+    private boolean afterBoundary() throws IOException {
+        final boolean closing;
+
+        if (this.require(2) && '-' == this.buffer[this.start] && '-' == this.buffer[this.start + 1]) {
+            // epilogue is ignored
+            this.finished = true;
+            closing = true;
+        } else {
+            // skip transport padding
+            while (this.require(1) && isPadding(this.buffer[this.start])) {
+                this.start++;
+            }
+
+            if (false == this.require(2) || CR != this.buffer[this.start] || LF != this.buffer[this.start + 1]) {
+                throw new IllegalArgumentException("Part " + this.partCount + " boundary missing CRLF");
+            }
+            this.start += 2;
+            closing = false;
+        }
+
+        return closing;
+    }
+
+    private static boolean isPadding(final byte b) {
+        return ' ' == b || '\t' == b;
+    }
+
+    /**
+     * Reads the part headers up to and including the empty line, failing if they exceed the max header size.
+     */
+    private HttpEntity headers(final int partNumber) throws IOException {
+        final ByteArrayOutputStream headers = new ByteArrayOutputStream();
+
+        // the CRLF ending the boundary line counts, so an immediate CRLF means no headers
+        int crLfCrLf = 2;
+
+        for (; ; ) {
+            final byte[] buffer = this.buffer;
+            final int start = this.start;
+            final int end = this.end;
+
+            int i = start;
+            while (i < end && crLfCrLf < CR_LF_CR_LF.length) {
+                final byte b = buffer[i];
+                crLfCrLf = CR_LF_CR_LF[crLfCrLf] == b ?
+                    crLfCrLf + 1 :
+                    CR == b ? 1 : 0;
+                i++;
+            }
+
+            final int copy = i - start;
+            if (headers.size() + copy > this.maxHeaderSize) {
+                throw new IllegalArgumentException("Part " + partNumber + " headers too large, max " + this.maxHeaderSize);
+            }
+            headers.write(
+                buffer,
+                start,
+                copy
+            );
+            this.start = i;
+
+            if (CR_LF_CR_LF.length == crLfCrLf) {
+                break;
+            }
+            if (false == this.fill()) {
+                throw new IllegalArgumentException("Part " + partNumber + " headers incomplete");
+            }
+        }
+
+        try {
+            return HttpEntity.parse(
+                Binary.with(
+                    headers.toByteArray()
+                )
+            );
+        } catch (final RuntimeException cause) {
+            throw new IllegalArgumentException("Part " + partNumber + " " + cause.getMessage(), cause);
+        }
+    }
+
+    private final static byte CR = '\r';
+
+    private final static byte LF = '\n';
+
+    private final static byte[] CR_LF_CR_LF = new byte[]{
+        CR,
+        LF,
+        CR,
+        LF
+    };
+
+    // part body........................................................................................................
+
+    /**
+     * Reads body bytes for the current part into the given array, returning -1 after the part has been completely read,
+     * with the following boundary consumed.
+     */
+    int readPart(final byte[] bytes,
+                 final int offset,
+                 final int length,
+                 final int partNumber) throws IOException {
+        final byte[] buffer = this.buffer;
+        final byte[] delimiter = this.delimiter;
+
+        for (; ; ) {
+            int found = this.delimiterAt;
+            if (-1 == found) {
+                found = indexOf(
+                    buffer,
+                    this.start,
+                    this.end,
+                    delimiter,
+                    this.delimiterSkips
+                );
+                this.delimiterAt = found;
+            }
+
+            if (-1 != found) {
+                if (found == this.start) {
+                    this.start += delimiter.length;
+                    this.delimiterAt = -1;
+                    return -1;
+                }
+                return this.copy(bytes, offset, Math.min(length, found - this.start));
+            }
+
+            // bytes that cannot be the start of a boundary may be returned
+            final int safe = this.end - delimiter.length + 1 - this.start;
+            if (safe > 0) {
+                return this.copy(bytes, offset, Math.min(length, safe));
+            }
+
+            if (false == this.fill()) {
+                throw new IllegalArgumentException("Part " + partNumber + " missing boundary");
+            }
+        }
+    }
+
+    private int copy(final byte[] bytes,
+                     final int offset,
+                     final int length) {
+        System.arraycopy(
+            this.buffer,
+            this.start,
+            bytes,
+            offset,
+            length
+        );
+        this.start += length;
+        return length;
+    }
+
+    // buffer...........................................................................................................
+
+    /**
+     * Ensures at least count bytes are available in the buffer, returning false if the input ended first.
+     */
+    private boolean require(final int count) throws IOException {
+        while (this.end - this.start < count) {
+            if (false == this.fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves any remaining bytes to the start of the buffer and reads more, returning false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        final byte[] buffer = this.buffer;
+        final int remaining = this.end - this.start;
+
+        if (this.start > 0) {
+            System.arraycopy(
+                buffer,
+                this.start,
+                buffer,
+                0,
+                remaining
+            );
+            if (-1 != this.delimiterAt) {
+                this.delimiterAt -= this.start;
+            }
+            this.start = 0;
+            this.end = remaining;
+        }
+
+        final int read = this.input.read(
+            buffer,
+            remaining,
+            buffer.length - remaining
+        );
+        final boolean filled = read > 0;
+        if (filled) {
+            this.end += read;
+        }
+        return filled;
+    }
+
+    private final InputStream input;
+
+    private final byte[] buffer;
+
+    /**
+     * The first unread byte in {@link #buffer}.
+     */
+    private int start;
+
+    /**
+     * The position after the last read byte in {@link #buffer}.
+     */
+    private int end;
+
+    // Boyer-Moore-Horspool.............................................................................................
+
+    /**
+     * Builds the bad character skip table for the given pattern.
+     */
+    static int[] skips(final byte[] pattern) {
+        final int length = pattern.length;
+
+        final int[] skips = new int[256];
+        Arrays.fill(skips, length);
+
+        for (int i = 0; i < length - 1; i++) {
+            skips[pattern[i] & 0xff] = length - 1 - i;
+        }
+        return skips;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern within the given range of bytes, or -1.
+     */
+    static int indexOf(final byte[] bytes,
+                       final int start,
+                       final int end,
+                       final byte[] pattern,
+                       final int[] skips) {
+        final int length = pattern.length;
+        final int last = length - 1;
+
+        int found = -1;
+        int i = start;
+
+        while (i <= end - length) {
+            int j = last;
+            while (j >= 0 && bytes[i + j] == pattern[j]) {
+                j--;
+            }
+            if (j < 0) {
+                found = i;
+                break;
+            }
+            i += skips[bytes[i + last] & 0xff];
+        }
+
+        return found;
+    }
+
+    /**
+     * The boundary preceded by CRLF and dash dash, which ends every part.
+     */
+    private final byte[] delimiter;
+
+    private final int[] delimiterSkips;
+
+    /**
+     * A cached position of the {@link #delimiter} within the {@link #buffer} or -1 when it has not yet been found.
+     */
+    private int delimiterAt = -1;
+
+    // state............................................................................................................
+
+    private final MediaTypeBoundary boundary;
+
+    private final int maxParts;
+
+    private final int maxHeaderSize;
+
+    private int partCount;
+
+    private HttpEntityMultipartReaderPartInputStream part;
+
+    private boolean finished;
+
+    // Closeable........................................................................................................
+
+    @Override
+    public void close() throws IOException {
+        this.finished = true;
+        this.input.close();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.boundary.value() + " " + this.partCount + "/" + this.maxParts;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The body of a single part read by a {@link HttpEntityMultipartReader}, ending just before the following boundary.
+ */
+@GwtIncompatible
+final class HttpEntityMultipartReaderPartInputStream extends InputStream {
+
+    HttpEntityMultipartReaderPartInputStream(final HttpEntityMultipartReader reader,
+                                             final int partNumber) {
+        super();
+        this.reader = reader;
+        this.partNumber = partNumber;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return -1 == this.read(single, 0, 1) ?
+            -1 :
+            single[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " length " + length + " for " + bytes.length);
+        }
+
+        int read = 0;
+        if (this.done) {
+            read = -1;
+        } else {
+            if (length > 0) {
+                read = this.reader.readPart(
+                    bytes,
+                    offset,
+                    length,
+                    this.partNumber
+                );
+                this.done = -1 == read;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Reads and discards any remaining bytes, consuming the following boundary.
+     */
+    void skipRemaining() throws IOException {
+        if (false == this.done) {
+            final byte[] skip = new byte[512];
+            while (-1 != this.read(skip, 0, skip.length)) {
+                // nop
+            }
+        }
+    }
+
+    private final HttpEntityMultipartReader reader;
+
+    private final int partNumber;
+
+    private boolean done;
+
+    @Override
+    public String toString() {
+        return "Part " + this.partNumber;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Cast;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeBoundary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the parts of a multipart body such as multipart/form-data or multipart/byteranges directly to an
+ * {@link OutputStream}, streaming each part body from {@link HttpEntity#bodyInputStream()} so only a small buffer is
+ * ever held in memory. Because the body is never available up front the boundary is random rather than checked for
+ * collisions like {@link MediaTypeBoundary#generate(byte[], java.util.function.Supplier)}.
+ * <pre>
+ * --boundary
+ * Content-Type: text/html
+ * Content-Range: bytes 100-200/1270
+ *
+ * ...
+ * --boundary--
+ * </pre>
+ */
+public final class HttpEntityMultipartWriter {
+
+    /**
+     * Creates a new {@link HttpEntityMultipartWriter} with a boundary from a {@link java.security.SecureRandom}.
+     */
+    public static HttpEntityMultipartWriter with(final OutputStream output) {
+        return with(
+            MediaTypeBoundary.random(),
+            output
+        );
+    }
+
+    /**
+     * Creates a new {@link HttpEntityMultipartWriter} with the given boundary.
+     */
+    public static HttpEntityMultipartWriter with(final MediaTypeBoundary boundary,
+                                                 final OutputStream output) {
+        Objects.requireNonNull(boundary, "boundary");
+        Objects.requireNonNull(output, "output");
+
+        return new HttpEntityMultipartWriter(
+            boundary,
+            output
+        );
+    }
+
+    /**
+     * Returns the delimiter, headers and empty line that precede the body of a part. Only the first part has no CRLF
+     * before the delimiter. These bytes are shared by anything that frames a multipart body without this writer, such
+     * as a multipart/byteranges whose parts are read later.
+     */
+    public static byte[] partHead(final MediaTypeBoundary boundary,
+                                  final HttpEntity part,
+                                  final boolean first) {
+        Objects.requireNonNull(boundary, "boundary");
+        Objects.requireNonNull(part, "part");
+
+        final StringBuilder head = delimiter(
+            boundary,
+            first
+        ).append(CRLF);
+
+        for (final Map.Entry<HttpHeaderName<?>, List<?>> headerAndValues : part.headers().entrySet()) {
+            final HttpHeaderName<?> header = headerAndValues.getKey();
+
+            for (final Object value : headerAndValues.getValue()) {
+                head.append(header.value())
+                    .append(HttpEntity.HEADER_SEPARATOR_CHAR)
+                    .append(' ')
+                    .append(
+                        header.headerText(
+                            Cast.to(value)
+                        )
+                    ).append(CRLF);
+            }
+        }
+        head.append(CRLF);
+
+        return bytes(head);
+    }
+
+    /**
+     * Returns the closing delimiter that follows the last part, without a leading CRLF when there were no parts.
+     */
+    public static byte[] close(final MediaTypeBoundary boundary,
+                               final boolean first) {
+        Objects.requireNonNull(boundary, "boundary");
+
+        return bytes(
+            delimiter(
+                boundary,
+                first
+            ).append("--")
+                .append(CRLF)
+        );
+    }
+
+    private static StringBuilder delimiter(final MediaTypeBoundary boundary,
+                                           final boolean first) {
+        final StringBuilder delimiter = new StringBuilder();
+        if (false == first) {
+            delimiter.append(CRLF);
+        }
+        return delimiter.append("--")
+            .append(boundary.value());
+    }
+
+    private static byte[] bytes(final CharSequence text) {
+        return text.toString()
+            .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private final static String CRLF = "\r\n";
+
+    private HttpEntityMultipartWriter(final MediaTypeBoundary boundary,
+                                      final OutputStream output) {
+        this.boundary = boundary;
+        this.output = output;
+    }
+
+    /**
+     * The boundary separating parts.
+     */
+    public MediaTypeBoundary boundary() {
+        return this.boundary;
+    }
+
+    private final MediaTypeBoundary boundary;
+
+    /**
+     * Returns the given multipart {@link MediaType} with the {@link #boundary()} parameter, eg
+     * {@link MediaType#MULTIPART_FORM_DATA} or {@link MediaType#MULTIPART_BYTE_RANGES}.
+     */
+    public MediaType contentType(final MediaType multipart) {
+        Objects.requireNonNull(multipart, "multipart");
+
+        return multipart.setBoundary(this.boundary);
+    }
+
+    /**
+     * Writes the boundary, headers and body of the given part.
+     */
+    @GwtIncompatible
+    public void write(final HttpEntity part) throws IOException {
+        Objects.requireNonNull(part, "part");
+        this.checkNotFinished();
+
+        this.output.write(
+            partHead(
+                this.boundary,
+                part,
+                0 == this.parts
+            )
+        );
+
+        try (final InputStream body = part.bodyInputStream()) {
+            body.transferTo(this.output);
+        }
+
+        this.parts++;
+    }
+
+    /**
+     * Writes the closing boundary, after which no more parts may be written.
+     */
+    public void finish() throws IOException {
+        this.checkNotFinished();
+
+        this.output.write(
+            close(
+                this.boundary,
+                0 == this.parts
+            )
+        );
+        this.output.flush();
+
+        this.finished = true;
+    }
+
+    private void checkNotFinished() {
+        if (this.finished) {
+            throw new IllegalStateException("Multipart already finished");
+        }
+    }
+
+    private final OutputStream output;
+
+    private int parts;
+
+    private boolean finished;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.boundary.value() + " " + this.parts;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.net.header.CacheControl;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.HttpHeaderName;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * A {@link HttpHandler} that can cheaply report the current validators of the representation it would produce for a
+ * request, without producing it. {@link HttpHandlers#ifNoneMatch(HttpHandler)} and {@link HttpHandlers#ifModifiedSince(HttpHandler)}
+ * use these to answer a GET or HEAD with a 304 NOT MODIFIED without calling {@link #handle(HttpRequest, HttpResponse, HttpHandlerContext)}.
+ * <br>
+ * Implementations must return the same values that {@link #handle(HttpRequest, HttpResponse, HttpHandlerContext)} would
+ * place in the {@link HttpHeaderName#E_TAG} and {@link HttpHeaderName#LAST_MODIFIED} response headers, or empty when
+ * unknown, in which case the wrapped handler is always called.
+ */
+public interface ConditionalHttpHandler<C extends HttpHandlerContext> extends HttpHandler<C> {
+
+    /**
+     * The current {@link ETag} of the representation for the given request.
+     */
+    default Optional<ETag> etag(final HttpRequest request,
+                                final C context) {
+        return Optional.empty();
+    }
+
+    /**
+     * The current last modified of the representation for the given request.
+     */
+    default Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                 final C context) {
+        return Optional.empty();
+    }
+
+    /**
+     * The {@link CacheControl} that would be sent in a 200 response for the given request, and which is also sent in a
+     * 304 Not Modified.
+     */
+    default Optional<CacheControl> cacheControl(final HttpRequest request,
+                                                final C context) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.Deflater;
+
+/**
+ * A bounded pool of {@link Deflater} sharing the same level and nowrap setting. Deflaters hold native memory which is
+ * only freed by {@link Deflater#end()}, so reusing them avoids allocating and finalizing one per response.
+ * When the pool is empty a new {@link Deflater} is created, and released deflaters beyond the max idle are ended.
+ */
+@GwtIncompatible
+final class DeflaterPool {
+
+    static DeflaterPool with(final int maxIdle,
+                             final int level,
+                             final boolean nowrap) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Invalid max idle " + maxIdle + " < 0");
+        }
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid level " + level + " not between " + Deflater.DEFAULT_COMPRESSION + " and " + Deflater.BEST_COMPRESSION);
+        }
+
+        return new DeflaterPool(
+            maxIdle,
+            level,
+            nowrap
+        );
+    }
+
+    private DeflaterPool(final int maxIdle,
+                         final int level,
+                         final boolean nowrap) {
+        super();
+
+        this.maxIdle = maxIdle;
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayDeque<>(maxIdle);
+    }
+
+    /**
+     * Takes an idle {@link Deflater} or creates a new one.
+     */
+    Deflater borrow() {
+        final Deflater deflater;
+        synchronized (this.idle) {
+            deflater = this.idle.pollFirst();
+        }
+
+        return null != deflater ?
+            deflater :
+            new Deflater(
+                this.level,
+                this.nowrap
+            );
+    }
+
+    /**
+     * Resets and returns the {@link Deflater} to the pool, or ends it when the pool is full.
+     */
+    void release(final Deflater deflater) {
+        deflater.reset();
+
+        final boolean pooled;
+        synchronized (this.idle) {
+            pooled = this.idle.size() < this.maxIdle;
+            if (pooled) {
+                this.idle.addFirst(deflater);
+            }
+        }
+
+        if (false == pooled) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * The number of idle deflaters waiting to be borrowed.
+     */
+    int idleCount() {
+        synchronized (this.idle) {
+            return this.idle.size();
+        }
+    }
+
+    private final int maxIdle;
+
+    private final int level;
+
+    /**
+     * When true the deflater produces raw deflate blocks without the zlib header and trailer, as required by gzip.
+     */
+    final boolean nowrap;
+
+    private final Deque<Deflater> idle;
+
+    @Override
+    public String toString() {
+        return "DeflaterPool maxIdle=" + this.maxIdle + " level=" + this.level + (this.nowrap ? " nowrap" : "");
+    }
+}
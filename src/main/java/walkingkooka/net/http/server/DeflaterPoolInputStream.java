@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link InputStream} that compresses another {@link InputStream} as it is read, using a {@link Deflater} borrowed
+ * from a {@link DeflaterPool}. Only a small input and output buffer are held at any time, so large bodies are never
+ * fully compressed into memory. The {@link Deflater} is only borrowed when the body is first read, so a response that is
+ * never written never holds one, and is returned to its pool once the compressed output has been completely read or
+ * the stream is closed.
+ * <br>
+ * A pool of nowrap deflaters produces a gzip stream (RFC 1952) with its header and CRC32 trailer, otherwise a
+ * zlib stream (RFC 1950) as expected by the deflate content-coding.
+ */
+@GwtIncompatible
+final class DeflaterPoolInputStream extends InputStream {
+
+    /**
+     * The header written by {@link java.util.zip.GZIPOutputStream}, without a file name, comment or modification time.
+     */
+    private final static byte[] GZIP_HEADER = {
+        (byte) 0x1f,
+        (byte) 0x8b,
+        Deflater.DEFLATED,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0
+    };
+
+    private final static int GZIP_TRAILER_SIZE = 8;
+
+    private final static int BUFFER_SIZE = 8 * 1024;
+
+    static DeflaterPoolInputStream with(final InputStream body,
+                                        final DeflaterPool pool) {
+        Objects.requireNonNull(body, "body");
+        Objects.requireNonNull(pool, "pool");
+
+        return new DeflaterPoolInputStream(
+            body,
+            pool
+        );
+    }
+
+    private DeflaterPoolInputStream(final InputStream body,
+                                    final DeflaterPool pool) {
+        super();
+
+        this.body = body;
+        this.pool = pool;
+        this.input = new byte[BUFFER_SIZE];
+        this.output = new byte[BUFFER_SIZE];
+
+        if (pool.nowrap) {
+            this.crc = new CRC32();
+
+            System.arraycopy(
+                GZIP_HEADER,
+                0,
+                this.output,
+                0,
+                GZIP_HEADER.length
+            );
+            this.limit = GZIP_HEADER.length;
+        } else {
+            this.crc = null;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] one = new byte[1];
+
+        int count;
+        do {
+            count = this.read(one, 0, 1);
+        } while (0 == count);
+
+        return -1 == count ?
+            -1 :
+            one[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+
+        int count = 0;
+        if (length > 0) {
+            while (this.position == this.limit) {
+                if (false == this.fill()) {
+                    count = -1;
+                    break;
+                }
+            }
+
+            if (-1 != count) {
+                count = Math.min(
+                    length,
+                    this.limit - this.position
+                );
+                System.arraycopy(
+                    this.output,
+                    this.position,
+                    bytes,
+                    offset,
+                    count
+                );
+                this.position += count;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Refills the output buffer, returning false when the compressed stream has been completely read.
+     */
+    private boolean fill() throws IOException {
+        this.position = 0;
+        this.limit = 0;
+
+        Deflater deflater = this.deflater;
+        boolean more = false == this.released;
+
+        if (more) {
+            if (null == deflater) {
+                deflater = this.pool.borrow();
+                this.deflater = deflater;
+            }
+
+            if (deflater.finished()) {
+                final CRC32 crc = this.crc;
+                if (null != crc) {
+                    writeLittleEndian(
+                        (int) crc.getValue(),
+                        this.output,
+                        0
+                    );
+                    writeLittleEndian(
+                        (int) deflater.getBytesRead(),
+                        this.output,
+                        4
+                    );
+                    this.limit = GZIP_TRAILER_SIZE;
+                }
+                this.release();
+
+                more = this.limit > 0;
+            } else {
+                if (false == this.bodyEnd && deflater.needsInput()) {
+                    final int read = this.body.read(this.input);
+                    if (-1 == read) {
+                        this.bodyEnd = true;
+                        deflater.finish();
+                    } else {
+                        deflater.setInput(
+                            this.input,
+                            0,
+                            read
+                        );
+                        if (null != this.crc) {
+                            this.crc.update(
+                                this.input,
+                                0,
+                                read
+                            );
+                        }
+                    }
+                }
+
+                this.limit = deflater.deflate(
+                    this.output,
+                    0,
+                    this.output.length
+                );
+            }
+        }
+
+        return more;
+    }
+
+    private static void writeLittleEndian(final int value,
+                                          final byte[] bytes,
+                                          final int offset) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.release();
+        this.body.close();
+    }
+
+    private void release() {
+        this.released = true;
+
+        final Deflater deflater = this.deflater;
+        if (null != deflater) {
+            this.deflater = null;
+            this.pool.release(deflater);
+        }
+    }
+
+    private final InputStream body;
+
+    private boolean bodyEnd;
+
+    private final DeflaterPool pool;
+
+    /**
+     * The borrowed {@link Deflater}, which is null until the first read and again once it has been returned to the
+     * {@link #pool}.
+     */
+    private Deflater deflater;
+
+    /**
+     * Becomes true when the compressed stream has been completely read or closed, after which a {@link Deflater} is
+     * never borrowed again.
+     */
+    private boolean released;
+
+    /**
+     * Only present when writing a gzip stream.
+     */
+    private final CRC32 crc;
+
+    private final byte[] input;
+
+    private final byte[] output;
+
+    private int position;
+
+    private int limit;
+
+    @Override
+    public String toString() {
+        return this.pool + " " + this.body;
+    }
+}
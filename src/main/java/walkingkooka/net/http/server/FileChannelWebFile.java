@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeDetector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link WebFile} view of a file {@link Path} that never reads the whole file into memory.
+ * <ul>
+ * <li>The size and last modified come from the file {@link BasicFileAttributes}</li>
+ * <li>Only the first {@link #SNIFF_SIZE} bytes are given to the {@link MediaTypeDetector}</li>
+ * <li>The {@link ETag} is a weak tag computed from the size and last modified</li>
+ * <li>Content is copied to a {@link WritableByteChannel} using {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+ * which the operating system may perform without copying bytes into the JVM</li>
+ * </ul>
+ */
+@GwtIncompatible
+final class FileChannelWebFile implements WebFile {
+
+    /**
+     * The maximum number of bytes read from the start of the file and given to the {@link MediaTypeDetector}.
+     */
+    final static int SNIFF_SIZE = 4096;
+
+    /**
+     * Creates a new {@link FileChannelWebFile} assuming the file exists.
+     */
+    static FileChannelWebFile with(final Path path,
+                                   final MediaTypeDetector contentTypeDetector) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(contentTypeDetector, "contentTypeDetector");
+
+        if (false == Files.isRegularFile(path)) {
+            throw new WebFileException("Path " + path + " is not a file");
+        }
+        return new FileChannelWebFile(
+            path,
+            contentTypeDetector
+        );
+    }
+
+    /**
+     * Private ctor
+     */
+    private FileChannelWebFile(final Path path,
+                               final MediaTypeDetector contentTypeDetector) {
+        super();
+        this.path = path;
+        this.contentTypeDetector = contentTypeDetector;
+    }
+
+    // WebFile..........................................................................................................
+
+    @Override
+    public LocalDateTime lastModified() throws WebFileException {
+        return LocalDateTime.ofInstant(
+            this.attributes()
+                .lastModifiedTime()
+                .toInstant(),
+            ZoneId.systemDefault()
+        );
+    }
+
+    @Override
+    public MediaType contentType() throws WebFileException {
+        if (null == this.contentType) {
+            this.contentType = this.contentTypeDetector.detect(
+                this.path.getFileName()
+                    .toString(),
+                this.sniff()
+            );
+        }
+        return this.contentType;
+    }
+
+    private MediaType contentType;
+
+    /**
+     * Reads up to {@link #SNIFF_SIZE} bytes from the start of the file.
+     */
+    private Binary sniff() {
+        final Path path = this.path;
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(
+                (int) Math.min(SNIFF_SIZE, this.contentSize())
+            );
+            while (buffer.hasRemaining()) {
+                if (-1 == channel.read(buffer)) {
+                    break;
+                }
+            }
+            return Binary.with(
+                Arrays.copyOf(
+                    buffer.array(),
+                    buffer.position()
+                )
+            );
+        } catch (final IOException cause) {
+            throw new WebFileException("Unable to read file content of " + path, cause);
+        }
+    }
+
+    @Override
+    public long contentSize() throws WebFileException {
+        return this.attributes()
+            .size();
+    }
+
+    @Override
+    public InputStream content() throws WebFileException {
+        final Path path = this.path;
+
+        try {
+            return Files.newInputStream(path);
+        } catch (final IOException cause) {
+            throw new WebFileException("Unable to read file content of " + path, cause);
+        }
+    }
+
+    /**
+     * Opens the file positioned at the start of the window, so the skipped content is never read.
+     */
+    @Override
+    public InputStream content(final long position,
+                               final long count) throws WebFileException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        final Path path = this.path;
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            channel.position(position);
+
+            return WebFileRangeInputStream.with(
+                Channels.newInputStream(channel),
+                count
+            );
+        } catch (final IOException cause) {
+            closeQuietly(channel);
+            throw new WebFileException("Unable to read file content of " + path, cause);
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (final IOException ignore) {
+                // nop
+            }
+        }
+    }
+
+    /**
+     * Returns a weak {@link ETag} using the size and last modified, which avoids reading the file content.
+     */
+    @Override
+    public Optional<ETag> etag() throws WebFileException {
+        final BasicFileAttributes attributes = this.attributes();
+
+        return Optional.of(
+            ETag.weak(
+                Long.toHexString(attributes.size()) +
+                    "-" +
+                    Long.toHexString(
+                        attributes.lastModifiedTime()
+                            .toMillis()
+                    )
+            )
+        );
+    }
+
+    @Override
+    public long transferTo(final WritableByteChannel target) throws WebFileException {
+        return this.transferTo(
+            0,
+            Long.MAX_VALUE,
+            target
+        );
+    }
+
+    @Override
+    public long transferTo(final long position,
+                           final long count,
+                           final WritableByteChannel target) throws WebFileException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+        Objects.requireNonNull(target, "target");
+
+        final Path path = this.path;
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long end = Math.min(
+                channel.size(),
+                position + Math.min(count, Long.MAX_VALUE - position)
+            );
+
+            // transferTo may transfer less than requested, eg when the target is a non blocking socket.
+            long offset = position;
+            while (offset < end) {
+                final long transferred = channel.transferTo(
+                    offset,
+                    end - offset,
+                    target
+                );
+                if (transferred <= 0) {
+                    break;
+                }
+                offset = offset + transferred;
+            }
+            return Math.max(0, offset - position);
+        } catch (final IOException cause) {
+            throw new WebFileException("Unable to transfer file content of " + path, cause);
+        }
+    }
+
+    /**
+     * Lazily reads and caches the file attributes.
+     */
+    private BasicFileAttributes attributes() {
+        if (null == this.attributes) {
+            final Path path = this.path;
+
+            try {
+                this.attributes = Files.readAttributes(
+                    path,
+                    BasicFileAttributes.class
+                );
+            } catch (final IOException cause) {
+                throw new WebFileException("Unable to read file attributes of " + path, cause);
+            }
+        }
+        return this.attributes;
+    }
+
+    private BasicFileAttributes attributes;
+
+    /**
+     * A {@link Path} to the file.
+     */
+    final Path path;
+
+    /**
+     * Attempts to determine the {@link MediaType} by examining the filename and the start of the content.
+     */
+    private final MediaTypeDetector contentTypeDetector;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.path.toString();
+    }
+}
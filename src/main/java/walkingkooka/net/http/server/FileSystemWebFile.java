@@ -25,6 +25,8 @@ import walkingkooka.net.header.MediaTypeDetector;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
@@ -103,9 +105,25 @@ final class FileSystemWebFile implements WebFile {
 
     private MediaType contentType;
 
+    /**
+     * Returns the size of the already read content otherwise the size from the file system, avoiding reading the file.
+     */
     @Override
     public long contentSize() throws WebFileException {
-        return this.binary().size();
+        final Binary binary = this.binary;
+        return null != binary ?
+            binary.size() :
+            this.fileSize();
+    }
+
+    private long fileSize() {
+        final Path path = this.path;
+
+        try {
+            return Files.size(path);
+        } catch (final IOException cause) {
+            throw new WebFileException("Unable to read file size of " + path, cause);
+        }
     }
 
     @Override
@@ -113,6 +131,52 @@ final class FileSystemWebFile implements WebFile {
         return this.binary().inputStream();
     }
 
+    /**
+     * When the content has not already been read only the window is read from the file.
+     */
+    @Override
+    public InputStream content(final long position,
+                               final long count) throws WebFileException {
+        if (null != this.binary) {
+            return WebFile.super.content(
+                position,
+                count
+            );
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        final Path path = this.path;
+
+        SeekableByteChannel channel = null;
+        try {
+            channel = Files.newByteChannel(path);
+            channel.position(position);
+
+            return WebFileRangeInputStream.with(
+                Channels.newInputStream(channel),
+                count
+            );
+        } catch (final IOException cause) {
+            closeQuietly(channel);
+            throw new WebFileException("Unable to read file content of " + path, cause);
+        }
+    }
+
+    private static void closeQuietly(final SeekableByteChannel channel) {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (final IOException ignore) {
+                // nop
+            }
+        }
+    }
+
     @Override
     public Optional<ETag> etag() throws WebFileException {
         return this.etagComputer.computeETag(
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.text.CharSequences;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An incremental decoder of a <code>Transfer-Encoding: chunked</code> body, which may be fed any number of
+ * {@link ByteBuffer} each holding any part of the chunks, chunk extensions which are ignored and trailers.
+ * <br>
+ * https://datatracker.ietf.org/doc/html/rfc7230#section-4.1
+ * <pre>
+ * chunked-body   = *chunk
+ *                  last-chunk
+ *                  trailer-part
+ *                  CRLF
+ * chunk          = chunk-size [ chunk-ext ] CRLF
+ *                  chunk-data CRLF
+ * last-chunk     = 1*("0") [ chunk-ext ] CRLF
+ * </pre>
+ */
+@GwtIncompatible
+final class HttpChunkedDecoder {
+
+    static HttpChunkedDecoder with(final int maxBodySize,
+                                   final int maxTrailerSize) {
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("Invalid max body size " + maxBodySize + " < 0");
+        }
+        if (maxTrailerSize < 0) {
+            throw new IllegalArgumentException("Invalid max trailer size " + maxTrailerSize + " < 0");
+        }
+        return new HttpChunkedDecoder(
+            maxBodySize,
+            maxTrailerSize
+        );
+    }
+
+    private final static byte CR = '\r';
+
+    private final static byte LF = '\n';
+
+    private final static int MODE_SIZE = 0;
+
+    private final static int MODE_EXTENSION = 1;
+
+    private final static int MODE_SIZE_LF = 2;
+
+    private final static int MODE_DATA = 3;
+
+    private final static int MODE_DATA_CR = 4;
+
+    private final static int MODE_DATA_LF = 5;
+
+    private final static int MODE_TRAILER = 6;
+
+    private final static int MODE_DONE = 7;
+
+    private HttpChunkedDecoder(final int maxBodySize,
+                               final int maxTrailerSize) {
+        super();
+        this.maxBodySize = maxBodySize;
+        this.maxTrailerSize = maxTrailerSize;
+    }
+
+    /**
+     * Consumes bytes from the buffer returning true when the last chunk and any trailers have been read. Any bytes
+     * after the chunked body are left in the buffer.
+     */
+    boolean decode(final ByteBuffer buffer) {
+        while (MODE_DONE != this.mode && buffer.hasRemaining()) {
+            switch (this.mode) {
+                case MODE_SIZE:
+                    this.size(buffer.get());
+                    break;
+                case MODE_EXTENSION:
+                    this.extension(buffer.get());
+                    break;
+                case MODE_SIZE_LF:
+                    this.sizeLf(buffer.get());
+                    break;
+                case MODE_DATA:
+                    this.data(buffer);
+                    break;
+                case MODE_DATA_CR:
+                    this.expect(
+                        buffer.get(),
+                        CR,
+                        MODE_DATA_LF
+                    );
+                    break;
+                case MODE_DATA_LF:
+                    this.expect(
+                        buffer.get(),
+                        LF,
+                        MODE_SIZE
+                    );
+                    break;
+                case MODE_TRAILER:
+                    this.trailer(buffer.get());
+                    break;
+                default:
+                    throw new IllegalStateException("Bad mode=" + this.mode);
+            }
+        }
+
+        return MODE_DONE == this.mode;
+    }
+
+    private void size(final byte b) {
+        final int digit = Character.digit(b, 16);
+        if (-1 != digit) {
+            final long size = this.chunkSize * 16 + digit;
+            if (this.body.size() + size > this.maxBodySize) {
+                throw HttpMessageTooLargeException.body(this.maxBodySize);
+            }
+            this.chunkSize = size;
+            this.chunkSizeDigits++;
+        } else {
+            if (0 == this.chunkSizeDigits) {
+                throw new IllegalArgumentException("Invalid chunk size character " + CharSequences.quoteIfChars((char) b));
+            }
+            switch (b) {
+                case CR:
+                    this.mode = MODE_SIZE_LF;
+                    break;
+                case ';':
+                case ' ':
+                case '\t':
+                    this.mode = MODE_EXTENSION;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid chunk size character " + CharSequences.quoteIfChars((char) b));
+            }
+        }
+    }
+
+    /**
+     * Chunk extensions are skipped, but count towards the trailer limit so they cannot grow forever.
+     */
+    private void extension(final byte b) {
+        this.trailerCheck(1);
+
+        if (CR == b) {
+            this.mode = MODE_SIZE_LF;
+        }
+    }
+
+    private void sizeLf(final byte b) {
+        if (LF != b) {
+            throw new IllegalArgumentException("Chunk size missing NL");
+        }
+        if (0 == this.chunkSize) {
+            this.mode = MODE_TRAILER;
+        } else {
+            this.remaining = this.chunkSize;
+            this.mode = MODE_DATA;
+        }
+        this.chunkSize = 0;
+        this.chunkSizeDigits = 0;
+    }
+
+    private void data(final ByteBuffer buffer) {
+        final int count = (int) Math.min(
+            this.remaining,
+            buffer.remaining()
+        );
+
+        if (buffer.hasArray()) {
+            final int position = buffer.position();
+            this.body.write(
+                buffer.array(),
+                buffer.arrayOffset() + position,
+                count
+            );
+            buffer.position(position + count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                this.body.write(buffer.get());
+            }
+        }
+
+        this.remaining -= count;
+        if (0 == this.remaining) {
+            this.mode = MODE_DATA_CR;
+        }
+    }
+
+    private void expect(final byte b,
+                        final byte expected,
+                        final int next) {
+        if (expected != b) {
+            throw new IllegalArgumentException(
+                "Got " +
+                    CharSequences.quoteAndEscape((char) b) +
+                    " expected " +
+                    CharSequences.quoteAndEscape((char) expected)
+            );
+        }
+        this.mode = next;
+    }
+
+    /**
+     * Collects the trailer lines until an empty line, which are then parsed by {@link HttpEntity#parse(Binary)}.
+     */
+    private void trailer(final byte b) {
+        this.trailerCheck(1);
+
+        final ByteArrayOutputStream trailers = this.trailers;
+        trailers.write(b);
+
+        if (LF == b) {
+            final byte[] bytes = trailers.toByteArray();
+            final int length = bytes.length;
+
+            if (2 == length || (length >= 4 && CR == bytes[length - 4] && LF == bytes[length - 3])) {
+                this.trailersEntity = HttpEntity.parse(
+                    Binary.with(bytes)
+                );
+                this.mode = MODE_DONE;
+            }
+        }
+    }
+
+    private void trailerCheck(final int count) {
+        this.trailerSize += count;
+        if (this.trailerSize > this.maxTrailerSize) {
+            throw HttpMessageTooLargeException.trailers(this.maxTrailerSize);
+        }
+    }
+
+    /**
+     * The decoded body, only complete once {@link #decode(ByteBuffer)} returns true.
+     */
+    byte[] body() {
+        return this.body.toByteArray();
+    }
+
+    /**
+     * The trailer headers, only available once {@link #decode(ByteBuffer)} returns true.
+     */
+    HttpEntity trailers() {
+        return this.trailersEntity;
+    }
+
+    private final int maxBodySize;
+
+    private final int maxTrailerSize;
+
+    private int mode = MODE_SIZE;
+
+    private long chunkSize;
+
+    private int chunkSizeDigits;
+
+    private long remaining;
+
+    private int trailerSize;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final ByteArrayOutputStream trailers = new ByteArrayOutputStream();
+
+    private HttpEntity trailersEntity = HttpEntity.EMPTY;
+
+    @Override
+    public String toString() {
+        return "chunked " + this.body.size() + "/" + this.maxBodySize;
+    }
+}
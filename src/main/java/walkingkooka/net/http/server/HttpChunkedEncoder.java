@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.net.http.HttpEntity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Writes a <code>Transfer-Encoding: chunked</code> body to a {@link WritableByteChannel}, one chunk for each
+ * {@link #write(ByteBuffer)}, followed by the last chunk and any trailers when {@link #finish(HttpEntity)} is called.
+ * Each chunk is written with a single gathering write when the channel supports it.
+ */
+@GwtIncompatible
+final class HttpChunkedEncoder {
+
+    static HttpChunkedEncoder with(final WritableByteChannel channel) {
+        return new HttpChunkedEncoder(
+            Objects.requireNonNull(channel, "channel")
+        );
+    }
+
+    private final static byte[] CRLF = new byte[]{
+        '\r',
+        '\n'
+    };
+
+    private HttpChunkedEncoder(final WritableByteChannel channel) {
+        super();
+        this.channel = channel;
+    }
+
+    /**
+     * Writes the remaining bytes as a single chunk. Empty buffers are ignored, as an empty chunk marks the end of the body.
+     */
+    void write(final ByteBuffer data) throws IOException {
+        this.checkNotFinished();
+
+        if (data.hasRemaining()) {
+            final ByteBuffer[] buffers = new ByteBuffer[]{
+                ByteBuffer.wrap(
+                    (Integer.toHexString(data.remaining()) + "\r\n")
+                        .getBytes(StandardCharsets.US_ASCII)
+                ),
+                data,
+                ByteBuffer.wrap(CRLF)
+            };
+
+            final WritableByteChannel channel = this.channel;
+            if (channel instanceof GatheringByteChannel) {
+                final GatheringByteChannel gathering = (GatheringByteChannel) channel;
+                while (buffers[2].hasRemaining()) {
+                    gathering.write(buffers);
+                }
+            } else {
+                for (final ByteBuffer buffer : buffers) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the last chunk followed by the headers of the given trailers and the final empty line.
+     */
+    void finish(final HttpEntity trailers) throws IOException {
+        Objects.requireNonNull(trailers, "trailers");
+        this.checkNotFinished();
+        this.finished = true;
+
+        final StringBuilder b = new StringBuilder();
+        b.append("0\r\n");
+        HttpResponseWriter.headers(
+            trailers.headers(),
+            (h) -> true,
+            b
+        );
+        b.append("\r\n");
+
+        final ByteBuffer buffer = ByteBuffer.wrap(
+            b.toString()
+                .getBytes(StandardCharsets.ISO_8859_1)
+        );
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+    }
+
+    private void checkNotFinished() {
+        if (this.finished) {
+            throw new IllegalStateException("Chunked body already finished");
+        }
+    }
+
+    private final WritableByteChannel channel;
+
+    private boolean finished;
+
+    @Override
+    public String toString() {
+        return "chunked " + this.channel;
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.CharSequences;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Base for incremental parsers of a HTTP/1.1 message that is fed {@link ByteBuffer} chunks as they arrive, holding a
+ * start line, headers and a body using either <code>Content-Length</code> or <code>Transfer-Encoding: chunked</code>.
+ * Well known header names are matched against the bytes without creating a {@link String}, and the total size of the
+ * start line and headers is checked as each byte is read so oversized headers are rejected early.
+ * <br>
+ * When a message completes the bytes that follow it are left in the buffer and the parser is ready for the next message.
+ */
+@GwtIncompatible
+abstract class HttpEntityByteBufferParser<T> implements Function<ByteBuffer, Optional<T>> {
+
+    final static byte CR = '\r';
+
+    final static byte LF = '\n';
+
+    final static byte SPACE = ' ';
+
+    private final static byte TAB = '\t';
+
+    private final static int MODE_START_LINE = 0;
+
+    private final static int MODE_HEADERS = 1;
+
+    private final static int MODE_BODY = 2;
+
+    private final static int MODE_CHUNKED = 3;
+
+    static void checkMaxSizes(final int maxHeaderSize,
+                              final int maxBodySize) {
+        if (maxHeaderSize <= 0) {
+            throw new IllegalArgumentException("Invalid max header size " + maxHeaderSize + " <= 0");
+        }
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("Invalid max body size " + maxBodySize + " < 0");
+        }
+    }
+
+    HttpEntityByteBufferParser(final int maxHeaderSize,
+                               final int maxBodySize) {
+        super();
+        this.maxHeaderSize = maxHeaderSize;
+        this.maxBodySize = maxBodySize;
+        this.line = new byte[Math.min(256, maxHeaderSize)];
+    }
+
+    /**
+     * Consumes bytes from the buffer returning the message once it is complete.
+     */
+    @Override
+    public final Optional<T> apply(final ByteBuffer buffer) {
+        try {
+            return this.apply0(buffer);
+        } catch (final HttpMessageTooLargeException cause) {
+            throw this.tooLarge(cause);
+        }
+    }
+
+    private Optional<T> apply0(final ByteBuffer buffer) {
+        T message = null;
+
+        while (null == message && buffer.hasRemaining()) {
+            switch (this.mode) {
+                case MODE_START_LINE:
+                case MODE_HEADERS:
+                    message = this.line(buffer.get());
+                    break;
+                case MODE_BODY:
+                    message = this.body(buffer);
+                    break;
+                case MODE_CHUNKED:
+                    message = this.chunked(buffer);
+                    break;
+                default:
+                    throw new IllegalStateException("Bad mode=" + this.mode);
+            }
+        }
+
+        return Optional.ofNullable(message);
+    }
+
+    // start line and headers...........................................................................................
+
+    private T line(final byte b) {
+        this.headerSize++;
+        if (this.headerSize > this.maxHeaderSize) {
+            throw MODE_START_LINE == this.mode ?
+                HttpMessageTooLargeException.startLine(this.maxHeaderSize) :
+                HttpMessageTooLargeException.headers(this.maxHeaderSize);
+        }
+
+        T message = null;
+
+        final int length = this.lineLength;
+        if (LF == b) {
+            if (0 == length || CR != this.line[length - 1]) {
+                throw new IllegalArgumentException("Invalid line ending");
+            }
+            this.lineLength = 0;
+
+            if (MODE_START_LINE == this.mode) {
+                // empty lines before the start line are ignored
+                if (length > 1) {
+                    this.startLine(
+                        this.line,
+                        length - 1
+                    );
+                    this.mode = MODE_HEADERS;
+                }
+            } else {
+                if (1 == length) {
+                    message = this.headersComplete();
+                } else {
+                    this.header(length - 1);
+                }
+            }
+        } else {
+            if (length > 0 && CR == this.line[length - 1]) {
+                throw new IllegalArgumentException("Invalid line ending");
+            }
+            if (length == this.line.length) {
+                this.line = Arrays.copyOf(
+                    this.line,
+                    Math.min(
+                        length * 2,
+                        this.maxHeaderSize
+                    )
+                );
+            }
+            this.line[length] = b;
+            this.lineLength = length + 1;
+        }
+
+        return message;
+    }
+
+    /**
+     * Returns the exception thrown when a part of the message is larger than its maximum.
+     */
+    abstract RuntimeException tooLarge(final HttpMessageTooLargeException cause);
+
+    /**
+     * Parses the start line, which does not include the CRLF.
+     */
+    abstract void startLine(final byte[] line,
+                            final int length);
+
+    private void header(final int length) {
+        final byte[] line = this.line;
+
+        if (SPACE == line[0] || TAB == line[0]) {
+            throw new IllegalArgumentException("Obsolete header line folding not supported=" + CharSequences.quoteAndEscape(this.string(line, 0, length)));
+        }
+
+        int separator = -1;
+        for (int i = 0; i < length; i++) {
+            if (HttpEntity.HEADER_SEPARATOR_CHAR == line[i]) {
+                separator = i;
+                break;
+            }
+        }
+        if (-1 == separator) {
+            throw new IllegalArgumentException("Header missing separator/value=" + CharSequences.quoteAndEscape(this.string(line, 0, length)));
+        }
+
+        int nameEnd = separator;
+        while (nameEnd > 0 && isWhitespace(line[nameEnd - 1])) {
+            nameEnd--;
+        }
+
+        int valueStart = separator + 1;
+        while (valueStart < length && isWhitespace(line[valueStart])) {
+            valueStart++;
+        }
+        int valueEnd = length;
+        while (valueEnd > valueStart && isWhitespace(line[valueEnd - 1])) {
+            valueEnd--;
+        }
+
+        final HttpHeaderName<?> header = headerName(
+            line,
+            nameEnd
+        );
+
+        this.entity = this.entity.addHeader(
+            header,
+            Cast.to(
+                header.parseValue(
+                    this.string(
+                        line,
+                        valueStart,
+                        valueEnd - valueStart
+                    )
+                )
+            )
+        );
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return SPACE == b || TAB == b;
+    }
+
+    /**
+     * Returns a well known {@link HttpHeaderName} matching the bytes ignoring case, or creates a new one.
+     */
+    private static HttpHeaderName<?> headerName(final byte[] line,
+                                                final int length) {
+        final Optional<HttpHeaderName<?>> constant = HttpHeaderName.constant(
+            line,
+            0,
+            length
+        );
+
+        return constant.isPresent() ?
+            constant.get() :
+            HttpHeaderName.with(
+                new String(
+                    line,
+                    0,
+                    length,
+                    StandardCharsets.ISO_8859_1
+                )
+            );
+    }
+
+    /**
+     * Tests if the ASCII bytes are equal to the text ignoring case.
+     */
+    static boolean equalsIgnoringCase(final String text,
+                                      final byte[] bytes,
+                                      final int offset,
+                                      final int length) {
+        boolean equals = text.length() == length;
+
+        if (equals) {
+            for (int i = 0; i < length; i++) {
+                if (false == CaseSensitivity.INSENSITIVE.isEqual(text.charAt(i), (char) (bytes[offset + i] & 0xff))) {
+                    equals = false;
+                    break;
+                }
+            }
+        }
+
+        return equals;
+    }
+
+    /**
+     * Returns the {@link HttpProtocolVersion} matching the bytes, only creating a {@link String} for the error message
+     * when the version is unknown.
+     */
+    final HttpProtocolVersion protocolVersion(final byte[] bytes,
+                                              final int offset,
+                                              final int length) {
+        for (final HttpProtocolVersion version : HttpProtocolVersion.values()) {
+            if (equalsIgnoringCase(version.value(), bytes, offset, length)) {
+                return version;
+            }
+        }
+
+        return HttpProtocolVersion.with(
+            this.string(
+                bytes,
+                offset,
+                length
+            )
+        );
+    }
+
+    /**
+     * Returns a {@link String} holding the ISO-8859-1 bytes.
+     */
+    final String string(final byte[] bytes,
+                        final int offset,
+                        final int length) {
+        return new String(
+            bytes,
+            offset,
+            length,
+            StandardCharsets.ISO_8859_1
+        );
+    }
+
+    /**
+     * Returns the position of the given byte or -1.
+     */
+    static int indexOf(final byte[] bytes,
+                       final byte b,
+                       final int start,
+                       final int end) {
+        int index = -1;
+
+        for (int i = start; i < end; i++) {
+            if (b == bytes[i]) {
+                index = i;
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    // body.............................................................................................................
+
+    /**
+     * Called after the empty line ending the headers, selects how the body is read.
+     */
+    private T headersComplete() {
+        T message = null;
+
+        final HttpEntity entity = this.entity;
+
+        if (entity.isTransferEncodingChunked()) {
+            this.chunked = HttpChunkedDecoder.with(
+                this.maxBodySize,
+                this.maxHeaderSize
+            );
+            this.mode = MODE_CHUNKED;
+        } else {
+            final Optional<String> transferEncoding = HttpHeaderName.TRANSFER_ENCODING.header(entity);
+            if (transferEncoding.isPresent()) {
+                throw new IllegalArgumentException("Transfer-Encoding " + CharSequences.quoteAndEscape(transferEncoding.get()) + " not supported");
+            }
+
+            final long contentLength = this.hasBody() ?
+                HttpHeaderName.CONTENT_LENGTH.header(entity)
+                    .orElse(0L) :
+                0;
+            if (contentLength > this.maxBodySize) {
+                throw HttpMessageTooLargeException.body(this.maxBodySize);
+            }
+            if (0 == contentLength) {
+                message = this.complete(entity);
+            } else {
+                this.body = new byte[(int) contentLength];
+                this.bodyLength = 0;
+                this.mode = MODE_BODY;
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Returns true if this message may have a body, even when there are no body headers.
+     */
+    abstract boolean hasBody();
+
+    private T body(final ByteBuffer buffer) {
+        final byte[] body = this.body;
+        final int count = Math.min(
+            body.length - this.bodyLength,
+            buffer.remaining()
+        );
+        buffer.get(
+            body,
+            this.bodyLength,
+            count
+        );
+        this.bodyLength += count;
+
+        return this.bodyLength == body.length ?
+            this.complete(
+                this.entity.setBody(
+                    Binary.with(body)
+                )
+            ) :
+            null;
+    }
+
+    /**
+     * The entity keeps the <code>Transfer-Encoding</code> holding the decoded body, and any trailers are added to the
+     * headers.
+     */
+    private T chunked(final ByteBuffer buffer) {
+        final HttpChunkedDecoder chunked = this.chunked;
+
+        T message = null;
+        if (chunked.decode(buffer)) {
+            HttpEntity entity = this.entity.setBody(
+                Binary.with(
+                    chunked.body()
+                )
+            );
+
+            for (final Map.Entry<HttpHeaderName<?>, List<?>> headerAndValues : chunked.trailers().headers().entrySet()) {
+                final HttpHeaderName<?> header = headerAndValues.getKey();
+
+                for (final Object value : headerAndValues.getValue()) {
+                    entity = entity.addHeader(
+                        header,
+                        Cast.to(value)
+                    );
+                }
+            }
+
+            message = this.complete(entity);
+        }
+        return message;
+    }
+
+    private T complete(final HttpEntity entity) {
+        final T message = this.message(entity);
+
+        this.mode = MODE_START_LINE;
+        this.headerSize = 0;
+        this.entity = HttpEntity.EMPTY;
+        this.body = null;
+        this.chunked = null;
+
+        return message;
+    }
+
+    /**
+     * Creates the message using the start line values and the given entity.
+     */
+    abstract T message(final HttpEntity entity);
+
+    private final int maxHeaderSize;
+
+    private final int maxBodySize;
+
+    private int mode = MODE_START_LINE;
+
+    /**
+     * The number of start line and header bytes read so far.
+     */
+    private int headerSize;
+
+    /**
+     * The current start line or header line, which grows up to the maximum header size.
+     */
+    private byte[] line;
+
+    private int lineLength;
+
+    private HttpEntity entity = HttpEntity.EMPTY;
+
+    private byte[] body;
+
+    private int bodyLength;
+
+    private HttpChunkedDecoder chunked;
+
+    @Override
+    public final String toString() {
+        return "maxHeaderSize=" + this.maxHeaderSize + " maxBodySize=" + this.maxBodySize;
+    }
+}
@@ -18,15 +18,32 @@
 package walkingkooka.net.http.server;
 
 import walkingkooka.Either;
+import walkingkooka.collect.Range;
+import walkingkooka.collect.RangeBound;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.net.UrlPath;
+import walkingkooka.net.UrlPathSegments;
+import walkingkooka.net.header.AcceptEncoding;
+import walkingkooka.net.header.ContentEncoding;
+import walkingkooka.net.header.ContentRange;
+import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.IfRange;
 import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeBoundary;
+import walkingkooka.net.header.RangeHeader;
+import walkingkooka.net.header.RangeHeaderUnit;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpStatus;
 import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.text.CharSequences;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -35,25 +52,60 @@ import java.util.function.Function;
  * Serves all files under the given directory. If a file exists and the if-last-modified header in the request matches a 304
  * NOT_MODIFIED will be returned with an empty body. The content-type, last-modified headers will always be added to the response,
  * and a content-length when the body contains the file content.
+ * <br>
+ * Precompressed variants such as <code>app.js.gz</code> may be served in place of <code>app.js</code> with a
+ * {@link HttpHeaderName#CONTENT_ENCODING} when the request {@link HttpHeaderName#ACCEPT_ENCODING} accepts them, and every
+ * response then includes a <code>Vary: Accept-Encoding</code>. Variants are resolved again for every request so a
+ * replaced variant is never served stale, while a bounded number of missing variants are remembered until their
+ * original file is modified. A variant older than its original is ignored.
+ * <br>
+ * Byte range requests, including multiple ranges returned as a multipart/byteranges, are answered by reading only the
+ * requested windows of the file using {@link WebFile#content(long, long)}.
  */
-final class HttpHandlerWebFile<C extends HttpHandlerContext> implements HttpHandler<C> {
+final class HttpHandlerWebFile<C extends HttpHandlerContext> implements ConditionalHttpHandler<C> {
 
     static <C extends HttpHandlerContext> HttpHandlerWebFile<C> with(final UrlPath basePath,
                                                                      final Function<UrlPath, Either<WebFile, HttpStatus>> files) {
+        return with(
+            basePath,
+            files,
+            Maps.empty()
+        );
+    }
+
+    static <C extends HttpHandlerContext> HttpHandlerWebFile<C> with(final UrlPath basePath,
+                                                                     final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                                                                     final Map<ContentEncoding, String> precompressed) {
         Objects.requireNonNull(basePath, "basePath");
         Objects.requireNonNull(files, "files");
+        Objects.requireNonNull(precompressed, "precompressed");
+
+        for (final Map.Entry<ContentEncoding, String> encodingAndSuffix : precompressed.entrySet()) {
+            if (CharSequences.isNullOrEmpty(encodingAndSuffix.getValue())) {
+                throw new IllegalArgumentException("Missing suffix for " + encodingAndSuffix.getKey());
+            }
+        }
 
-        return new HttpHandlerWebFile<>(basePath, files);
+        return new HttpHandlerWebFile<>(
+            basePath,
+            files,
+            Collections.unmodifiableMap(
+                new LinkedHashMap<>(precompressed)
+            )
+        );
     }
 
     /**
      * Private ctor use factory
      */
     private HttpHandlerWebFile(final UrlPath basePath,
-                               final Function<UrlPath, Either<WebFile, HttpStatus>> files) {
+                               final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                               final Map<ContentEncoding, String> precompressed) {
         super();
         this.basePath = basePath;
         this.files = files;
+        this.precompressed = precompressed;
+        this.missingVariants = missingVariants();
     }
 
     @Override
@@ -64,22 +116,93 @@ final class HttpHandlerWebFile<C extends HttpHandlerContext> implements HttpHand
         Objects.requireNonNull(response, "response");
         Objects.requireNonNull(context, "context");
 
+        final HttpHandlerWebFileResolved resolved = this.resolve(request);
+
+        // forget the resolution, so handling the same request instance again sees any modified file
+        this.resolved = null;
+
+        resolved.fileOrStatus
+            .accept((webFile) -> this.found(webFile, resolved.variant, request, response),
+                (status) -> this.notFound(status, response));
+    }
+
+    /**
+     * Resolves the file and any precompressed variant for the request, reusing the previous resolution when the
+     * conditional hooks and then {@link #handle(HttpRequest, HttpResponse, HttpHandlerContext)} are called for the same
+     * request instance. Concurrent requests may replace each others resolution, which only costs another resolve.
+     */
+    private HttpHandlerWebFileResolved resolve(final HttpRequest request) {
+        HttpHandlerWebFileResolved resolved = this.resolved;
+
+        if (null == resolved || false == resolved.isRequest(request)) {
+            final UrlPath path = this.path(request);
+            final Either<WebFile, HttpStatus> fileOrStatus = this.files.apply(path);
+
+            resolved = HttpHandlerWebFileResolved.with(
+                request,
+                path,
+                fileOrStatus,
+                fileOrStatus.isLeft() ?
+                    this.precompressedVariant(
+                        path,
+                        fileOrStatus.leftValue(),
+                        request
+                    ) :
+                    null
+            );
+            this.resolved = resolved;
+        }
+
+        return resolved;
+    }
+
+    /**
+     * The most recent resolution, see {@link #resolve(HttpRequest)}.
+     */
+    private volatile HttpHandlerWebFileResolved resolved;
+
+    /**
+     * Extracts the file path from the request url, which is everything after the base path.
+     */
+    private UrlPath path(final HttpRequest request) {
         // extract path and verify is valid.
-        final UrlPath fullPath = request.url()
+        final UrlPathSegments fullPath = request.url()
             .path()
-            .normalize();
+            .normalizedSegments();
         final UrlPath basePath = this.basePath;
 
         final String fullPathString = fullPath.value();
         final String basePathString = basePath.value();
 
-        if (!fullPathString.startsWith(basePathString)) {
+        if (false == fullPath.startsWith(basePath)) {
             throw new HttpServerException("Request url " + CharSequences.quoteAndEscape(fullPathString) + " mapping mistake does not begin with " + CharSequences.quoteAndEscape(basePathString));
         }
 
-        this.files.apply(UrlPath.parse(fullPathString.substring(basePathString.length())))
-            .accept((webFile) -> this.found(webFile, request, response),
-                (status) -> this.notFound(status, response));
+        return UrlPath.parse(fullPathString.substring(basePathString.length()));
+    }
+
+    // ConditionalHttpHandler...........................................................................................
+
+    /**
+     * The {@link ETag} of the file or precompressed variant that would be served for this request.
+     */
+    @Override
+    public Optional<ETag> etag(final HttpRequest request,
+                               final C context) {
+        return this.resolve(request)
+            .served()
+            .flatMap(WebFile::etag);
+    }
+
+    /**
+     * The last modified of the file or precompressed variant that would be served for this request.
+     */
+    @Override
+    public Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                final C context) {
+        return this.resolve(request)
+            .served()
+            .map(WebFile::lastModified);
     }
 
     /**
@@ -92,24 +215,165 @@ final class HttpHandlerWebFile<C extends HttpHandlerContext> implements HttpHand
      */
     private final Function<UrlPath, Either<WebFile, HttpStatus>> files;
 
+    /**
+     * The suffix of each precompressed variant, in order of preference when several are equally acceptable.
+     */
+    private final Map<ContentEncoding, String> precompressed;
+
+    /**
+     * The maximum number of missing variants that are remembered, after which the least recently used is forgotten.
+     */
+    final static int MAX_MISSING_VARIANTS = 1024;
+
+    /**
+     * Variant path to the last modified of the original file when the variant was found to be missing. Only misses are
+     * remembered and only while the original is unchanged, so a variant that is later deployed alongside a new original
+     * is found.
+     */
+    private final Map<UrlPath, LocalDateTime> missingVariants;
+
+    private static Map<UrlPath, LocalDateTime> missingVariants() {
+        return Collections.synchronizedMap(
+            new LinkedHashMap<UrlPath, LocalDateTime>(
+                16,
+                0.75f,
+                true // access order
+            ) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<UrlPath, LocalDateTime> eldest) {
+                    return this.size() > MAX_MISSING_VARIANTS;
+                }
+            }
+        );
+    }
+
     /**
      * Performs a {@link HttpHeaderName#LAST_MODIFIED} and then {@link HttpHeaderName#IF_MATCH} and then serves the full response.
      */
     private void found(final WebFile file,
+                       final Map.Entry<ContentEncoding, WebFile> variant,
                        final HttpRequest request,
                        final HttpResponse response) {
+        final MediaType contentType = file.contentType();
+
+        final WebFile served;
+        HttpEntity headers;
+
+        if (null != variant) {
+            served = variant.getValue();
+            headers = headers(
+                served,
+                contentType
+            ).addHeader(
+                HttpHeaderName.CONTENT_ENCODING,
+                variant.getKey()
+            );
+        } else {
+            served = file;
+            headers = headers(
+                file,
+                contentType
+            );
+        }
+
+        if (false == this.precompressed.isEmpty()) {
+            headers = headers.addHeader(
+                HttpHeaderName.VARY,
+                HttpHeaderName.ACCEPT_ENCODING.value()
+            );
+        }
+
         final Optional<LocalDateTime> ifModifiedSince = HttpHeaderName.IF_MODIFIED_SINCE.parameterValue(request);
-        if (ifModifiedSince.isPresent() && ifModifiedSince.map(header -> fileLastModifiedTest(header, file.lastModified())).orElse(false)) {
+        if (ifModifiedSince.isPresent() && ifModifiedSince.map(header -> fileLastModifiedTest(header, served.lastModified())).orElse(false)) {
             this.notModified(
-                file,
+                headers,
                 request,
                 response
             );
         } else {
-            this.modified(file, request, response);
+            this.modified(served, contentType, headers, request, response);
         }
     }
 
+    /**
+     * Selects the most preferred precompressed variant acceptable to the request {@link HttpHeaderName#ACCEPT_ENCODING},
+     * returning null when there is none and the original file should be served.
+     */
+    private Map.Entry<ContentEncoding, WebFile> precompressedVariant(final UrlPath path,
+                                                                   final WebFile file,
+                                                                   final HttpRequest request) {
+        Map.Entry<ContentEncoding, WebFile> selected = null;
+
+        if (false == this.precompressed.isEmpty()) {
+            final AcceptEncoding acceptEncoding = HttpHeaderName.ACCEPT_ENCODING.header(request)
+                .orElse(null);
+            if (null != acceptEncoding) {
+                final List<ContentEncoding> encodings = Lists.array();
+                encodings.addAll(this.precompressed.keySet());
+
+                while (null == selected) {
+                    final ContentEncoding encoding = acceptEncoding.select(encodings)
+                        .orElse(null);
+                    if (null == encoding) {
+                        break;
+                    }
+
+                    final WebFile variant = this.variant(
+                        path,
+                        file,
+                        encoding
+                    ).orElse(null);
+                    if (null != variant) {
+                        selected = Maps.entry(
+                            encoding,
+                            variant
+                        );
+                    }
+
+                    encodings.remove(encoding);
+                }
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * Resolves the precompressed variant for the given {@link ContentEncoding}, skipping the lookup when the variant is
+     * already known to be missing for the current original, and ignoring a variant that is older than the original.
+     */
+    private Optional<WebFile> variant(final UrlPath path,
+                                      final WebFile file,
+                                      final ContentEncoding encoding) {
+        final UrlPath variantPath = UrlPath.parse(
+            path.value() + this.precompressed.get(encoding)
+        );
+        final LocalDateTime lastModified = file.lastModified();
+        final Map<UrlPath, LocalDateTime> missingVariants = this.missingVariants;
+
+        Optional<WebFile> variant = Optional.empty();
+
+        if (false == lastModified.equals(missingVariants.get(variantPath))) {
+            final Either<WebFile, HttpStatus> webFileOrStatus = this.files.apply(variantPath);
+            if (webFileOrStatus.isLeft()) {
+                missingVariants.remove(variantPath);
+
+                variant = Optional.of(webFileOrStatus.leftValue())
+                    .filter(
+                        v -> false == v.lastModified()
+                            .isBefore(lastModified)
+                    );
+            } else {
+                missingVariants.put(
+                    variantPath,
+                    lastModified
+                );
+            }
+        }
+
+        return variant;
+    }
+
     /**
      * Returns true if the file last modified and last modified header match.
      */
@@ -121,28 +385,77 @@ final class HttpHandlerWebFile<C extends HttpHandlerContext> implements HttpHand
     /**
      * Sets a not-modified response with the last-modified header set to the filesystem file last modified.
      */
-    private void notModified(final WebFile file,
+    private void notModified(final HttpEntity headers,
                              final HttpRequest request,
                              final HttpResponse response) {
         response.setVersion(request.protocolVersion());
         response.setStatus(HttpStatusCode.NOT_MODIFIED.status());
-        response.setEntity(headers(file));
+        response.setEntity(headers);
     }
 
     /**
-     * Creates a response with an OK, with the last-modified and content-length and file content as then body.
+     * Creates a response with an OK, with the last-modified and content-length and file content as then body. When the
+     * request has a bytes {@link HttpHeaderName#RANGE} and any {@link HttpHeaderName#IF_RANGE} is satisfied only the
+     * requested windows of the file are read and returned with a PARTIAL_CONTENT.
      */
     private void modified(final WebFile file,
+                          final MediaType contentType,
+                          final HttpEntity headers,
                           final HttpRequest request,
                           final HttpResponse response) {
-        final MediaType contentType = file.contentType();
         final HttpStatus status;
         final HttpEntity entity;
 
         if (HttpHeaderName.ACCEPT.parameterValue(request).map(accept -> accept.test(contentType)).orElse(true)) {
-            status = HttpStatusCode.OK.status();
-            entity = headers(file)
-                .setBody(file, HttpEntity.CHARSET);
+            final RangeHeader range = range(
+                request,
+                file
+            );
+            final long size = file.contentSize();
+            final List<Range<Long>> ranges = null != range ?
+                satisfiableRanges(
+                    range,
+                    size
+                ) :
+                null;
+
+            // too many ranges even after coalescing are ignored and the entire file served
+            if (null != ranges && ranges.size() <= MAX_RANGES) {
+                switch (ranges.size()) {
+                    case 0:
+                        status = HttpStatusCode.REQUESTED_RANGE_NOT_SATISFIABLE.status();
+                        entity = HttpEntity.EMPTY.addHeader(
+                            HttpHeaderName.CONTENT_RANGE,
+                            ContentRange.with(
+                                RangeHeaderUnit.BYTES,
+                                ContentRange.NO_RANGE,
+                                Optional.of(size)
+                            )
+                        );
+                        break;
+                    case 1:
+                        status = HttpStatusCode.PARTIAL_CONTENT.status();
+                        entity = singleRange(
+                            file,
+                            headers,
+                            ranges.get(0),
+                            size
+                        );
+                        break;
+                    default:
+                        status = HttpStatusCode.PARTIAL_CONTENT.status();
+                        entity = multipleRanges(
+                            file,
+                            contentType,
+                            headers,
+                            ranges
+                        );
+                        break;
+                }
+            } else {
+                status = HttpStatusCode.OK.status();
+                entity = headers.setBodyWebFile(file);
+            }
         } else {
             status = HttpStatusCode.NOT_ACCEPTABLE.status();
             entity = HttpEntity.EMPTY;
@@ -152,9 +465,160 @@ final class HttpHandlerWebFile<C extends HttpHandlerContext> implements HttpHand
         response.setEntity(entity);
     }
 
-    private static HttpEntity headers(final WebFile file) {
+    /**
+     * Returns the bytes {@link RangeHeader} if present and the {@link HttpHeaderName#IF_RANGE} is absent or matches
+     * the file, otherwise returns null and the entire file should be served.
+     */
+    private static RangeHeader range(final HttpRequest request,
+                                     final WebFile file) {
+        final RangeHeader range = HttpHeaderName.RANGE.header(request)
+            .orElse(null);
+
+        return null != range &&
+            RangeHeaderUnit.BYTES == range.unit() &&
+            isIfRangeSatisfied(
+                HttpHeaderName.IF_RANGE.header(request)
+                    .orElse(null),
+                file
+            ) ?
+            range :
+            null;
+    }
+
+    private static boolean isIfRangeSatisfied(final IfRange<?> ifRange,
+                                              final WebFile file) {
+        return null == ifRange ||
+            ifRange.isETag() && file.etag().map(e -> ifRange.etag().value().test(e)).orElse(false) ||
+            ifRange.isLastModified() && ifRange.lastModified().value().equals(file.lastModified());
+    }
+
+    /**
+     * The maximum number of ranges after coalescing that are answered with a multipart/byteranges, a request with more
+     * is answered with the entire file.
+     */
+    final static int MAX_RANGES = 16;
+
+    /**
+     * Returns the ranges that select at least one byte of content, with any open or too large upper bound replaced by
+     * the last byte. The ranges are sorted and any that overlap or touch are coalesced, so no byte is sent twice.
+     */
+    private static List<Range<Long>> satisfiableRanges(final RangeHeader range,
+                                                       final long size) {
+        final List<long[]> firstAndLasts = Lists.array();
+
+        for (final Range<Long> r : range.value()) {
+            final long first = r.lowerBound()
+                .value()
+                .get();
+            if (first < size) {
+                final RangeBound<Long> upper = r.upperBound();
+                final long last = upper.isAll() ?
+                    size - 1 :
+                    Math.min(upper.value().get(), size - 1);
+
+                if (first <= last) {
+                    firstAndLasts.add(
+                        new long[]{
+                            first,
+                            last
+                        }
+                    );
+                }
+            }
+        }
+
+        firstAndLasts.sort(
+            (l, r) -> Long.compare(l[0], r[0])
+        );
+
+        final List<Range<Long>> satisfiable = Lists.array();
+
+        long[] previous = null;
+        for (final long[] firstAndLast : firstAndLasts) {
+            if (null != previous && firstAndLast[0] <= previous[1] + 1) {
+                previous[1] = Math.max(
+                    previous[1],
+                    firstAndLast[1]
+                );
+            } else {
+                if (null != previous) {
+                    satisfiable.add(closedRange(previous));
+                }
+                previous = firstAndLast;
+            }
+        }
+        if (null != previous) {
+            satisfiable.add(closedRange(previous));
+        }
+
+        return satisfiable;
+    }
+
+    private static Range<Long> closedRange(final long[] firstAndLast) {
+        return Range.greaterThanEquals(firstAndLast[0])
+            .and(Range.lessThanEquals(firstAndLast[1]));
+    }
+
+    /**
+     * The body holds only the selected window of the file.
+     */
+    private static HttpEntity singleRange(final WebFile file,
+                                          final HttpEntity headers,
+                                          final Range<Long> range,
+                                          final long size) {
+        final long first = range.lowerBound().value().get();
+        final long count = range.upperBound().value().get() - first + 1;
+
+        return headers.setHeader(
+            HttpHeaderName.CONTENT_LENGTH,
+            Lists.of(count)
+        ).addHeader(
+            HttpHeaderName.CONTENT_RANGE,
+            ContentRange.with(
+                RangeHeaderUnit.BYTES,
+                Optional.of(range),
+                Optional.of(size)
+            )
+        ).setBodyWebFile(
+            WebFileRange.with(
+                file,
+                first,
+                count
+            )
+        );
+    }
+
+    /**
+     * The body is a multipart/byteranges, with each window read only when it is written.
+     */
+    private static HttpEntity multipleRanges(final WebFile file,
+                                             final MediaType contentType,
+                                             final HttpEntity headers,
+                                             final List<Range<Long>> ranges) {
+        final WebFileMultipartByteRanges multipart = WebFileMultipartByteRanges.with(
+            file,
+            contentType,
+            ranges,
+            MediaTypeBoundary.random()
+        );
+
+        return headers.setContentType(
+            multipart.contentType()
+        ).setHeader(
+            HttpHeaderName.CONTENT_LENGTH,
+            Lists.of(multipart.contentSize())
+        ).setBodyWebFile(
+            multipart
+        );
+    }
+
+    /**
+     * The content-type is passed separately so a precompressed variant is served with the content-type of its original.
+     */
+    private static HttpEntity headers(final WebFile file,
+                                      final MediaType contentType) {
         final HttpEntity entity = HttpEntity.EMPTY
-            .setContentType(file.contentType())
+            .setContentType(contentType)
             .addHeader(HttpHeaderName.CONTENT_LENGTH, file.contentSize())
             .setLastModified(file.lastModified());
         return file.etag()
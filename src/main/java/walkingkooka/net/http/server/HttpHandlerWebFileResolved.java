@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.Either;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.ContentEncoding;
+import walkingkooka.net.http.HttpStatus;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@link WebFile} or {@link HttpStatus} and any precompressed variant that {@link HttpHandlerWebFile} resolved for
+ * a single {@link HttpRequest}, so the conditional hooks and the following handle share one resolution.
+ */
+final class HttpHandlerWebFileResolved {
+
+    static HttpHandlerWebFileResolved with(final HttpRequest request,
+                                           final UrlPath path,
+                                           final Either<WebFile, HttpStatus> fileOrStatus,
+                                           final Map.Entry<ContentEncoding, WebFile> variant) {
+        return new HttpHandlerWebFileResolved(
+            request,
+            path,
+            fileOrStatus,
+            variant
+        );
+    }
+
+    private HttpHandlerWebFileResolved(final HttpRequest request,
+                                       final UrlPath path,
+                                       final Either<WebFile, HttpStatus> fileOrStatus,
+                                       final Map.Entry<ContentEncoding, WebFile> variant) {
+        super();
+        this.request = request;
+        this.path = path;
+        this.fileOrStatus = fileOrStatus;
+        this.variant = variant;
+    }
+
+    /**
+     * Requests are compared by identity, as equal requests may arrive at different times and see different files.
+     */
+    boolean isRequest(final HttpRequest request) {
+        return this.request == request;
+    }
+
+    private final HttpRequest request;
+
+    final UrlPath path;
+
+    final Either<WebFile, HttpStatus> fileOrStatus;
+
+    /**
+     * The selected precompressed variant or null when the original file is served or was not found.
+     */
+    final Map.Entry<ContentEncoding, WebFile> variant;
+
+    /**
+     * The file or precompressed variant that would be served, or empty when the file was not found.
+     */
+    Optional<WebFile> served() {
+        final Either<WebFile, HttpStatus> fileOrStatus = this.fileOrStatus;
+        final Map.Entry<ContentEncoding, WebFile> variant = this.variant;
+
+        return fileOrStatus.isLeft() ?
+            Optional.of(
+                null != variant ?
+                    variant.getValue() :
+                    fileOrStatus.leftValue()
+            ) :
+            Optional.empty();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.path + " " + this.fileOrStatus;
+    }
+}
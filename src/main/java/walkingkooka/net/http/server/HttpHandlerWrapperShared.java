@@ -17,7 +17,16 @@
 
 package walkingkooka.net.http.server;
 
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.CacheControl;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpStatusCode;
+
+import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Optional;
 
 abstract class HttpHandlerWrapperShared<C extends HttpHandlerContext> implements HttpHandler<C> {
 
@@ -47,4 +56,90 @@ abstract class HttpHandlerWrapperShared<C extends HttpHandlerContext> implements
                           final C context);
 
     final HttpHandler<C> handler;
+
+    // ConditionalHttpHandler...........................................................................................
+
+    /**
+     * Returns the {@link ETag} reported by the wrapped handler if it is a {@link ConditionalHttpHandler}.
+     */
+    final Optional<ETag> wrappedETag(final HttpRequest request,
+                                     final C context) {
+        final HttpHandler<C> handler = this.handler;
+
+        return handler instanceof ConditionalHttpHandler ?
+            ((ConditionalHttpHandler<C>) handler).etag(
+                request,
+                context
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Returns the last modified reported by the wrapped handler if it is a {@link ConditionalHttpHandler}.
+     */
+    final Optional<LocalDateTime> wrappedLastModified(final HttpRequest request,
+                                                      final C context) {
+        final HttpHandler<C> handler = this.handler;
+
+        return handler instanceof ConditionalHttpHandler ?
+            ((ConditionalHttpHandler<C>) handler).lastModified(
+                request,
+                context
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Returns the {@link CacheControl} reported by the wrapped handler if it is a {@link ConditionalHttpHandler}.
+     */
+    final Optional<CacheControl> wrappedCacheControl(final HttpRequest request,
+                                                     final C context) {
+        final HttpHandler<C> handler = this.handler;
+
+        return handler instanceof ConditionalHttpHandler ?
+            ((ConditionalHttpHandler<C>) handler).cacheControl(
+                request,
+                context
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Answers the request with a 304 Not Modified without calling the wrapped handler. The entity carries the
+     * {@link HttpHeaderName#E_TAG}, {@link HttpHeaderName#LAST_MODIFIED} and {@link HttpHeaderName#CACHE_CONTROL}
+     * that would have been sent in a 200 response.
+     */
+    final void notModified(final HttpRequest request,
+                           final HttpResponse response,
+                           final C context) {
+        HttpEntity entity = HttpEntity.EMPTY;
+
+        final ETag etag = this.wrappedETag(request, context)
+            .orElse(null);
+        if (null != etag) {
+            entity = entity.setHeader(
+                HttpHeaderName.E_TAG,
+                Lists.of(etag)
+            );
+        }
+
+        final LocalDateTime lastModified = this.wrappedLastModified(request, context)
+            .orElse(null);
+        if (null != lastModified) {
+            entity = entity.setLastModified(lastModified);
+        }
+
+        final CacheControl cacheControl = this.wrappedCacheControl(request, context)
+            .orElse(null);
+        if (null != cacheControl) {
+            entity = entity.setHeader(
+                HttpHeaderName.CACHE_CONTROL,
+                Lists.of(cacheControl)
+            );
+        }
+
+        response.setVersion(request.protocolVersion());
+        response.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        response.setEntity(entity);
+    }
 }
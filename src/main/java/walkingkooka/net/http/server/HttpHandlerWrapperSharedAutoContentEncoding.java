@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.ContentEncoding;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.ETagValidator;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.text.CaseSensitivity;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+
+/**
+ * Picks the {@link ContentEncoding} with the highest quality factor from the request {@link HttpHeaderName#ACCEPT_ENCODING}
+ * that has an encoder, and replaces the response body with a stream that is compressed as it is read by the server.
+ * Responses that are already encoded, partial, have a content type that is not compressible or a known length below
+ * the minimum size are left untouched. All other responses have <code>Accept-Encoding</code> merged into
+ * {@link HttpHeaderName#VARY}, even when identity is selected, so shared caches do not serve one client the encoding
+ * selected for another. Because the compressed length is not known up front the {@link HttpHeaderName#CONTENT_LENGTH}
+ * is removed, and any {@link HttpHeaderName#E_TAG} is made weak because the encoded bytes are not those of the
+ * original representation.
+ */
+@GwtIncompatible
+final class HttpHandlerWrapperSharedAutoContentEncoding<C extends HttpHandlerContext> extends HttpHandlerWrapperShared<C> {
+
+    /**
+     * Bodies smaller than this are not worth the cost of compressing.
+     */
+    final static long DEFAULT_MINIMUM_SIZE = 1024;
+
+    /**
+     * The gzip and deflate encoders, sharing pools of deflaters sized for the number of processors.
+     */
+    final static Map<ContentEncoding, Function<InputStream, InputStream>> DEFAULT_ENCODERS = deflaterEncoders(
+        2 * Runtime.getRuntime().availableProcessors(),
+        Deflater.DEFAULT_COMPRESSION
+    );
+
+    /**
+     * Only the gzip encoder from {@link #DEFAULT_ENCODERS}, used by {@link HttpHandlers#autoGzipEncoding(HttpHandler)}.
+     */
+    final static Map<ContentEncoding, Function<InputStream, InputStream>> GZIP_ENCODERS = Collections.singletonMap(
+        ContentEncoding.GZIP,
+        DEFAULT_ENCODERS.get(ContentEncoding.GZIP)
+    );
+
+    /**
+     * Returns gzip and deflate encoders, each backed by a {@link DeflaterPool} holding up to max idle deflaters.
+     * Gzip appears first and is selected when a client accepts both with the same quality factor.
+     */
+    static Map<ContentEncoding, Function<InputStream, InputStream>> deflaterEncoders(final int maxIdle,
+                                                                                    final int level) {
+        final DeflaterPool gzip = DeflaterPool.with(
+            maxIdle,
+            level,
+            true
+        );
+        final DeflaterPool deflate = DeflaterPool.with(
+            maxIdle,
+            level,
+            false
+        );
+
+        final Map<ContentEncoding, Function<InputStream, InputStream>> encoders = new LinkedHashMap<>();
+        encoders.put(
+            ContentEncoding.GZIP,
+            (b) -> DeflaterPoolInputStream.with(b, gzip)
+        );
+        encoders.put(
+            ContentEncoding.DEFLATE,
+            (b) -> DeflaterPoolInputStream.with(b, deflate)
+        );
+        return Collections.unmodifiableMap(encoders);
+    }
+
+    /**
+     * Returns false for content types such as images, audio, video and archives which are already compressed.
+     */
+    static boolean isCompressible(final MediaType contentType) {
+        final String type = contentType.type();
+        final String subType = contentType.subType();
+
+        final boolean compressible;
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "image":
+                compressible = "svg+xml".equalsIgnoreCase(subType);
+                break;
+            case "audio":
+            case "video":
+                compressible = false;
+                break;
+            case "font":
+                compressible = false == subType.toLowerCase(Locale.ROOT).startsWith("woff");
+                break;
+            case "application":
+                switch (subType.toLowerCase(Locale.ROOT)) {
+                    case "gzip":
+                    case "x-gzip":
+                    case "zip":
+                    case "x-bzip2":
+                    case "x-xz":
+                    case "x-7z-compressed":
+                    case "x-rar-compressed":
+                    case "zstd":
+                        compressible = false;
+                        break;
+                    default:
+                        compressible = true;
+                        break;
+                }
+                break;
+            default:
+                compressible = true;
+                break;
+        }
+
+        return compressible;
+    }
+
+    static <C extends HttpHandlerContext> HttpHandlerWrapperSharedAutoContentEncoding<C> with(final Map<ContentEncoding, Function<InputStream, InputStream>> encoders,
+                                                                                            final Predicate<MediaType> compressible,
+                                                                                            final long minimumSize,
+                                                                                            final HttpHandler<C> handler) {
+        Objects.requireNonNull(encoders, "encoders");
+        Objects.requireNonNull(compressible, "compressible");
+        if (minimumSize < 0) {
+            throw new IllegalArgumentException("Invalid minimum size " + minimumSize + " < 0");
+        }
+
+        return new HttpHandlerWrapperSharedAutoContentEncoding<>(
+            Collections.unmodifiableMap(
+                new LinkedHashMap<>(encoders)
+            ),
+            compressible,
+            minimumSize,
+            handler
+        );
+    }
+
+    private HttpHandlerWrapperSharedAutoContentEncoding(final Map<ContentEncoding, Function<InputStream, InputStream>> encoders,
+                                                        final Predicate<MediaType> compressible,
+                                                        final long minimumSize,
+                                                        final HttpHandler<C> handler) {
+        super(handler);
+
+        this.encoders = encoders;
+        this.compressible = compressible;
+        this.minimumSize = minimumSize;
+    }
+
+    @Override
+    void handle0(final HttpRequest request,
+                 final HttpResponse response,
+                 final C context) {
+        this.handler.handle(
+            request,
+            response,
+            context
+        );
+
+        final HttpEntity entity = response.entity();
+
+        if (this.isEncodable(request, entity)) {
+            final HttpEntity varied = varyAcceptEncoding(entity);
+
+            final ContentEncoding contentEncoding = HttpHeaderName.ACCEPT_ENCODING.header(request)
+                .flatMap(a -> a.select(this.encoders.keySet()))
+                .orElse(null);
+
+            if (null != contentEncoding) {
+                final InputStream encoded = this.encoders.get(contentEncoding)
+                    .apply(entity.bodyInputStream());
+
+                HttpEntity encodedEntity = varied.removeHeader(HttpHeaderName.CONTENT_LENGTH)
+                    .addHeader(
+                        HttpHeaderName.CONTENT_ENCODING,
+                        contentEncoding
+                    );
+
+                // the encoded bytes differ from the identity representation, so only a weak comparison remains valid
+                final ETag etag = HttpHeaderName.E_TAG.header(entity)
+                    .orElse(null);
+                if (null != etag) {
+                    encodedEntity = encodedEntity.setHeader(
+                        HttpHeaderName.E_TAG,
+                        Lists.of(
+                            etag.setValidator(ETagValidator.WEAK)
+                        )
+                    );
+                }
+
+                response.setEntity(
+                    encodedEntity.setBodyInputStream(encoded)
+                );
+            } else {
+                response.setEntity(varied);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the response could be encoded, ignoring which encodings the request accepts.
+     */
+    private boolean isEncodable(final HttpRequest request,
+                                final HttpEntity entity) {
+        return false == HttpMethod.HEAD.equals(request.method()) &&
+            false == HttpHeaderName.CONTENT_ENCODING.header(entity).isPresent() &&
+            false == HttpHeaderName.CONTENT_RANGE.header(entity).isPresent() &&
+            this.isCompressible(entity);
+    }
+
+    /**
+     * Adds <code>Accept-Encoding</code> to any {@link HttpHeaderName#VARY} unless it, or <code>*</code>, is already present.
+     */
+    private static HttpEntity varyAcceptEncoding(final HttpEntity entity) {
+        final String acceptEncoding = HttpHeaderName.ACCEPT_ENCODING.value();
+
+        boolean present = false;
+        final List<?> vary = entity.headers()
+            .get(HttpHeaderName.VARY);
+        if (null != vary) {
+            for (final Object value : vary) {
+                for (final String token : value.toString().split(",")) {
+                    final String trimmed = token.trim();
+                    if ("*".equals(trimmed) || CaseSensitivity.INSENSITIVE.equals(acceptEncoding, trimmed)) {
+                        present = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return present ?
+            entity :
+            entity.addHeader(
+                HttpHeaderName.VARY,
+                acceptEncoding
+            );
+    }
+
+    private boolean isCompressible(final HttpEntity entity) {
+        final long contentLength = entity.contentLength();
+
+        return (HttpEntity.UNKNOWN_CONTENT_LENGTH == contentLength || (contentLength > 0 && contentLength >= this.minimumSize)) &&
+            HttpHeaderName.CONTENT_TYPE.header(entity)
+                .map(this.compressible::test)
+                .orElse(Boolean.TRUE);
+    }
+
+    private final Map<ContentEncoding, Function<InputStream, InputStream>> encoders;
+
+    private final Predicate<MediaType> compressible;
+
+    private final long minimumSize;
+
+    @Override
+    public String toString() {
+        return "AutoContentEncoding " + this.encoders.keySet() + " " + this.handler;
+    }
+}
@@ -17,6 +17,8 @@
 
 package walkingkooka.net.http.server;
 
+import walkingkooka.net.header.CacheControl;
+import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.HttpHeaderName;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpStatus;
@@ -24,6 +26,7 @@ import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.net.http.HttpStatusCodeCategory;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Wraps another {@link HttpHandler} removing the body of a response if an incoming {@link HttpHeaderName#IF_MODIFIED_SINCE}
@@ -36,8 +39,12 @@ import java.time.LocalDateTime;
  * Unlike If-Unmodified-Since, If-Modified-Since can only be used with a GET or HEAD. When used in combination with If-None-Match, it is ignored, unless the server doesn't support If-None-Match.
  * <p>
  * The most common use case is to update a cached entity that has no associated ETag.
+ * <p>
+ * GET and HEAD requests to a {@link ConditionalHttpHandler} reporting a last modified are answered with a 304 without
+ * calling the wrapped handler.
  */
-final class HttpHandlerWrapperSharedIfModifiedSince<C extends HttpHandlerContext> extends HttpHandlerWrapperShared<C> {
+final class HttpHandlerWrapperSharedIfModifiedSince<C extends HttpHandlerContext> extends HttpHandlerWrapperShared<C>
+    implements ConditionalHttpHandler<C> {
 
     static <C extends HttpHandlerContext> HttpHandlerWrapperSharedIfModifiedSince<C> with(final HttpHandler<C> handler) {
         return new HttpHandlerWrapperSharedIfModifiedSince<>(handler);
@@ -51,12 +58,6 @@ final class HttpHandlerWrapperSharedIfModifiedSince<C extends HttpHandlerContext
     void handle0(final HttpRequest request,
                  final HttpResponse response,
                  final C context) {
-        this.handler.handle(
-            request,
-            response,
-            context
-        );
-
         // https://developer.mozilla.org/en-US/docs/Web/HTTP/Reference/Headers/If-Modified-Since
         //
         // The HTTP If-Modified-Since request header makes a request conditional. The server sends back the requested resource,
@@ -68,21 +69,39 @@ final class HttpHandlerWrapperSharedIfModifiedSince<C extends HttpHandlerContext
         //
         //The most common use case is to update a cached entity that has no associated ETag.
 
-        if (request.method().isGetOrHead()) {
+        // RFC 7232 section 6: If-Modified-Since is evaluated only when If-None-Match is absent.
+        final LocalDateTime requestIfModifiedSince = request.method().isGetOrHead() &&
+            false == HttpHeaderName.IF_NONE_MATCHED.header(request).isPresent() ?
+            HttpHeaderName.IF_MODIFIED_SINCE.header(request)
+                .orElse(null) :
+            null;
 
-            final HttpStatus httpStatus = response.status()
-                .orElse(null);
-            if (null != httpStatus && httpStatus.value().category() == HttpStatusCodeCategory.SUCCESSFUL) {
+        if (null != requestIfModifiedSince &&
+            this.wrappedLastModified(request, context)
+                .map(lastModified -> isNotModified(requestIfModifiedSince, lastModified))
+                .orElse(false)) {
+            // ConditionalHttpHandler reported a last modified, skip calling the handler
+            this.notModified(
+                request,
+                response,
+                context
+            );
+        } else {
+            this.handler.handle(
+                request,
+                response,
+                context
+            );
 
-                final LocalDateTime requestIfModifiedSince = HttpHeaderName.IF_MODIFIED_SINCE.header(request)
+            if (null != requestIfModifiedSince) {
+                final HttpStatus httpStatus = response.status()
                     .orElse(null);
-                if (null != requestIfModifiedSince) {
-
-                    final HttpEntity responseHttpEntity = response.entity();
+                if (null != httpStatus && httpStatus.value().category() == HttpStatusCodeCategory.SUCCESSFUL) {
 
-                    final LocalDateTime lastModifiedOrNull = responseHttpEntity.lastModified()
+                    final LocalDateTime lastModifiedOrNull = response.entity()
+                        .lastModified()
                         .orElse(null);
-                    if (null != lastModifiedOrNull && false == requestIfModifiedSince.isAfter(lastModifiedOrNull)) {
+                    if (null != lastModifiedOrNull && isNotModified(requestIfModifiedSince, lastModifiedOrNull)) {
                         response.setStatus(
                             HttpStatusCode.NOT_MODIFIED.status()
                         );
@@ -93,6 +112,42 @@ final class HttpHandlerWrapperSharedIfModifiedSince<C extends HttpHandlerContext
         }
     }
 
+    private static boolean isNotModified(final LocalDateTime requestIfModifiedSince,
+                                         final LocalDateTime lastModified) {
+        return false == requestIfModifiedSince.isAfter(lastModified);
+    }
+
+    // ConditionalHttpHandler...........................................................................................
+
+    @Override
+    public Optional<ETag> etag(final HttpRequest request,
+                               final C context) {
+        return this.wrappedETag(
+            request,
+            context
+        );
+    }
+
+    @Override
+    public Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                final C context) {
+        return this.wrappedLastModified(
+            request,
+            context
+        );
+    }
+
+    @Override
+    public Optional<CacheControl> cacheControl(final HttpRequest request,
+                                               final C context) {
+        return this.wrappedCacheControl(
+            request,
+            context
+        );
+    }
+
+    // Object...........................................................................................................
+
     @Override
     public String toString() {
         return HttpHeaderName.IF_MODIFIED_SINCE + " " + this.handler;
@@ -18,17 +18,23 @@
 package walkingkooka.net.http.server;
 
 import walkingkooka.Binary;
+import walkingkooka.net.header.CacheControl;
 import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.ETagList;
 import walkingkooka.net.header.HttpHeaderName;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpStatusCode;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 /**
  * Wraps another {@link HttpHandler} removing the body of a response if an incoming {@link HttpHeaderName#IF_NONE_MATCHED}
- * matches the response {@link ETag}.
+ * matches the response {@link ETag}. GET and HEAD requests to a {@link ConditionalHttpHandler} reporting a matching
+ * {@link ETag} are answered with a 304 without calling the wrapped handler.
  */
-final class HttpHandlerWrapperSharedIfNoneMatch<C extends HttpHandlerContext> extends HttpHandlerWrapperShared<C> {
+final class HttpHandlerWrapperSharedIfNoneMatch<C extends HttpHandlerContext> extends HttpHandlerWrapperShared<C>
+    implements ConditionalHttpHandler<C> {
 
     static <C extends HttpHandlerContext> HttpHandlerWrapperSharedIfNoneMatch<C> with(final HttpHandler<C> handler) {
         return new HttpHandlerWrapperSharedIfNoneMatch<>(handler);
@@ -42,12 +48,6 @@ final class HttpHandlerWrapperSharedIfNoneMatch<C extends HttpHandlerContext> ex
     void handle0(final HttpRequest request,
                  final HttpResponse response,
                  final C context) {
-        this.handler.handle(
-            request,
-            response,
-            context
-        );
-
         // https://developer.mozilla.org/en-US/docs/Web/HTTP/Reference/Headers/If-None-Match
         //
         // When the condition fails for GET and HEAD methods, the server must return a 304 Not Modified and any of the
@@ -57,23 +57,81 @@ final class HttpHandlerWrapperSharedIfNoneMatch<C extends HttpHandlerContext> ex
             .flatMap(ETagList::firstOrEmpty)
             .orElse(null);
 
-        if (null != ifNoneMatchOrNull) {
-            final HttpEntity responseEntity = response.entity();
+        if (null != ifNoneMatchOrNull && this.isNotModified(ifNoneMatchOrNull, request, context)) {
+            this.notModified(
+                request,
+                response,
+                context
+            );
+        } else {
+            this.handler.handle(
+                request,
+                response,
+                context
+            );
+
+            if (null != ifNoneMatchOrNull) {
+                final HttpEntity responseEntity = response.entity();
 
-            // same then not modified and clear body
-            if (ifNoneMatchOrNull.test(HttpHeaderName.E_TAG.header(responseEntity).orElse(null))) {
+                // same then not modified and clear body
+                if (ifNoneMatchOrNull.test(HttpHeaderName.E_TAG.header(responseEntity).orElse(null))) {
 
-                response.setStatus(HttpStatusCode.NOT_MODIFIED.status());
-                response.setEntity(
-                    responseEntity.removeHeader(HttpHeaderName.E_TAG)
-                        .removeHeader(HttpHeaderName.CONTENT_TYPE)
-                        .removeHeader(HttpHeaderName.CONTENT_LENGTH)
-                        .setBody(Binary.EMPTY)
-                );
+                    response.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+                    response.setEntity(
+                        responseEntity.removeHeader(HttpHeaderName.E_TAG)
+                            .removeHeader(HttpHeaderName.CONTENT_TYPE)
+                            .removeHeader(HttpHeaderName.CONTENT_LENGTH)
+                            .setBody(Binary.EMPTY)
+                    );
+                }
             }
         }
     }
 
+    /**
+     * Only GET and HEAD requests to a {@link ConditionalHttpHandler} that reports a matching {@link ETag} can be
+     * answered without calling the wrapped handler.
+     */
+    private boolean isNotModified(final ETag ifNoneMatch,
+                                  final HttpRequest request,
+                                  final C context) {
+        return request.method().isGetOrHead() &&
+            this.etag(request, context)
+                .map(ifNoneMatch::test)
+                .orElse(false);
+    }
+
+    // ConditionalHttpHandler...........................................................................................
+
+    @Override
+    public Optional<ETag> etag(final HttpRequest request,
+                               final C context) {
+        return this.wrappedETag(
+            request,
+            context
+        );
+    }
+
+    @Override
+    public Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                final C context) {
+        return this.wrappedLastModified(
+            request,
+            context
+        );
+    }
+
+    @Override
+    public Optional<CacheControl> cacheControl(final HttpRequest request,
+                                               final C context) {
+        return this.wrappedCacheControl(
+            request,
+            context
+        );
+    }
+
+    // Object...........................................................................................................
+
     @Override
     public String toString() {
         return HttpHeaderName.IF_NONE_MATCHED + " " + this.handler;
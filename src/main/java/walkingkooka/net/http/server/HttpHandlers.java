@@ -20,6 +20,7 @@ package walkingkooka.net.http.server;
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.Either;
 import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.ContentEncoding;
 import walkingkooka.net.header.HttpHeaderName;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.net.http.HttpMethod;
@@ -27,17 +28,54 @@ import walkingkooka.net.http.HttpStatus;
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.route.Router;
 
+import java.io.InputStream;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public final class HttpHandlers implements PublicStaticHelper {
 
     /**
-     * {@see HttpHandlerWrapperSharedAutoGzipEncoding}
+     * {@see HttpHandlerWrapperSharedAutoContentEncoding}
+     */
+    @GwtIncompatible
+    public static <C extends HttpHandlerContext> HttpHandler<C> autoContentEncoding(final HttpHandler<C> handler) {
+        return autoContentEncoding(
+            HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_ENCODERS,
+            HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+            HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_MINIMUM_SIZE,
+            handler
+        );
+    }
+
+    /**
+     * {@see HttpHandlerWrapperSharedAutoContentEncoding}
+     */
+    @GwtIncompatible
+    public static <C extends HttpHandlerContext> HttpHandler<C> autoContentEncoding(final Map<ContentEncoding, Function<InputStream, InputStream>> encoders,
+                                                                                    final Predicate<MediaType> compressible,
+                                                                                    final long minimumSize,
+                                                                                    final HttpHandler<C> handler) {
+        return HttpHandlerWrapperSharedAutoContentEncoding.with(
+            encoders,
+            compressible,
+            minimumSize,
+            handler
+        );
+    }
+
+    /**
+     * {@see HttpHandlerWrapperSharedAutoContentEncoding} that only gzip encodes any non empty compressible body.
      */
     @GwtIncompatible
     public static <C extends HttpHandlerContext> HttpHandler<C> autoGzipEncoding(final HttpHandler<C> handler) {
-        return HttpHandlerWrapperSharedAutoGzipEncoding.with(handler);
+        return autoContentEncoding(
+            HttpHandlerWrapperSharedAutoContentEncoding.GZIP_ENCODERS,
+            HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+            0,
+            handler
+        );
     }
 
     /**
@@ -48,6 +86,18 @@ public final class HttpHandlers implements PublicStaticHelper {
         return HttpHandlerWrapperSharedContentType.with(contentType, handler);
     }
 
+    /**
+     * {@see DeflaterPoolInputStream}
+     */
+    @GwtIncompatible
+    public static Map<ContentEncoding, Function<InputStream, InputStream>> deflaterContentEncoders(final int maxIdle,
+                                                                                                 final int level) {
+        return HttpHandlerWrapperSharedAutoContentEncoding.deflaterEncoders(
+            maxIdle,
+            level
+        );
+    }
+
     /**
      * {@see HttpHandlerWrapperSharedETagComputer}
      */
@@ -126,6 +176,19 @@ public final class HttpHandlers implements PublicStaticHelper {
         return HttpHandlerWebFile.with(basePath, files);
     }
 
+    /**
+     * {@see HttpHandlerWebFile}
+     */
+    public static <C extends HttpHandlerContext> HttpHandler<C> webFile(final UrlPath basePath,
+                                                                        final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                                                                        final Map<ContentEncoding, String> precompressed) {
+        return HttpHandlerWebFile.with(
+            basePath,
+            files,
+            precompressed
+        );
+    }
+
     /**
      * Stop creation
      */
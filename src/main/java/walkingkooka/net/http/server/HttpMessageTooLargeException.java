@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+/**
+ * Thrown when a HTTP message being parsed is larger than a configured maximum. The exception does not carry a status,
+ * because a response being parsed by a client is not answered, {@link HttpRequestByteBufferParser} maps it to a
+ * {@link HttpResponseHttpServerException}.
+ */
+final class HttpMessageTooLargeException extends IllegalArgumentException {
+
+    private final static long serialVersionUID = 1L;
+
+    final static int START_LINE = 0;
+
+    final static int HEADERS = 1;
+
+    final static int BODY = 2;
+
+    static HttpMessageTooLargeException startLine(final int max) {
+        return new HttpMessageTooLargeException(
+            "Start line too large, max=" + max,
+            START_LINE
+        );
+    }
+
+    static HttpMessageTooLargeException headers(final int max) {
+        return new HttpMessageTooLargeException(
+            "Headers too large, max=" + max,
+            HEADERS
+        );
+    }
+
+    static HttpMessageTooLargeException trailers(final int max) {
+        return new HttpMessageTooLargeException(
+            "Trailers too large, max=" + max,
+            HEADERS
+        );
+    }
+
+    static HttpMessageTooLargeException body(final long max) {
+        return new HttpMessageTooLargeException(
+            "Body too large, max=" + max,
+            BODY
+        );
+    }
+
+    private HttpMessageTooLargeException(final String message,
+                                         final int part) {
+        super(message);
+        this.part = part;
+    }
+
+    /**
+     * Which part of the message was too large, one of {@link #START_LINE}, {@link #HEADERS} or {@link #BODY}.
+     */
+    final int part;
+}
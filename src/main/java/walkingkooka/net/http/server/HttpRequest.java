@@ -17,6 +17,9 @@
 
 package walkingkooka.net.http.server;
 
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.locale.LocaleContext;
 import walkingkooka.net.RelativeUrl;
@@ -28,9 +31,12 @@ import walkingkooka.net.http.HttpProtocolVersion;
 import walkingkooka.net.http.HttpTransport;
 import walkingkooka.text.CharSequences;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.OptionalInt;
 
 /**
@@ -63,6 +69,28 @@ public interface HttpRequest extends HasHeaders {
      */
     Map<HttpHeaderName<?>, List<?>> NO_HEADERS = Maps.empty();
 
+    /**
+     * Returns the values of the given header as text, or an empty {@link List} if absent. The default formats the parsed
+     * values, implementations holding the original text should return that without parsing.
+     */
+    default List<String> headerTexts(final HttpHeaderName<?> header) {
+        Objects.requireNonNull(header, "header");
+
+        final List<?> values = this.headers()
+            .get(header);
+        final HttpHeaderName<Object> cast = Cast.to(header);
+
+        final List<String> texts = Lists.array();
+        if (null != values) {
+            for (final Object value : values) {
+                texts.add(
+                    cast.headerText(value)
+                );
+            }
+        }
+        return Lists.readOnly(texts);
+    }
+
     /**
      * Returns the body accompanying the request.
      */
@@ -88,6 +116,22 @@ public interface HttpRequest extends HasHeaders {
         return this.body().length;
     }
 
+    /**
+     * Returns the body as an {@link InputStream}, implementations may stream the body without first reading it all.
+     * Such a body can only be consumed once, so callers that stream should not later call {@link #body()},
+     * {@link #bodyText()} or this method again, as these may throw {@link IllegalStateException}.
+     * {@link #bodyLength()} should remain available when the length is known, such as from a content length header.
+     */
+    @GwtIncompatible
+    default InputStream bodyInputStream() {
+        final byte[] body = this.body();
+        return new ByteArrayInputStream(
+            null != body ?
+                body :
+                new byte[0]
+        );
+    }
+
     /**
      * An empty {@link Map} with no parameters.
      */
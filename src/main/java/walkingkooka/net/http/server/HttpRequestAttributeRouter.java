@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.UrlPathName;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.route.Router;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Router} compiled from many {@link HttpRequestAttributeRouting}. Rather than testing every predicate of every
+ * routing the request method selects a path component trie, the trie is walked using the request path, and only the
+ * routes at the reached leaves test their remaining predicates. When several routes match the first added wins.
+ * <br>
+ * Every attribute tested by a remaining predicate is given a slot when compiled, and each request resolves a slot
+ * at most once, so testing many routes does not repeatedly look up and convert the same header or parameter.
+ */
+final class HttpRequestAttributeRouter<T> implements Router<HttpRequestAttribute<?>, T> {
+
+    static <T> HttpRequestAttributeRouter<T> with(final List<HttpRequestAttributeRouting> routings,
+                                                  final List<T> targets) {
+        final HttpRequestAttributeRouter<T> router = new HttpRequestAttributeRouter<>(
+            HttpRequestAttributeRouterBuilder.toString(
+                routings,
+                targets
+            )
+        );
+
+        final int count = routings.size();
+        for (int i = 0; i < count; i++) {
+            router.add(
+                i,
+                routings.get(i),
+                targets.get(i)
+            );
+        }
+
+        final HttpRequestAttribute<?>[] slotAttributes = new HttpRequestAttribute<?>[router.slots.size()];
+        for (final Map.Entry<HttpRequestAttribute<?>, Integer> attributeAndSlot : router.slots.entrySet()) {
+            slotAttributes[attributeAndSlot.getValue()] = attributeAndSlot.getKey();
+        }
+        router.slotAttributes = slotAttributes;
+
+        return router;
+    }
+
+    private HttpRequestAttributeRouter(final String toString) {
+        super();
+        this.toString = toString;
+    }
+
+    private void add(final int index,
+                     final HttpRequestAttributeRouting routing,
+                     final T target) {
+        final Map<Integer, UrlPathName> pathNames = routing.pathNames;
+
+        // path components matched by the trie are removed from the residual predicates.
+        final Map<HttpRequestAttribute<?>, Predicate<?>> residuals = Maps.ordered();
+        final Map<Integer, Object> pathComponents = Maps.ordered();
+        int depth = 0;
+
+        for (final Map.Entry<HttpRequestAttribute<?>, Predicate<?>> attributeAndPredicate : routing.attributes.entrySet()) {
+            final HttpRequestAttribute<?> attribute = attributeAndPredicate.getKey();
+            final Predicate<?> predicate = attributeAndPredicate.getValue();
+
+            Object pathComponent = null;
+            if (attribute instanceof HttpRequestAttributeUrlPathName) {
+                final int pathIndex = ((HttpRequestAttributeUrlPathName) attribute).index;
+
+                pathComponent = HttpRequestAttributeRouterNode.WILDCARD.equals(predicate) ?
+                    HttpRequestAttributeRouterNode.WILDCARD :
+                    pathNames.get(pathIndex);
+                if (null != pathComponent) {
+                    pathComponents.put(
+                        pathIndex,
+                        pathComponent
+                    );
+                    depth = Math.max(
+                        depth,
+                        pathIndex + 1
+                    );
+                }
+            }
+            if (null == pathComponent) {
+                residuals.put(
+                    attribute,
+                    predicate
+                );
+            }
+        }
+
+        final Object[] pathComponentsArray = new Object[depth];
+        for (final Map.Entry<Integer, Object> indexAndPathComponent : pathComponents.entrySet()) {
+            pathComponentsArray[indexAndPathComponent.getKey()] = indexAndPathComponent.getValue();
+        }
+        this.depth = Math.max(
+            this.depth,
+            depth
+        );
+
+        final int residualCount = residuals.size();
+        final int[] slots = new int[residualCount];
+        final Predicate<?>[] predicates = new Predicate<?>[residualCount];
+
+        int i = 0;
+        for (final Map.Entry<HttpRequestAttribute<?>, Predicate<?>> attributeAndPredicate : residuals.entrySet()) {
+            slots[i] = this.slot(attributeAndPredicate.getKey());
+            predicates[i] = attributeAndPredicate.getValue();
+            i++;
+        }
+
+        final Set<HttpTransport> transports = routing.transports;
+
+        final HttpRequestAttributeRouterRoute<T> route = HttpRequestAttributeRouterRoute.with(
+            index,
+            transports.isEmpty() ?
+                HttpRequestAttributeRouterRoute.NO_SLOT :
+                this.slot(HttpRequestAttributes.TRANSPORT),
+            transports,
+            slots,
+            predicates,
+            target
+        );
+
+        if (routing.methods.isEmpty()) {
+            this.anyMethod.add(
+                pathComponentsArray,
+                0,
+                route
+            );
+        } else {
+            for (final HttpMethod method : routing.methods) {
+                this.methods.computeIfAbsent(
+                    method,
+                    (m) -> HttpRequestAttributeRouterNode.empty()
+                ).add(
+                    pathComponentsArray,
+                    0,
+                    route
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of the given attribute, adding a new slot for attributes seen for the first time.
+     */
+    private int slot(final HttpRequestAttribute<?> attribute) {
+        Integer slot = this.slots.get(attribute);
+        if (null == slot) {
+            slot = this.slots.size();
+            this.slots.put(
+                attribute,
+                slot
+            );
+        }
+        return slot;
+    }
+
+    /**
+     * The slot of every attribute tested by a residual predicate. A request only resolves these attributes.
+     */
+    private final Map<HttpRequestAttribute<?>, Integer> slots = new HashMap<>();
+
+    /**
+     * The reverse of {@link #slots}, the attribute for each slot, filled once all routes are added.
+     */
+    private HttpRequestAttribute<?>[] slotAttributes;
+
+    // Router...........................................................................................................
+
+    @Override
+    public Optional<T> route(final Map<HttpRequestAttribute<?>, Object> parameters) {
+        final HttpRequestAttributeRouterParameters routerParameters = HttpRequestAttributeRouterParameters.with(
+            parameters,
+            this.pathNames(parameters),
+            this.slotAttributes
+        );
+
+        HttpRequestAttributeRouterRoute<T> route = null;
+
+        final HttpRequestAttributeRouterNode<T> method = this.methods.get(
+            parameters.get(HttpRequestAttributes.METHOD)
+        );
+        if (null != method) {
+            route = method.route(
+                routerParameters,
+                0,
+                null
+            );
+        }
+
+        route = this.anyMethod.route(
+            routerParameters,
+            0,
+            route
+        );
+
+        return Optional.ofNullable(
+            null != route ?
+                route.target :
+                null
+        );
+    }
+
+    /**
+     * Fetches the path components as deep as the trie, avoiding a lookup per component for a
+     * {@link HttpRequestRouterParametersMap} which already holds them in an array.
+     */
+    private UrlPathName[] pathNames(final Map<HttpRequestAttribute<?>, Object> parameters) {
+        final UrlPathName[] pathNames;
+
+        if (parameters instanceof HttpRequestRouterParametersMap) {
+            pathNames = ((HttpRequestRouterParametersMap) parameters).pathNames();
+        } else {
+            final int depth = this.depth;
+            pathNames = new UrlPathName[depth];
+
+            for (int i = 0; i < depth; i++) {
+                pathNames[i] = (UrlPathName) parameters.get(
+                    HttpRequestAttributes.pathComponent(i)
+                );
+            }
+        }
+
+        return pathNames;
+    }
+
+    /**
+     * The deepest path component in any trie.
+     */
+    private int depth;
+
+    /**
+     * Tries for routings with one or more {@link HttpMethod}.
+     */
+    private final Map<HttpMethod, HttpRequestAttributeRouterNode<T>> methods = new HashMap<>();
+
+    /**
+     * The trie for routings without any {@link HttpMethod}.
+     */
+    private final HttpRequestAttributeRouterNode<T> anyMethod = HttpRequestAttributeRouterNode.empty();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.Cast;
+import walkingkooka.build.Builder;
+import walkingkooka.build.BuilderException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.route.Router;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable {@link Builder} that compiles many {@link HttpRequestAttributeRouting} and their targets into a single
+ * {@link Router}. The method and path of each routing are indexed so routing cost does not grow with the number of
+ * routings sharing few path prefixes. When several routings match a request the target added first is returned.
+ */
+public final class HttpRequestAttributeRouterBuilder<T> implements Builder<Router<HttpRequestAttribute<?>, T>> {
+
+    /**
+     * Creates an empty builder without any routings.
+     */
+    public static <T> HttpRequestAttributeRouterBuilder<T> empty() {
+        return Cast.to(EMPTY);
+    }
+
+    /**
+     * An empty {@link HttpRequestAttributeRouterBuilder} singleton.
+     */
+    private final static HttpRequestAttributeRouterBuilder<?> EMPTY = new HttpRequestAttributeRouterBuilder<>(
+        Lists.empty(),
+        Lists.empty()
+    );
+
+    /**
+     * Private ctor use factory.
+     */
+    private HttpRequestAttributeRouterBuilder(final List<HttpRequestAttributeRouting> routings,
+                                              final List<T> targets) {
+        super();
+        this.routings = routings;
+        this.targets = targets;
+    }
+
+    /**
+     * Adds a routing and its target. Routings without any requirement are rejected in the same way as
+     * {@link HttpRequestAttributeRouting#build()}.
+     */
+    public HttpRequestAttributeRouterBuilder<T> add(final HttpRequestAttributeRouting routing,
+                                                    final T target) {
+        Objects.requireNonNull(routing, "routing");
+        Objects.requireNonNull(target, "target");
+
+        routing.build();
+
+        final List<HttpRequestAttributeRouting> routings = Lists.array();
+        routings.addAll(this.routings);
+        routings.add(routing);
+
+        final List<T> targets = Lists.array();
+        targets.addAll(this.targets);
+        targets.add(target);
+
+        return new HttpRequestAttributeRouterBuilder<>(
+            routings,
+            targets
+        );
+    }
+
+    // VisibleForTesting
+    final List<HttpRequestAttributeRouting> routings;
+
+    // VisibleForTesting
+    final List<T> targets;
+
+    // build............................................................................................................
+
+    /**
+     * Compiles all routings into a {@link Router}.
+     */
+    @Override
+    public Router<HttpRequestAttribute<?>, T> build() throws BuilderException {
+        return HttpRequestAttributeRouter.with(
+            this.routings,
+            this.targets
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Override
+    public String toString() {
+        return toString(
+            this.routings,
+            this.targets
+        );
+    }
+
+    /**
+     * Shared with {@link HttpRequestAttributeRouter#toString()}.
+     */
+    static String toString(final List<HttpRequestAttributeRouting> routings,
+                           final List<?> targets) {
+        final StringBuilder b = new StringBuilder();
+
+        final int count = routings.size();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append(routings.get(i))
+                .append("=")
+                .append(targets.get(i));
+        }
+
+        return b.toString();
+    }
+}
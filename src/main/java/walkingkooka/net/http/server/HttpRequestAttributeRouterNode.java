@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.UrlPathName;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A node in the path component trie of a {@link HttpRequestAttributeRouter}. Each level matches one path component
+ * by literal {@link UrlPathName}, by wildcard which requires the component be present, or by any where the route has
+ * no requirement. Routes whose path requirements end at this depth are held in registration order.
+ */
+final class HttpRequestAttributeRouterNode<T> {
+
+    /**
+     * Marks a wildcard path component in the requirements passed to {@link #add(Object[], int, HttpRequestAttributeRouterRoute)}.
+     */
+    final static Object WILDCARD = HttpRequestAttributeRoutingWildcardPredicate.INSTANCE;
+
+    static <T> HttpRequestAttributeRouterNode<T> empty() {
+        return new HttpRequestAttributeRouterNode<>();
+    }
+
+    private HttpRequestAttributeRouterNode() {
+        super();
+    }
+
+    /**
+     * Adds a route under the given path requirements, where each element is a {@link UrlPathName}, {@link #WILDCARD}
+     * or null when that path component is unconstrained.
+     */
+    void add(final Object[] pathComponents,
+             final int depth,
+             final HttpRequestAttributeRouterRoute<T> route) {
+        if (-1 == this.first) {
+            this.first = route.index;
+        }
+
+        if (depth == pathComponents.length) {
+            this.routes.add(route);
+        } else {
+            final Object pathComponent = pathComponents[depth];
+            final HttpRequestAttributeRouterNode<T> child;
+
+            if (null == pathComponent) {
+                if (null == this.any) {
+                    this.any = empty();
+                }
+                child = this.any;
+            } else {
+                if (WILDCARD == pathComponent) {
+                    if (null == this.wildcard) {
+                        this.wildcard = empty();
+                    }
+                    child = this.wildcard;
+                } else {
+                    child = this.literals.computeIfAbsent(
+                        (UrlPathName) pathComponent,
+                        (n) -> empty()
+                    );
+                }
+            }
+
+            child.add(
+                pathComponents,
+                depth + 1,
+                route
+            );
+        }
+    }
+
+    /**
+     * Returns the first route by registration order that matches and is before the given best, otherwise the best.
+     */
+    HttpRequestAttributeRouterRoute<T> route(final HttpRequestAttributeRouterParameters parameters,
+                                             final int depth,
+                                             final HttpRequestAttributeRouterRoute<T> best) {
+        // nothing under this node was registered before the best so far
+        if (null != best && this.first > best.index) {
+            return best;
+        }
+
+        HttpRequestAttributeRouterRoute<T> route = best;
+
+        for (final HttpRequestAttributeRouterRoute<T> possible : this.routes) {
+            if (null != route && possible.index > route.index) {
+                break;
+            }
+            if (possible.test(parameters)) {
+                route = possible;
+                break;
+            }
+        }
+
+        final UrlPathName pathName = parameters.pathName(depth);
+
+        if (null != pathName) {
+            final HttpRequestAttributeRouterNode<T> literal = this.literals.get(pathName);
+            if (null != literal) {
+                route = literal.route(
+                    parameters,
+                    depth + 1,
+                    route
+                );
+            }
+
+            final HttpRequestAttributeRouterNode<T> wildcard = this.wildcard;
+            if (null != wildcard) {
+                route = wildcard.route(
+                    parameters,
+                    depth + 1,
+                    route
+                );
+            }
+        }
+
+        final HttpRequestAttributeRouterNode<T> any = this.any;
+        if (null != any) {
+            route = any.route(
+                parameters,
+                depth + 1,
+                route
+            );
+        }
+
+        return route;
+    }
+
+    /**
+     * The lowest route index added to this node or any of its children.
+     */
+    private int first = -1;
+
+    private final Map<UrlPathName, HttpRequestAttributeRouterNode<T>> literals = new HashMap<>();
+
+    private HttpRequestAttributeRouterNode<T> wildcard;
+
+    private HttpRequestAttributeRouterNode<T> any;
+
+    private final List<HttpRequestAttributeRouterRoute<T>> routes = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.literals.keySet() +
+            (null != this.wildcard ? " *" : "") +
+            (null != this.any ? " ?" : "") +
+            " " + this.routes;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.net.UrlPathName;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A request scoped view created once per {@link HttpRequestAttributeRouter#route(Map)}, holding the path components
+ * and the values of only those attributes referenced by the installed routes. Each value is fetched from the
+ * parameters the first time a route tests its slot and is then reused by all remaining routes.
+ */
+final class HttpRequestAttributeRouterParameters {
+
+    /**
+     * Marks a slot whose attribute was fetched and found to be absent.
+     */
+    private final static Object ABSENT = new Object();
+
+    static HttpRequestAttributeRouterParameters with(final Map<HttpRequestAttribute<?>, Object> parameters,
+                                                     final UrlPathName[] pathNames,
+                                                     final HttpRequestAttribute<?>[] attributes) {
+        return new HttpRequestAttributeRouterParameters(
+            Objects.requireNonNull(parameters, "parameters"),
+            Objects.requireNonNull(pathNames, "pathNames"),
+            Objects.requireNonNull(attributes, "attributes")
+        );
+    }
+
+    private HttpRequestAttributeRouterParameters(final Map<HttpRequestAttribute<?>, Object> parameters,
+                                                 final UrlPathName[] pathNames,
+                                                 final HttpRequestAttribute<?>[] attributes) {
+        super();
+        this.parameters = parameters;
+        this.pathNames = pathNames;
+        this.attributes = attributes;
+        this.values = new Object[attributes.length];
+    }
+
+    /**
+     * Returns the path component at the given index or null if the path is shorter.
+     */
+    UrlPathName pathName(final int index) {
+        final UrlPathName[] pathNames = this.pathNames;
+        return index < pathNames.length ?
+            pathNames[index] :
+            null;
+    }
+
+    /**
+     * Returns the value of the attribute in the given slot, or null if it is absent.
+     */
+    Object value(final int slot) {
+        Object value = this.values[slot];
+        if (null == value) {
+            value = this.parameters.get(this.attributes[slot]);
+            if (null == value) {
+                value = ABSENT;
+            }
+            this.values[slot] = value;
+        }
+
+        return ABSENT == value ?
+            null :
+            value;
+    }
+
+    private final Map<HttpRequestAttribute<?>, Object> parameters;
+
+    private final UrlPathName[] pathNames;
+
+    private final HttpRequestAttribute<?>[] attributes;
+
+    /**
+     * Lazily filled values, null until the slot is first tested.
+     */
+    private final Object[] values;
+
+    @Override
+    public String toString() {
+        return this.parameters.toString();
+    }
+}
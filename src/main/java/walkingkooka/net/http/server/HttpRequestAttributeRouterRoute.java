@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.Cast;
+import walkingkooka.net.http.HttpTransport;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A single compiled {@link HttpRequestAttributeRouting} held by the leaf of a {@link HttpRequestAttributeRouterNode}.
+ * The method and literal or wildcard path components have already been proven by the position in the trie, leaving the
+ * transport and the residual predicates such as headers, cookies and parameters to be tested. Each attribute is
+ * referenced by its slot in the {@link HttpRequestAttributeRouterParameters}.
+ */
+final class HttpRequestAttributeRouterRoute<T> {
+
+    /**
+     * The transport slot for routes that accept any transport.
+     */
+    final static int NO_SLOT = -1;
+
+    static <T> HttpRequestAttributeRouterRoute<T> with(final int index,
+                                                       final int transportSlot,
+                                                       final Set<HttpTransport> transports,
+                                                       final int[] slots,
+                                                       final Predicate<?>[] predicates,
+                                                       final T target) {
+        return new HttpRequestAttributeRouterRoute<>(
+            index,
+            transportSlot,
+            transports,
+            slots,
+            predicates,
+            target
+        );
+    }
+
+    private HttpRequestAttributeRouterRoute(final int index,
+                                            final int transportSlot,
+                                            final Set<HttpTransport> transports,
+                                            final int[] slots,
+                                            final Predicate<?>[] predicates,
+                                            final T target) {
+        super();
+        this.index = index;
+        this.transportSlot = transportSlot;
+        this.transports = transports;
+        this.slots = slots;
+        this.predicates = predicates;
+        this.target = target;
+    }
+
+    /**
+     * Tests the transport and then each residual predicate, passing null for absent attributes.
+     */
+    boolean test(final HttpRequestAttributeRouterParameters parameters) {
+        final int transportSlot = this.transportSlot;
+        boolean test = NO_SLOT == transportSlot ||
+            this.transports.contains(parameters.value(transportSlot));
+
+        if (test) {
+            final int[] slots = this.slots;
+            final Predicate<?>[] predicates = this.predicates;
+
+            for (int i = 0; i < slots.length; i++) {
+                final Predicate<Object> predicate = Cast.to(predicates[i]);
+                if (false == predicate.test(parameters.value(slots[i]))) {
+                    test = false;
+                    break;
+                }
+            }
+        }
+
+        return test;
+    }
+
+    /**
+     * The registration order of the route, when several match the lowest wins.
+     */
+    final int index;
+
+    private final int transportSlot;
+
+    private final Set<HttpTransport> transports;
+
+    private final int[] slots;
+
+    private final Predicate<?>[] predicates;
+
+    final T target;
+
+    @Override
+    public String toString() {
+        return this.index + " " + this.target;
+    }
+}
@@ -62,18 +62,21 @@ final public class HttpRequestAttributeRouting implements Builder<Map<HttpReques
      */
     private final static HttpRequestAttributeRouting EMPTY = new HttpRequestAttributeRouting(Sets.empty(),
         Sets.empty(),
-        map());
+        map(),
+        Maps.empty());
 
     /**
      * Private ctor use factory.
      */
     private HttpRequestAttributeRouting(final Set<HttpTransport> transports,
                                         final Set<HttpMethod> methods,
-                                        final Map<HttpRequestAttribute<?>, Predicate<?>> attributes) {
+                                        final Map<HttpRequestAttribute<?>, Predicate<?>> attributes,
+                                        final Map<Integer, UrlPathName> pathNames) {
         super();
         this.transports = transports;
         this.methods = methods;
         this.attributes = attributes;
+        this.pathNames = pathNames;
     }
 
     // transport .......................................................................................................
@@ -87,7 +90,7 @@ final public class HttpRequestAttributeRouting implements Builder<Map<HttpReques
         final Set<HttpTransport> copy = Sets.ordered();
         copy.addAll(this.transports);
         return copy.add(transport) ?
-            new HttpRequestAttributeRouting(copy, this.methods, this.attributes) :
+            new HttpRequestAttributeRouting(copy, this.methods, this.attributes, this.pathNames) :
             this;
     }
 
@@ -119,7 +122,7 @@ final public class HttpRequestAttributeRouting implements Builder<Map<HttpReques
         final Set<HttpMethod> copy = Sets.ordered();
         copy.addAll(this.methods);
         return copy.add(method) ?
-            new HttpRequestAttributeRouting(this.transports, copy, this.attributes) :
+            new HttpRequestAttributeRouting(this.transports, copy, this.attributes, this.pathNames) :
             this;
     }
 
@@ -156,9 +159,25 @@ final public class HttpRequestAttributeRouting implements Builder<Map<HttpReques
      */
     public HttpRequestAttributeRouting pathComponent(final int pathComponent,
                                                      final UrlPathName pathName) {
-        return this.pathComponent(pathComponent, Predicates.is(pathName));
+        final HttpRequestAttributeRouting that = this.pathComponent(pathComponent, Predicates.is(pathName));
+        if (that == this) {
+            return this;
+        }
+
+        final Map<Integer, UrlPathName> pathNames = Maps.ordered();
+        pathNames.putAll(that.pathNames);
+        pathNames.put(pathComponent, pathName);
+
+        return new HttpRequestAttributeRouting(that.transports, that.methods, that.attributes, pathNames);
     }
 
+    /**
+     * The path names added by {@link #pathComponent(int, UrlPathName)}, which are otherwise hidden inside their
+     * {@link Predicate}, so a {@link HttpRequestAttributeRouter} can index them.
+     */
+    // VisibleForTesting
+    final Map<Integer, UrlPathName> pathNames;
+
     /**
      * Adds a {@link Predicate} for a path component. Note the {@link Predicate} must be <code>null</code> safe, because nulls
      * will be passed with the path component is absent from the request.
@@ -323,7 +342,7 @@ final public class HttpRequestAttributeRouting implements Builder<Map<HttpReques
         }
         return value.equals(replace) ?
             this :
-            new HttpRequestAttributeRouting(this.transports, this.methods, copy);
+            new HttpRequestAttributeRouting(this.transports, this.methods, copy, this.pathNames);
     }
 
     /**
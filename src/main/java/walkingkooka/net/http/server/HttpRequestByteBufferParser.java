@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.net.RelativeUrl;
+import walkingkooka.net.Url;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.text.CharSequences;
+
+import java.util.Objects;
+
+/**
+ * An incremental HTTP/1.1 request parser, that returns a {@link HttpRequest} once the request line, headers and any
+ * body have been consumed from one or more {@link java.nio.ByteBuffer}.
+ * <pre>
+ * request-line   = method SP request-target SP HTTP-version CRLF
+ * </pre>
+ */
+@GwtIncompatible
+final class HttpRequestByteBufferParser extends HttpEntityByteBufferParser<HttpRequest> {
+
+    static HttpRequestByteBufferParser with(final HttpTransport transport,
+                                            final int maxHeaderSize,
+                                            final int maxBodySize) {
+        Objects.requireNonNull(transport, "transport");
+        checkMaxSizes(
+            maxHeaderSize,
+            maxBodySize
+        );
+
+        return new HttpRequestByteBufferParser(
+            transport,
+            maxHeaderSize,
+            maxBodySize
+        );
+    }
+
+    private HttpRequestByteBufferParser(final HttpTransport transport,
+                                        final int maxHeaderSize,
+                                        final int maxBodySize) {
+        super(
+            maxHeaderSize,
+            maxBodySize
+        );
+        this.transport = transport;
+    }
+
+    /**
+     * Answers a request that is too large with a 414, 431 or 413.
+     */
+    @Override
+    RuntimeException tooLarge(final HttpMessageTooLargeException cause) {
+        final HttpStatus status;
+
+        switch (cause.part) {
+            case HttpMessageTooLargeException.START_LINE:
+                status = HttpStatusCode.REQUEST_URI_TOO_LONG.status();
+                break;
+            case HttpMessageTooLargeException.HEADERS:
+                status = HttpStatusCode.withCode(431)
+                    .setMessage("Request header fields too large");
+                break;
+            case HttpMessageTooLargeException.BODY:
+                status = HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.status();
+                break;
+            default:
+                throw new IllegalStateException("Bad part=" + cause.part);
+        }
+
+        return new HttpResponseHttpServerException(
+            status,
+            HttpResponseHttpServerException.NO_ENTITY
+        );
+    }
+
+    @Override
+    void startLine(final byte[] line,
+                   final int length) {
+        final int space = indexOf(line, SPACE, 0, length);
+        final int space2 = -1 != space ?
+            indexOf(line, SPACE, space + 1, length) :
+            -1;
+
+        if (-1 == space2 || -1 != indexOf(line, SPACE, space2 + 1, length)) {
+            throw new IllegalArgumentException(
+                "Request line invalid: " +
+                    CharSequences.quoteAndEscape(
+                        this.string(
+                            line,
+                            0,
+                            length
+                        )
+                    )
+            );
+        }
+
+        this.method = method(
+            line,
+            space
+        );
+        this.url = Url.parseRelative(
+            this.string(
+                line,
+                space + 1,
+                space2 - space - 1
+            )
+        );
+        this.version = this.protocolVersion(
+            line,
+            space2 + 1,
+            length - space2 - 1
+        );
+    }
+
+    /**
+     * Returns a {@link HttpMethod} constant matching the bytes, only creating a {@link String} for other methods.
+     */
+    private HttpMethod method(final byte[] line,
+                              final int length) {
+        for (final HttpMethod method : METHODS) {
+            if (equalsIgnoringCase(method.value(), line, 0, length)) {
+                return method;
+            }
+        }
+
+        return HttpMethod.with(
+            this.string(
+                line,
+                0,
+                length
+            )
+        );
+    }
+
+    private final static HttpMethod[] METHODS = new HttpMethod[]{
+        HttpMethod.GET,
+        HttpMethod.POST,
+        HttpMethod.HEAD,
+        HttpMethod.PUT,
+        HttpMethod.DELETE,
+        HttpMethod.OPTIONS,
+        HttpMethod.PATCH,
+        HttpMethod.CONNECT,
+        HttpMethod.TRACE
+    };
+
+    /**
+     * Requests only have a body when they include a <code>Content-Length</code> or <code>Transfer-Encoding</code>.
+     */
+    @Override
+    boolean hasBody() {
+        return true;
+    }
+
+    @Override
+    HttpRequest message(final HttpEntity entity) {
+        return HttpRequests.value(
+            this.transport,
+            this.method,
+            this.url,
+            this.version,
+            entity
+        );
+    }
+
+    private final HttpTransport transport;
+
+    private HttpMethod method;
+
+    private RelativeUrl url;
+
+    private HttpProtocolVersion version;
+}
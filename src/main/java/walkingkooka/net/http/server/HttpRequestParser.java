@@ -19,6 +19,7 @@ package walkingkooka.net.http.server;
 
 import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.Url;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpProtocolVersion;
@@ -35,10 +36,26 @@ final class HttpRequestParser implements StaticHelper {
 
     static HttpRequest parse(final HttpTransport transport,
                              final String request) {
+        return parse(
+            transport,
+            request,
+            HttpHeaderNameParseCache.DISABLED
+        );
+    }
+
+    static HttpRequest parse(final HttpTransport transport,
+                             final String request,
+                             final HttpHeaderNameParseCache parseCache) {
         Objects.requireNonNull(transport, "transport");
         Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(parseCache, "parseCache");
 
-        final HttpRequestParser parser = new HttpRequestParser(LineReader.with(request));
+        final HttpRequestParser parser = new HttpRequestParser(
+            LineReader.with(
+                request,
+                parseCache
+            )
+        );
 
         // request line...
         final String[] requestLineTokens = parser.readRequestLine();
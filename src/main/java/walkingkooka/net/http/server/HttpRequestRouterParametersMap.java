@@ -17,11 +17,11 @@
 
 package walkingkooka.net.http.server;
 
-import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.UrlParameterName;
 import walkingkooka.net.UrlPathName;
+import walkingkooka.net.UrlPathSegments;
 import walkingkooka.net.header.ClientCookie;
 import walkingkooka.net.header.HttpHeaderName;
 
@@ -66,6 +66,8 @@ final class HttpRequestRouterParametersMap extends AbstractMap<HttpRequestAttrib
         if (key instanceof HttpRequestAttribute) {
             if (key instanceof HttpRequestAttributeUrlPathName) {
                 value = this.pathNameOrNull(((HttpRequestAttributeUrlPathName) key).index);
+            } else if (HttpRequestAttributes.PATH_COMPONENT_COUNT == key) {
+                value = this.pathComponentCount();
             } else {
                 final HttpRequestAttribute<?> attribute = (HttpRequestAttribute<?>) key;
                 value = attribute
@@ -92,18 +94,38 @@ final class HttpRequestRouterParametersMap extends AbstractMap<HttpRequestAttrib
      */
     UrlPathName[] pathNames() {
         if (null == this.pathNames) {
-            final List<UrlPathName> names = Lists.array();
+            final UrlPathSegments segments = this.url()
+                .path()
+                .normalizedSegments();
 
-            for (final UrlPathName pathName : this.url().path().normalize()) {
-                names.add(pathName);
+            final UrlPathName[] names = new UrlPathName[segments.count()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = segments.name(i);
             }
-            this.pathNames = names.toArray(new UrlPathName[names.size()]);
+            this.pathNames = names;
         }
         return this.pathNames;
     }
 
     private transient UrlPathName[] pathNames;
 
+    /**
+     * Lazily counts the components of the request path, which unlike {@link #pathNames()} is not normalized, matching
+     * {@link HttpRequestAttributes#PATH_COMPONENT_COUNT}.
+     */
+    private Integer pathComponentCount() {
+        if (null == this.pathComponentCount) {
+            int count = 0;
+            for (final UrlPathName ignored : this.url().path()) {
+                count++;
+            }
+            this.pathComponentCount = count;
+        }
+        return this.pathComponentCount;
+    }
+
+    private transient Integer pathComponentCount;
+
     /**
      * The query string url parameters.
      */
@@ -19,6 +19,7 @@ package walkingkooka.net.http.server;
 
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.net.RelativeUrl;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpProtocolVersion;
@@ -26,6 +27,9 @@ import walkingkooka.net.http.HttpTransport;
 import walkingkooka.reflect.PublicStaticHelper;
 
 import javax.servlet.http.HttpServletRequest;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.Function;
 
 public final class HttpRequests implements PublicStaticHelper {
 
@@ -40,6 +44,33 @@ public final class HttpRequests implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see HttpRequestParser#parse}
+     */
+    public static HttpRequest parse(final HttpTransport transport,
+                                    final String request,
+                                    final HttpHeaderNameParseCache parseCache) {
+        return HttpRequestParser.parse(
+            transport,
+            request,
+            parseCache
+        );
+    }
+
+    /**
+     * {@see HttpRequestByteBufferParser}
+     */
+    @GwtIncompatible
+    public static Function<ByteBuffer, Optional<HttpRequest>> byteBufferParser(final HttpTransport transport,
+                                                                               final int maxHeaderSize,
+                                                                               final int maxBodySize) {
+        return HttpRequestByteBufferParser.with(
+            transport,
+            maxHeaderSize,
+            maxBodySize
+        );
+    }
+
     /**
      * Creates a request with {@link HttpMethod#DELETE}
      */
@@ -103,6 +134,18 @@ public final class HttpRequests implements PublicStaticHelper {
         return HttpServletRequestHttpRequest.with(request);
     }
 
+    /**
+     * {@see HttpServletRequestHttpRequest}
+     */
+    @GwtIncompatible
+    public static HttpRequest httpServletRequest(final HttpServletRequest request,
+                                                 final HttpHeaderNameParseCache parseCache) {
+        return HttpServletRequestHttpRequest.with(
+            request,
+            parseCache
+        );
+    }
+
     /**
      * Creates a request with {@link HttpMethod#PATCH}
      */
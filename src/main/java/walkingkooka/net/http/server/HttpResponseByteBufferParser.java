@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.text.CharSequences;
+
+/**
+ * An incremental HTTP/1.1 response parser, that returns a {@link HttpResponse} once the status line, headers and any
+ * body have been consumed from one or more {@link java.nio.ByteBuffer}. Responses without a
+ * <code>Content-Length</code> or <code>Transfer-Encoding: chunked</code> are treated as having no body, which means
+ * bodies delimited by closing the connection are not supported.
+ * <pre>
+ * status-line = HTTP-version SP status-code SP reason-phrase CRLF
+ * </pre>
+ */
+@GwtIncompatible
+final class HttpResponseByteBufferParser extends HttpEntityByteBufferParser<HttpResponse> {
+
+    static HttpResponseByteBufferParser with(final int maxHeaderSize,
+                                             final int maxBodySize) {
+        checkMaxSizes(
+            maxHeaderSize,
+            maxBodySize
+        );
+
+        return new HttpResponseByteBufferParser(
+            maxHeaderSize,
+            maxBodySize
+        );
+    }
+
+    private HttpResponseByteBufferParser(final int maxHeaderSize,
+                                         final int maxBodySize) {
+        super(
+            maxHeaderSize,
+            maxBodySize
+        );
+    }
+
+    /**
+     * A response that is too large is not answered, so the neutral exception is thrown unchanged.
+     */
+    @Override
+    RuntimeException tooLarge(final HttpMessageTooLargeException cause) {
+        return cause;
+    }
+
+    /**
+     * The reason phrase may be empty and the space before it absent.
+     */
+    @Override
+    void startLine(final byte[] line,
+                   final int length) {
+        final int space = indexOf(line, SPACE, 0, length);
+        if (-1 == space) {
+            throw this.invalidStatus(line, length);
+        }
+        int space2 = indexOf(line, SPACE, space + 1, length);
+        if (-1 == space2) {
+            space2 = length;
+        }
+
+        final int codeLength = space2 - space - 1;
+        if (3 != codeLength) {
+            throw this.invalidStatus(line, length);
+        }
+
+        int code = 0;
+        for (int i = space + 1; i < space2; i++) {
+            final int digit = Character.digit(line[i], 10);
+            if (-1 == digit) {
+                throw this.invalidStatus(line, length);
+            }
+            code = code * 10 + digit;
+        }
+
+        this.version = this.protocolVersion(
+            line,
+            0,
+            space
+        );
+
+        final HttpStatusCode statusCode = HttpStatusCode.withCode(code);
+        this.status = space2 < length ?
+            statusCode.setMessageOrDefault(
+                this.string(
+                    line,
+                    space2 + 1,
+                    length - space2 - 1
+                )
+            ) :
+            statusCode.status();
+    }
+
+    private IllegalArgumentException invalidStatus(final byte[] line,
+                                                   final int length) {
+        return new IllegalArgumentException(
+            "Invalid status " +
+                CharSequences.quoteAndEscape(
+                    this.string(
+                        line,
+                        0,
+                        length
+                    )
+                )
+        );
+    }
+
+    /**
+     * Informational, <code>204 No Content</code> and <code>304 Not Modified</code> responses never have a body.
+     */
+    @Override
+    boolean hasBody() {
+        final int code = this.status.value()
+            .code();
+        return code >= 200 &&
+            HttpStatusCode.NO_CONTENT.code() != code &&
+            HttpStatusCode.NOT_MODIFIED.code() != code;
+    }
+
+    @Override
+    HttpResponse message(final HttpEntity entity) {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(this.version);
+        response.setStatus(this.status);
+
+        if (entity.isNotEmpty()) {
+            response.setEntity(entity);
+        }
+
+        return response;
+    }
+
+    private HttpProtocolVersion version;
+
+    private HttpStatus status;
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.reflect.StaticHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Writes a {@link HttpResponse} in HTTP/1.1 wire format to a {@link WritableByteChannel}. The status line and headers
+ * are formatted using {@link HttpHeaderName#headerText(Object)}. A body no larger than a single block is written with
+ * the status line and headers using a single gathering write when the channel supports it. Larger bodies or those of
+ * unknown length are written using {@link HttpEntity#bodyTransferTo(WritableByteChannel)}, so the content of a
+ * {@link WebFile} is copied using {@link WebFile#transferTo(WritableByteChannel)} without passing through the heap.
+ * <br>
+ * When the entity {@link HttpEntity#isTransferEncodingChunked()} each block is written as a chunk, and any headers
+ * named by {@link HttpHeaderName#TRAILER} are written as trailers after the last chunk rather than with the headers.
+ */
+@GwtIncompatible
+final class HttpResponseWriter implements StaticHelper {
+
+    private final static int BUFFER_SIZE = 8 * 1024;
+
+    private final static String CRLF = "\r\n";
+
+    static void write(final HttpResponse response,
+                      final WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(response, "response");
+        Objects.requireNonNull(channel, "channel");
+
+        final HttpEntity entity = response.entity();
+        final boolean chunked = entity.isTransferEncodingChunked();
+
+        // headers named by Trailer are sent after a chunked body
+        final List<HttpHeaderName<?>> trailers = chunked ?
+            HttpHeaderName.TRAILER.header(entity)
+                .orElse(Lists.empty()) :
+            Lists.empty();
+
+        final ByteBuffer head = head(
+            response,
+            entity,
+            trailers
+        );
+
+        if (chunked) {
+            writeFully(head, channel);
+
+            try (final InputStream body = entity.bodyInputStream()) {
+                writeChunked(
+                    body,
+                    ByteBuffer.wrap(new byte[BUFFER_SIZE]),
+                    entity,
+                    trailers,
+                    channel
+                );
+            }
+        } else {
+            final long contentLength = entity.contentLength();
+
+            if (HttpEntity.UNKNOWN_CONTENT_LENGTH != contentLength && contentLength <= BUFFER_SIZE) {
+                writeSmall(
+                    head,
+                    entity,
+                    channel
+                );
+            } else {
+                writeFully(head, channel);
+                entity.bodyTransferTo(channel);
+            }
+        }
+    }
+
+    /**
+     * Writes the head and a body that fits in a single block, using a single gathering write when supported.
+     */
+    private static void writeSmall(final ByteBuffer head,
+                                   final HttpEntity entity,
+                                   final WritableByteChannel channel) throws IOException {
+        try (final InputStream body = entity.bodyInputStream()) {
+            final byte[] bytes = new byte[BUFFER_SIZE];
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            int count = body.read(bytes);
+            buffer.limit(
+                Math.max(
+                    count,
+                    0
+                )
+            );
+
+            if (channel instanceof GatheringByteChannel) {
+                final GatheringByteChannel gathering = (GatheringByteChannel) channel;
+                final ByteBuffer[] buffers = new ByteBuffer[]{
+                    head,
+                    buffer
+                };
+                while (head.hasRemaining() || buffer.hasRemaining()) {
+                    gathering.write(buffers);
+                }
+            } else {
+                writeFully(head, channel);
+                writeFully(buffer, channel);
+            }
+
+            // the content-length may be less than the actual body
+            if (-1 != count) {
+                for (; ; ) {
+                    count = body.read(bytes);
+                    if (-1 == count) {
+                        break;
+                    }
+                    buffer.clear()
+                        .limit(count);
+                    writeFully(buffer, channel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes each block read from the body as a chunk, followed by the trailers.
+     */
+    private static void writeChunked(final InputStream body,
+                                     final ByteBuffer buffer,
+                                     final HttpEntity entity,
+                                     final List<HttpHeaderName<?>> trailers,
+                                     final WritableByteChannel channel) throws IOException {
+        final HttpChunkedEncoder encoder = HttpChunkedEncoder.with(channel);
+        final byte[] bytes = buffer.array();
+
+        for (; ; ) {
+            final int count = body.read(bytes);
+            if (-1 == count) {
+                break;
+            }
+            buffer.clear()
+                .limit(count);
+            encoder.write(buffer);
+        }
+
+        HttpEntity trailerEntity = HttpEntity.EMPTY;
+        for (final HttpHeaderName<?> trailer : trailers) {
+            trailerEntity = trailerEntity.setHeader(
+                trailer,
+                Cast.to(
+                    entity.headers()
+                        .getOrDefault(
+                            trailer,
+                            Lists.empty()
+                        )
+                )
+            );
+        }
+        encoder.finish(trailerEntity);
+    }
+
+    /**
+     * Formats the status line, headers except for any trailers, and the empty line that ends the headers.
+     */
+    private static ByteBuffer head(final HttpResponse response,
+                                   final HttpEntity entity,
+                                   final List<HttpHeaderName<?>> trailers) {
+        final HttpStatus status = response.status()
+            .orElseThrow(() -> new IllegalArgumentException("Missing status"));
+
+        final StringBuilder b = new StringBuilder();
+        b.append(
+            response.version()
+                .orElse(HttpProtocolVersion.VERSION_1_1)
+                .value()
+        ).append(' ')
+            .append(
+                status.value()
+                    .code()
+            ).append(' ')
+            .append(status.message())
+            .append(CRLF);
+
+        headers(
+            entity.headers(),
+            (h) -> false == trailers.contains(h),
+            b
+        );
+
+        b.append(CRLF);
+
+        return ByteBuffer.wrap(
+            b.toString()
+                .getBytes(StandardCharsets.ISO_8859_1)
+        );
+    }
+
+    /**
+     * Appends a line for each value of each header matched by the filter.
+     */
+    static void headers(final Map<HttpHeaderName<?>, List<?>> headers,
+                        final Predicate<HttpHeaderName<?>> filter,
+                        final StringBuilder b) {
+        for (final Map.Entry<HttpHeaderName<?>, List<?>> headerAndValues : headers.entrySet()) {
+            final HttpHeaderName<?> header = headerAndValues.getKey();
+            if (false == filter.test(header)) {
+                continue;
+            }
+
+            for (final Object value : headerAndValues.getValue()) {
+                b.append(header.value())
+                    .append(HttpEntity.HEADER_SEPARATOR_CHAR)
+                    .append(' ')
+                    .append(
+                        header.headerText(
+                            Cast.to(value)
+                        )
+                    ).append(CRLF);
+            }
+        }
+    }
+
+    private static void writeFully(final ByteBuffer buffer,
+                                   final WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private HttpResponseWriter() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -20,10 +20,30 @@ package walkingkooka.net.http.server;
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.reflect.PublicStaticHelper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class HttpResponses implements PublicStaticHelper {
 
+    /**
+     * {@see HttpResponseByteBufferParser}
+     */
+    @GwtIncompatible
+    public static Function<ByteBuffer, Optional<HttpResponse>> byteBufferParser(final int maxHeaderSize,
+                                                                                final int maxBodySize) {
+        return HttpResponseByteBufferParser.with(
+            maxHeaderSize,
+            maxBodySize
+        );
+    }
+
     /**
      * {@see HttpResponseParser}
      */
@@ -56,6 +76,32 @@ public final class HttpResponses implements PublicStaticHelper {
         return RecordingHttpResponse.with();
     }
 
+    /**
+     * {@see HttpResponseWriter}
+     */
+    @GwtIncompatible
+    public static void write(final HttpResponse response,
+                             final WritableByteChannel channel) throws IOException {
+        HttpResponseWriter.write(
+            response,
+            channel
+        );
+    }
+
+    /**
+     * {@see HttpResponseWriter}
+     */
+    @GwtIncompatible
+    public static void write(final HttpResponse response,
+                             final OutputStream output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        HttpResponseWriter.write(
+            response,
+            Channels.newChannel(output)
+        );
+    }
+
     /**
      * Stop creation
      */
@@ -24,6 +24,7 @@ import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.Url;
 import walkingkooka.net.UrlQueryString;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 import walkingkooka.net.http.HasHeaders;
 import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpProtocolVersion;
@@ -31,8 +32,9 @@ import walkingkooka.net.http.HttpTransport;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
@@ -44,15 +46,31 @@ import java.util.Objects;
 final class HttpServletRequestHttpRequest implements HttpRequest {
 
     static HttpServletRequestHttpRequest with(final HttpServletRequest request) {
+        return with(
+            request,
+            HttpHeaderNameParseCache.DISABLED
+        );
+    }
+
+    static HttpServletRequestHttpRequest with(final HttpServletRequest request,
+                                              final HttpHeaderNameParseCache parseCache) {
         Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(parseCache, "parseCache");
 
-        return new HttpServletRequestHttpRequest(request);
+        return new HttpServletRequestHttpRequest(
+            request,
+            parseCache
+        );
     }
 
-    private HttpServletRequestHttpRequest(final HttpServletRequest request) {
+    private HttpServletRequestHttpRequest(final HttpServletRequest request,
+                                          final HttpHeaderNameParseCache parseCache) {
         super();
         this.request = request;
-        this.headers = HttpServletRequestHttpRequestHeadersMap.with(request);
+        this.headers = HttpServletRequestHttpRequestHeadersMap.with(
+            request,
+            parseCache
+        );
         this.parameters = HttpServletRequestHttpRequestParametersMap.with(request.getParameterMap());
     }
 
@@ -108,33 +126,102 @@ final class HttpServletRequestHttpRequest implements HttpRequest {
 
     private final HttpServletRequestHttpRequestHeadersMap headers;
 
+    /**
+     * Returns the original header text without parsing.
+     */
+    @Override
+    public List<String> headerTexts(final HttpHeaderName<?> header) {
+        Objects.requireNonNull(header, "header");
+
+        return this.headers.headerTexts(header);
+    }
+
     @Override
     public byte[] body() {
-        if (null == this.body) {
+        return this.bodyBytes()
+            .clone();
+    }
+
+    /**
+     * Avoids cloning the body bytes.
+     */
+    @Override
+    public String bodyText() {
+        return new String(
+            this.bodyBytes(),
+            this.charset()
+        );
+    }
+
+    /**
+     * Avoids cloning the body bytes. If the body was already streamed by {@link #bodyInputStream()} the servlet
+     * content length is returned instead, failing if that is also unknown.
+     */
+    @Override
+    public long bodyLength() {
+        final long length;
+
+        if (null == this.body && this.bodyConsumed) {
+            length = this.request.getContentLengthLong();
+            if (length < 0) {
+                throw new IllegalStateException("Body already consumed");
+            }
+        } else {
+            length = this.bodyBytes().length;
+        }
+
+        return length;
+    }
+
+    /**
+     * Returns the {@link ServletInputStream} if the body has not yet been read, so large bodies may be streamed. The
+     * stream may only be taken once, after which {@link #body()}, {@link #bodyText()} and another
+     * {@link #bodyInputStream()} fail.
+     */
+    @Override
+    public InputStream bodyInputStream() {
+        final byte[] body = this.body;
+
+        final InputStream inputStream;
+        if (null != body) {
+            inputStream = new ByteArrayInputStream(body);
+        } else {
+            this.bodyConsumed();
             try {
-                try (final ServletInputStream inputStream = this.request.getInputStream();
-                     final ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
-                    final byte[] buffer = new byte[4096];
-
-                    for (; ; ) {
-                        final int count = inputStream.read(buffer);
-                        if (-1 == count) {
-                            break;
-                        }
-                        bytes.write(buffer, 0, count);
-                    }
-
-                    this.body = bytes.toByteArray();
-                }
+                inputStream = this.request.getInputStream();
+            } catch (final IOException cause) {
+                throw new HttpServerException(cause.getMessage(), cause);
+            }
+        }
+        return inputStream;
+    }
+
+    /**
+     * Reads the body once keeping the bytes for subsequent calls.
+     */
+    private byte[] bodyBytes() {
+        if (null == this.body) {
+            this.bodyConsumed();
+            try (final ServletInputStream inputStream = this.request.getInputStream()) {
+                this.body = inputStream.readAllBytes();
             } catch (final IOException cause) {
                 throw new HttpServerException(cause.getMessage(), cause);
             }
         }
-        return this.body.clone();
+        return this.body;
     }
 
     private byte[] body;
 
+    private void bodyConsumed() {
+        if (this.bodyConsumed) {
+            throw new IllegalStateException("Body already consumed");
+        }
+        this.bodyConsumed = true;
+    }
+
+    private boolean bodyConsumed;
+
     @Override
     public Map<HttpRequestParameterName, List<String>> parameters() {
         return this.parameters;
@@ -169,7 +256,7 @@ final class HttpServletRequestHttpRequest implements HttpRequest {
 
         b.valueSeparator(eol);
         b.labelSeparator(": ");
-        b.value(this.headers());
+        b.value(this.headers.headersText()); // avoid parsing and failing on malformed headers
         b.append(eol);
 
         return b.build();
@@ -179,11 +266,13 @@ final class HttpServletRequestHttpRequest implements HttpRequest {
      * Creates a read only {@link List} of values from the {@link Enumeration} of header value {@link String}.
      */
     static List<Object> toList(final HttpHeaderName<?> header,
-                               final Enumeration<String> values) {
+                               final Enumeration<String> values,
+                               final HttpHeaderNameParseCache parseCache) {
         final List<Object> list = Lists.array();
         while (values.hasMoreElements()) {
             list.add(
-                header.parseValue(
+                parseCache.parseValue(
+                    header,
                     values.nextElement()
                 )
             );
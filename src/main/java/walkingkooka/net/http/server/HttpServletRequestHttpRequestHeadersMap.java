@@ -18,17 +18,23 @@
 package walkingkooka.net.http.server;
 
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * A read only parameter map view of the request from a {@link javax.servlet.http.HttpServletRequest}.
+ * A read only header map view of the request from a {@link javax.servlet.http.HttpServletRequest}. Header values are
+ * only parsed when a header is first read and then remembered, so headers that are never read, even malformed ones,
+ * cost nothing. A servlet request is only accessed by a single thread, so no locking is performed.
  */
 final class HttpServletRequestHttpRequestHeadersMap extends AbstractMap<HttpHeaderName<?>, List<?>> {
 
@@ -36,13 +42,19 @@ final class HttpServletRequestHttpRequestHeadersMap extends AbstractMap<HttpHead
         Maps.registerImmutableType(HttpServletRequestHttpRequestHeadersMap.class);
     }
 
-    static HttpServletRequestHttpRequestHeadersMap with(final HttpServletRequest request) {
-        return new HttpServletRequestHttpRequestHeadersMap(request);
+    static HttpServletRequestHttpRequestHeadersMap with(final HttpServletRequest request,
+                                                        final HttpHeaderNameParseCache parseCache) {
+        return new HttpServletRequestHttpRequestHeadersMap(
+            request,
+            parseCache
+        );
     }
 
-    private HttpServletRequestHttpRequestHeadersMap(final HttpServletRequest request) {
+    private HttpServletRequestHttpRequestHeadersMap(final HttpServletRequest request,
+                                                    final HttpHeaderNameParseCache parseCache) {
         super();
         this.request = request;
+        this.parseCache = parseCache;
     }
 
     @Override
@@ -52,13 +64,14 @@ final class HttpServletRequestHttpRequestHeadersMap extends AbstractMap<HttpHead
     }
 
     private boolean containsHeader(final HttpHeaderName<?> key) {
-        return null != this.request.getHeader(key.value());
+        return this.parsed.containsKey(key) ||
+            null != this.request.getHeader(key.value());
     }
 
     @Override
     public Set<Entry<HttpHeaderName<?>, List<?>>> entrySet() {
         if (null == this.entrySet) {
-            this.entrySet = HttpServletRequestHttpRequestHeadersMapEntrySet.with(this.request);
+            this.entrySet = HttpServletRequestHttpRequestHeadersMapEntrySet.with(this);
         }
         return this.entrySet;
     }
@@ -82,10 +95,67 @@ final class HttpServletRequestHttpRequestHeadersMap extends AbstractMap<HttpHead
 
     private List<?> getHeaderOrDefaultValue(final HttpHeaderName<?> header,
                                             final List<?> defaultValue) {
-        final Enumeration<String> values = this.request.getHeaders(header.value());
-        return null != values ?
-            HttpServletRequestHttpRequest.toList(header, values) :
-            defaultValue;
+        List<?> values = this.parsed.get(header);
+        if (null == values) {
+            final Enumeration<String> texts = this.request.getHeaders(header.value());
+            if (null != texts) {
+                values = HttpServletRequestHttpRequest.toList(
+                    header,
+                    texts,
+                    this.parseCache
+                );
+                this.parsed.put(
+                    header,
+                    values
+                );
+            } else {
+                values = defaultValue;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Headers that have been read and parsed.
+     */
+    private final Map<HttpHeaderName<?>, List<?>> parsed = Maps.hash();
+
+    /**
+     * Returns the original text of the given header without parsing.
+     */
+    List<String> headerTexts(final HttpHeaderName<?> header) {
+        final Enumeration<String> texts = this.request.getHeaders(header.value());
+        return null != texts ?
+            Lists.readOnly(
+                Collections.list(texts)
+            ) :
+            Lists.empty();
+    }
+
+    /**
+     * Returns all headers with their original text without parsing, in the order given by the request.
+     */
+    Map<HttpHeaderName<?>, List<String>> headersText() {
+        final Map<HttpHeaderName<?>, List<String>> headers = Maps.ordered();
+
+        for (final Enumeration<String> names = this.headerNames(); names.hasMoreElements(); ) {
+            final HttpHeaderName<?> header = HttpHeaderName.with(
+                names.nextElement()
+            );
+            headers.put(
+                header,
+                this.headerTexts(header)
+            );
+        }
+
+        return headers;
+    }
+
+    /**
+     * The names of all headers present in the request.
+     */
+    Enumeration<String> headerNames() {
+        return this.request.getHeaderNames();
     }
 
     /**
@@ -93,6 +163,11 @@ final class HttpServletRequestHttpRequestHeadersMap extends AbstractMap<HttpHead
      */
     private final HttpServletRequest request;
 
+    /**
+     * Used to parse header values, possibly reusing values parsed from identical text.
+     */
+    private final HttpHeaderNameParseCache parseCache;
+
     @Override
     public String toString() {
         return this.request.toString();
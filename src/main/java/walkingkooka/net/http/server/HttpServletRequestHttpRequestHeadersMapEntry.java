@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.net.header.HttpHeaderName;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * An {@link Entry} within a {@link HttpServletRequestHttpRequestHeadersMap} that only parses its value when read.
+ */
+final class HttpServletRequestHttpRequestHeadersMapEntry implements Entry<HttpHeaderName<?>, List<?>> {
+
+    static HttpServletRequestHttpRequestHeadersMapEntry with(final HttpHeaderName<?> header,
+                                                             final HttpServletRequestHttpRequestHeadersMap headers) {
+        return new HttpServletRequestHttpRequestHeadersMapEntry(
+            header,
+            headers
+        );
+    }
+
+    private HttpServletRequestHttpRequestHeadersMapEntry(final HttpHeaderName<?> header,
+                                                         final HttpServletRequestHttpRequestHeadersMap headers) {
+        super();
+        this.header = header;
+        this.headers = headers;
+    }
+
+    @Override
+    public HttpHeaderName<?> getKey() {
+        return this.header;
+    }
+
+    private final HttpHeaderName<?> header;
+
+    /**
+     * Parses and memoises the values in the parent {@link HttpServletRequestHttpRequestHeadersMap}.
+     */
+    @Override
+    public List<?> getValue() {
+        return this.headers.get(this.header);
+    }
+
+    @Override
+    public List<?> setValue(final List<?> value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private final HttpServletRequestHttpRequestHeadersMap headers;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.header.hashCode() ^ Objects.hashCode(this.getValue());
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof Entry && this.equals0((Entry<?, ?>) other);
+    }
+
+    private boolean equals0(final Entry<?, ?> other) {
+        return this.header.equals(other.getKey()) &&
+            Objects.equals(this.getValue(), other.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return this.header + "=" + this.getValue();
+    }
+}
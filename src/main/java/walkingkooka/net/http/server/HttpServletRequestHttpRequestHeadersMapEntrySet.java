@@ -17,68 +17,58 @@
 
 package walkingkooka.net.http.server;
 
-import walkingkooka.Cast;
 import walkingkooka.collect.iterator.Iterators;
-import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.ImmutableSetDefaults;
 import walkingkooka.net.header.HttpHeaderName;
 
-import javax.servlet.http.HttpServletRequest;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 
 /**
- * The {@link Set} view of all entries in a headers from a request.
+ * The {@link Set} view of all entries in a headers from a request. Values are parsed only when an entry value is read.
  */
 final class HttpServletRequestHttpRequestHeadersMapEntrySet extends AbstractSet<Entry<HttpHeaderName<?>, List<?>>>
     implements ImmutableSetDefaults<HttpServletRequestHttpRequestHeadersMapEntrySet, Entry<HttpHeaderName<?>, List<?>>> {
 
-    static HttpServletRequestHttpRequestHeadersMapEntrySet with(final HttpServletRequest request) {
-        return new HttpServletRequestHttpRequestHeadersMapEntrySet(request);
+    static HttpServletRequestHttpRequestHeadersMapEntrySet with(final HttpServletRequestHttpRequestHeadersMap headers) {
+        return new HttpServletRequestHttpRequestHeadersMapEntrySet(headers);
     }
 
-    private HttpServletRequestHttpRequestHeadersMapEntrySet(final HttpServletRequest request) {
+    private HttpServletRequestHttpRequestHeadersMapEntrySet(final HttpServletRequestHttpRequestHeadersMap headers) {
         super();
-        this.request = request;
+        this.headers = headers;
     }
 
     @Override
     public Iterator<Entry<HttpHeaderName<?>, List<?>>> iterator() {
-        return Iterators.mapping(Iterators.enumeration(this.request.getHeaderNames()), this::mapper);
+        return Iterators.mapping(
+            Iterators.enumeration(
+                this.headers.headerNames()
+            ),
+            this::mapper
+        );
     }
 
     /**
-     * Creates an {@link Entry} with the typed {@link HttpHeaderName} and its values from the original String strings.
+     * Creates an {@link Entry} with the typed {@link HttpHeaderName} whose values are parsed on demand.
      */
     private Entry<HttpHeaderName<?>, List<?>> mapper(final String headerName) {
-        final HttpHeaderName<?> header = HttpHeaderName.with(headerName);
-
-        final List<?> values = Lists.array();
-        for (final Enumeration<String> stringValues = this.request.getHeaders(headerName); stringValues.hasMoreElements(); ) {
-            values.add(
-                Cast.to(
-                    header.parseValue(
-                        stringValues.nextElement()
-                    )
-                )
-            );
-        }
-
-
-        return Map.entry(header, Lists.readOnly(values));
+        return HttpServletRequestHttpRequestHeadersMapEntry.with(
+            HttpHeaderName.with(headerName),
+            this.headers
+        );
     }
 
     @Override
     public int size() {
         if (-1 == this.size) {
-            final Enumeration<String> headers = this.request.getHeaderNames();
+            final Enumeration<String> headers = this.headers.headerNames();
             int i = 0;
             while (headers.hasMoreElements()) {
                 headers.nextElement();
@@ -91,7 +81,7 @@ final class HttpServletRequestHttpRequestHeadersMapEntrySet extends AbstractSet<
 
     private int size = -1;
 
-    private final HttpServletRequest request;
+    private final HttpServletRequestHttpRequestHeadersMap headers;
 
     // ImmutableSetDefaults.............................................................................................
 
@@ -19,6 +19,7 @@ package walkingkooka.net.http.server;
 
 import walkingkooka.Cast;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 import walkingkooka.net.http.HttpEntity;
 import walkingkooka.text.CharSequences;
 
@@ -28,12 +29,25 @@ import walkingkooka.text.CharSequences;
 final class LineReader {
 
     static LineReader with(final String text) {
-        return new LineReader(text);
+        return with(
+            text,
+            HttpHeaderNameParseCache.DISABLED
+        );
     }
 
-    private LineReader(final String text) {
+    static LineReader with(final String text,
+                           final HttpHeaderNameParseCache parseCache) {
+        return new LineReader(
+            text,
+            parseCache
+        );
+    }
+
+    private LineReader(final String text,
+                       final HttpHeaderNameParseCache parseCache) {
         super();
         this.text = text;
+        this.parseCache = parseCache;
     }
 
     /**
@@ -52,11 +66,9 @@ final class LineReader {
             if (-1 == separator) {
                 throw new IllegalArgumentException("Header missing separator/value=" + CharSequences.quoteAndEscape(line));
             }
-            final HttpHeaderName<?> header = HttpHeaderName.with(
-                line.substring(
-                    0,
-                    separator
-                ).trim()
+            final HttpHeaderName<?> header = headerName(
+                line,
+                separator
             );
 
             final int length = line.length();
@@ -77,7 +89,8 @@ final class LineReader {
             entity = entity.addHeader(
                 header,
                 Cast.to(
-                    header.parseValue(
+                    this.parseCache.parseValue(
+                        header,
                         line.substring(
                             valueStart,
                             valueEnd + 1
@@ -90,6 +103,37 @@ final class LineReader {
         return entity;
     }
 
+    /**
+     * Returns the trimmed header name before the separator, reusing a constant without creating a {@link String} when possible.
+     */
+    private static HttpHeaderName<?> headerName(final String line,
+                                                final int separator) {
+        int start = 0;
+        while (start < separator && line.charAt(start) <= ' ') {
+            start++;
+        }
+        int end = separator;
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        final int nameStart = start;
+        final int nameEnd = end;
+
+        return HttpHeaderName.constant(
+            line,
+            nameStart,
+            nameEnd
+        ).orElseGet(
+            () -> HttpHeaderName.with(
+                line.substring(
+                    nameStart,
+                    nameEnd
+                )
+            )
+        );
+    }
+
     /**
      * Attempts to read a line of text ending with CRNL.
      */
@@ -128,6 +172,11 @@ final class LineReader {
     private final String text;
     private int position = 0;
 
+    /**
+     * Used to parse header values, possibly reusing values parsed from identical text.
+     */
+    private final HttpHeaderNameParseCache parseCache;
+
     @Override
     public String toString() {
         return this.leftOver();
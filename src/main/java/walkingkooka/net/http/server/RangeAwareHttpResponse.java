@@ -44,6 +44,9 @@ import java.util.function.Supplier;
 
 /**
  * A {@link HttpResponse} wrapper that honours any range header ranges for 2xx responses, creating multi parts for each range.
+ * Each part is cut from the body, so only bodies of known length and requests with a limited number of ranges are
+ * ranged, others are returned whole. Large files should be served by a {@link HttpHandlerWebFile} which reads only the
+ * requested windows.
  */
 final class RangeAwareHttpResponse extends BufferingHttpResponse {
 
@@ -88,8 +91,9 @@ final class RangeAwareHttpResponse extends BufferingHttpResponse {
     void prepareEntity(final HttpStatus status,
                        final HttpEntity entity) {
 
-        // only range chunk 2xx responses...
-        if (status.value().category() == HttpStatusCodeCategory.SUCCESSFUL) {
+        // only range chunk 2xx responses, that have not already been ranged, eg by a WebFile handler...
+        if (status.value().category() == HttpStatusCodeCategory.SUCCESSFUL && HttpStatusCode.PARTIAL_CONTENT != status.value() &&
+            this.isBufferable(entity)) {
 
             // if-range is absent
             // if-range etag is satisifed by response etag
@@ -115,6 +119,15 @@ final class RangeAwareHttpResponse extends BufferingHttpResponse {
         }
     }
 
+    /**
+     * Ranges are cut from the buffered body, so a streamed body of unknown length is never read into memory, and a
+     * request with more ranges than {@link HttpHandlerWebFile#MAX_RANGES} is answered with the entire body.
+     */
+    private boolean isBufferable(final HttpEntity entity) {
+        return HttpEntity.UNKNOWN_CONTENT_LENGTH != entity.contentLength() &&
+            this.range.value().size() <= HttpHandlerWebFile.MAX_RANGES;
+    }
+
     private boolean isETagSatisified(final IfRange<?> ifRange,
                                      final HasHeaders response) {
         final Optional<ETag> etag = HttpHeaderName.E_TAG.header(response);
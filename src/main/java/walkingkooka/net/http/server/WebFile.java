@@ -17,14 +17,19 @@
 
 package walkingkooka.net.http.server;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.MediaType;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -52,6 +57,44 @@ public interface WebFile {
      */
     InputStream content() throws WebFileException;
 
+    /**
+     * Returns a read once {@link InputStream} holding count bytes of content starting at position, which may be
+     * shorter if the content ends first. Implementations backed by a file should override to avoid reading the
+     * skipped bytes.
+     */
+    default InputStream content(final long position,
+                                final long count) throws WebFileException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        final InputStream in = this.content();
+        try {
+            long skipped = 0;
+            while (skipped < position) {
+                final long skip = in.skip(position - skipped);
+                if (skip > 0) {
+                    skipped = skipped + skip;
+                } else {
+                    if (-1 == in.read()) {
+                        break; // position after end of content
+                    }
+                    skipped++;
+                }
+            }
+        } catch (final IOException cause) {
+            throw new WebFileException("Failed to skip content: " + cause, cause);
+        }
+
+        return WebFileRangeInputStream.with(
+            in,
+            count
+        );
+    }
+
     /**
      * Helper that returns the content as text. This should be implemented by all j2cl implmentations.
      */
@@ -79,4 +122,73 @@ public interface WebFile {
      * Returns an optionally computed {@link ETag}.
      */
     Optional<ETag> etag() throws WebFileException;
+
+    /**
+     * Copies the entire content to the given {@link WritableByteChannel} returning the number of bytes written.
+     * Implementations backed by a file should override to avoid copying through the heap.
+     */
+    @GwtIncompatible
+    default long transferTo(final WritableByteChannel target) throws WebFileException {
+        Objects.requireNonNull(target, "target");
+
+        try (final InputStream in = this.content()) {
+            return in.transferTo(
+                Channels.newOutputStream(target)
+            );
+        } catch (final IOException cause) {
+            throw new WebFileException("Failed to transfer content: " + cause, cause);
+        }
+    }
+
+    /**
+     * Copies the selected region of content to the given {@link WritableByteChannel} returning the number of bytes
+     * written, which may be less than count if the content is shorter.
+     */
+    @GwtIncompatible
+    default long transferTo(final long position,
+                            final long count,
+                            final WritableByteChannel target) throws WebFileException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+        Objects.requireNonNull(target, "target");
+
+        try (final InputStream in = this.content()) {
+            long skipped = 0;
+            while (skipped < position) {
+                final long skip = in.skip(position - skipped);
+                if (skip > 0) {
+                    skipped = skipped + skip;
+                } else {
+                    if (-1 == in.read()) {
+                        return 0; // position after end of content
+                    }
+                    skipped++;
+                }
+            }
+
+            final OutputStream out = Channels.newOutputStream(target);
+            final byte[] buffer = new byte[8192];
+            long remaining = count;
+
+            while (remaining > 0) {
+                final int read = in.read(
+                    buffer,
+                    0,
+                    (int) Math.min(buffer.length, remaining)
+                );
+                if (-1 == read) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining = remaining - read;
+            }
+            return count - remaining;
+        } catch (final IOException cause) {
+            throw new WebFileException("Failed to transfer content: " + cause, cause);
+        }
+    }
 }
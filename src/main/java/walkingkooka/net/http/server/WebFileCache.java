@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.Either;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Function} that decorates another, typically passed to {@link HttpHandlers#webFile(UrlPath, Function)}, caching
+ * the {@link WebFile#contentType()}, {@link WebFile#etag()} and optionally the content of small files.
+ * <br>
+ * Entries are keyed by {@link UrlPath} and are only reused when the last modified and size of the freshly resolved
+ * {@link WebFile} match, otherwise they are recomputed. Entries never keep the resolved {@link WebFile}, so the content
+ * of files larger than the maximum body size is not held in memory by the cache, and is read from the file resolved
+ * for each request. The least recently used entries are evicted when the number of
+ * entries exceeds the maximum.
+ */
+@GwtIncompatible
+public final class WebFileCache implements Function<UrlPath, Either<WebFile, HttpStatus>> {
+
+    static WebFileCache with(final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                             final int maxEntries,
+                             final long maxBodySize) {
+        Objects.requireNonNull(files, "files");
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntries " + maxEntries + " <= 0");
+        }
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("Invalid maxBodySize " + maxBodySize + " < 0");
+        }
+
+        return new WebFileCache(
+            files,
+            maxEntries,
+            maxBodySize
+        );
+    }
+
+    private WebFileCache(final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                         final int maxEntries,
+                         final long maxBodySize) {
+        super();
+        this.files = files;
+        this.maxEntries = maxEntries;
+        this.maxBodySize = maxBodySize;
+        this.entries = new LinkedHashMap<>(
+            16,
+            0.75f,
+            true // access order
+        );
+    }
+
+    // Function.........................................................................................................
+
+    @Override
+    public Either<WebFile, HttpStatus> apply(final UrlPath path) {
+        Objects.requireNonNull(path, "path");
+
+        final Either<WebFile, HttpStatus> resolved = this.files.apply(path);
+        return resolved.isLeft() ?
+            Either.left(
+                this.cached(
+                    path,
+                    resolved.leftValue()
+                )
+            ) :
+            resolved;
+    }
+
+    private WebFile cached(final UrlPath path,
+                           final WebFile file) {
+        final LocalDateTime lastModified = file.lastModified();
+        final long contentSize = file.contentSize();
+
+        WebFileCacheWebFile cached;
+        synchronized (this.entries) {
+            cached = this.entries.get(path);
+            if (null != cached && cached.isSame(lastModified, contentSize)) {
+                this.hitCount++;
+            } else {
+                cached = null;
+                this.missCount++;
+            }
+        }
+
+        if (null == cached) {
+            // computing the etag may read the entire file so do it outside the lock
+            cached = WebFileCacheWebFile.with(
+                path,
+                file,
+                lastModified,
+                contentSize,
+                this.body(file, contentSize)
+            );
+
+            synchronized (this.entries) {
+                this.entries.put(path, cached);
+                this.evict();
+            }
+        }
+
+        return cached.setFile(file);
+    }
+
+    /**
+     * Reads the content of small files, returning null for files larger than {@link #maxBodySize}.
+     */
+    private Binary body(final WebFile file,
+                        final long contentSize) {
+        Binary body = null;
+
+        if (contentSize <= this.maxBodySize) {
+            try (final InputStream content = file.content()) {
+                body = Binary.with(content.readAllBytes());
+            } catch (final IOException cause) {
+                throw new WebFileException("Unable to read content", cause);
+            }
+        }
+
+        return body;
+    }
+
+    /**
+     * Removes the least recently used entries until the maximum is not exceeded.
+     */
+    private void evict() {
+        final Map<UrlPath, WebFileCacheWebFile> entries = this.entries;
+        final Iterator<UrlPath> eldest = entries.keySet().iterator();
+
+        while (entries.size() > this.maxEntries) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The {@link Function} that resolves {@link UrlPath} to {@link WebFile}.
+     */
+    private final Function<UrlPath, Either<WebFile, HttpStatus>> files;
+
+    private final int maxEntries;
+
+    /**
+     * Files with a size less than or equal will have their content cached.
+     */
+    private final long maxBodySize;
+
+    /**
+     * Access ordered so the first entry is always the least recently used.
+     */
+    private final LinkedHashMap<UrlPath, WebFileCacheWebFile> entries;
+
+    // stats............................................................................................................
+
+    /**
+     * The number of entries currently cached.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * The number of requests that reused a cached entry.
+     */
+    public long hitCount() {
+        synchronized (this.entries) {
+            return this.hitCount;
+        }
+    }
+
+    private long hitCount;
+
+    /**
+     * The number of requests that created or replaced an entry.
+     */
+    public long missCount() {
+        synchronized (this.entries) {
+            return this.missCount;
+        }
+    }
+
+    private long missCount;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "WebFileCache " + this.files;
+    }
+}
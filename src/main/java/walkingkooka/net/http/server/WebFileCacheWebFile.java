@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link WebFile} held by a {@link WebFileCache}, with the metadata computed once. Entries held by the cache never
+ * reference the {@link WebFile} they were computed from, as it may hold its entire content in memory. The content is
+ * either the cached {@link Binary} for small files or read from the {@link WebFile} freshly resolved for each request
+ * and given to {@link #setFile(WebFile)}.
+ */
+@GwtIncompatible
+final class WebFileCacheWebFile implements WebFile {
+
+    static WebFileCacheWebFile with(final UrlPath path,
+                                    final WebFile file,
+                                    final LocalDateTime lastModified,
+                                    final long contentSize,
+                                    final Binary body) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(file, "file");
+
+        return new WebFileCacheWebFile(
+            path,
+            lastModified,
+            file.contentType(),
+            contentSize,
+            file.etag(),
+            body,
+            null
+        );
+    }
+
+    private WebFileCacheWebFile(final UrlPath path,
+                                final LocalDateTime lastModified,
+                                final MediaType contentType,
+                                final long contentSize,
+                                final Optional<ETag> etag,
+                                final Binary body,
+                                final WebFile file) {
+        super();
+        this.path = path;
+        this.lastModified = lastModified;
+        this.contentType = contentType;
+        this.contentSize = contentSize;
+        this.etag = etag;
+        this.body = body;
+        this.file = file;
+    }
+
+    /**
+     * Returns true if the given last modified and size match this entry.
+     */
+    boolean isSame(final LocalDateTime lastModified,
+                   final long contentSize) {
+        return this.lastModified.equals(lastModified) &&
+            this.contentSize == contentSize;
+    }
+
+    /**
+     * Returns a {@link WebFileCacheWebFile} that will read content from the given {@link WebFile}, unless the content
+     * is already cached. The returned instance should only be used for a single request.
+     */
+    WebFileCacheWebFile setFile(final WebFile file) {
+        return this.file == file || null != this.body ?
+            this :
+            new WebFileCacheWebFile(
+                this.path,
+                this.lastModified,
+                this.contentType,
+                this.contentSize,
+                this.etag,
+                null,
+                Objects.requireNonNull(file, "file")
+            );
+    }
+
+    // WebFile..........................................................................................................
+
+    @Override
+    public LocalDateTime lastModified() {
+        return this.lastModified;
+    }
+
+    private final LocalDateTime lastModified;
+
+    @Override
+    public MediaType contentType() {
+        return this.contentType;
+    }
+
+    private final MediaType contentType;
+
+    @Override
+    public long contentSize() {
+        return this.contentSize;
+    }
+
+    private final long contentSize;
+
+    @Override
+    public InputStream content() throws WebFileException {
+        final Binary body = this.body;
+        return null != body ?
+            body.inputStream() :
+            this.file().content();
+    }
+
+    @Override
+    public InputStream content(final long position,
+                               final long count) throws WebFileException {
+        return null != this.body ?
+            WebFile.super.content(position, count) :
+            this.file().content(position, count);
+    }
+
+    /**
+     * When present the cached content of a small file.
+     */
+    // @VisibleForTesting
+    final Binary body;
+
+    @Override
+    public Optional<ETag> etag() {
+        return this.etag;
+    }
+
+    private final Optional<ETag> etag;
+
+    @Override
+    public long transferTo(final WritableByteChannel target) throws WebFileException {
+        return null != this.body ?
+            WebFile.super.transferTo(target) :
+            this.file().transferTo(target);
+    }
+
+    @Override
+    public long transferTo(final long position,
+                           final long count,
+                           final WritableByteChannel target) throws WebFileException {
+        return null != this.body ?
+            WebFile.super.transferTo(position, count, target) :
+            this.file().transferTo(position, count, target);
+    }
+
+    private WebFile file() {
+        final WebFile file = this.file;
+        if (null == file) {
+            throw new IllegalStateException("Missing file for " + this.path);
+        }
+        return file;
+    }
+
+    /**
+     * The {@link WebFile} used to read content when the body is not cached, always null for entries held by the cache.
+     */
+    // @VisibleForTesting
+    final WebFile file;
+
+    private final UrlPath path;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.path.toString();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import walkingkooka.collect.Range;
+import walkingkooka.net.header.ContentRange;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeBoundary;
+import walkingkooka.net.header.RangeHeaderUnit;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpEntityMultipartWriter;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link WebFile} whose content is a multipart/byteranges body holding several windows of another {@link WebFile}.
+ * The framing comes from {@link HttpEntityMultipartWriter}. Only the small part headers are held in memory, each window is read with {@link WebFile#content(long, long)} only
+ * when it is reached, and the {@link #contentSize()} is known without reading anything.
+ * <pre>
+ * --boundary
+ * Content-Type: text/html
+ * Content-Range: bytes 100-200/1270
+ *
+ * ...
+ * --boundary
+ * Content-Type: text/html
+ * Content-Range: bytes 300-400/1270
+ *
+ * ...
+ * --boundary--
+ * </pre>
+ */
+final class WebFileMultipartByteRanges implements WebFile {
+
+    /**
+     * The ranges must be within the content and have both bounds inclusive.
+     */
+    static WebFileMultipartByteRanges with(final WebFile file,
+                                           final MediaType contentType,
+                                           final List<Range<Long>> ranges,
+                                           final MediaTypeBoundary boundary) {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(contentType, "contentType");
+        Objects.requireNonNull(ranges, "ranges");
+        Objects.requireNonNull(boundary, "boundary");
+
+        final int count = ranges.size();
+        final long[] positions = new long[count];
+        final long[] counts = new long[count];
+        final byte[][] heads = new byte[count][];
+
+        final Optional<Long> size = Optional.of(file.contentSize());
+
+        long contentSize = 0;
+        for (int i = 0; i < count; i++) {
+            final Range<Long> range = ranges.get(i);
+            final long first = range.lowerBound().value().get();
+            final long last = range.upperBound().value().get();
+
+            positions[i] = first;
+            counts[i] = last - first + 1;
+            heads[i] = HttpEntityMultipartWriter.partHead(
+                boundary,
+                HttpEntity.EMPTY.setContentType(contentType)
+                    .addHeader(
+                        HttpHeaderName.CONTENT_RANGE,
+                        ContentRange.with(
+                            RangeHeaderUnit.BYTES,
+                            Optional.of(range),
+                            size
+                        )
+                    ),
+                0 == i
+            );
+
+            contentSize = contentSize + heads[i].length + counts[i];
+        }
+
+        final byte[] close = HttpEntityMultipartWriter.close(
+            boundary,
+            0 == count
+        );
+
+        return new WebFileMultipartByteRanges(
+            file,
+            boundary,
+            positions,
+            counts,
+            heads,
+            close,
+            contentSize + close.length
+        );
+    }
+
+    private WebFileMultipartByteRanges(final WebFile file,
+                                       final MediaTypeBoundary boundary,
+                                       final long[] positions,
+                                       final long[] counts,
+                                       final byte[][] heads,
+                                       final byte[] close,
+                                       final long contentSize) {
+        super();
+        this.file = file;
+        this.boundary = boundary;
+        this.positions = positions;
+        this.counts = counts;
+        this.heads = heads;
+        this.close = close;
+        this.contentSize = contentSize;
+    }
+
+    @Override
+    public LocalDateTime lastModified() throws WebFileException {
+        return this.file.lastModified();
+    }
+
+    /**
+     * Returns a multipart/byteranges with the boundary.
+     */
+    @Override
+    public MediaType contentType() {
+        return this.boundary.multipartByteRanges();
+    }
+
+    private final MediaTypeBoundary boundary;
+
+    @Override
+    public long contentSize() {
+        return this.contentSize;
+    }
+
+    private final long contentSize;
+
+    @Override
+    public InputStream content() {
+        return new WebFileMultipartByteRangesInputStream(this);
+    }
+
+    /**
+     * The number of parts.
+     */
+    int parts() {
+        return this.heads.length;
+    }
+
+    /**
+     * The boundary and headers that precede the given part.
+     */
+    byte[] head(final int part) {
+        return this.heads[part];
+    }
+
+    /**
+     * Opens the window of content for the given part.
+     */
+    InputStream content(final int part) throws WebFileException {
+        return this.file.content(
+            this.positions[part],
+            this.counts[part]
+        );
+    }
+
+    /**
+     * The closing boundary after the last part.
+     */
+    byte[] close() {
+        return this.close;
+    }
+
+    @Override
+    public Optional<ETag> etag() throws WebFileException {
+        return this.file.etag();
+    }
+
+    private final WebFile file;
+
+    private final long[] positions;
+
+    private final long[] counts;
+
+    private final byte[][] heads;
+
+    private final byte[] close;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.file + " " + this.contentType();
+    }
+}
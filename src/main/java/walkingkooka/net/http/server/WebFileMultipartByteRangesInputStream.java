@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the content of a {@link WebFileMultipartByteRanges}, opening the window of each part only when it is reached
+ * and closing it before moving to the next.
+ */
+final class WebFileMultipartByteRangesInputStream extends InputStream {
+
+    WebFileMultipartByteRangesInputStream(final WebFileMultipartByteRanges ranges) {
+        super();
+        this.ranges = ranges;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return -1 == this.read(single, 0, 1) ?
+            -1 :
+            single[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        int read = 0;
+
+        if (length > 0) {
+            for (; ; ) {
+                InputStream current = this.current;
+                if (null == current) {
+                    current = this.next();
+                    if (null == current) {
+                        read = -1;
+                        break;
+                    }
+                    this.current = current;
+                }
+
+                read = current.read(
+                    bytes,
+                    offset,
+                    length
+                );
+                if (-1 != read) {
+                    break;
+                }
+                current.close();
+                this.current = null;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Each part is a head followed by a window of content, with the closing boundary last.
+     */
+    private InputStream next() {
+        final WebFileMultipartByteRanges ranges = this.ranges;
+        final int step = this.step;
+        final int parts = ranges.parts();
+
+        InputStream next = null;
+        if (step < parts * 2) {
+            final int part = step / 2;
+
+            next = 0 == step % 2 ?
+                new ByteArrayInputStream(ranges.head(part)) :
+                ranges.content(part);
+        } else {
+            if (step == parts * 2) {
+                next = new ByteArrayInputStream(ranges.close());
+            }
+        }
+
+        if (null != next) {
+            this.step = step + 1;
+        }
+        return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        final InputStream current = this.current;
+        if (null != current) {
+            this.current = null;
+            current.close();
+        }
+        this.step = Integer.MAX_VALUE;
+    }
+
+    private final WebFileMultipartByteRanges ranges;
+
+    private InputStream current;
+
+    private int step;
+
+    @Override
+    public String toString() {
+        return this.ranges.toString();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link WebFile} holding only a window of the content of another {@link WebFile}, used to serve a single byte range.
+ * The content is read using {@link WebFile#content(long, long)} so the bytes before the window are not read.
+ */
+final class WebFileRange implements WebFile {
+
+    static WebFileRange with(final WebFile file,
+                             final long position,
+                             final long count) {
+        Objects.requireNonNull(file, "file");
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        return new WebFileRange(
+            file,
+            position,
+            count
+        );
+    }
+
+    private WebFileRange(final WebFile file,
+                         final long position,
+                         final long count) {
+        super();
+        this.file = file;
+        this.position = position;
+        this.count = count;
+    }
+
+    @Override
+    public LocalDateTime lastModified() throws WebFileException {
+        return this.file.lastModified();
+    }
+
+    @Override
+    public MediaType contentType() throws WebFileException {
+        return this.file.contentType();
+    }
+
+    @Override
+    public long contentSize() {
+        return this.count;
+    }
+
+    @Override
+    public InputStream content() throws WebFileException {
+        return this.file.content(
+            this.position,
+            this.count
+        );
+    }
+
+    @Override
+    public Optional<ETag> etag() throws WebFileException {
+        return this.file.etag();
+    }
+
+    @GwtIncompatible
+    @Override
+    public long transferTo(final WritableByteChannel target) throws WebFileException {
+        return this.file.transferTo(
+            this.position,
+            this.count,
+            target
+        );
+    }
+
+    private final WebFile file;
+
+    private final long position;
+
+    private final long count;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.file + " " + this.position + "-" + (this.position + this.count - 1);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} that returns at most count bytes from another {@link InputStream}, used to read a window of
+ * {@link WebFile} content.
+ */
+final class WebFileRangeInputStream extends InputStream {
+
+    static WebFileRangeInputStream with(final InputStream input,
+                                        final long count) {
+        Objects.requireNonNull(input, "input");
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+
+        return new WebFileRangeInputStream(
+            input,
+            count
+        );
+    }
+
+    private WebFileRangeInputStream(final InputStream input,
+                                    final long count) {
+        super();
+        this.input = input;
+        this.remaining = count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = -1;
+
+        if (this.remaining > 0) {
+            read = this.input.read();
+            if (-1 != read) {
+                this.remaining--;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        final int read;
+
+        if (0 == length) {
+            read = 0;
+        } else {
+            if (this.remaining > 0) {
+                read = this.input.read(
+                    bytes,
+                    offset,
+                    (int) Math.min(length, this.remaining)
+                );
+                if (read > 0) {
+                    this.remaining = this.remaining - read;
+                }
+            } else {
+                read = -1;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(
+            this.input.available(),
+            this.remaining
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    private final InputStream input;
+
+    private long remaining;
+
+    @Override
+    public String toString() {
+        return this.remaining + " " + this.input;
+    }
+}
@@ -18,14 +18,32 @@
 package walkingkooka.net.http.server;
 
 import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Either;
+import walkingkooka.net.UrlPath;
 import walkingkooka.net.header.ETagComputer;
 import walkingkooka.net.header.MediaTypeDetector;
+import walkingkooka.net.http.HttpStatus;
 import walkingkooka.reflect.PublicStaticHelper;
 
 import java.nio.file.Path;
+import java.util.function.Function;
 
 public final class WebFiles implements PublicStaticHelper {
 
+    /**
+     * {@see WebFileCache}
+     */
+    @GwtIncompatible
+    public static WebFileCache cache(final Function<UrlPath, Either<WebFile, HttpStatus>> files,
+                                     final int maxEntries,
+                                     final long maxBodySize) {
+        return WebFileCache.with(
+            files,
+            maxEntries,
+            maxBodySize
+        );
+    }
+
     /**
      * {@see FakeWebFile}
      */
@@ -47,6 +65,18 @@ public final class WebFiles implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see FileChannelWebFile}
+     */
+    @GwtIncompatible
+    public static WebFile fileChannel(final Path path,
+                                      final MediaTypeDetector contentTypeDetector) {
+        return FileChannelWebFile.with(
+            path,
+            contentTypeDetector
+        );
+    }
+
     /**
      * Stop creation
      */
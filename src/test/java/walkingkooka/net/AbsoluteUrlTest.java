@@ -24,6 +24,7 @@ import walkingkooka.visit.Visiting;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.util.Locale;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -808,6 +809,137 @@ public final class AbsoluteUrlTest extends AbsoluteOrRelativeUrlTestCase<Absolut
         );
     }
 
+    @Test
+    public void testParseNoProtocolLeadingSlashFails() {
+        this.parseStringFails(
+            "a/b:c",
+            new IllegalArgumentException("no protocol: a/b:c")
+        );
+    }
+
+    @Test
+    public void testParseInvalidSchemeFails() {
+        this.parseStringFails(
+            "1http://example.com",
+            new IllegalArgumentException("no protocol: 1http://example.com")
+        );
+    }
+
+    @Test
+    public void testParseMissingSlashSlashFails() {
+        this.parseStringFails(
+            "http:/path",
+            new IllegalArgumentException("Missing host name")
+        );
+    }
+
+    @Test
+    public void testParseMultipleAtFails() {
+        this.parseStringFails(
+            "http://a@b@example.com",
+            new IllegalArgumentException("Missing host name")
+        );
+    }
+
+    @Test
+    public void testParseInvalidPortFails() {
+        this.parseStringFails(
+            "http://example.com:-2/",
+            new IllegalArgumentException("Invalid port number :-2")
+        );
+    }
+
+    @Test
+    public void testParseInvalidIp6AuthorityFails() {
+        this.parseStringFails(
+            "http://[1111:2222:3333:4444:5555:6666:7777:8888]x/",
+            new IllegalArgumentException("Invalid authority field: [1111:2222:3333:4444:5555:6666:7777:8888]x")
+        );
+    }
+
+    @Test
+    public void testParseUnknownScheme() {
+        final String string = "custom://example.com/path123";
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0(string);
+
+        this.schemeAndCheck(url, UrlScheme.with("custom"));
+        this.hostAndCheck(url, HostAddress.with("example.com"));
+        this.pathAndCheck(url, UrlPath.parse("/path123"));
+
+        this.toStringAndCheck(
+            url,
+            string
+        );
+    }
+
+    @Test
+    public void testParseSchemeUpperCase() {
+        this.schemeAndCheck(
+            AbsoluteUrl.parseAbsolute0("HTTPS://example.com"),
+            UrlScheme.HTTPS
+        );
+    }
+
+    @Test
+    public void testParseSchemeUpperCaseTurkishDefaultLocale() {
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+            this.schemeAndCheck(
+                AbsoluteUrl.parseAbsolute0("WIKI://example.com"),
+                UrlScheme.with("wiki")
+            );
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void testParseSurroundingWhitespace() {
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0(" https://example.com/path123?query456 ");
+
+        this.pathAndCheck(url, UrlPath.parse("/path123"));
+        this.queryAndCheck(url, UrlQueryString.parse("query456"));
+    }
+
+    @Test
+    public void testParseEmptyPort() {
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0("https://example.com:/path123");
+
+        this.hostAndCheck(url, HostAddress.with("example.com"));
+        this.portAndCheck(url);
+        this.pathAndCheck(url, UrlPath.parse("/path123"));
+    }
+
+    @Test
+    public void testParseEmptyCredentials() {
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0("https://@example.com");
+
+        this.credentialsAndCheck(url);
+        this.hostAndCheck(url, HostAddress.with("example.com"));
+    }
+
+    @Test
+    public void testParseIp6Port() {
+        final String string = "http://[1111:2222:3333:4444:5555:6666:7777:8888]:8080/path123";
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0(string);
+
+        this.schemeAndCheck(url, UrlScheme.HTTP);
+        this.hostAndCheck(url, HostAddress.with("[1111:2222:3333:4444:5555:6666:7777:8888]"));
+        this.portAndCheck(url, IpPort.with(8080));
+        this.pathAndCheck(url, UrlPath.parse("/path123"));
+    }
+
+    @Test
+    public void testParseQueryAfterFragment() {
+        final AbsoluteUrl url = AbsoluteUrl.parseAbsolute0("http://example.com/path123#fragment?query");
+
+        this.pathAndCheck(url, UrlPath.parse("/path123"));
+        this.queryAndCheck(url, UrlQueryString.EMPTY);
+        this.urlFragmentAndCheck(url, UrlFragment.with("fragment?query"));
+    }
+
     @Test
     public void testTryParseFails() {
         this.checkEquals(
@@ -158,6 +158,22 @@ public final class UrlPathNameTest implements ClassTesting2<UrlPathName>,
         );
     }
 
+    @Test
+    public void testParseIncludesEncodedUtf8() {
+        this.parseStringAndCheck(
+            "caf%C3%A9",
+            UrlPathName.with("caf\u00e9")
+        );
+    }
+
+    @Test
+    public void testParseInvalidEscapeLeftAsIs() {
+        this.parseStringAndCheck(
+            "100%zz",
+            UrlPathName.with("100%zz")
+        );
+    }
+
     @Override
     public UrlPathName parseString(final String text) {
         return UrlPathName.parse(text);
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class UrlPathPatternMatchTest implements ClassTesting2<UrlPathPatternMatch>,
+    HashCodeEqualsDefinedTesting2<UrlPathPatternMatch>,
+    ToStringTesting<UrlPathPatternMatch> {
+
+    private final static UrlPath PATTERN = UrlPath.parse("/path1/*/path3");
+
+    private final static UrlPathName CAPTURE = UrlPathName.with("path2");
+
+    @Test
+    public void testWithNullPatternFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> UrlPathPatternMatch.with(
+                null,
+                Lists.of(CAPTURE)
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullCapturesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> UrlPathPatternMatch.with(
+                PATTERN,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final UrlPathPatternMatch match = this.createObject();
+        this.checkEquals(
+            PATTERN,
+            match.pattern(),
+            "pattern"
+        );
+        this.checkEquals(
+            Lists.of(CAPTURE),
+            match.captures(),
+            "captures"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPattern() {
+        this.checkNotEquals(
+            UrlPathPatternMatch.with(
+                UrlPath.parse("/*/path2/path3"),
+                Lists.of(CAPTURE)
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentCaptures() {
+        this.checkNotEquals(
+            UrlPathPatternMatch.with(
+                PATTERN,
+                Lists.of(
+                    UrlPathName.with("different")
+                )
+            )
+        );
+    }
+
+    @Override
+    public UrlPathPatternMatch createObject() {
+        return UrlPathPatternMatch.with(
+            PATTERN,
+            Lists.of(CAPTURE)
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "/path1/*/path3 [path2]"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<UrlPathPatternMatch> type() {
+        return UrlPathPatternMatch.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class UrlPathPatternSetTest implements ClassTesting2<UrlPathPatternSet>,
+    HashCodeEqualsDefinedTesting2<UrlPathPatternSet>,
+    ToStringTesting<UrlPathPatternSet> {
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> UrlPathPatternSet.with(null)
+        );
+    }
+
+    @Test
+    public void testWithNullPatternFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> UrlPathPatternSet.with(
+                Arrays.asList(
+                    UrlPath.parse("/path1"),
+                    null
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testWithIncludesStarStarFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> UrlPath.patternSet(
+                Lists.of(
+                    UrlPath.parse("/path1"),
+                    UrlPath.parse("/path1/**/path3")
+                )
+            )
+        );
+
+        this.checkEquals(
+            "Pattern should only contain \"**\" at the end, \"/path1/**/path3\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithDuplicatesIgnored() {
+        this.checkEquals(
+            Lists.of(
+                UrlPath.parse("/path1/*"),
+                UrlPath.parse("/path2")
+            ),
+            this.patternSet(
+                "/path1/*",
+                "/path2",
+                "/path1/*"
+            ).patterns()
+        );
+    }
+
+    // matches..........................................................................................................
+
+    @Test
+    public void testMatchesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .matches(null)
+        );
+    }
+
+    @Test
+    public void testMatchesEmpty() {
+        this.matchesAndCheck(
+            UrlPathPatternSet.with(Lists.empty()),
+            "/path1"
+        );
+    }
+
+    @Test
+    public void testMatchesNone() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1",
+                "/path1/*",
+                "/path2/**"
+            ),
+            "/different/path2"
+        );
+    }
+
+    @Test
+    public void testMatchesSlash() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/",
+                "/path1",
+                "/**"
+            ),
+            "/",
+            match("/"),
+            match("/**")
+        );
+    }
+
+    @Test
+    public void testMatchesName() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1",
+                "/path1/path2",
+                "/path2"
+            ),
+            "/path1",
+            match("/path1")
+        );
+    }
+
+    @Test
+    public void testMatchesNameTooShort() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1/path2",
+                "/path1/*"
+            ),
+            "/path1"
+        );
+    }
+
+    @Test
+    public void testMatchesNameTooLong() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1",
+                "/*"
+            ),
+            "/path1/path2"
+        );
+    }
+
+    @Test
+    public void testMatchesStarCaptures() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1/*/path3"
+            ),
+            "/path1/path2/path3",
+            match(
+                "/path1/*/path3",
+                "path2"
+            )
+        );
+    }
+
+    @Test
+    public void testMatchesSeveralStarsCaptures() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/*/path2/*"
+            ),
+            "/path1/path2/path3",
+            match(
+                "/*/path2/*",
+                "path1",
+                "path3"
+            )
+        );
+    }
+
+    @Test
+    public void testMatchesStarStar() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1/**"
+            ),
+            "/path1/path2/path3",
+            match("/path1/**")
+        );
+    }
+
+    @Test
+    public void testMatchesStarStarNoRemainingNames() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1/**"
+            ),
+            "/path1",
+            match("/path1/**")
+        );
+    }
+
+    @Test
+    public void testMatchesStarStarAfterStarCaptures() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1/*/path3/**"
+            ),
+            "/path1/path2/path3/path4/path5",
+            match(
+                "/path1/*/path3/**",
+                "path2"
+            )
+        );
+    }
+
+    @Test
+    public void testMatchesSeveralInPatternOrder() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/**",
+                "/path1/*/path3",
+                "/different/**",
+                "/*/*/*",
+                "/path1/path2/path3",
+                "/path1/**"
+            ),
+            "/path1/path2/path3",
+            match("/**"),
+            match(
+                "/path1/*/path3",
+                "path2"
+            ),
+            match(
+                "/*/*/*",
+                "path1",
+                "path2",
+                "path3"
+            ),
+            match("/path1/path2/path3"),
+            match("/path1/**")
+        );
+    }
+
+    @Test
+    public void testMatchesNameIncludesStar() {
+        this.matchesAndCheck(
+            this.patternSet(
+                "/path1*/path2"
+            ),
+            "/path1/path2"
+        );
+    }
+
+    @Test
+    public void testMatchesSameAsPredicate() {
+        final List<String> patterns = Lists.of(
+            "/",
+            "/**",
+            "/*",
+            "/path1",
+            "/path1/",
+            "/path1/*",
+            "/path1/**",
+            "/path1/*/path3",
+            "/path1/*/path3/**",
+            "/*/path2/*",
+            "/*/*",
+            "/path2/*/*"
+        );
+        final List<String> paths = Lists.of(
+            "/",
+            "/path1",
+            "/path1/",
+            "/path1/path2",
+            "/path1/path2/",
+            "/path1/path2/path3",
+            "/path1/path2/path3/path4",
+            "/path2/path2/path3",
+            "/different"
+        );
+
+        final UrlPathPatternSet set = this.patternSet(
+            patterns.toArray(new String[0])
+        );
+
+        for (final String path : paths) {
+            final UrlPath urlPath = UrlPath.parse(path);
+
+            final List<UrlPath> expected = Lists.array();
+            for (final String pattern : patterns) {
+                final UrlPath patternPath = UrlPath.parse(pattern);
+                if (patternPath.predicate().test(urlPath)) {
+                    expected.add(patternPath);
+                }
+            }
+
+            final List<UrlPath> matched = Lists.array();
+            for (final UrlPathPatternMatch match : set.matches(urlPath)) {
+                matched.add(match.pattern());
+            }
+
+            this.checkEquals(
+                expected,
+                matched,
+                () -> "matches " + path
+            );
+        }
+    }
+
+    private UrlPathPatternSet patternSet(final String... patterns) {
+        final List<UrlPath> paths = Lists.array();
+        for (final String pattern : patterns) {
+            paths.add(
+                UrlPath.parse(pattern)
+            );
+        }
+        return UrlPath.patternSet(paths);
+    }
+
+    private static UrlPathPatternMatch match(final String pattern,
+                                             final String... captures) {
+        final List<UrlPathName> names = Lists.array();
+        for (final String capture : captures) {
+            names.add(
+                UrlPathName.with(capture)
+            );
+        }
+
+        return UrlPathPatternMatch.with(
+            UrlPath.parse(pattern),
+            names
+        );
+    }
+
+    private void matchesAndCheck(final UrlPathPatternSet set,
+                                 final String path,
+                                 final UrlPathPatternMatch... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            set.matches(
+                UrlPath.parse(path)
+            ),
+            () -> set + " matches " + path
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPatterns() {
+        this.checkNotEquals(
+            this.patternSet(
+                "/path1/*",
+                "/different"
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentOrder() {
+        this.checkNotEquals(
+            this.patternSet(
+                "/path2/**",
+                "/path1/*"
+            )
+        );
+    }
+
+    @Override
+    public UrlPathPatternSet createObject() {
+        return this.patternSet(
+            "/path1/*",
+            "/path2/**"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "/path1/*, /path2/**"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<UrlPathPatternSet> type() {
+        return UrlPathPatternSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
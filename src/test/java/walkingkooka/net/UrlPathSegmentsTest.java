@@ -0,0 +1,368 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class UrlPathSegmentsTest implements ClassTesting2<UrlPathSegments>,
+    HashCodeEqualsDefinedTesting2<UrlPathSegments>,
+    ToStringTesting<UrlPathSegments> {
+
+    // normalize........................................................................................................
+
+    @Test
+    public void testNormalizeEmpty() {
+        this.normalizeAndCheck(
+            "",
+            "/"
+        );
+    }
+
+    @Test
+    public void testNormalizeRoot() {
+        this.normalizeAndCheck(
+            "/",
+            "/"
+        );
+    }
+
+    @Test
+    public void testNormalizeName() {
+        this.normalizeAndCheck(
+            "/path1",
+            "/path1",
+            "path1"
+        );
+    }
+
+    @Test
+    public void testNormalizeSeveralNames() {
+        this.normalizeAndCheck(
+            "/path1/path2/file3",
+            "/path1/path2/file3",
+            "path1",
+            "path2",
+            "file3"
+        );
+    }
+
+    @Test
+    public void testNormalizeRelative() {
+        this.normalizeAndCheck(
+            "path1/path2",
+            "/path1/path2",
+            "path1",
+            "path2"
+        );
+    }
+
+    @Test
+    public void testNormalizeTrailingSlash() {
+        this.normalizeAndCheck(
+            "/path1/",
+            "/path1/",
+            "path1",
+            ""
+        );
+    }
+
+    @Test
+    public void testNormalizeDuplicateSlashes() {
+        this.normalizeAndCheck(
+            "//path1//path2",
+            "/path1/path2",
+            "path1",
+            "path2"
+        );
+    }
+
+    @Test
+    public void testNormalizeDot() {
+        this.normalizeAndCheck(
+            "/path1/./path2/.",
+            "/path1/path2",
+            "path1",
+            "path2"
+        );
+    }
+
+    @Test
+    public void testNormalizeDoubleDot() {
+        this.normalizeAndCheck(
+            "/path1/deleted/../path2",
+            "/path1/path2",
+            "path1",
+            "path2"
+        );
+    }
+
+    @Test
+    public void testNormalizeDoubleDotTrailingSlash() {
+        this.normalizeAndCheck(
+            "/path1/deleted/../",
+            "/path1/",
+            "path1",
+            ""
+        );
+    }
+
+    @Test
+    public void testNormalizeDoubleDotPastRoot() {
+        this.normalizeAndCheck(
+            "/../../path1",
+            "/path1",
+            "path1"
+        );
+    }
+
+    @Test
+    public void testNormalizeSameAsUrlPathNormalize() {
+        final UrlPath path = UrlPath.parse("/a1/b2/./deleted-by-double-dot-after/../c3//d4/");
+
+        final UrlPathSegments segments = path.normalizedSegments();
+        this.checkEquals(
+            path.normalize()
+                .value(),
+            segments.value(),
+            "value"
+        );
+        this.checkEquals(
+            path.normalize()
+                .namesList(),
+            names(segments),
+            "names"
+        );
+    }
+
+    @Test
+    public void testNormalizePercentEncodedName() {
+        final UrlPath path = UrlPath.parse("/path1/abc%252adef");
+
+        final UrlPathSegments segments = path.normalizedSegments();
+        this.checkEquals(
+            path.normalize()
+                .value(),
+            segments.value(),
+            "value"
+        );
+    }
+
+    private void normalizeAndCheck(final String path,
+                                   final String value,
+                                   final String... names) {
+        final UrlPathSegments segments = UrlPath.parse(path)
+            .normalizedSegments();
+
+        this.checkEquals(
+            value,
+            segments.value(),
+            () -> "value of " + path
+        );
+
+        final List<UrlPathName> expected = Lists.array();
+        expected.add(UrlPathName.ROOT);
+        for (final String name : names) {
+            expected.add(UrlPathName.with(name));
+        }
+
+        this.checkEquals(
+            expected,
+            names(segments),
+            () -> "names of " + path
+        );
+    }
+
+    private static List<UrlPathName> names(final UrlPathSegments segments) {
+        final List<UrlPathName> names = Lists.array();
+        for (int i = 0; i < segments.count(); i++) {
+            names.add(segments.name(i));
+        }
+        return names;
+    }
+
+    // name.............................................................................................................
+
+    @Test
+    public void testNameRoot() {
+        assertSame(
+            UrlPathName.ROOT,
+            this.createObject()
+                .name(0)
+        );
+    }
+
+    @Test
+    public void testNameInvalidIndexFails() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createObject()
+                .name(-1)
+        );
+    }
+
+    @Test
+    public void testNameInvalidIndexFails2() {
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> this.createObject()
+                .name(4)
+        );
+    }
+
+    // startsWith.......................................................................................................
+
+    @Test
+    public void testStartsWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .startsWith(null)
+        );
+    }
+
+    @Test
+    public void testStartsWithRoot() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/",
+            true
+        );
+    }
+
+    @Test
+    public void testStartsWithSame() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/path1/path2",
+            true
+        );
+    }
+
+    @Test
+    public void testStartsWithName() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/path1",
+            true
+        );
+    }
+
+    @Test
+    public void testStartsWithNameTrailingSlash() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/path1/",
+            true
+        );
+    }
+
+    @Test
+    public void testStartsWithPartialName() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/path",
+            false
+        );
+    }
+
+    @Test
+    public void testStartsWithLonger() {
+        this.startsWithAndCheck(
+            "/path1",
+            "/path1/path2",
+            false
+        );
+    }
+
+    @Test
+    public void testStartsWithDifferent() {
+        this.startsWithAndCheck(
+            "/path1/path2",
+            "/other",
+            false
+        );
+    }
+
+    private void startsWithAndCheck(final String path,
+                                    final String other,
+                                    final boolean expected) {
+        this.checkEquals(
+            expected,
+            UrlPath.parse(path)
+                .normalizedSegments()
+                .startsWith(UrlPath.parse(other)),
+            () -> path + " startsWith " + other
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPath() {
+        this.checkNotEquals(
+            UrlPath.parse("/different")
+                .normalizedSegments()
+        );
+    }
+
+    @Test
+    public void testEqualsEquivalentPath() {
+        this.checkEquals(
+            UrlPath.parse("/path1/./path2/deleted/../file3")
+                .normalizedSegments()
+        );
+    }
+
+    @Override
+    public UrlPathSegments createObject() {
+        return UrlPath.parse("/path1/path2/file3")
+            .normalizedSegments();
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "/path1/path2/file3"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<UrlPathSegments> type() {
+        return UrlPathSegments.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
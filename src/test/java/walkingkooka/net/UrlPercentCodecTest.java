@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class UrlPercentCodecTest implements ClassTesting2<UrlPercentCodec> {
+
+    // decode...........................................................................................................
+
+    @Test
+    public void testDecodeWithoutEscapesSame() {
+        final String text = "abc-123.txt";
+        assertSame(
+            text,
+            UrlPercentCodec.QUERY.decode(text)
+        );
+    }
+
+    @Test
+    public void testDecodePlusPathNameSame() {
+        final String text = "a+b";
+        assertSame(
+            text,
+            UrlPercentCodec.PATH_NAME.decode(text)
+        );
+    }
+
+    @Test
+    public void testDecodeQueryPlus() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "a+b",
+            "a b"
+        );
+    }
+
+    @Test
+    public void testDecodeFragmentPlus() {
+        this.decodeAndCheck(
+            UrlPercentCodec.FRAGMENT,
+            "a+b%20c",
+            "a+b c"
+        );
+    }
+
+    @Test
+    public void testDecodeAscii() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "%41bc%2a%2A",
+            "Abc**"
+        );
+    }
+
+    @Test
+    public void testDecodeTwoByteUtf8() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "caf%C3%A9",
+            "caf\u00e9"
+        );
+    }
+
+    @Test
+    public void testDecodeThreeByteUtf8() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "%E2%82%AC1",
+            "\u20ac1"
+        );
+    }
+
+    @Test
+    public void testDecodeFourByteUtf8() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "%F0%9F%98%80!",
+            "\ud83d\ude00!"
+        );
+    }
+
+    @Test
+    public void testDecodeMalformedUtf8() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "%C3A%FF%ED%A0%80",
+            "\ufffdA\ufffd\ufffd"
+        );
+    }
+
+    @Test
+    public void testDecodeUnescapedNonAscii() {
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "\u00e9%20",
+            "\u00e9 "
+        );
+    }
+
+    @Test
+    public void testDecodeSameAsURLDecoder() {
+        final String text = "a+b%20c%C3%A9%E2%82%AC%F0%9F%98%80%C3+%ED%A0%80%E0%80~";
+
+        this.decodeAndCheck(
+            UrlPercentCodec.QUERY,
+            text,
+            URLDecoder.decode(
+                text,
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidHexFails() {
+        this.decodeFails("abc%4Z");
+    }
+
+    @Test
+    public void testDecodeInvalidHexFails2() {
+        this.decodeFails("abc%Z4");
+    }
+
+    @Test
+    public void testDecodeIncompleteFails() {
+        this.decodeFails("abc%4");
+    }
+
+    @Test
+    public void testDecodeIncompleteFails2() {
+        this.decodeFails("abc%");
+    }
+
+    private void decodeFails(final String text) {
+        assertThrows(
+            InvalidCharacterException.class,
+            () -> UrlPercentCodec.QUERY.decode(text)
+        );
+    }
+
+    @Test
+    public void testDecodeLenientInvalidEscapes() {
+        this.decodeAndCheck(
+            UrlPercentCodec.PATH_NAME,
+            "%zz%4%2",
+            "%zz%4%2"
+        );
+    }
+
+    @Test
+    public void testDecodeLenientInvalidContinuation() {
+        this.decodeAndCheck(
+            UrlPercentCodec.PATH_NAME,
+            "%C3%zz",
+            "\ufffd%zz"
+        );
+    }
+
+    private void decodeAndCheck(final UrlPercentCodec codec,
+                                final String text,
+                                final String expected) {
+        this.checkEquals(
+            expected,
+            codec.decode(text),
+            () -> "decode " + text
+        );
+    }
+
+    // checkEscapes.....................................................................................................
+
+    @Test
+    public void testCheckEscapes() {
+        UrlPercentCodec.QUERY.checkEscapes(
+            "a=%41&b=%zz",
+            0,
+            5
+        );
+    }
+
+    @Test
+    public void testCheckEscapesIncompleteFails() {
+        assertThrows(
+            InvalidCharacterException.class,
+            () -> UrlPercentCodec.QUERY.checkEscapes(
+                "a=%41&b=%4",
+                0,
+                4
+            )
+        );
+    }
+
+    @Test
+    public void testCheckEscapesInvalidHexFails() {
+        assertThrows(
+            InvalidCharacterException.class,
+            () -> UrlPercentCodec.QUERY.checkEscapes(
+                "a=%4Z",
+                0,
+                5
+            )
+        );
+    }
+
+    // encode...........................................................................................................
+
+    @Test
+    public void testEncodeSafeSame() {
+        final String text = "abc-123.txt";
+        assertSame(
+            text,
+            UrlPercentCodec.PATH.encode(text)
+        );
+    }
+
+    @Test
+    public void testEncodeQuerySpace() {
+        this.encodeAndCheck(
+            UrlPercentCodec.QUERY,
+            "a b+c",
+            "a+b%2Bc"
+        );
+    }
+
+    @Test
+    public void testEncodeFragment() {
+        this.encodeAndCheck(
+            UrlPercentCodec.FRAGMENT,
+            "a b+c/d?e#f~",
+            "a%20b+c/d?e%23f%7E"
+        );
+    }
+
+    @Test
+    public void testEncodePath() {
+        this.encodeAndCheck(
+            UrlPercentCodec.PATH,
+            "/a b/c~d?",
+            "/a%20b/c~d%3F"
+        );
+    }
+
+    @Test
+    public void testEncodePathName() {
+        this.encodeAndCheck(
+            UrlPercentCodec.PATH_NAME,
+            "a/b",
+            "a%2Fb"
+        );
+    }
+
+    @Test
+    public void testEncodeUtf8() {
+        this.encodeAndCheck(
+            UrlPercentCodec.PATH,
+            "\u00e9\u20ac\ud83d\ude00",
+            "%C3%A9%E2%82%AC%F0%9F%98%80"
+        );
+    }
+
+    @Test
+    public void testEncodeUnpairedSurrogate() {
+        this.encodeAndCheck(
+            UrlPercentCodec.PATH,
+            "a\ud83d",
+            "a%3F"
+        );
+    }
+
+    @Test
+    public void testEncodeSameAsURLEncoder() {
+        final String text = "Hello, World! a+b=c&d \u00e9\u20ac\ud83d\ude00 ~*._-";
+
+        this.encodeAndCheck(
+            UrlPercentCodec.QUERY,
+            text,
+            URLEncoder.encode(
+                text,
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testEncodeDecodeRoundtrip() {
+        final String text = "a b+c%d/e?f#g&h=i \u00e9\u20ac\ud83d\ude00";
+
+        for (final UrlPercentCodec codec : new UrlPercentCodec[]{
+            UrlPercentCodec.QUERY,
+            UrlPercentCodec.FRAGMENT,
+            UrlPercentCodec.PATH,
+            UrlPercentCodec.PATH_NAME
+        }) {
+            this.checkEquals(
+                text,
+                codec.decode(
+                    codec.encode(text)
+                ),
+                () -> "roundtrip " + codec
+            );
+        }
+    }
+
+    private void encodeAndCheck(final UrlPercentCodec codec,
+                                final String text,
+                                final String expected) {
+        this.checkEquals(
+            expected,
+            codec.encode(text),
+            () -> "encode " + text
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<UrlPercentCodec> type() {
+        return UrlPercentCodec.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -97,6 +97,121 @@ public final class UrlQueryStringTest implements ClassTesting<UrlQueryString>,
         );
     }
 
+    @Test
+    public void testParseEmptyNameFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> UrlQueryString.parse("a=1&=2")
+        );
+    }
+
+    @Test
+    public void testParseEmptyPairFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> UrlQueryString.parse("a=1&&b=2")
+        );
+    }
+
+    @Test
+    public void testParseInvalidEscapeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> UrlQueryString.parse("a=1&b=%zz")
+        );
+    }
+
+    @Test
+    public void testParseIncompleteEscapeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> UrlQueryString.parse("a=%2")
+        );
+    }
+
+    @Test
+    public void testParseTrailingSeparator() {
+        final String text = "a=1&b=2;";
+        final UrlQueryString queryString = UrlQueryString.parse(text);
+
+        this.parameterWithValueCheck(queryString, "a", "1");
+        this.parameterWithValueCheck(queryString, "b", "2");
+
+        this.toStringAndCheck(queryString, text);
+    }
+
+    @Test
+    public void testParseManyParameters() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                text.append('&');
+            }
+            text.append("p")
+                .append(i)
+                .append("=v%20")
+                .append(i);
+        }
+
+        final UrlQueryString queryString = UrlQueryString.parse(text.toString());
+
+        this.parameterWithValueCheck(queryString, "p0", "v 0");
+        this.parameterWithValueCheck(queryString, "p25", "v 25");
+        this.parameterWithValueCheck(queryString, "p49", "v 49");
+        this.parameterAbsent(queryString, "p50");
+
+        this.checkEquals(
+            50,
+            queryString.parameters().size(),
+            "parameters.size"
+        );
+        this.toStringAndCheck(queryString, text.toString());
+    }
+
+    @Test
+    public void testParseValueWithEqualsSign() {
+        final UrlQueryString queryString = UrlQueryString.parse("a=b=c&d");
+
+        this.parameterWithValueCheck(queryString, "a", "b=c");
+        this.parameterWithValueCheck(queryString, "d", "");
+    }
+
+    @Test
+    public void testParameterBeforeAndAfterParameters() {
+        final UrlQueryString queryString = UrlQueryString.parse("a=1&b=%41&a=2");
+
+        this.parameterAndCheck(queryString, "b", "A");
+        this.parameterValuesAndCheck(queryString, "a", "1", "2");
+
+        this.checkEquals(
+            Maps.of(
+                UrlParameterName.with("a"),
+                Lists.of("1", "2"),
+                UrlParameterName.with("b"),
+                Lists.of("A")
+            ),
+            queryString.parameters(),
+            "parameters"
+        );
+
+        this.parameterAndCheck(queryString, "b", "A");
+        this.parameterValuesAndCheck(queryString, "a", "1", "2");
+    }
+
+    @Test
+    public void testAddParameterDoesNotModifyOriginal() {
+        final UrlQueryString queryString = UrlQueryString.parse("a=1&b=2");
+        this.parameterWithValueCheck(queryString, "a", "1");
+
+        final UrlQueryString updated = queryString.addParameter(
+            UrlParameterName.with("a"),
+            "3"
+        );
+
+        this.parameterWithValueCheck(updated, "a", "1", "3");
+        this.parameterWithValueCheck(queryString, "a", "1");
+    }
+
     @Override
     public UrlQueryString parseString(final String queryString) {
         return UrlQueryString.parse(queryString);
@@ -25,6 +25,7 @@ import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.test.ParseStringTesting;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -99,6 +100,88 @@ public final class AcceptEncodingTest extends Header2TestCase<AcceptEncoding, Li
         this.testTrue(acceptEncoding(AcceptEncodingValue.with("different"), AcceptEncodingValue.with("ABC")), ContentEncoding.parse("ABC"));
     }
 
+    // select..........................................................................................................
+
+    @Test
+    public void testSelectNullEncodingsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AcceptEncoding.parse("gzip")
+                .select(null)
+        );
+    }
+
+    @Test
+    public void testSelectNamed() {
+        this.selectAndCheck(
+            "deflate",
+            ContentEncoding.DEFLATE
+        );
+    }
+
+    @Test
+    public void testSelectWildcard() {
+        this.selectAndCheck(
+            "*",
+            ContentEncoding.GZIP
+        );
+    }
+
+    @Test
+    public void testSelectHighestQualityFactor() {
+        this.selectAndCheck(
+            "gzip;q=0.5, deflate;q=0.8",
+            ContentEncoding.DEFLATE
+        );
+    }
+
+    @Test
+    public void testSelectEqualQualityFactorFirstEncoding() {
+        this.selectAndCheck(
+            "deflate, gzip",
+            ContentEncoding.GZIP
+        );
+    }
+
+    @Test
+    public void testSelectNamedZeroOverridesWildcard() {
+        this.selectAndCheck(
+            "*, gzip;q=0",
+            ContentEncoding.DEFLATE
+        );
+    }
+
+    @Test
+    public void testSelectNoneAcceptable() {
+        this.selectAndCheck(
+            "br, identity",
+            null
+        );
+    }
+
+    @Test
+    public void testSelectAllZero() {
+        this.selectAndCheck(
+            "*;q=0",
+            null
+        );
+    }
+
+    private void selectAndCheck(final String acceptEncoding,
+                                final ContentEncoding expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            AcceptEncoding.parse(acceptEncoding)
+                .select(
+                    Lists.of(
+                        ContentEncoding.GZIP,
+                        ContentEncoding.DEFLATE
+                    )
+                ),
+            () -> "select " + acceptEncoding
+        );
+    }
+
     // parse...........................................................................................................
 
     @Test
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class HeaderLruCacheTest implements ClassTesting2<HeaderLruCache<String, String>>,
+    ToStringTesting<HeaderLruCache<String, String>> {
+
+    @Test
+    public void testGetMissing() {
+        this.getAndCheck(
+            HeaderLruCache.with(2),
+            "a",
+            null
+        );
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        final HeaderLruCache<String, String> cache = HeaderLruCache.with(2);
+
+        this.checkEquals(
+            null,
+            cache.putIfAbsent("a", "1")
+        );
+        this.getAndCheck(
+            cache,
+            "a",
+            "1"
+        );
+        this.checkEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    public void testPutIfAbsentAlreadyPresent() {
+        final HeaderLruCache<String, String> cache = HeaderLruCache.with(2);
+        cache.putIfAbsent("a", "1");
+
+        this.checkEquals(
+            "1",
+            cache.putIfAbsent("a", "2")
+        );
+        this.getAndCheck(
+            cache,
+            "a",
+            "1"
+        );
+    }
+
+    @Test
+    public void testPutIfAbsentWhenFullEvictsLeastRecentlyUsed() {
+        final HeaderLruCache<String, String> cache = HeaderLruCache.with(2);
+        cache.putIfAbsent("a", "1");
+        cache.putIfAbsent("b", "2");
+        cache.get("a"); // b is now the least recently used
+
+        cache.putIfAbsent("c", "3");
+
+        this.getAndCheck(cache, "a", "1");
+        this.getAndCheck(cache, "b", null);
+        this.getAndCheck(cache, "c", "3");
+        this.checkEquals(2, cache.size(), "size");
+    }
+
+    @Test
+    public void testPutIfAbsentZeroMaxEntries() {
+        final HeaderLruCache<String, String> cache = HeaderLruCache.with(0);
+
+        this.checkEquals(
+            null,
+            cache.putIfAbsent("a", "1")
+        );
+        this.getAndCheck(cache, "a", null);
+        this.checkEquals(0, cache.size(), "size");
+    }
+
+    private void getAndCheck(final HeaderLruCache<String, String> cache,
+                             final String key,
+                             final String expected) {
+        this.checkEquals(
+            expected,
+            cache.get(key),
+            key
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final HeaderLruCache<String, String> cache = HeaderLruCache.with(10);
+        cache.putIfAbsent("a", "1");
+
+        this.toStringAndCheck(
+            cache,
+            "1/10"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HeaderLruCache<String, String>> type() {
+        return Cast.to(HeaderLruCache.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpHeaderNameInternerTest implements ClassTesting2<HttpHeaderNameInterner>,
+    ToStringTesting<HttpHeaderNameInterner> {
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderNameInterner.with(
+                -1,
+                1
+            )
+        );
+        this.checkEquals(
+            "Invalid maxEntries -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxLengthFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderNameInterner.with(
+                1,
+                -1
+            )
+        );
+        this.checkEquals(
+            "Invalid maxLength -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // intern...........................................................................................................
+
+    @Test
+    public void testIntern() {
+        final List<String> created = Lists.array();
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            10,
+            20
+        );
+        final Function<String, HttpHeaderName<?>> factory = this.factory(created);
+
+        final HttpHeaderName<?> header = interner.intern(
+            "X-Custom",
+            factory
+        );
+        assertSame(
+            header,
+            interner.intern(
+                new String("X-Custom"),
+                factory
+            )
+        );
+
+        this.checkEquals(
+            Lists.of("X-Custom"),
+            created,
+            "created"
+        );
+        this.checkEquals(1, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternCaseSensitive() {
+        final List<String> created = Lists.array();
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            10,
+            20
+        );
+        final Function<String, HttpHeaderName<?>> factory = this.factory(created);
+
+        interner.intern("X-Custom", factory);
+        interner.intern("x-custom", factory);
+
+        this.checkEquals(
+            Lists.of("X-Custom", "x-custom"),
+            created,
+            "created"
+        );
+        this.checkEquals(2, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternMaxEntries() {
+        final List<String> created = Lists.array();
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            2,
+            20
+        );
+        final Function<String, HttpHeaderName<?>> factory = this.factory(created);
+
+        interner.intern("X-1", factory);
+        interner.intern("X-2", factory);
+        final HttpHeaderName<?> third = interner.intern("X-3", factory);
+
+        assertSame(
+            third,
+            interner.intern("X-3", factory)
+        );
+        assertSame(
+            interner.intern("X-1", factory),
+            interner.intern("X-1", factory)
+        );
+
+        this.checkEquals(
+            Lists.of("X-1", "X-2", "X-3", "X-1"),
+            created,
+            "created"
+        );
+        this.checkEquals(2, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternLeastRecentlyUsedEvicted() {
+        final List<String> created = Lists.array();
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            2,
+            20
+        );
+        final Function<String, HttpHeaderName<?>> factory = this.factory(created);
+
+        final HttpHeaderName<?> first = interner.intern("X-1", factory);
+        interner.intern("X-2", factory);
+        interner.intern("X-1", factory); // X-2 is now the least recently used
+        interner.intern("X-3", factory);
+
+        assertSame(
+            first,
+            interner.intern("X-1", factory)
+        );
+        interner.intern("X-2", factory);
+
+        this.checkEquals(
+            Lists.of("X-1", "X-2", "X-3", "X-2"),
+            created,
+            "created"
+        );
+        this.checkEquals(2, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternMaxLength() {
+        final List<String> created = Lists.array();
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            10,
+            3
+        );
+        final Function<String, HttpHeaderName<?>> factory = this.factory(created);
+
+        interner.intern("X-Long", factory);
+        interner.intern("X-Long", factory);
+
+        this.checkEquals(
+            Lists.of("X-Long", "X-Long"),
+            created,
+            "created"
+        );
+        this.checkEquals(0, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternFactoryFails() {
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            10,
+            20
+        );
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> interner.intern(
+                "Invalid",
+                (n) -> {
+                    throw new IllegalArgumentException("Invalid " + n);
+                }
+            )
+        );
+        this.checkEquals(0, interner.size(), "size");
+    }
+
+    private Function<String, HttpHeaderName<?>> factory(final List<String> created) {
+        return (n) -> {
+            created.add(n);
+            return HttpHeaderName.with(n + "-" + created.size());
+        };
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final HttpHeaderNameInterner interner = HttpHeaderNameInterner.with(
+            10,
+            20
+        );
+        interner.intern("X-Custom", this.factory(Lists.array()));
+
+        this.toStringAndCheck(
+            interner,
+            "1/10"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HttpHeaderNameInterner> type() {
+        return HttpHeaderNameInterner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
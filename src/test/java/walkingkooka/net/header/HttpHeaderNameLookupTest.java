@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class HttpHeaderNameLookupTest implements ClassTesting2<HttpHeaderNameLookup> {
+
+    @Test
+    public void testGetAllConstants() {
+        final HttpHeaderNameLookup lookup = this.createLookup();
+
+        for (final HttpHeaderName<?> constant : HttpHeaderName.CONSTANTS.values()) {
+            this.getAndCheck(lookup, constant.value(), constant);
+            this.getAndCheck(lookup, constant.value().toUpperCase(), constant);
+            this.getAndCheck(lookup, constant.value().toLowerCase(), constant);
+        }
+    }
+
+    @Test
+    public void testGetRange() {
+        final HttpHeaderNameLookup lookup = this.createLookup();
+        final String text = "Accept-Language: en";
+
+        assertSame(
+            HttpHeaderName.ACCEPT_LANGUAGE,
+            lookup.get(text, 0, 15)
+        );
+        assertSame(
+            HttpHeaderName.ACCEPT,
+            lookup.get(text, 0, 6)
+        );
+    }
+
+    @Test
+    public void testGetUnknown() {
+        final HttpHeaderNameLookup lookup = this.createLookup();
+
+        this.getAndCheck(lookup, "X-Request-Id", null);
+        this.getAndCheck(lookup, "Acceptt", null);
+        this.getAndCheck(lookup, "Accep", null);
+        this.getAndCheck(lookup, "", null);
+    }
+
+    @Test
+    public void testGetSameHashDifferentCharacters() {
+        // '@' and '`' hash the same as do '[' and '{'
+        final HttpHeaderNameLookup lookup = HttpHeaderNameLookup.with(
+            Lists.of(HttpHeaderName.with("a@"))
+        );
+
+        this.getAndCheck(lookup, "a@", HttpHeaderName.with("a@"));
+        this.getAndCheck(lookup, "a`", null);
+    }
+
+    @Test
+    public void testWithEmpty() {
+        this.getAndCheck(
+            HttpHeaderNameLookup.with(Lists.empty()),
+            "Accept",
+            null
+        );
+    }
+
+    private HttpHeaderNameLookup createLookup() {
+        return HttpHeaderNameLookup.with(
+            HttpHeaderName.CONSTANTS.values()
+        );
+    }
+
+    private void getAndCheck(final HttpHeaderNameLookup lookup,
+                             final String name,
+                             final HttpHeaderName<?> expected) {
+        final int length = name.length();
+        final byte[] bytes = name.getBytes(StandardCharsets.ISO_8859_1);
+
+        if (null == expected) {
+            assertNull(lookup.get(name, 0, length), name);
+            assertNull(lookup.get(bytes, 0, length), name);
+        } else {
+            this.checkEquals(expected, lookup.get(name, 0, length), name);
+            this.checkEquals(expected, lookup.get(bytes, 0, length), name);
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HttpHeaderNameLookup> type() {
+        return HttpHeaderNameLookup.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.header;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpHeaderNameParseCacheTest implements ClassTesting2<HttpHeaderNameParseCache>,
+    ToStringTesting<HttpHeaderNameParseCache> {
+
+    private final static String ACCEPT = "text/html,application/xml;q=0.9,*/*;q=0.8";
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullHeadersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHeaderNameParseCache.with(
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderNameParseCache.with(
+                Sets.of(HttpHeaderName.ACCEPT),
+                0
+            )
+        );
+        this.checkEquals(
+            "Invalid maxEntries 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    // parseValue.......................................................................................................
+
+    @Test
+    public void testParseValueNullHeaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache()
+                .parseValue(
+                    null,
+                    ACCEPT
+                )
+        );
+    }
+
+    @Test
+    public void testParseValueNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache()
+                .parseValue(
+                    HttpHeaderName.ACCEPT,
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testParseValueMiss() {
+        final HttpHeaderNameParseCache cache = this.createCache();
+
+        this.checkEquals(
+            HttpHeaderName.ACCEPT.parseValue(ACCEPT),
+            cache.parseValue(
+                HttpHeaderName.ACCEPT,
+                ACCEPT
+            )
+        );
+        this.countsAndCheck(cache, 1, 0, 1);
+    }
+
+    @Test
+    public void testParseValueHit() {
+        final HttpHeaderNameParseCache cache = this.createCache();
+
+        final Accept accept = cache.parseValue(
+            HttpHeaderName.ACCEPT,
+            ACCEPT
+        );
+        assertSame(
+            accept,
+            cache.parseValue(
+                HttpHeaderName.ACCEPT,
+                new String(ACCEPT)
+            )
+        );
+        this.countsAndCheck(cache, 1, 1, 1);
+    }
+
+    @Test
+    public void testParseValueHeaderNotCached() {
+        final HttpHeaderNameParseCache cache = this.createCache();
+
+        final String text = "Server1";
+        for (int i = 0; i < 2; i++) {
+            this.checkEquals(
+                text,
+                cache.parseValue(
+                    HttpHeaderName.SERVER,
+                    text
+                )
+            );
+        }
+        this.countsAndCheck(cache, 0, 0, 0);
+    }
+
+    @Test
+    public void testParseValueMaxEntries() {
+        final HttpHeaderNameParseCache cache = HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.CONTENT_LENGTH),
+            2
+        );
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "2");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        this.countsAndCheck(cache, 2, 0, 3);
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        this.countsAndCheck(cache, 2, 1, 4);
+    }
+
+    @Test
+    public void testParseValueNewTextCachedWhenFull() {
+        final HttpHeaderNameParseCache cache = HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.CONTENT_LENGTH),
+            2
+        );
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "2");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        this.countsAndCheck(cache, 2, 0, 3);
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        this.countsAndCheck(cache, 2, 2, 3);
+    }
+
+    @Test
+    public void testParseValueLeastRecentlyUsedEvicted() {
+        final HttpHeaderNameParseCache cache = HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.CONTENT_LENGTH),
+            2
+        );
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "2");
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1"); // 2 is now the least recently used
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "3");
+        this.countsAndCheck(cache, 2, 1, 3);
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "1");
+        this.countsAndCheck(cache, 2, 2, 3);
+
+        cache.parseValue(HttpHeaderName.CONTENT_LENGTH, "2");
+        this.countsAndCheck(cache, 2, 2, 4);
+    }
+
+    @Test
+    public void testParseValueInvalidNotCached() {
+        final HttpHeaderNameParseCache cache = HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.CONTENT_LENGTH),
+            2
+        );
+
+        for (int i = 0; i < 2; i++) {
+            final HeaderException thrown = assertThrows(
+                HeaderException.class,
+                () -> cache.parseValue(
+                    HttpHeaderName.CONTENT_LENGTH,
+                    "A"
+                )
+            );
+            this.checkEquals(
+                "Content-Length: Invalid number in \"A\"",
+                thrown.getMessage()
+            );
+        }
+
+        this.countsAndCheck(cache, 0, 0, 2);
+    }
+
+    @Test
+    public void testParseValueDisabled() {
+        final HttpHeaderNameParseCache cache = HttpHeaderNameParseCache.DISABLED;
+
+        this.checkEquals(
+            HttpHeaderName.ACCEPT.parseValue(ACCEPT),
+            cache.parseValue(
+                HttpHeaderName.ACCEPT,
+                ACCEPT
+            )
+        );
+        this.countsAndCheck(cache, 0, 0, 0);
+    }
+
+    private HttpHeaderNameParseCache createCache() {
+        return HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.ACCEPT),
+            10
+        );
+    }
+
+    private void countsAndCheck(final HttpHeaderNameParseCache cache,
+                                final int size,
+                                final long hitCount,
+                                final long missCount) {
+        this.checkEquals(size, cache.size(), "size");
+        this.checkEquals(hitCount, cache.hitCount(), "hitCount");
+        this.checkEquals(missCount, cache.missCount(), "missCount");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final HttpHeaderNameParseCache cache = this.createCache();
+        cache.parseValue(HttpHeaderName.ACCEPT, ACCEPT);
+        cache.parseValue(HttpHeaderName.ACCEPT, ACCEPT);
+        cache.parseValue(HttpHeaderName.ACCEPT, "text/plain");
+
+        this.toStringAndCheck(
+            cache,
+            "hits=1 misses=2 size=2"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HttpHeaderNameParseCache> type() {
+        return HttpHeaderNameParseCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
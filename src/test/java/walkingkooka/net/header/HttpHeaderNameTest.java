@@ -33,6 +33,7 @@ import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -119,6 +120,186 @@ final public class HttpHeaderNameTest extends HeaderNameValueSharedTestCase<Http
         assertSame(HttpHeaderName.ACCEPT, HttpHeaderName.with("ACCept"));
     }
 
+    @Test
+    public void testWithAllConstantsIgnoresCase() {
+        for (final HttpHeaderName<?> constant : HttpHeaderName.CONSTANTS.values()) {
+            final String name = constant.value();
+
+            assertSame(constant, HttpHeaderName.with(name), name);
+            assertSame(constant, HttpHeaderName.with(name.toUpperCase()), name);
+            assertSame(constant, HttpHeaderName.with(name.toLowerCase()), name);
+        }
+    }
+
+    @Test
+    public void testWithUnknownInterned() {
+        final String name = "X-Interned-" + HttpHeaderNameTest.class.getSimpleName();
+
+        assertSame(
+            HttpHeaderName.with(name),
+            HttpHeaderName.with(new String(name))
+        );
+    }
+
+    @Test
+    public void testWithUnknownDifferentCaseEquals() {
+        final HttpHeaderName<?> header = HttpHeaderName.with("X-Different-Case");
+        final HttpHeaderName<?> lower = HttpHeaderName.with("x-different-case");
+
+        this.checkEquals(header, lower);
+        this.checkEquals("x-different-case", lower.value());
+    }
+
+    // constant.........................................................................................................
+
+    @Test
+    public void testConstantCharSequenceNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHeaderName.constant(
+                (CharSequence) null,
+                0,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testConstantCharSequenceInvalidStartFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderName.constant(
+                "Accept",
+                -1,
+                6
+            )
+        );
+        this.checkEquals(
+            "Invalid start -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testConstantCharSequenceEndBeforeStartFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderName.constant(
+                "Accept",
+                2,
+                1
+            )
+        );
+        this.checkEquals(
+            "Invalid end 1 < start 2",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testConstantCharSequenceInvalidEndFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderName.constant(
+                "Accept",
+                0,
+                7
+            )
+        );
+        this.checkEquals(
+            "Invalid end 7 > length 6",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testConstantCharSequence() {
+        this.checkEquals(
+            Optional.of(HttpHeaderName.CONTENT_TYPE),
+            HttpHeaderName.constant(
+                new StringBuilder(" CONTENT-type: text/plain"),
+                1,
+                13
+            )
+        );
+    }
+
+    @Test
+    public void testConstantCharSequenceUnknown() {
+        this.checkEquals(
+            Optional.empty(),
+            HttpHeaderName.constant(
+                "X-Request-Id",
+                0,
+                12
+            )
+        );
+    }
+
+    @Test
+    public void testConstantCharSequenceEmpty() {
+        this.checkEquals(
+            Optional.empty(),
+            HttpHeaderName.constant(
+                "",
+                0,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testConstantBytesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHeaderName.constant(
+                (byte[]) null,
+                0,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testConstantBytesInvalidEndFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHeaderName.constant(
+                new byte[3],
+                0,
+                4
+            )
+        );
+        this.checkEquals(
+            "Invalid end 4 > length 3",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testConstantBytes() {
+        this.checkEquals(
+            Optional.of(HttpHeaderName.CONTENT_LENGTH),
+            HttpHeaderName.constant(
+                "content-LENGTH: 123".getBytes(StandardCharsets.US_ASCII),
+                0,
+                14
+            )
+        );
+    }
+
+    @Test
+    public void testConstantBytesUnknown() {
+        this.checkEquals(
+            Optional.empty(),
+            HttpHeaderName.constant(
+                "X-Request-Id".getBytes(StandardCharsets.US_ASCII),
+                0,
+                12
+            )
+        );
+    }
+
     @Test
     public void testConstantsCached() {
         this.checkEquals(Lists.empty(),
@@ -151,6 +151,16 @@ final public class MediaTypeBoundaryTest extends HeaderTestCase<MediaTypeBoundar
         this.generateAndCheck("1ABC2DEF", "ABCDEFGHI", "GHI");
     }
 
+    @Test
+    public void testGenerateRetryPartialMatchOverlaps() {
+        this.generateAndCheck("AAAB", "AABABC", "ABC");
+    }
+
+    @Test
+    public void testGenerateBodyShorterThanBoundary() {
+        this.generateAndCheck("AB", "ABC", "ABC");
+    }
+
     private void generateAndCheck(final String body, final String randomSource, final String boundary) {
         this.generateAndCheck(body.getBytes(CharsetName.UTF_8.charset().get()),
             randomSource,
@@ -178,6 +188,57 @@ final public class MediaTypeBoundaryTest extends HeaderTestCase<MediaTypeBoundar
             "Incorrect boundary generated for " + ToStringBuilder.empty().value(body).build());
     }
 
+    // random...........................................................................................................
+
+    @Test
+    public void testRandomNullBoundaryCharacterFails() {
+        assertThrows(NullPointerException.class, () -> MediaTypeBoundary.random(null));
+    }
+
+    @Test
+    public void testRandom() {
+        final Supplier<Byte> boundaryCharacters = new Supplier<>() {
+
+            @Override
+            public Byte get() {
+                return (byte) new String(MediaTypeBoundary.BOUNDARY_CHARACTERS)
+                    .indexOf("ABC".charAt(i++));
+            }
+
+            int i = 0;
+        };
+
+        this.checkEquals(
+            MediaTypeBoundary.with("ABC"),
+            MediaTypeBoundary.random0(boundaryCharacters, 3)
+        );
+    }
+
+    @Test
+    public void testRandomLength() {
+        this.checkEquals(
+            40,
+            MediaTypeBoundary.random(() -> (byte) 'x')
+                .value()
+                .length()
+        );
+    }
+
+    @Test
+    public void testRandomSecureRandom() {
+        final MediaTypeBoundary boundary = MediaTypeBoundary.random();
+
+        this.checkEquals(
+            40,
+            boundary.value()
+                .length()
+        );
+        this.checkNotEquals(
+            boundary,
+            MediaTypeBoundary.random()
+        );
+    }
+
     // multipartByteRanges........................................................................................................
 
     @Test
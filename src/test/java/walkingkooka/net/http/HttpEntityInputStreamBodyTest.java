@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpEntityInputStreamBodyTest implements ClassTesting<HttpEntityInputStreamBody>,
+    ToStringTesting<HttpEntityInputStreamBody> {
+
+    private final static byte[] BYTES = new byte[]{1, 2, 3};
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntityInputStreamBody.with(null)
+        );
+    }
+
+    @Test
+    public void testLazyNullOpenerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntityInputStreamBody.lazy(
+                null,
+                "source"
+            )
+        );
+    }
+
+    @Test
+    public void testLazyNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntityInputStreamBody.lazy(
+                () -> new ByteArrayInputStream(BYTES),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testLazyOpenedWhenConsumed() throws IOException {
+        final int[] opened = new int[1];
+        final HttpEntityInputStreamBody body = HttpEntityInputStreamBody.lazy(
+            () -> {
+                opened[0]++;
+                return new ByteArrayInputStream(BYTES);
+            },
+            "source"
+        );
+        this.checkEquals(
+            0,
+            opened[0],
+            "opened before consumed"
+        );
+
+        try (final InputStream inputStream = body.inputStream()) {
+            assertArrayEquals(
+                BYTES,
+                inputStream.readAllBytes()
+            );
+        }
+        this.checkEquals(
+            1,
+            opened[0],
+            "opened"
+        );
+    }
+
+    @Test
+    public void testBinary() {
+        final HttpEntityInputStreamBody body = this.createBody();
+        this.checkEquals(
+            false,
+            body.isRead()
+        );
+
+        final Binary binary = body.binary();
+        this.checkEquals(
+            Binary.with(BYTES),
+            binary
+        );
+        this.checkEquals(
+            true,
+            body.isRead()
+        );
+    }
+
+    @Test
+    public void testBinaryCached() {
+        final HttpEntityInputStreamBody body = this.createBody();
+        this.checkEquals(
+            body.binary(),
+            body.binary()
+        );
+    }
+
+    @Test
+    public void testInputStreamThenBinaryFails() {
+        final HttpEntityInputStreamBody body = this.createBody();
+        body.inputStream();
+
+        assertThrows(
+            IllegalStateException.class,
+            body::binary
+        );
+    }
+
+    @Test
+    public void testBinaryThenInputStream() throws IOException {
+        final HttpEntityInputStreamBody body = this.createBody();
+        body.binary();
+
+        try (final InputStream inputStream = body.inputStream()) {
+            assertArrayEquals(
+                BYTES,
+                inputStream.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testToString() {
+        final InputStream inputStream = new ByteArrayInputStream(BYTES) {
+            @Override
+            public String toString() {
+                return "InputStream123";
+            }
+        };
+        this.toStringAndCheck(
+            HttpEntityInputStreamBody.with(inputStream),
+            "InputStream123"
+        );
+    }
+
+    @Test
+    public void testToStringLazy() {
+        this.toStringAndCheck(
+            HttpEntityInputStreamBody.lazy(
+                () -> new ByteArrayInputStream(BYTES),
+                "WebFile123"
+            ),
+            "WebFile123"
+        );
+    }
+
+    private HttpEntityInputStreamBody createBody() {
+        return HttpEntityInputStreamBody.with(
+            new ByteArrayInputStream(BYTES)
+        );
+    }
+
+    // Class............................................................................................................
+
+    @Override
+    public Class<HttpEntityInputStreamBody> type() {
+        return HttpEntityInputStreamBody.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
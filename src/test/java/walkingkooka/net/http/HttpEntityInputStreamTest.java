@@ -0,0 +1,448 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.server.FakeWebFile;
+import walkingkooka.net.http.server.WebFile;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpEntityInputStreamTest implements ClassTesting<HttpEntityInputStream> {
+
+    private final static String TEXT = "abcdefghijklmnopqrstuvwxyz";
+
+    private final static byte[] BYTES = TEXT.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testSetBodyInputStreamNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntity.EMPTY.setBodyInputStream(null)
+        );
+    }
+
+    @Test
+    public void testSetBodyInputStreamNotRead() {
+        final TestInputStream inputStream = new TestInputStream();
+        final HttpEntity entity = HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+            .setBodyInputStream(inputStream);
+
+        this.checkEquals(
+            0,
+            inputStream.readCount,
+            "stream should not be read"
+        );
+        this.checkEquals(
+            Maps.of(HttpHeaderName.CONTENT_TYPE, Lists.of(MediaType.TEXT_PLAIN)),
+            entity.headers()
+        );
+    }
+
+    @Test
+    public void testContentLengthUnknown() {
+        this.checkEquals(
+            HttpEntity.UNKNOWN_CONTENT_LENGTH,
+            HttpEntity.EMPTY.setBodyInputStream(new TestInputStream())
+                .contentLength()
+        );
+    }
+
+    @Test
+    public void testContentLengthHeader() {
+        this.checkEquals(
+            123L,
+            HttpEntity.EMPTY.setHeader(HttpHeaderName.CONTENT_LENGTH, Lists.of(123L))
+                .setBodyInputStream(new TestInputStream())
+                .contentLength()
+        );
+    }
+
+    @Test
+    public void testContentLengthAfterBody() {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(new TestInputStream());
+        entity.body();
+
+        this.checkEquals(
+            (long) BYTES.length,
+            entity.contentLength()
+        );
+    }
+
+    @Test
+    public void testSetContentLengthUnknown() {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(new TestInputStream());
+
+        this.checkEquals(
+            entity,
+            entity.setContentLength()
+        );
+        this.checkEquals(
+            HttpEntity.NO_HEADERS,
+            entity.headers()
+        );
+    }
+
+    @Test
+    public void testBody() {
+        final TestInputStream inputStream = new TestInputStream();
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(inputStream);
+
+        this.checkEquals(
+            Binary.with(BYTES),
+            entity.body()
+        );
+        this.checkEquals(
+            Binary.with(BYTES),
+            entity.body()
+        );
+        this.checkEquals(
+            true,
+            inputStream.closed,
+            "stream closed"
+        );
+    }
+
+    @Test
+    public void testBodyText() {
+        this.checkEquals(
+            TEXT,
+            HttpEntity.EMPTY.setBodyInputStream(new TestInputStream())
+                .bodyText()
+        );
+    }
+
+    @Test
+    public void testBodyInputStream() throws IOException {
+        final TestInputStream inputStream = new TestInputStream();
+
+        try (final InputStream body = HttpEntity.EMPTY.setBodyInputStream(inputStream)
+            .bodyInputStream()) {
+            assertArrayEquals(
+                BYTES,
+                body.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testBodyInputStreamTwiceFails() {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(new TestInputStream());
+        entity.bodyInputStream();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            entity::bodyInputStream
+        );
+        this.checkEquals(
+            "Body already consumed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testBodyInputStreamAfterBody() throws IOException {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(new TestInputStream());
+        entity.body();
+
+        try (final InputStream body = entity.bodyInputStream()) {
+            assertArrayEquals(
+                BYTES,
+                body.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testSetHeaderSharesBody() {
+        final TestInputStream inputStream = new TestInputStream();
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(inputStream);
+        final HttpEntity withHeader = entity.setContentType(MediaType.TEXT_PLAIN);
+
+        this.checkEquals(
+            Binary.with(BYTES),
+            withHeader.body()
+        );
+        this.checkEquals(
+            Binary.with(BYTES),
+            entity.body(),
+            "body should be shared and only read once"
+        );
+    }
+
+    @Test
+    public void testSetBody() {
+        final Binary body = Binary.with(new byte[]{1, 2, 3});
+
+        this.checkEquals(
+            HttpEntity.EMPTY.setBody(body),
+            HttpEntity.EMPTY.setBodyInputStream(new TestInputStream())
+                .setBody(body)
+        );
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBody(Binary.with(BYTES)),
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBodyInputStream(new TestInputStream())
+        );
+    }
+
+    @Test
+    public void testBodyReadFails() {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        );
+
+        final HttpException thrown = assertThrows(
+            HttpException.class,
+            entity::body
+        );
+        this.checkEquals(
+            "Unable to read body, Broken pipe",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testSetBodyWebFileNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntity.EMPTY.setBodyWebFile(null)
+        );
+    }
+
+    @Test
+    public void testSetBodyWebFileNotOpened() {
+        final TestWebFile file = new TestWebFile();
+        HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+            .setBodyWebFile(file);
+
+        this.checkEquals(
+            0,
+            file.openCount,
+            "content should not be opened"
+        );
+    }
+
+    @Test
+    public void testSetBodyWebFileBodyReplacedNotOpened() {
+        final TestWebFile file = new TestWebFile();
+        final Binary body = Binary.with(new byte[]{1, 2, 3});
+
+        this.checkEquals(
+            HttpEntity.EMPTY.setBody(body),
+            HttpEntity.EMPTY.setBodyWebFile(file)
+                .setBody(body)
+        );
+        this.checkEquals(
+            0,
+            file.openCount,
+            "content should not be opened"
+        );
+    }
+
+    @Test
+    public void testSetBodyWebFileBodyInputStream() throws IOException {
+        final TestWebFile file = new TestWebFile();
+
+        try (final InputStream body = HttpEntity.EMPTY.setBodyWebFile(file)
+            .bodyInputStream()) {
+            assertArrayEquals(
+                BYTES,
+                body.readAllBytes()
+            );
+        }
+        this.checkEquals(
+            1,
+            file.openCount,
+            "content opened"
+        );
+    }
+
+    @Test
+    public void testSetBodyWebFileBody() {
+        final TestWebFile file = new TestWebFile();
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyWebFile(file);
+
+        this.checkEquals(
+            Binary.with(BYTES),
+            entity.body()
+        );
+        this.checkEquals(
+            Binary.with(BYTES),
+            entity.body()
+        );
+        this.checkEquals(
+            1,
+            file.openCount,
+            "content opened once"
+        );
+    }
+
+    @Test
+    public void testBodyTransferTo() throws IOException {
+        final TestInputStream inputStream = new TestInputStream();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            (long) BYTES.length,
+            HttpEntity.EMPTY.setBodyInputStream(inputStream)
+                .bodyTransferTo(
+                    Channels.newChannel(bytes)
+                )
+        );
+        assertArrayEquals(
+            BYTES,
+            bytes.toByteArray()
+        );
+        this.checkEquals(
+            true,
+            inputStream.closed,
+            "closed"
+        );
+    }
+
+    @Test
+    public void testBodyTransferToAfterBody() throws IOException {
+        final HttpEntity entity = HttpEntity.EMPTY.setBodyInputStream(new TestInputStream());
+        entity.body();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        entity.bodyTransferTo(
+            Channels.newChannel(bytes)
+        );
+        assertArrayEquals(
+            BYTES,
+            bytes.toByteArray()
+        );
+    }
+
+    @Test
+    public void testBodyTransferToWebFile() throws IOException {
+        final List<WritableByteChannel> transfers = Lists.array();
+        final TestWebFile file = new TestWebFile() {
+            @Override
+            public long transferTo(final WritableByteChannel target) {
+                transfers.add(target);
+                return 123;
+            }
+        };
+
+        final WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+        this.checkEquals(
+            123L,
+            HttpEntity.EMPTY.setBodyWebFile(file)
+                .bodyTransferTo(channel)
+        );
+        this.checkEquals(
+            Lists.of(channel),
+            transfers,
+            "transferTo"
+        );
+        this.checkEquals(
+            0,
+            file.openCount,
+            "content should not be opened"
+        );
+    }
+
+    /**
+     * A {@link WebFile} that records each time its content is opened.
+     */
+    static class TestWebFile extends FakeWebFile {
+
+        @Override
+        public InputStream content() {
+            this.openCount++;
+            return new TestInputStream();
+        }
+
+        int openCount;
+    }
+
+    /**
+     * An {@link InputStream} that records reads and closes.
+     */
+    static class TestInputStream extends ByteArrayInputStream {
+
+        TestInputStream() {
+            super(BYTES);
+        }
+
+        @Override
+        public synchronized int read() {
+            this.readCount++;
+            return super.read();
+        }
+
+        @Override
+        public synchronized int read(final byte[] buffer,
+                                     final int offset,
+                                     final int length) {
+            this.readCount++;
+            return super.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        int readCount;
+
+        boolean closed;
+    }
+
+    // Class............................................................................................................
+
+    @Override
+    public Class<HttpEntityInputStream> type() {
+        return HttpEntityInputStream.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpEntityMultipartReaderTest implements ClassTesting2<HttpEntityMultipartReader>,
+    ToStringTesting<HttpEntityMultipartReader> {
+
+    private final static String CONTENT_TYPE = "content-type: multipart/form-data;boundary=\"boundary123\"\r\n" +
+        "\r\n";
+
+    private final static int MAX_PARTS = 10;
+
+    private final static int MAX_HEADER_SIZE = 1024;
+
+    @Test
+    public void testMultipartReaderInvalidMaxPartsFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.entity("--boundary123--").multipartReader(0, MAX_HEADER_SIZE)
+        );
+        this.checkEquals(
+            "Invalid max parts 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMultipartReaderInvalidMaxHeaderSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.entity("--boundary123--").multipartReader(MAX_PARTS, 0)
+        );
+        this.checkEquals(
+            "Invalid max header size 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMultipartReaderNotMultipartFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .multipartReader(MAX_PARTS, MAX_HEADER_SIZE)
+        );
+        this.checkEquals(
+            "Not multipart, wrong content-type text/plain",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testNextMissingInitialBoundaryFails() {
+        this.nextFails(
+            "Preamble123",
+            "Missing initial boundary"
+        );
+    }
+
+    @Test
+    public void testNextNoParts() throws IOException {
+        final HttpEntityMultipartReader reader = this.reader("--boundary123--");
+        this.nextAndCheck(reader);
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextOnePart() throws IOException {
+        final HttpEntityMultipartReader reader = this.reader(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123--"
+        );
+
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"part1-name\"\r\n",
+            "Part1"
+        );
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextPartWithEmptyBody() throws IOException {
+        final HttpEntityMultipartReader reader = this.reader(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "\r\n--boundary123--"
+        );
+
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"part1-name\"\r\n",
+            ""
+        );
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextPreamblePartsPaddingAndEpilogue() throws IOException {
+        final HttpEntityMultipartReader reader = this.reader(
+            "Preamble123" +
+                "\r\n--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123 \t\r\n" +
+                "content-disposition: form-data; name=\"part2-name\"\r\n" +
+                "content-type: text/plain\r\n" +
+                "\r\n" +
+                "Part2" +
+                "\r\n--boundary123--\r\n" +
+                "Epilogue123"
+        );
+
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"part1-name\"\r\n",
+            "Part1"
+        );
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"part2-name\"\r\n" +
+                "content-type: text/plain\r\n",
+            "Part2"
+        );
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextSkipsUnreadBody() throws IOException {
+        final HttpEntityMultipartReader reader = this.reader(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1 is never read" +
+                "\r\n--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part2-name\"\r\n" +
+                "\r\n" +
+                "Part2" +
+                "\r\n--boundary123--"
+        );
+
+        reader.next();
+
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"part2-name\"\r\n",
+            "Part2"
+        );
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextLargePartWithBoundaryPrefixReadOneByteAtATime() throws IOException {
+        final StringBuilder large = new StringBuilder();
+        while (large.length() < 3 * 8 * 1024) {
+            large.append("0123456789\r\n--boundary12");
+        }
+
+        final HttpEntityMultipartReader reader = HttpEntity.parse(
+            Binary.with(
+                CONTENT_TYPE.getBytes(StandardCharsets.ISO_8859_1)
+            )
+        ).setBodyInputStream(
+            new ByteArrayInputStream(
+                (
+                    "--boundary123\r\n" +
+                        "content-disposition: form-data; name=\"large\"\r\n" +
+                        "\r\n" +
+                        large +
+                        "\r\n--boundary123\r\n" +
+                        "content-disposition: form-data; name=\"small\"\r\n" +
+                        "\r\n" +
+                        "Small" +
+                        "\r\n--boundary123--"
+                ).getBytes(StandardCharsets.ISO_8859_1)
+            ) {
+                @Override
+                public synchronized int read(final byte[] bytes,
+                                             final int offset,
+                                             final int length) {
+                    return super.read(
+                        bytes,
+                        offset,
+                        Math.min(1, length)
+                    );
+                }
+            }
+        ).multipartReader(MAX_PARTS, MAX_HEADER_SIZE);
+
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"large\"\r\n",
+            large.toString()
+        );
+        this.nextAndCheck(
+            reader,
+            "content-disposition: form-data; name=\"small\"\r\n",
+            "Small"
+        );
+        this.nextAndCheck(reader);
+    }
+
+    @Test
+    public void testNextPartMissingContentDispositionFails() {
+        this.nextFails(
+            "--boundary123\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123--",
+            "Part 0 missing header \"Content-Disposition\""
+        );
+    }
+
+    @Test
+    public void testNextBoundaryMissingCrLfFails() {
+        this.nextFails(
+            "--boundary123!!\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123--",
+            "Part 0 boundary missing CRLF"
+        );
+    }
+
+    @Test
+    public void testNextHeadersTooLargeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.entity(
+                "--boundary123\r\n" +
+                    "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                    "\r\n" +
+                    "Part1" +
+                    "\r\n--boundary123--"
+            ).multipartReader(MAX_PARTS, 16)
+                .next()
+        );
+        this.checkEquals(
+            "Part 0 headers too large, max 16",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testNextHeadersIncompleteFails() {
+        this.nextFails(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n",
+            "Part 0 headers incomplete"
+        );
+    }
+
+    @Test
+    public void testReadPartMissingBoundaryFails() throws IOException {
+        final InputStream body = this.reader(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1\r\n"
+        ).next()
+            .get()
+            .bodyInputStream();
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            body::readAllBytes
+        );
+        this.checkEquals(
+            "Part 0 missing boundary",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testNextTooManyPartsFails() throws IOException {
+        final HttpEntityMultipartReader reader = this.entity(
+            "--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part1-name\"\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123\r\n" +
+                "content-disposition: form-data; name=\"part2-name\"\r\n" +
+                "\r\n" +
+                "Part2" +
+                "\r\n--boundary123--"
+        ).multipartReader(1, MAX_HEADER_SIZE);
+
+        reader.next();
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            reader::next
+        );
+        this.checkEquals(
+            "Too many parts, max 1",
+            thrown.getMessage()
+        );
+    }
+
+    private void nextFails(final String body,
+                           final String expected) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.reader(body).next()
+        );
+        this.checkEquals(
+            expected,
+            thrown.getMessage()
+        );
+    }
+
+    private void nextAndCheck(final HttpEntityMultipartReader reader) throws IOException {
+        this.checkEquals(
+            Optional.empty(),
+            reader.next()
+        );
+    }
+
+    private void nextAndCheck(final HttpEntityMultipartReader reader,
+                              final String headers,
+                              final String body) throws IOException {
+        final HttpEntity part = reader.next()
+            .orElseThrow(() -> new AssertionError("Missing part"));
+
+        this.checkEquals(
+            HttpEntity.parse(
+                Binary.with(
+                    (headers + "\r\n").getBytes(StandardCharsets.ISO_8859_1)
+                )
+            ).headers(),
+            part.headers(),
+            "headers"
+        );
+        this.checkEquals(
+            body,
+            new String(
+                part.bodyInputStream()
+                    .readAllBytes(),
+                StandardCharsets.ISO_8859_1
+            ),
+            "body"
+        );
+    }
+
+    private HttpEntityMultipartReader reader(final String body) {
+        return this.entity(body)
+            .multipartReader(MAX_PARTS, MAX_HEADER_SIZE);
+    }
+
+    private HttpEntity entity(final String body) {
+        return HttpEntity.parse(
+            Binary.with(
+                (CONTENT_TYPE + body).getBytes(StandardCharsets.ISO_8859_1)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.reader("--boundary123--"),
+            "boundary123 0/10"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpEntityMultipartReader> type() {
+        return HttpEntityMultipartReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
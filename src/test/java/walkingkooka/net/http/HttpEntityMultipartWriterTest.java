@@ -0,0 +1,310 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeBoundary;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpEntityMultipartWriterTest implements ClassTesting2<HttpEntityMultipartWriter>,
+    ToStringTesting<HttpEntityMultipartWriter> {
+
+    private final static MediaTypeBoundary BOUNDARY = MediaTypeBoundary.with("boundary123");
+
+    @Test
+    public void testWithNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntityMultipartWriter.with(null)
+        );
+    }
+
+    @Test
+    public void testWithNullBoundaryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpEntityMultipartWriter.with(null, new ByteArrayOutputStream())
+        );
+    }
+
+    @Test
+    public void testWithRandomBoundary() {
+        this.checkEquals(
+            40,
+            HttpEntityMultipartWriter.with(new ByteArrayOutputStream())
+                .boundary()
+                .value()
+                .length()
+        );
+    }
+
+    @Test
+    public void testContentType() {
+        this.checkEquals(
+            MediaType.MULTIPART_FORM_DATA.setBoundary(BOUNDARY),
+            HttpEntityMultipartWriter.with(BOUNDARY, new ByteArrayOutputStream())
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+        );
+    }
+
+    @Test
+    public void testFinishWithoutParts() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HttpEntityMultipartWriter.with(BOUNDARY, bytes)
+            .finish();
+
+        this.checkEquals(
+            "--boundary123--\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testWriteSeveralParts() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(BOUNDARY, bytes);
+
+        writer.write(this.part("part1-name", "Part1"));
+        writer.write(
+            this.part("part2-name", "")
+                .setContentType(MediaType.TEXT_PLAIN)
+        );
+        writer.finish();
+
+        this.checkEquals(
+            "--boundary123\r\n" +
+                "X-Name: part1-name\r\n" +
+                "\r\n" +
+                "Part1" +
+                "\r\n--boundary123\r\n" +
+                "X-Name: part2-name\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "\r\n" +
+                "\r\n--boundary123--\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testWriteStreamedBody() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(BOUNDARY, bytes);
+
+        writer.write(
+            this.part("part1-name", "")
+                .setBodyInputStream(
+                    new ByteArrayInputStream("Streamed".getBytes(StandardCharsets.US_ASCII))
+                )
+        );
+        writer.finish();
+
+        this.checkEquals(
+            "--boundary123\r\n" +
+                "X-Name: part1-name\r\n" +
+                "\r\n" +
+                "Streamed" +
+                "\r\n--boundary123--\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testWriteReadRoundtrip() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(bytes);
+
+        final HttpEntity part1 = this.formDataPart("part1-name", "Part1");
+        final HttpEntity part2 = this.formDataPart("part2-name", "Part2");
+
+        writer.write(part1);
+        writer.write(part2);
+        writer.finish();
+
+        this.checkEquals(
+            List.of(
+                part1,
+                part2
+            ),
+            HttpEntity.EMPTY.setContentType(writer.contentType(MediaType.MULTIPART_FORM_DATA))
+                .setBody(
+                    Binary.with(bytes.toByteArray())
+                ).multiparts()
+        );
+    }
+
+    @Test
+    public void testWriteAfterFinishFails() throws IOException {
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(BOUNDARY, new ByteArrayOutputStream());
+        writer.finish();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> writer.write(this.part("part1-name", "Part1"))
+        );
+        this.checkEquals(
+            "Multipart already finished",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testFinishTwiceFails() throws IOException {
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(BOUNDARY, new ByteArrayOutputStream());
+        writer.finish();
+
+        assertThrows(
+            IllegalStateException.class,
+            writer::finish
+        );
+    }
+
+    @Test
+    public void testPartHeadFirst() {
+        this.checkEquals(
+            "--boundary123\r\n" +
+                "X-Name: part1-name\r\n" +
+                "\r\n",
+            this.text(
+                HttpEntityMultipartWriter.partHead(
+                    BOUNDARY,
+                    this.part("part1-name", "Part1"),
+                    true
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testPartHeadNotFirst() {
+        this.checkEquals(
+            "\r\n--boundary123\r\n" +
+                "X-Name: part2-name\r\n" +
+                "\r\n",
+            this.text(
+                HttpEntityMultipartWriter.partHead(
+                    BOUNDARY,
+                    this.part("part2-name", "Part2"),
+                    false
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testCloseWithoutParts() {
+        this.checkEquals(
+            "--boundary123--\r\n",
+            this.text(
+                HttpEntityMultipartWriter.close(
+                    BOUNDARY,
+                    true
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testCloseAfterParts() {
+        this.checkEquals(
+            "\r\n--boundary123--\r\n",
+            this.text(
+                HttpEntityMultipartWriter.close(
+                    BOUNDARY,
+                    false
+                )
+            )
+        );
+    }
+
+    private HttpEntity part(final String name,
+                            final String body) {
+        return HttpEntity.EMPTY.addHeader(
+            HttpHeaderName.with("X-Name").stringValues(),
+            name
+        ).setBody(
+            this.binary(body)
+        );
+    }
+
+    private HttpEntity formDataPart(final String name,
+                                    final String body) {
+        return HttpEntity.EMPTY.addHeader(
+            HttpHeaderName.CONTENT_DISPOSITION,
+            HttpHeaderName.CONTENT_DISPOSITION.parseValue("form-data; name=\"" + name + "\"")
+        ).setBody(
+            this.binary(body)
+        );
+    }
+
+    private Binary binary(final String text) {
+        return Binary.with(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private String text(final ByteArrayOutputStream bytes) {
+        return this.text(
+            bytes.toByteArray()
+        );
+    }
+
+    private String text(final byte[] bytes) {
+        return new String(
+            bytes,
+            StandardCharsets.ISO_8859_1
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() throws IOException {
+        final HttpEntityMultipartWriter writer = HttpEntityMultipartWriter.with(BOUNDARY, new ByteArrayOutputStream());
+        writer.write(this.part("part1-name", "Part1"));
+
+        this.toStringAndCheck(
+            writer,
+            "boundary123 1"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpEntityMultipartWriter> type() {
+        return HttpEntityMultipartWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
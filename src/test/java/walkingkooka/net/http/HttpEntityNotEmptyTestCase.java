@@ -29,6 +29,7 @@ import walkingkooka.net.header.MediaType;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -494,6 +495,69 @@ public abstract class HttpEntityNotEmptyTestCase<H extends HttpEntityNotEmpty> e
         assertSame(set, already);
     }
 
+    @Test
+    public final void testSetContentLengthChunked() {
+        final HttpEntity entity = this.createHttpEntity()
+            .setTransferEncodingChunked();
+        assertSame(entity, entity.setContentLength());
+    }
+
+    // setTransferEncodingChunked.......................................................................................
+
+    @Test
+    public final void testIsTransferEncodingChunkedMissing() {
+        this.checkEquals(
+            false,
+            this.createHttpEntity()
+                .isTransferEncodingChunked()
+        );
+    }
+
+    @Test
+    public final void testIsTransferEncodingChunkedGzipThenChunked() {
+        this.checkEquals(
+            true,
+            this.createHttpEntity()
+                .addHeader(HttpHeaderName.TRANSFER_ENCODING, "gzip, Chunked")
+                .isTransferEncodingChunked()
+        );
+    }
+
+    @Test
+    public final void testIsTransferEncodingChunkedNotLast() {
+        this.checkEquals(
+            false,
+            this.createHttpEntity()
+                .addHeader(HttpHeaderName.TRANSFER_ENCODING, "chunked, gzip")
+                .isTransferEncodingChunked()
+        );
+    }
+
+    @Test
+    public final void testSetTransferEncodingChunkedRemovesContentLength() {
+        final HttpEntity entity = this.createHttpEntity()
+            .setContentLength()
+            .setTransferEncodingChunked();
+
+        this.checkEquals(
+            true,
+            entity.isTransferEncodingChunked(),
+            "isTransferEncodingChunked"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            HttpHeaderName.CONTENT_LENGTH.header(entity),
+            "Content-Length"
+        );
+    }
+
+    @Test
+    public final void testSetTransferEncodingChunkedAlready() {
+        final HttpEntity entity = this.createHttpEntity()
+            .setTransferEncodingChunked();
+        assertSame(entity, entity.setTransferEncodingChunked());
+    }
+
     // setAccept...................................................................................................
 
     @Test
@@ -388,6 +388,101 @@ public final class HttpEntityTest implements ParseStringTesting<HttpEntity>,
         );
     }
 
+    @Test
+    public void testParseChunked() {
+        this.parseStringAndCheck(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "4\r\n" +
+                "Body\r\n" +
+                "3;name=value\r\n" +
+                "123\r\n" +
+                "0\r\n" +
+                "\r\n",
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.TRANSFER_ENCODING,
+                HttpEntity.CHUNKED
+            ).setBodyText("Body123")
+        );
+    }
+
+    @Test
+    public void testParseChunkedEmpty() {
+        this.parseStringAndCheck(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "0\r\n" +
+                "\r\n",
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.TRANSFER_ENCODING,
+                HttpEntity.CHUNKED
+            )
+        );
+    }
+
+    @Test
+    public void testParseChunkedTrailers() {
+        this.parseStringAndCheck(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "7\r\n" +
+                "Body123\r\n" +
+                "0\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "\r\n",
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.TRANSFER_ENCODING,
+                HttpEntity.CHUNKED
+            ).setContentType(
+                MediaType.TEXT_PLAIN
+            ).setBodyText("Body123")
+        );
+    }
+
+    @Test
+    public void testParseChunkedInvalidSizeFails() {
+        this.parseStringFails(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "X\r\n",
+            new IllegalArgumentException("Invalid chunk size at 30")
+        );
+    }
+
+    @Test
+    public void testParseChunkedIncompleteFails() {
+        this.parseStringFails(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "A\r\n" +
+                "Body",
+            new IllegalArgumentException("Incomplete chunk at 33")
+        );
+    }
+
+    @Test
+    public void testParseChunkedMissingCrLfFails() {
+        this.parseStringFails(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "4\r\n" +
+                "Body!",
+            new IllegalArgumentException("Chunk missing CRLF at 37")
+        );
+    }
+
+    @Test
+    public void testParseChunkedContentAfterFails() {
+        this.parseStringFails(
+            "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "0\r\n" +
+                "\r\n" +
+                "Extra",
+            new IllegalArgumentException("Unexpected content after chunked body")
+        );
+    }
+
     @Override
     public HttpEntity parseString(final String string) {
         return HttpEntity.parse(
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+public final class ConditionalHttpHandlerTest implements ClassTesting2<ConditionalHttpHandler<?>> {
+
+    private final static ConditionalHttpHandler<FakeHttpHandlerContext> HANDLER = (request, response, context) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @Test
+    public void testETagDefault() {
+        this.checkEquals(
+            Optional.empty(),
+            HANDLER.etag(
+                HttpRequests.fake(),
+                new FakeHttpHandlerContext()
+            )
+        );
+    }
+
+    @Test
+    public void testLastModifiedDefault() {
+        this.checkEquals(
+            Optional.empty(),
+            HANDLER.lastModified(
+                HttpRequests.fake(),
+                new FakeHttpHandlerContext()
+            )
+        );
+    }
+
+    @Override
+    public Class<ConditionalHttpHandler<?>> type() {
+        return Cast.to(ConditionalHttpHandler.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DeflaterPoolInputStreamTest implements ClassTesting2<DeflaterPoolInputStream>,
+    ToStringTesting<DeflaterPoolInputStream> {
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullBodyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DeflaterPoolInputStream.with(
+                null,
+                this.gzipPool()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullPoolFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DeflaterPoolInputStream.with(
+                new ByteArrayInputStream(new byte[0]),
+                null
+            )
+        );
+    }
+
+    // gzip.............................................................................................................
+
+    @Test
+    public void testGzipEmpty() throws IOException {
+        this.gzipAndCheck(new byte[0]);
+    }
+
+    @Test
+    public void testGzipText() throws IOException {
+        this.gzipAndCheck(
+            "Hello Hello Hello Hello".getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testGzipLargerThanBuffer() throws IOException {
+        this.gzipAndCheck(
+            bytes(100 * 1024)
+        );
+    }
+
+    @Test
+    public void testGzipReadSingleBytes() throws IOException {
+        final byte[] bytes = bytes(1000);
+
+        final DeflaterPool pool = this.gzipPool();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (final InputStream inputStream = DeflaterPoolInputStream.with(new ByteArrayInputStream(bytes), pool)) {
+            for (; ; ) {
+                final int b = inputStream.read();
+                if (-1 == b) {
+                    break;
+                }
+                compressed.write(b);
+            }
+        }
+
+        assertArrayEquals(
+            bytes,
+            new GZIPInputStream(
+                new ByteArrayInputStream(compressed.toByteArray())
+            ).readAllBytes()
+        );
+    }
+
+    private void gzipAndCheck(final byte[] bytes) throws IOException {
+        final DeflaterPool pool = this.gzipPool();
+        final byte[] compressed = DeflaterPoolInputStream.with(
+            new ByteArrayInputStream(bytes),
+            pool
+        ).readAllBytes();
+
+        assertArrayEquals(
+            bytes,
+            new GZIPInputStream(
+                new ByteArrayInputStream(compressed)
+            ).readAllBytes()
+        );
+
+        this.checkEquals(
+            1,
+            pool.idleCount(),
+            "deflater should be returned after reading"
+        );
+    }
+
+    // deflate..........................................................................................................
+
+    @Test
+    public void testDeflateEmpty() throws IOException {
+        this.deflateAndCheck(new byte[0]);
+    }
+
+    @Test
+    public void testDeflateLargerThanBuffer() throws IOException {
+        this.deflateAndCheck(
+            bytes(100 * 1024)
+        );
+    }
+
+    private void deflateAndCheck(final byte[] bytes) throws IOException {
+        final DeflaterPool pool = DeflaterPool.with(
+            1,
+            Deflater.DEFAULT_COMPRESSION,
+            false
+        );
+        final byte[] compressed = DeflaterPoolInputStream.with(
+            new ByteArrayInputStream(bytes),
+            pool
+        ).readAllBytes();
+
+        assertArrayEquals(
+            bytes,
+            new InflaterInputStream(
+                new ByteArrayInputStream(compressed)
+            ).readAllBytes()
+        );
+    }
+
+    // close............................................................................................................
+
+    @Test
+    public void testWithDoesntBorrowDeflater() {
+        final DeflaterPool pool = this.gzipPool();
+        pool.release(pool.borrow());
+
+        DeflaterPoolInputStream.with(
+            new ByteArrayInputStream(new byte[10]),
+            pool
+        );
+
+        this.checkEquals(
+            1,
+            pool.idleCount(),
+            "idleCount"
+        );
+    }
+
+    @Test
+    public void testCloseBeforeReadingDoesntBorrowDeflater() throws IOException {
+        final DeflaterPool pool = this.gzipPool();
+
+        final boolean[] closed = new boolean[1];
+        final InputStream body = new ByteArrayInputStream(new byte[10]) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        DeflaterPoolInputStream.with(
+            body,
+            pool
+        ).close();
+
+        this.checkEquals(
+            0,
+            pool.idleCount(),
+            "idleCount"
+        );
+        this.checkEquals(
+            true,
+            closed[0],
+            "body closed"
+        );
+    }
+
+    @Test
+    public void testCloseAfterPartialReadReleasesDeflater() throws IOException {
+        final DeflaterPool pool = this.gzipPool();
+
+        final InputStream inputStream = DeflaterPoolInputStream.with(
+            new ByteArrayInputStream(
+                bytes(100 * 1024)
+            ),
+            pool
+        );
+        inputStream.read(new byte[100]);
+        inputStream.read(new byte[100]);
+
+        this.checkEquals(
+            0,
+            pool.idleCount(),
+            "idleCount while reading"
+        );
+
+        inputStream.close();
+
+        this.checkEquals(
+            1,
+            pool.idleCount(),
+            "idleCount after close"
+        );
+    }
+
+    private DeflaterPool gzipPool() {
+        return DeflaterPool.with(
+            1,
+            Deflater.DEFAULT_COMPRESSION,
+            true
+        );
+    }
+
+    /**
+     * Mostly compressible bytes with a little noise.
+     */
+    private static byte[] bytes(final int length) {
+        final Random random = new Random(1);
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (0 == i % 7 ? random.nextInt() : 'a' + i % 26);
+        }
+        return bytes;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final DeflaterPool pool = this.gzipPool();
+        final InputStream body = new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public String toString() {
+                return "Body123";
+            }
+        };
+
+        this.toStringAndCheck(
+            DeflaterPoolInputStream.with(
+                body,
+                pool
+            ),
+            pool + " Body123"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<DeflaterPoolInputStream> type() {
+        return DeflaterPoolInputStream.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
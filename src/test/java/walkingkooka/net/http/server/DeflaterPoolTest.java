@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DeflaterPoolTest implements ClassTesting2<DeflaterPool>,
+    ToStringTesting<DeflaterPool> {
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithInvalidMaxIdleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> DeflaterPool.with(
+                -1,
+                Deflater.DEFAULT_COMPRESSION,
+                true
+            )
+        );
+        this.checkEquals(
+            "Invalid max idle -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidLevelFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> DeflaterPool.with(
+                1,
+                10,
+                true
+            )
+        );
+        this.checkEquals(
+            "Invalid level 10 not between -1 and 9",
+            thrown.getMessage()
+        );
+    }
+
+    // borrow/release...................................................................................................
+
+    @Test
+    public void testBorrowEmptyCreates() {
+        final DeflaterPool pool = DeflaterPool.with(
+            2,
+            Deflater.DEFAULT_COMPRESSION,
+            true
+        );
+
+        assertNotSame(
+            pool.borrow(),
+            pool.borrow()
+        );
+        this.idleCountAndCheck(
+            pool,
+            0
+        );
+    }
+
+    @Test
+    public void testReleaseThenBorrowReuses() {
+        final DeflaterPool pool = DeflaterPool.with(
+            2,
+            Deflater.DEFAULT_COMPRESSION,
+            true
+        );
+
+        final Deflater deflater = pool.borrow();
+        pool.release(deflater);
+
+        this.idleCountAndCheck(
+            pool,
+            1
+        );
+
+        assertSame(
+            deflater,
+            pool.borrow()
+        );
+        this.idleCountAndCheck(
+            pool,
+            0
+        );
+    }
+
+    @Test
+    public void testReleaseResets() {
+        final DeflaterPool pool = DeflaterPool.with(
+            1,
+            Deflater.DEFAULT_COMPRESSION,
+            false
+        );
+
+        final Deflater deflater = pool.borrow();
+        deflater.setInput(new byte[]{1, 2, 3});
+        deflater.finish();
+        deflater.deflate(new byte[100]);
+
+        pool.release(deflater);
+
+        this.checkEquals(
+            0L,
+            deflater.getBytesRead(),
+            "bytesRead"
+        );
+    }
+
+    @Test
+    public void testReleaseWhenFullEnds() {
+        final DeflaterPool pool = DeflaterPool.with(
+            1,
+            Deflater.DEFAULT_COMPRESSION,
+            true
+        );
+
+        final Deflater deflater1 = pool.borrow();
+        final Deflater deflater2 = pool.borrow();
+
+        pool.release(deflater1);
+        pool.release(deflater2);
+
+        this.idleCountAndCheck(
+            pool,
+            1
+        );
+
+        assertThrows(
+            NullPointerException.class,
+            deflater2::reset
+        );
+    }
+
+    private void idleCountAndCheck(final DeflaterPool pool,
+                                   final int expected) {
+        this.checkEquals(
+            expected,
+            pool.idleCount(),
+            () -> pool + " idleCount"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            DeflaterPool.with(
+                2,
+                Deflater.BEST_SPEED,
+                true
+            ),
+            "DeflaterPool maxIdle=2 level=1 nowrap"
+        );
+    }
+
+    @Test
+    public void testToStringWithoutNowrap() {
+        this.toStringAndCheck(
+            DeflaterPool.with(
+                3,
+                Deflater.DEFAULT_COMPRESSION,
+                false
+            ),
+            "DeflaterPool maxIdle=3 level=-1"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<DeflaterPool> type() {
+        return DeflaterPool.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
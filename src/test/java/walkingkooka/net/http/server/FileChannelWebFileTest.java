@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeDetector;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class FileChannelWebFileTest implements ClassTesting2<FileChannelWebFile>,
+    ToStringTesting<FileChannelWebFile> {
+
+    private final static String FILENAME = "file.custom.bin";
+    private final static byte[] CONTENT = "abc123def456".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    public Path tempDirectory;
+
+    // With.............................................................................................................
+
+    @Test
+    public void testWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FileChannelWebFile.with(
+                null,
+                this::mediaTypeDetector
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullMediaTypeDetectorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> FileChannelWebFile.with(
+                this.path(CONTENT),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithDirectoryFails() {
+        assertThrows(
+            WebFileException.class,
+            () -> FileChannelWebFile.with(
+                this.tempDirectory,
+                this::mediaTypeDetector
+            )
+        );
+    }
+
+    // WebFile..........................................................................................................
+
+    @Test
+    public void testLastModified() throws IOException {
+        final FileChannelWebFile webFile = this.webFile();
+        this.checkEquals(
+            LocalDateTime.ofInstant(
+                Files.getLastModifiedTime(webFile.path).toInstant(),
+                ZoneId.systemDefault()
+            ),
+            webFile.lastModified(),
+            "lastModified"
+        );
+    }
+
+    @Test
+    public void testContentType() {
+        this.checkEquals(
+            this.contentType(),
+            this.webFile()
+                .contentType(),
+            "contentType"
+        );
+    }
+
+    @Test
+    public void testContentTypeOnlySniffsStartOfFile() {
+        final byte[] content = new byte[FileChannelWebFile.SNIFF_SIZE * 3];
+        final Path path = this.path(content);
+
+        this.checkEquals(
+            this.contentType(),
+            FileChannelWebFile.with(
+                path,
+                (final String filename, final Binary sniffed) -> {
+                    this.checkEquals(
+                        FILENAME,
+                        filename,
+                        "filename"
+                    );
+                    this.checkEquals(
+                        FileChannelWebFile.SNIFF_SIZE,
+                        sniffed.size(),
+                        "sniffed size"
+                    );
+                    return this.contentType();
+                }
+            ).contentType()
+        );
+    }
+
+    @Test
+    public void testContentSize() {
+        this.checkEquals(
+            (long) CONTENT.length,
+            this.webFile()
+                .contentSize(),
+            "contentSize"
+        );
+    }
+
+    @Test
+    public void testContent() throws IOException {
+        try (final InputStream input = this.webFile().content()) {
+            assertArrayEquals(
+                CONTENT,
+                input.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testETag() throws IOException {
+        final FileChannelWebFile webFile = this.webFile();
+        final FileTime lastModified = Files.getLastModifiedTime(webFile.path);
+
+        this.checkEquals(
+            Optional.of(
+                ETag.weak(
+                    Long.toHexString(CONTENT.length) + "-" + Long.toHexString(lastModified.toMillis())
+                )
+            ),
+            webFile.etag(),
+            "etag"
+        );
+    }
+
+    @Test
+    public void testETagChangesWithContent() throws IOException {
+        final FileChannelWebFile webFile = this.webFile();
+        final Optional<ETag> etag = webFile.etag();
+
+        Files.write(webFile.path, "different content".getBytes(StandardCharsets.UTF_8));
+
+        this.checkNotEquals(
+            etag,
+            FileChannelWebFile.with(
+                webFile.path,
+                this::mediaTypeDetector
+            ).etag()
+        );
+    }
+
+    // transferTo.......................................................................................................
+
+    @Test
+    public void testTransferTo() {
+        this.transferToAndCheck(
+            this.webFile(),
+            CONTENT
+        );
+    }
+
+    @Test
+    public void testTransferToLarge() {
+        final byte[] content = new byte[1024 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        this.transferToAndCheck(
+            FileChannelWebFile.with(
+                this.path(content),
+                this::mediaTypeDetector
+            ),
+            content
+        );
+    }
+
+    private void transferToAndCheck(final FileChannelWebFile webFile,
+                                    final byte[] expected) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            (long) expected.length,
+            webFile.transferTo(
+                Channels.newChannel(output)
+            ),
+            "transferred"
+        );
+        assertArrayEquals(
+            expected,
+            output.toByteArray()
+        );
+    }
+
+    @Test
+    public void testTransferToPositionInvalidFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.webFile()
+                .transferTo(
+                    -1,
+                    1,
+                    Channels.newChannel(new ByteArrayOutputStream())
+                )
+        );
+    }
+
+    @Test
+    public void testTransferToCountInvalidFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.webFile()
+                .transferTo(
+                    0,
+                    -1,
+                    Channels.newChannel(new ByteArrayOutputStream())
+                )
+        );
+    }
+
+    @Test
+    public void testTransferToRegion() {
+        this.transferToAndCheck(
+            3,
+            6,
+            "123def"
+        );
+    }
+
+    @Test
+    public void testTransferToRegionCountGreaterThanSize() {
+        this.transferToAndCheck(
+            6,
+            100,
+            "def456"
+        );
+    }
+
+    @Test
+    public void testTransferToRegionPositionAfterEnd() {
+        this.transferToAndCheck(
+            100,
+            1,
+            ""
+        );
+    }
+
+    private void transferToAndCheck(final long position,
+                                    final long count,
+                                    final String expected) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+
+        this.checkEquals(
+            (long) expectedBytes.length,
+            this.webFile()
+                .transferTo(
+                    position,
+                    count,
+                    Channels.newChannel(output)
+                ),
+            "transferred"
+        );
+        assertArrayEquals(
+            expectedBytes,
+            output.toByteArray()
+        );
+    }
+
+    // content region...................................................................................................
+
+    @Test
+    public void testContentRegion() throws IOException {
+        this.contentAndCheck(
+            3,
+            6,
+            "123def"
+        );
+    }
+
+    @Test
+    public void testContentRegionCountGreaterThanSize() throws IOException {
+        this.contentAndCheck(
+            6,
+            100,
+            "def456"
+        );
+    }
+
+    @Test
+    public void testContentRegionPositionAfterEnd() throws IOException {
+        this.contentAndCheck(
+            100,
+            1,
+            ""
+        );
+    }
+
+    private void contentAndCheck(final long position,
+                                 final long count,
+                                 final String expected) throws IOException {
+        try (final InputStream content = this.webFile().content(position, count)) {
+            assertArrayEquals(
+                expected.getBytes(StandardCharsets.UTF_8),
+                content.readAllBytes()
+            );
+        }
+    }
+
+    // ToString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final FileChannelWebFile webFile = this.webFile();
+        this.toStringAndCheck(
+            webFile,
+            webFile.path.toString()
+        );
+    }
+
+    // helpers..........................................................................................................
+
+    private FileChannelWebFile webFile() {
+        return FileChannelWebFile.with(
+            this.path(CONTENT),
+            this::mediaTypeDetector
+        );
+    }
+
+    private Path path(final byte[] content) {
+        try {
+            final Path file = Paths.get(this.tempDirectory.toString(), FILENAME);
+            Files.write(file, content);
+            return file;
+        } catch (final IOException cause) {
+            throw new AssertionFailedError(cause.getMessage());
+        }
+    }
+
+    private MediaType mediaTypeDetector(final String filename,
+                                        final Binary content) {
+        return this.contentType();
+    }
+
+    private MediaType contentType() {
+        return MediaType.parse("custom/file-type");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<FileChannelWebFile> type() {
+        return FileChannelWebFile.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpChunkedDecoderTest implements ClassTesting2<HttpChunkedDecoder>,
+    ToStringTesting<HttpChunkedDecoder> {
+
+    private final static int MAX_BODY_SIZE = 32;
+
+    private final static int MAX_TRAILER_SIZE = 64;
+
+    @Test
+    public void testWithInvalidMaxBodySizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpChunkedDecoder.with(-1, MAX_TRAILER_SIZE)
+        );
+        this.checkEquals(
+            "Invalid max body size -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxTrailerSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpChunkedDecoder.with(MAX_BODY_SIZE, -1)
+        );
+        this.checkEquals(
+            "Invalid max trailer size -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        this.decodeAndCheck(
+            "0\r\n\r\n",
+            ""
+        );
+    }
+
+    @Test
+    public void testOneChunk() {
+        this.decodeAndCheck(
+            "5\r\nHello\r\n0\r\n\r\n",
+            "Hello"
+        );
+    }
+
+    @Test
+    public void testSeveralChunks() {
+        this.decodeAndCheck(
+            "5\r\nHello\r\n1\r\n \r\nA\r\n0123456789\r\n0\r\n\r\n",
+            "Hello 0123456789"
+        );
+    }
+
+    @Test
+    public void testUpperCaseHexSize() {
+        this.decodeAndCheck(
+            "00A\r\n0123456789\r\n000\r\n\r\n",
+            "0123456789"
+        );
+    }
+
+    @Test
+    public void testExtensionsIgnored() {
+        this.decodeAndCheck(
+            "5;name=value\r\nHello\r\n0;last\r\n\r\n",
+            "Hello"
+        );
+    }
+
+    @Test
+    public void testOneByteAtATime() {
+        final HttpChunkedDecoder decoder = this.createDecoder();
+        final byte[] bytes = this.bytes("5\r\nHello\r\n6\r\n World\r\n0\r\n\r\n");
+
+        for (int i = 0; i < bytes.length; i++) {
+            this.checkEquals(
+                i == bytes.length - 1,
+                decoder.decode(
+                    ByteBuffer.wrap(
+                        bytes,
+                        i,
+                        1
+                    )
+                ),
+                () -> "decode " + i
+            );
+        }
+
+        this.checkEquals(
+            "Hello World",
+            new String(decoder.body(), StandardCharsets.US_ASCII)
+        );
+    }
+
+    @Test
+    public void testTrailers() {
+        final HttpChunkedDecoder decoder = this.decode("5\r\nHello\r\n0\r\nContent-Type: text/plain\r\nX-Checksum: 123\r\n\r\n");
+
+        final HttpEntity trailers = decoder.trailers();
+        this.checkEquals(
+            MediaType.TEXT_PLAIN,
+            HttpHeaderName.CONTENT_TYPE.header(trailers)
+                .orElse(null),
+            "Content-Type"
+        );
+        this.checkEquals(
+            "123",
+            HttpHeaderName.with("X-Checksum")
+                .header(trailers)
+                .map(Object::toString)
+                .orElse(null),
+            "X-Checksum"
+        );
+    }
+
+    @Test
+    public void testBytesAfterBodyLeftInBuffer() {
+        final ByteBuffer buffer = ByteBuffer.wrap(
+            this.bytes("5\r\nHello\r\n0\r\n\r\nGET")
+        );
+        this.checkEquals(
+            true,
+            this.createDecoder()
+                .decode(buffer)
+        );
+        this.checkEquals(
+            3,
+            buffer.remaining(),
+            "remaining"
+        );
+    }
+
+    @Test
+    public void testInvalidSizeFails() {
+        this.decodeFails(
+            "X\r\n",
+            "Invalid chunk size character 'X'"
+        );
+    }
+
+    @Test
+    public void testMissingSizeFails() {
+        this.decodeFails(
+            "\r\n",
+            "Invalid chunk size character '\\r'"
+        );
+    }
+
+    @Test
+    public void testDataMissingCrFails() {
+        this.decodeFails(
+            "5\r\nHelloX",
+            "Got 'X' expected '\\r'"
+        );
+    }
+
+    @Test
+    public void testBodyTooLargeFails() {
+        this.decodeFails(
+            Integer.toHexString(MAX_BODY_SIZE + 1) + "\r\n",
+            "Body too large, max=" + MAX_BODY_SIZE
+        );
+    }
+
+    @Test
+    public void testTrailersTooLargeFails() {
+        final StringBuilder trailer = new StringBuilder();
+        while (trailer.length() < MAX_TRAILER_SIZE) {
+            trailer.append("X-Trailer: 123\r\n");
+        }
+
+        this.decodeFails(
+            "0\r\n" + trailer + "\r\n",
+            "Trailers too large, max=" + MAX_TRAILER_SIZE
+        );
+    }
+
+    private void decodeAndCheck(final String chunked,
+                                final String body) {
+        this.checkEquals(
+            body,
+            new String(
+                this.decode(chunked)
+                    .body(),
+                StandardCharsets.US_ASCII
+            ),
+            () -> chunked
+        );
+    }
+
+    private HttpChunkedDecoder decode(final String chunked) {
+        final HttpChunkedDecoder decoder = this.createDecoder();
+        this.checkEquals(
+            true,
+            decoder.decode(
+                ByteBuffer.wrap(
+                    this.bytes(chunked)
+                )
+            ),
+            () -> "decode " + chunked
+        );
+        return decoder;
+    }
+
+    private void decodeFails(final String chunked,
+                             final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createDecoder()
+                .decode(
+                    ByteBuffer.wrap(
+                        this.bytes(chunked)
+                    )
+                )
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    private byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private HttpChunkedDecoder createDecoder() {
+        return HttpChunkedDecoder.with(
+            MAX_BODY_SIZE,
+            MAX_TRAILER_SIZE
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.decode("5\r\nHello\r\n0\r\n\r\n"),
+            "chunked 5/32"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpChunkedDecoder> type() {
+        return HttpChunkedDecoder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpChunkedEncoderTest implements ClassTesting2<HttpChunkedEncoder> {
+
+    @Test
+    public void testWithNullChannelFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpChunkedEncoder.with(null)
+        );
+    }
+
+    @Test
+    public void testFinishEmpty() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HttpChunkedEncoder.with(Channels.newChannel(bytes))
+            .finish(HttpEntity.EMPTY);
+
+        this.checkEquals(
+            "0\r\n\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testWriteSeveralChunks() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpChunkedEncoder encoder = HttpChunkedEncoder.with(Channels.newChannel(bytes));
+
+        encoder.write(this.buffer("Hello"));
+        encoder.write(this.buffer(""));
+        encoder.write(this.buffer(" World 0123456789"));
+        encoder.finish(HttpEntity.EMPTY);
+
+        this.checkEquals(
+            "5\r\nHello\r\n11\r\n World 0123456789\r\n0\r\n\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testFinishTrailers() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpChunkedEncoder encoder = HttpChunkedEncoder.with(Channels.newChannel(bytes));
+
+        encoder.write(this.buffer("Hello"));
+        encoder.finish(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.with("X-Checksum").stringValues(), "123")
+        );
+
+        this.checkEquals(
+            "5\r\nHello\r\n0\r\nX-Checksum: 123\r\n\r\n",
+            this.text(bytes)
+        );
+    }
+
+    @Test
+    public void testWriteAfterFinishFails() throws IOException {
+        final HttpChunkedEncoder encoder = HttpChunkedEncoder.with(Channels.newChannel(new ByteArrayOutputStream()));
+        encoder.finish(HttpEntity.EMPTY);
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> encoder.write(this.buffer("Hello"))
+        );
+        this.checkEquals(
+            "Chunked body already finished",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRoundtripDecoder() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final HttpChunkedEncoder encoder = HttpChunkedEncoder.with(Channels.newChannel(bytes));
+
+        encoder.write(this.buffer("Hello"));
+        encoder.write(this.buffer(" World"));
+        encoder.finish(HttpEntity.EMPTY);
+
+        final HttpChunkedDecoder decoder = HttpChunkedDecoder.with(
+            1024,
+            1024
+        );
+        this.checkEquals(
+            true,
+            decoder.decode(
+                ByteBuffer.wrap(bytes.toByteArray())
+            ),
+            "decode"
+        );
+        this.checkEquals(
+            "Hello World",
+            new String(decoder.body(), StandardCharsets.US_ASCII)
+        );
+    }
+
+    private ByteBuffer buffer(final String text) {
+        return ByteBuffer.wrap(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private String text(final ByteArrayOutputStream bytes) {
+        return new String(
+            bytes.toByteArray(),
+            StandardCharsets.ISO_8859_1
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpChunkedEncoder> type() {
+        return HttpChunkedEncoder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
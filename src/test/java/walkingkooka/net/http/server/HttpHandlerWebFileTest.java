@@ -27,10 +27,18 @@ import walkingkooka.collect.map.Maps;
 import walkingkooka.net.RelativeUrl;
 import walkingkooka.net.Url;
 import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.AcceptEncoding;
+import walkingkooka.net.header.ContentEncoding;
+import walkingkooka.net.header.ContentRange;
 import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.ETagList;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.IfRange;
 import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeParameterName;
+import walkingkooka.net.header.RangeHeader;
 import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpProtocolVersion;
 import walkingkooka.net.http.HttpStatus;
 import walkingkooka.net.http.HttpStatusCode;
@@ -39,6 +47,8 @@ import walkingkooka.reflect.JavaVisibility;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -282,6 +292,898 @@ public final class HttpHandlerWebFileTest implements HttpHandlerTesting<HttpHand
         );
     }
 
+    // range............................................................................................................
+
+    @Test
+    public void testHandleRangeSingle() {
+        final HttpResponse expected = HttpResponses.recording();
+
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.PARTIAL_CONTENT.status());
+
+        expected.setEntity(HttpEntity.EMPTY
+            .setLastModified(LAST_MODIFIED2)
+            .addHeader(HttpHeaderName.CONTENT_LENGTH, 2L)
+            .addHeader(HttpHeaderName.CONTENT_TYPE, CONTENT_TYPE2)
+            .addHeader(HttpHeaderName.E_TAG, ETAG2)
+            .addHeader(HttpHeaderName.CONTENT_RANGE, ContentRange.parse("bytes 1-2/6"))
+            .setBody(Binary.with("3d".getBytes(Charset.defaultCharset()))));
+
+        this.handleAndCheck(
+            this.rangeRequest(FILE2, "bytes=1-2", null),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleRangeWithoutUpperBound() {
+        final HttpResponse expected = HttpResponses.recording();
+
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.PARTIAL_CONTENT.status());
+
+        expected.setEntity(HttpEntity.EMPTY
+            .setLastModified(LAST_MODIFIED2)
+            .addHeader(HttpHeaderName.CONTENT_LENGTH, 2L)
+            .addHeader(HttpHeaderName.CONTENT_TYPE, CONTENT_TYPE2)
+            .addHeader(HttpHeaderName.E_TAG, ETAG2)
+            .addHeader(HttpHeaderName.CONTENT_RANGE, ContentRange.parse("bytes 4-5/6"))
+            .setBody(Binary.with("e5".getBytes(Charset.defaultCharset()))));
+
+        this.handleAndCheck(
+            this.rangeRequest(FILE2, "bytes=4-", null),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleRangeNotSatisfiable() {
+        final HttpResponse expected = HttpResponses.recording();
+
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.REQUESTED_RANGE_NOT_SATISFIABLE.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_RANGE, ContentRange.parse("bytes */6"))
+        );
+
+        this.handleAndCheck(
+            this.rangeRequest(FILE2, "bytes=10-", null),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleRangeIfRangeETagDifferentReturnsEntireFile() {
+        final HttpResponse expected = HttpResponses.recording();
+
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.OK.status());
+
+        expected.setEntity(HttpEntity.EMPTY
+            .setLastModified(LAST_MODIFIED2)
+            .addHeader(HttpHeaderName.CONTENT_LENGTH, (long) CONTENT2.size())
+            .addHeader(HttpHeaderName.CONTENT_TYPE, CONTENT_TYPE2)
+            .addHeader(HttpHeaderName.E_TAG, ETAG2)
+            .setBody(CONTENT2));
+
+        this.handleAndCheck(
+            this.rangeRequest(FILE2, "bytes=1-2", "\"different\""),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleRangeIfRangeLastModifiedSame() {
+        final HttpResponse response = HttpResponses.recording();
+
+        this.createHttpHandler()
+            .handle(
+                this.rangeRequest(FILE1, "bytes=0-1", "Fri, 31 Dec 1999 06:28:29 GMT"),
+                response,
+                this.createContext()
+            );
+
+        this.checkEquals(
+            Optional.of(HttpStatusCode.PARTIAL_CONTENT.status()),
+            response.status()
+        );
+        this.checkEquals(
+            "a1",
+            response.entity()
+                .bodyText()
+        );
+    }
+
+    @Test
+    public void testHandleRangeMultiple() {
+        final HttpResponse response = HttpResponses.recording();
+
+        this.createHttpHandler()
+            .handle(
+                this.rangeRequest(FILE2, "bytes=0-0, 2-3", null),
+                response,
+                this.createContext()
+            );
+
+        this.checkEquals(
+            Optional.of(HttpStatusCode.PARTIAL_CONTENT.status()),
+            response.status()
+        );
+
+        final HttpEntity entity = response.entity();
+        final MediaType contentType = entity.contentType()
+            .get();
+        this.checkEquals(
+            true,
+            MediaType.MULTIPART_BYTE_RANGES.test(contentType),
+            contentType::toString
+        );
+
+        final String boundary = MediaTypeParameterName.BOUNDARY.parameterValue(contentType)
+            .get()
+            .value();
+        final String body = entity.bodyText();
+
+        this.checkEquals(
+            "--" + boundary + "\r\n" +
+                "Content-Type: custom/file2\r\n" +
+                "Content-Range: bytes 0-0/6\r\n" +
+                "\r\n" +
+                "c" +
+                "\r\n--" + boundary + "\r\n" +
+                "Content-Type: custom/file2\r\n" +
+                "Content-Range: bytes 2-3/6\r\n" +
+                "\r\n" +
+                "d4" +
+                "\r\n--" + boundary + "--\r\n",
+            body
+        );
+        this.checkEquals(
+            Optional.of((long) body.length()),
+            HttpHeaderName.CONTENT_LENGTH.header(entity),
+            "content-length"
+        );
+    }
+
+    @Test
+    public void testHandleRangeMultipleOverlappingCoalesced() {
+        final HttpResponse expected = HttpResponses.recording();
+
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.PARTIAL_CONTENT.status());
+
+        expected.setEntity(HttpEntity.EMPTY
+            .setLastModified(LAST_MODIFIED2)
+            .addHeader(HttpHeaderName.CONTENT_LENGTH, 4L)
+            .addHeader(HttpHeaderName.CONTENT_TYPE, CONTENT_TYPE2)
+            .addHeader(HttpHeaderName.E_TAG, ETAG2)
+            .addHeader(HttpHeaderName.CONTENT_RANGE, ContentRange.parse("bytes 0-3/6"))
+            .setBody(Binary.with("c3d4".getBytes(Charset.defaultCharset()))));
+
+        this.handleAndCheck(
+            this.rangeRequest(FILE2, "bytes=2-3, 0-1", null),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleRangeTooManyRangesReturnsEntireFile() {
+        final Binary content = Binary.with(new byte[2 * (HttpHandlerWebFile.MAX_RANGES + 1)]);
+
+        final StringBuilder ranges = new StringBuilder("bytes=");
+        for (int i = 0; i <= HttpHandlerWebFile.MAX_RANGES; i++) {
+            if (i > 0) {
+                ranges.append(',');
+            }
+            ranges.append(2 * i)
+                .append('-')
+                .append(2 * i);
+        }
+
+        final HttpResponse response = HttpResponses.recording();
+
+        HttpHandlerWebFile.<FakeHttpHandlerContext>with(
+            this.baseUrlPath(),
+            (p) -> Either.left(
+                this.variant(
+                    content,
+                    LAST_MODIFIED2,
+                    ETAG2
+                )
+            )
+        ).handle(
+            this.rangeRequest(FILE2, ranges.toString(), null),
+            response,
+            this.createContext()
+        );
+
+        this.checkEquals(
+            Optional.of(HttpStatusCode.OK.status()),
+            response.status()
+        );
+        this.checkEquals(
+            content,
+            response.entity()
+                .body()
+        );
+    }
+
+    private HttpRequest rangeRequest(final String url,
+                                     final String range,
+                                     final String ifRange) {
+        return new FakeHttpRequest() {
+
+            @Override
+            public HttpProtocolVersion protocolVersion() {
+                return HTTP_PROTOCOL_VERSION;
+            }
+
+            @Override
+            public RelativeUrl url() {
+                return Url.parseRelative(baseUrlPath() + url);
+            }
+
+            @Override
+            public Map<HttpHeaderName<?>, List<?>> headers() {
+                final Map<HttpHeaderName<?>, List<?>> headers = Maps.sorted();
+
+                headers.put(HttpHeaderName.RANGE, list(RangeHeader.parse(range)));
+                if (null != ifRange) {
+                    headers.put(HttpHeaderName.IF_RANGE, list(IfRange.parse(ifRange)));
+                }
+
+                return headers;
+            }
+
+            @Override
+            public String toString() {
+                return this.url() + " " + this.headers();
+            }
+        };
+    }
+
+    // precompressed....................................................................................................
+
+    private final static String GZIP_SUFFIX = ".gz";
+    private final static String BR_SUFFIX = ".br";
+
+    private final static Binary CONTENT1_GZIP = Binary.with("gzip1".getBytes(Charset.defaultCharset()));
+    private final static Binary CONTENT1_BR = Binary.with("br11".getBytes(Charset.defaultCharset()));
+    private final static ETag ETAG1_GZIP = ETag.parse("W/\"111gz\"");
+    private final static String VARY_ACCEPT_ENCODING = "Accept-Encoding";
+
+    @Test
+    public void testWithNullPrecompressedFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHandlerWebFile.with(
+                this.baseUrlPath(),
+                FILES,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithEmptySuffixFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHandlerWebFile.with(
+                this.baseUrlPath(),
+                FILES,
+                Maps.of(ContentEncoding.GZIP, "")
+            )
+        );
+        this.checkEquals(
+            "Missing suffix for gzip",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedGzip() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.OK.status());
+        expected.setEntity(
+            HttpEntity.EMPTY
+                .setLastModified(LAST_MODIFIED1)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, (long) CONTENT1_GZIP.size())
+                .setContentType(CONTENT_TYPE1)
+                .addHeader(HttpHeaderName.CONTENT_ENCODING, ContentEncoding.GZIP)
+                .addHeader(HttpHeaderName.E_TAG, ETAG1_GZIP)
+                .addHeader(HttpHeaderName.VARY, VARY_ACCEPT_ENCODING)
+                .setBody(CONTENT1_GZIP)
+        );
+
+        this.handleAndCheck(
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1
+            ),
+            this.request(
+                FILE1,
+                "gzip, deflate"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedHighestQualityFactor() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.OK.status());
+        expected.setEntity(
+            HttpEntity.EMPTY
+                .setLastModified(LAST_MODIFIED1)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, (long) CONTENT1_BR.size())
+                .setContentType(CONTENT_TYPE1)
+                .addHeader(HttpHeaderName.CONTENT_ENCODING, ContentEncoding.BR)
+                .addHeader(HttpHeaderName.VARY, VARY_ACCEPT_ENCODING)
+                .setBody(CONTENT1_BR)
+        );
+
+        this.handleAndCheck(
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1
+            ),
+            this.request(
+                FILE1,
+                "gzip;q=0.5, br"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedNotAccepted() {
+        this.handleAndCheck(
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1
+            ),
+            this.request(
+                FILE1,
+                "identity"
+            ),
+            this.file1Response()
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedVariantMissing() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.OK.status());
+        expected.setEntity(
+            HttpEntity.EMPTY
+                .setLastModified(LAST_MODIFIED2)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, (long) CONTENT2.size())
+                .setContentType(CONTENT_TYPE2)
+                .addHeader(HttpHeaderName.E_TAG, ETAG2)
+                .addHeader(HttpHeaderName.VARY, VARY_ACCEPT_ENCODING)
+                .setBody(CONTENT2)
+        );
+
+        this.handleAndCheck(
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1
+            ),
+            this.request(
+                FILE2,
+                "gzip, br"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedVariantOlderIgnored() {
+        this.handleAndCheck(
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1.minusSeconds(1)
+            ),
+            this.request(
+                FILE1,
+                "gzip, br"
+            ),
+            this.file1Response()
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedVariantLookupCached() {
+        final Map<UrlPath, Integer> lookups = new HashMap<>();
+        final HttpHandlerWebFile<FakeHttpHandlerContext> handler = this.precompressedHttpHandler(
+            lookups,
+            LAST_MODIFIED1
+        );
+
+        for (int i = 0; i < 3; i++) {
+            handler.handle(
+                this.request(
+                    FILE2,
+                    "gzip"
+                ),
+                HttpResponses.recording(),
+                this.createContext()
+            );
+        }
+
+        this.checkEquals(
+            Maps.of(
+                UrlPath.parse(FILE2),
+                3,
+                UrlPath.parse(FILE2 + GZIP_SUFFIX),
+                1
+            ),
+            lookups
+        );
+    }
+
+    // ConditionalHttpHandler...........................................................................................
+
+    @Test
+    public void testETag() {
+        this.checkEquals(
+            Optional.of(ETAG2),
+            this.createHttpHandler()
+                .etag(
+                    this.request(FILE2, NO_ETAG, NO_LAST_MODIFIED),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testETagFileNotFound() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createHttpHandler()
+                .etag(
+                    this.request("unknown.txt", NO_ETAG, NO_LAST_MODIFIED),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testETagPrecompressed() {
+        this.checkEquals(
+            Optional.of(ETAG1_GZIP),
+            this.precompressedHttpHandler(
+                new HashMap<>(),
+                LAST_MODIFIED1
+            ).etag(
+                this.request(FILE1, "gzip"),
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testLastModified() {
+        this.checkEquals(
+            Optional.of(LAST_MODIFIED2),
+            this.createHttpHandler()
+                .lastModified(
+                    this.request(FILE2, NO_ETAG, NO_LAST_MODIFIED),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testLastModifiedFileNotFound() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createHttpHandler()
+                .lastModified(
+                    this.request("unknown.txt", NO_ETAG, NO_LAST_MODIFIED),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testIfNoneMatchNotModifiedDoesntReadContent() {
+        this.conditionalHandleAndCheck(
+            HttpHandlers.ifNoneMatch(
+                this.contentNotReadHttpHandler()
+            ),
+            HttpHeaderName.IF_NONE_MATCHED,
+            ETagList.EMPTY.concat(ETAG2)
+        );
+    }
+
+    @Test
+    public void testIfModifiedSinceNotModifiedDoesntReadContent() {
+        this.conditionalHandleAndCheck(
+            HttpHandlers.ifModifiedSince(
+                this.contentNotReadHttpHandler()
+            ),
+            HttpHeaderName.IF_MODIFIED_SINCE,
+            LAST_MODIFIED2
+        );
+    }
+
+    /**
+     * A handler serving {@link #FILE2} which fails if the content is read or anything besides the metadata is requested.
+     */
+    private HttpHandlerWebFile<FakeHttpHandlerContext> contentNotReadHttpHandler() {
+        return HttpHandlerWebFile.with(
+            this.baseUrlPath(),
+            (p) -> Either.left(
+                new FakeWebFile() {
+                    @Override
+                    public LocalDateTime lastModified() {
+                        return LAST_MODIFIED2;
+                    }
+
+                    @Override
+                    public Optional<ETag> etag() {
+                        return Optional.of(ETAG2);
+                    }
+                }
+            )
+        );
+    }
+
+    private <T> void conditionalHandleAndCheck(final HttpHandler<FakeHttpHandlerContext> handler,
+                                               final HttpHeaderName<T> header,
+                                               final T value) {
+        final HttpRequest request = this.conditionalRequest(
+            header,
+            value
+        );
+
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HTTP_PROTOCOL_VERSION);
+        expected.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.E_TAG,
+                ETAG2
+            ).setLastModified(LAST_MODIFIED2)
+        );
+
+        final HttpResponse response = HttpResponses.recording();
+        handler.handle(
+            request,
+            response,
+            this.createContext()
+        );
+
+        this.checkEquals(
+            expected,
+            response,
+            request::toString
+        );
+    }
+
+    @Test
+    public void testIfNoneMatchIfModifiedSinceModifiedResolvesOnce() {
+        this.conditionalResolvesOnceAndCheck(
+            HttpHeaderName.IF_NONE_MATCHED,
+            ETagList.EMPTY.concat(ETag.parse("\"different\""))
+        );
+    }
+
+    @Test
+    public void testIfModifiedSinceModifiedResolvesOnce() {
+        this.conditionalResolvesOnceAndCheck(
+            HttpHeaderName.IF_MODIFIED_SINCE,
+            LAST_MODIFIED2.minusDays(1)
+        );
+    }
+
+    private <T> void conditionalResolvesOnceAndCheck(final HttpHeaderName<T> header,
+                                                     final T value) {
+        final int[] resolves = new int[1];
+
+        final HttpResponse response = HttpResponses.recording();
+        HttpHandlers.ifNoneMatch(
+            HttpHandlers.ifModifiedSince(
+                HttpHandlerWebFile.<FakeHttpHandlerContext>with(
+                    this.baseUrlPath(),
+                    (p) -> {
+                        resolves[0]++;
+                        return FILES.apply(p);
+                    }
+                )
+            )
+        ).handle(
+            this.conditionalRequest(
+                header,
+                value
+            ),
+            response,
+            this.createContext()
+        );
+
+        this.checkEquals(
+            Optional.of(HttpStatusCode.OK.status()),
+            response.status(),
+            "status"
+        );
+        this.checkEquals(
+            1,
+            resolves[0],
+            "resolves"
+        );
+    }
+
+    private <T> HttpRequest conditionalRequest(final HttpHeaderName<T> header,
+                                               final T value) {
+        return new FakeHttpRequest() {
+
+            @Override
+            public HttpMethod method() {
+                return HttpMethod.GET;
+            }
+
+            @Override
+            public HttpProtocolVersion protocolVersion() {
+                return HTTP_PROTOCOL_VERSION;
+            }
+
+            @Override
+            public RelativeUrl url() {
+                return Url.parseRelative(baseUrlPath() + FILE2);
+            }
+
+            @Override
+            public Map<HttpHeaderName<?>, List<?>> headers() {
+                return Maps.of(
+                    header,
+                    list(value)
+                );
+            }
+
+            @Override
+            public String toString() {
+                return this.url() + " " + this.headers();
+            }
+        };
+    }
+
+    @Test
+    public void testHandlePrecompressedVariantResolvedEveryRequest() {
+        final Map<UrlPath, Integer> lookups = new HashMap<>();
+        final HttpHandlerWebFile<FakeHttpHandlerContext> handler = this.precompressedHttpHandler(
+            lookups,
+            LAST_MODIFIED1
+        );
+
+        for (int i = 0; i < 3; i++) {
+            handler.handle(
+                this.request(
+                    FILE1,
+                    "gzip"
+                ),
+                HttpResponses.recording(),
+                this.createContext()
+            );
+        }
+
+        this.checkEquals(
+            Maps.of(
+                UrlPath.parse(FILE1),
+                3,
+                UrlPath.parse(FILE1 + GZIP_SUFFIX),
+                3
+            ),
+            lookups
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedMissingVariantCheckedAgainWhenOriginalModified() {
+        final Map<UrlPath, Integer> lookups = new HashMap<>();
+        final LocalDateTime[] lastModified = new LocalDateTime[]{LAST_MODIFIED1};
+        final HttpHandlerWebFile<FakeHttpHandlerContext> handler = this.missingVariantsHttpHandler(
+            lookups,
+            lastModified
+        );
+
+        this.handleMissingVariant(handler, "file1");
+        this.handleMissingVariant(handler, "file1");
+
+        lastModified[0] = LAST_MODIFIED2;
+        this.handleMissingVariant(handler, "file1");
+
+        this.checkEquals(
+            2,
+            lookups.get(UrlPath.parse("file1" + GZIP_SUFFIX)),
+            "variant lookups"
+        );
+    }
+
+    @Test
+    public void testHandlePrecompressedMissingVariantsBounded() {
+        final Map<UrlPath, Integer> lookups = new HashMap<>();
+        final HttpHandlerWebFile<FakeHttpHandlerContext> handler = this.missingVariantsHttpHandler(
+            lookups,
+            new LocalDateTime[]{LAST_MODIFIED1}
+        );
+
+        for (int i = 0; i <= HttpHandlerWebFile.MAX_MISSING_VARIANTS; i++) {
+            this.handleMissingVariant(handler, "file" + i);
+        }
+
+        // file0 was the least recently used and has been forgotten, the last miss is still remembered
+        this.handleMissingVariant(handler, "file0");
+        this.handleMissingVariant(handler, "file" + HttpHandlerWebFile.MAX_MISSING_VARIANTS);
+
+        this.checkEquals(
+            2,
+            lookups.get(UrlPath.parse("file0" + GZIP_SUFFIX)),
+            "file0 variant lookups"
+        );
+        this.checkEquals(
+            1,
+            lookups.get(UrlPath.parse("file" + HttpHandlerWebFile.MAX_MISSING_VARIANTS + GZIP_SUFFIX)),
+            "last variant lookups"
+        );
+    }
+
+    /**
+     * Creates a handler where every path except gzip variants is a file with the given last modified.
+     */
+    private HttpHandlerWebFile<FakeHttpHandlerContext> missingVariantsHttpHandler(final Map<UrlPath, Integer> lookups,
+                                                                                 final LocalDateTime[] lastModified) {
+        return HttpHandlerWebFile.with(
+            this.baseUrlPath(),
+            (p) -> {
+                lookups.merge(p, 1, Integer::sum);
+
+                return p.value().endsWith(GZIP_SUFFIX) ?
+                    Either.right(FILE_NOT_FOUND) :
+                    Either.left(
+                        this.variant(
+                            CONTENT1,
+                            lastModified[0],
+                            null
+                        )
+                    );
+            },
+            Maps.of(
+                ContentEncoding.GZIP,
+                GZIP_SUFFIX
+            )
+        );
+    }
+
+    private void handleMissingVariant(final HttpHandlerWebFile<FakeHttpHandlerContext> handler,
+                                      final String file) {
+        handler.handle(
+            this.request(
+                file,
+                "gzip"
+            ),
+            HttpResponses.recording(),
+            this.createContext()
+        );
+    }
+
+    private HttpResponse file1Response() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HTTP_PROTOCOL_VERSION);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY
+                .setLastModified(LAST_MODIFIED1)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, (long) CONTENT1.size())
+                .setContentType(CONTENT_TYPE1)
+                .addHeader(HttpHeaderName.VARY, VARY_ACCEPT_ENCODING)
+                .setBody(CONTENT1)
+        );
+        return response;
+    }
+
+    /**
+     * Creates a handler with gzip and br variants of {@link #FILE1} and counting every file lookup.
+     */
+    private HttpHandlerWebFile<FakeHttpHandlerContext> precompressedHttpHandler(final Map<UrlPath, Integer> lookups,
+                                                                               final LocalDateTime variantLastModified) {
+        final Map<ContentEncoding, String> precompressed = new LinkedHashMap<>();
+        precompressed.put(ContentEncoding.GZIP, GZIP_SUFFIX);
+        precompressed.put(ContentEncoding.BR, BR_SUFFIX);
+
+        return HttpHandlerWebFile.with(
+            this.baseUrlPath(),
+            (p) -> {
+                lookups.merge(p, 1, Integer::sum);
+
+                switch (p.value()) {
+                    case FILE1 + GZIP_SUFFIX:
+                        return Either.left(
+                            this.variant(
+                                CONTENT1_GZIP,
+                                variantLastModified,
+                                ETAG1_GZIP
+                            )
+                        );
+                    case FILE1 + BR_SUFFIX:
+                        return Either.left(
+                            this.variant(
+                                CONTENT1_BR,
+                                variantLastModified,
+                                null
+                            )
+                        );
+                    default:
+                        return FILES.apply(p);
+                }
+            },
+            precompressed
+        );
+    }
+
+    private WebFile variant(final Binary content,
+                            final LocalDateTime lastModified,
+                            final ETag etag) {
+        return new FakeWebFile() {
+            @Override
+            public LocalDateTime lastModified() {
+                return lastModified;
+            }
+
+            @Override
+            public MediaType contentType() {
+                return MediaType.parse("application/x-compressed");
+            }
+
+            @Override
+            public long contentSize() {
+                return content.size();
+            }
+
+            @Override
+            public InputStream content() {
+                return content.inputStream();
+            }
+
+            @Override
+            public Optional<ETag> etag() {
+                return Optional.ofNullable(etag);
+            }
+        };
+    }
+
+    private HttpRequest request(final String url,
+                                final String acceptEncoding) {
+        return new FakeHttpRequest() {
+
+            @Override
+            public HttpProtocolVersion protocolVersion() {
+                return HTTP_PROTOCOL_VERSION;
+            }
+
+            @Override
+            public RelativeUrl url() {
+                return Url.parseRelative(baseUrlPath() + url);
+            }
+
+            @Override
+            public Map<HttpHeaderName<?>, List<?>> headers() {
+                return Maps.of(
+                    HttpHeaderName.ACCEPT_ENCODING,
+                    list(AcceptEncoding.parse(acceptEncoding))
+                );
+            }
+
+            @Override
+            public String toString() {
+                return this.url() + " " + this.headers();
+            }
+        };
+    }
+
     @Override
     public HttpHandlerWebFile<FakeHttpHandlerContext> createHttpHandler() {
         return HttpHandlerWebFile.with(this.baseUrlPath(), FILES);
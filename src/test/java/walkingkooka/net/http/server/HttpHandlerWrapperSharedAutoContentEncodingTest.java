@@ -0,0 +1,676 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.ContentEncoding;
+import walkingkooka.net.header.ContentRange;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.net.http.HttpTransport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpHandlerWrapperSharedAutoContentEncodingTest extends HttpHandlerWrapperSharedTestCase<HttpHandlerWrapperSharedAutoContentEncoding<FakeHttpHandlerContext>, FakeHttpHandlerContext>
+    implements ToStringTesting<HttpHandlerWrapperSharedAutoContentEncoding<FakeHttpHandlerContext>> {
+
+    private final static long MINIMUM_SIZE = 16;
+
+    private final static String TEXT = "Hello Hello Hello Hello Hello Hello Hello Hello";
+
+    private final static HttpStatus STATUS = HttpStatusCode.OK.status();
+
+    private final static String VARY_ACCEPT_ENCODING = HttpHeaderName.ACCEPT_ENCODING.value();
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullEncodersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHandlerWrapperSharedAutoContentEncoding.with(
+                null,
+                HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+                MINIMUM_SIZE,
+                HttpHandlers.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullCompressibleFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpHandlerWrapperSharedAutoContentEncoding.with(
+                HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_ENCODERS,
+                null,
+                MINIMUM_SIZE,
+                HttpHandlers.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMinimumSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpHandlerWrapperSharedAutoContentEncoding.with(
+                HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_ENCODERS,
+                HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+                -1,
+                HttpHandlers.fake()
+            )
+        );
+        this.checkEquals(
+            "Invalid minimum size -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // handle...........................................................................................................
+
+    @Test
+    public void testHandleMissingAcceptEncoding() {
+        this.handleIdentityAndCheck(
+            "",
+            this.text()
+        );
+    }
+
+    @Test
+    public void testHandleAcceptEncodingIdentity() {
+        this.handleIdentityAndCheck(
+            "Accept-Encoding: identity\r\n",
+            this.text()
+        );
+    }
+
+    @Test
+    public void testHandleAcceptEncodingGzipZeroQualityFactor() {
+        this.handleIdentityAndCheck(
+            "Accept-Encoding: gzip;q=0\r\n",
+            this.text()
+        );
+    }
+
+    @Test
+    public void testHandleAcceptEncodingIdentityVaryMerged() {
+        final HttpEntity entity = this.text()
+            .addHeader(
+                HttpHeaderName.VARY,
+                "Origin"
+            );
+
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(
+            entity.addHeader(
+                HttpHeaderName.VARY,
+                VARY_ACCEPT_ENCODING
+            )
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(entity),
+            this.request(""),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleAcceptEncodingIdentityVaryAlreadyPresent() {
+        this.handleUnchangedAndCheck(
+            "",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.VARY,
+                    "Origin, accept-encoding"
+                )
+        );
+    }
+
+    @Test
+    public void testHandleAcceptEncodingIdentityVaryStar() {
+        this.handleUnchangedAndCheck(
+            "",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.VARY,
+                    "*"
+                )
+        );
+    }
+
+    private void handleIdentityAndCheck(final String acceptEncoding,
+                                        final HttpEntity entity) {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(
+            entity.addHeader(
+                HttpHeaderName.VARY,
+                VARY_ACCEPT_ENCODING
+            )
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(entity),
+            this.request(acceptEncoding),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleEmptyBody() {
+        this.handleUnchangedAndCheck(
+            "Accept-Encoding: gzip\r\n",
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+        );
+    }
+
+    @Test
+    public void testHandleBelowMinimumSize() {
+        this.handleUnchangedAndCheck(
+            "Accept-Encoding: gzip\r\n",
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBodyText("Small")
+                .setContentLength()
+        );
+    }
+
+    @Test
+    public void testHandleNotCompressibleContentType() {
+        this.handleUnchangedAndCheck(
+            "Accept-Encoding: gzip\r\n",
+            this.text()
+                .setContentType(MediaType.IMAGE_PNG)
+        );
+    }
+
+    @Test
+    public void testHandleAlreadyEncoded() {
+        this.handleUnchangedAndCheck(
+            "Accept-Encoding: gzip\r\n",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.CONTENT_ENCODING,
+                    ContentEncoding.BR
+                )
+        );
+    }
+
+    @Test
+    public void testHandlePartialContent() {
+        this.handleUnchangedAndCheck(
+            "Accept-Encoding: gzip\r\n",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.CONTENT_RANGE,
+                    ContentRange.parse("bytes 0-46/100")
+                )
+        );
+    }
+
+    @Test
+    public void testHandleHead() {
+        final HttpEntity entity = this.text();
+
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(entity);
+
+        this.handleAndCheck(
+            this.createHttpHandler(entity),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /file.txt HTTP/1.1\r\n" +
+                    "Accept-Encoding: gzip\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    private void handleUnchangedAndCheck(final String acceptEncoding,
+                                         final HttpEntity entity) {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(entity);
+
+        this.handleAndCheck(
+            this.createHttpHandler(entity),
+            this.request(acceptEncoding),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGzip() throws IOException {
+        final HttpResponse response = this.handleEncoded(
+            "Accept-Encoding: gzip\r\n",
+            this.text(),
+            ContentEncoding.GZIP
+        );
+
+        this.checkEquals(
+            TEXT,
+            new String(
+                new GZIPInputStream(
+                    response.entity()
+                        .bodyInputStream()
+                ).readAllBytes(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testHandleDeflate() throws IOException {
+        final HttpResponse response = this.handleEncoded(
+            "Accept-Encoding: deflate\r\n",
+            this.text(),
+            ContentEncoding.DEFLATE
+        );
+
+        this.checkEquals(
+            TEXT,
+            new String(
+                new InflaterInputStream(
+                    response.entity()
+                        .bodyInputStream()
+                ).readAllBytes(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testHandleStrongETagMadeWeak() {
+        final HttpResponse response = this.handleEncoded(
+            "Accept-Encoding: gzip\r\n",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.E_TAG,
+                    ETag.strong("abc123")
+                ),
+            ContentEncoding.GZIP
+        );
+
+        this.checkEquals(
+            Optional.of(
+                ETag.weak("abc123")
+            ),
+            HttpHeaderName.E_TAG.header(response.entity())
+        );
+    }
+
+    @Test
+    public void testHandleWeakETagUnchanged() {
+        final HttpResponse response = this.handleEncoded(
+            "Accept-Encoding: gzip\r\n",
+            this.text()
+                .addHeader(
+                    HttpHeaderName.E_TAG,
+                    ETag.weak("abc123")
+                ),
+            ContentEncoding.GZIP
+        );
+
+        this.checkEquals(
+            Optional.of(
+                ETag.weak("abc123")
+            ),
+            HttpHeaderName.E_TAG.header(response.entity())
+        );
+    }
+
+    @Test
+    public void testHandleHighestQualityFactorSelected() {
+        this.handleEncoded(
+            "Accept-Encoding: gzip;q=0.5, deflate;q=0.8\r\n",
+            this.text(),
+            ContentEncoding.DEFLATE
+        );
+    }
+
+    @Test
+    public void testHandleUnknownLengthStream() throws IOException {
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+        final HttpResponse response = this.handleEncoded(
+            "Accept-Encoding: br, gzip\r\n",
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBodyInputStream(new ByteArrayInputStream(bytes)),
+            ContentEncoding.GZIP
+        );
+
+        assertArrayEquals(
+            bytes,
+            new GZIPInputStream(
+                response.entity()
+                    .bodyInputStream()
+            ).readAllBytes()
+        );
+    }
+
+    private HttpResponse handleEncoded(final String acceptEncoding,
+                                       final HttpEntity entity,
+                                       final ContentEncoding expected) {
+        final HttpResponse response = HttpResponses.recording();
+
+        this.createHttpHandler(entity)
+            .handle(
+                this.request(acceptEncoding),
+                response,
+                this.createContext()
+            );
+
+        final HttpEntity responseEntity = response.entity();
+        this.checkEquals(
+            Optional.of(expected),
+            HttpHeaderName.CONTENT_ENCODING.header(responseEntity),
+            "content-encoding"
+        );
+        this.checkEquals(
+            Optional.empty(),
+            HttpHeaderName.CONTENT_LENGTH.header(responseEntity),
+            "content-length"
+        );
+        this.checkEquals(
+            HttpEntity.UNKNOWN_CONTENT_LENGTH,
+            responseEntity.contentLength(),
+            "contentLength"
+        );
+        this.checkEquals(
+            Optional.of(MediaType.TEXT_PLAIN),
+            HttpHeaderName.CONTENT_TYPE.header(responseEntity),
+            "content-type"
+        );
+        this.checkEquals(
+            Optional.of(VARY_ACCEPT_ENCODING),
+            HttpHeaderName.VARY.header(responseEntity),
+            "vary"
+        );
+        return response;
+    }
+
+    private HttpEntity text() {
+        return HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+            .setBody(
+                Binary.with(
+                    TEXT.getBytes(StandardCharsets.UTF_8)
+                )
+            ).setContentLength();
+    }
+
+    private HttpRequest request(final String acceptEncoding) {
+        return HttpRequests.parse(
+            HttpTransport.UNSECURED,
+            "GET /file.txt HTTP/1.1\r\n" +
+                acceptEncoding +
+                "\r\n"
+        );
+    }
+
+    private HttpHandlerWrapperSharedAutoContentEncoding<FakeHttpHandlerContext> createHttpHandler(final HttpEntity httpEntity) {
+        return HttpHandlerWrapperSharedAutoContentEncoding.with(
+            HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_ENCODERS,
+            HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+            MINIMUM_SIZE,
+            new FakeHttpHandler<>() {
+                @Override
+                public void handle(final HttpRequest request,
+                                   final HttpResponse response,
+                                   final FakeHttpHandlerContext context) {
+                    response.setStatus(STATUS);
+                    response.setEntity(httpEntity);
+                }
+            }
+        );
+    }
+
+    @Override
+    HttpHandlerWrapperSharedAutoContentEncoding<FakeHttpHandlerContext> createHttpHandler(final HttpHandler<FakeHttpHandlerContext> httpHandler) {
+        return HttpHandlerWrapperSharedAutoContentEncoding.with(
+            HttpHandlerWrapperSharedAutoContentEncoding.DEFAULT_ENCODERS,
+            HttpHandlerWrapperSharedAutoContentEncoding::isCompressible,
+            MINIMUM_SIZE,
+            httpHandler
+        );
+    }
+
+    @Override
+    public FakeHttpHandlerContext createContext() {
+        return new FakeHttpHandlerContext() {
+        };
+    }
+
+    // autoGzipEncoding.................................................................................................
+
+    @Test
+    public void testAutoGzipEncodingGzip() throws IOException {
+        final HttpResponse response = this.autoGzipEncoding(
+            "Accept-Encoding: gzip, deflate\r\n",
+            this.text()
+        );
+
+        final HttpEntity entity = response.entity();
+        this.checkEquals(
+            Optional.of(ContentEncoding.GZIP),
+            HttpHeaderName.CONTENT_ENCODING.header(entity),
+            "content-encoding"
+        );
+        this.checkEquals(
+            TEXT,
+            new String(
+                new GZIPInputStream(
+                    entity.bodyInputStream()
+                ).readAllBytes(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    @Test
+    public void testAutoGzipEncodingSmallBody() {
+        final HttpResponse response = this.autoGzipEncoding(
+            "Accept-Encoding: gzip\r\n",
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBodyText("Small")
+                .setContentLength()
+        );
+
+        this.checkEquals(
+            Optional.of(ContentEncoding.GZIP),
+            HttpHeaderName.CONTENT_ENCODING.header(response.entity()),
+            "content-encoding"
+        );
+    }
+
+    @Test
+    public void testAutoGzipEncodingDeflateIgnored() {
+        final HttpEntity entity = this.text();
+
+        this.checkEquals(
+            entity.addHeader(
+                HttpHeaderName.VARY,
+                VARY_ACCEPT_ENCODING
+            ),
+            this.autoGzipEncoding(
+                "Accept-Encoding: deflate\r\n",
+                entity
+            ).entity()
+        );
+    }
+
+    @Test
+    public void testAutoGzipEncodingEmptyBody() {
+        final HttpEntity entity = HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN);
+
+        this.checkEquals(
+            entity,
+            this.autoGzipEncoding(
+                "Accept-Encoding: gzip\r\n",
+                entity
+            ).entity()
+        );
+    }
+
+    private HttpResponse autoGzipEncoding(final String acceptEncoding,
+                                          final HttpEntity entity) {
+        final HttpResponse response = HttpResponses.recording();
+
+        HttpHandlers.<FakeHttpHandlerContext>autoGzipEncoding(
+            new FakeHttpHandler<>() {
+                @Override
+                public void handle(final HttpRequest request,
+                                   final HttpResponse response,
+                                   final FakeHttpHandlerContext context) {
+                    response.setStatus(STATUS);
+                    response.setEntity(entity);
+                }
+            }
+        ).handle(
+            this.request(acceptEncoding),
+            response,
+            this.createContext()
+        );
+
+        return response;
+    }
+
+    // isCompressible...................................................................................................
+
+    @Test
+    public void testIsCompressibleText() {
+        this.isCompressibleAndCheck(
+            MediaType.TEXT_HTML,
+            true
+        );
+    }
+
+    @Test
+    public void testIsCompressibleJson() {
+        this.isCompressibleAndCheck(
+            MediaType.APPLICATION_JSON,
+            true
+        );
+    }
+
+    @Test
+    public void testIsCompressibleSvg() {
+        this.isCompressibleAndCheck(
+            MediaType.parse("image/svg+xml"),
+            true
+        );
+    }
+
+    @Test
+    public void testIsCompressiblePng() {
+        this.isCompressibleAndCheck(
+            MediaType.IMAGE_PNG,
+            false
+        );
+    }
+
+    @Test
+    public void testIsCompressibleZip() {
+        this.isCompressibleAndCheck(
+            MediaType.APPLICATION_ZIP,
+            false
+        );
+    }
+
+    @Test
+    public void testIsCompressibleVideo() {
+        this.isCompressibleAndCheck(
+            MediaType.parse("video/mp4"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsCompressibleWoff2() {
+        this.isCompressibleAndCheck(
+            MediaType.parse("font/woff2"),
+            false
+        );
+    }
+
+    @Test
+    public void testIsCompressibleUpperCaseTurkishDefaultLocale() {
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+            this.isCompressibleAndCheck(
+                MediaType.parse("VIDEO/MP4"),
+                false
+            );
+            this.isCompressibleAndCheck(
+                MediaType.parse("IMAGE/PNG"),
+                false
+            );
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private void isCompressibleAndCheck(final MediaType contentType,
+                                        final boolean expected) {
+        this.checkEquals(
+            expected,
+            HttpHandlerWrapperSharedAutoContentEncoding.isCompressible(contentType),
+            contentType::toString
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final HttpHandler<FakeHttpHandlerContext> handler = HttpHandlers.fake();
+
+        this.toStringAndCheck(
+            this.createHttpHandler(handler),
+            "AutoContentEncoding [gzip, deflate] " + handler
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpHandlerWrapperSharedAutoContentEncoding<FakeHttpHandlerContext>> type() {
+        return Cast.to(HttpHandlerWrapperSharedAutoContentEncoding.class);
+    }
+}
@@ -22,14 +22,19 @@ import walkingkooka.Cast;
 import walkingkooka.HasCharsetTesting;
 import walkingkooka.ToStringTesting;
 import walkingkooka.datetime.HasNowTesting;
+import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.ETagComputerTesting;
 import walkingkooka.net.header.HttpHeaderName;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
 import walkingkooka.net.http.HttpStatus;
 import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.net.http.HttpTransport;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 public final class HttpHandlerWrapperSharedIfModifiedSinceTest extends HttpHandlerWrapperSharedTestCase<HttpHandlerWrapperSharedIfModifiedSince<FakeHttpHandlerContext>, FakeHttpHandlerContext>
     implements ETagComputerTesting,
     HasCharsetTesting,
@@ -265,6 +270,184 @@ public final class HttpHandlerWrapperSharedIfModifiedSinceTest extends HttpHandl
         );
     }
 
+    // ConditionalHttpHandler...........................................................................................
+
+    private final static LocalDateTime CONDITIONAL_LAST_MODIFIED = LocalDateTime.of(1999, 12, 31, 12, 58, 59);
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerNotModifiedSkipsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HttpProtocolVersion.VERSION_1_0);
+        expected.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.setLastModified(CONDITIONAL_LAST_MODIFIED)
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler() {
+                    @Override
+                    public void handle(final HttpRequest request,
+                                       final HttpResponse response,
+                                       final FakeHttpHandlerContext context) {
+                        throw new UnsupportedOperationException("Handler should not be called");
+                    }
+                }
+            ),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /file1.txt HTTP/1.0\r\n" +
+                    "If-Modified-Since: Fri, 31 Dec 1999 12:58:59 GMT\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerNotModifiedIncludesETag() {
+        final ETag etag = ETag.strong("Strong111");
+
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HttpProtocolVersion.VERSION_1_0);
+        expected.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.E_TAG,
+                etag
+            ).setLastModified(CONDITIONAL_LAST_MODIFIED)
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler() {
+                    @Override
+                    public void handle(final HttpRequest request,
+                                       final HttpResponse response,
+                                       final FakeHttpHandlerContext context) {
+                        throw new UnsupportedOperationException("Handler should not be called");
+                    }
+
+                    @Override
+                    public Optional<ETag> etag(final HttpRequest request,
+                                               final FakeHttpHandlerContext context) {
+                        return Optional.of(etag);
+                    }
+                }
+            ),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /file1.txt HTTP/1.0\r\n" +
+                    "If-Modified-Since: Fri, 31 Dec 1999 12:58:59 GMT\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGetRequestIfNoneMatchPresentIgnoresIfModifiedSince() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(ENTITY);
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /file1.txt HTTP/1.0\r\n" +
+                    "If-Modified-Since: Fri, 31 Dec 1999 12:58:59 GMT\r\n" +
+                    "If-None-Match: \"Different111\"\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerModifiedCallsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(ENTITY);
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /file1.txt HTTP/1.0\r\n" +
+                    "If-Modified-Since: Sat, 01 Jan 2000 12:58:59 GMT\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandlePostRequestConditionalHttpHandlerCallsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(ENTITY);
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ),
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "POST /file1.txt HTTP/1.0\r\n" +
+                    "If-Modified-Since: Fri, 31 Dec 1999 12:58:59 GMT\r\n" +
+                    "\r\n"
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testLastModified() {
+        this.checkEquals(
+            Optional.of(CONDITIONAL_LAST_MODIFIED),
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ).lastModified(
+                HttpRequests.fake(),
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testLastModifiedNotConditionalHttpHandler() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createHttpHandler(HANDLER)
+                .lastModified(
+                    HttpRequests.fake(),
+                    this.createContext()
+                )
+        );
+    }
+
+    static class TestConditionalHttpHandler implements ConditionalHttpHandler<FakeHttpHandlerContext> {
+
+        @Override
+        public void handle(final HttpRequest request,
+                           final HttpResponse response,
+                           final FakeHttpHandlerContext context) {
+            response.setStatus(STATUS);
+            response.setEntity(ENTITY);
+        }
+
+        @Override
+        public Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                    final FakeHttpHandlerContext context) {
+            return Optional.of(CONDITIONAL_LAST_MODIFIED);
+        }
+    }
+
     private HttpHandlerWrapperSharedIfModifiedSince<FakeHttpHandlerContext> createHttpHandler(final HttpStatus httpStatus,
                                                                                               final HttpEntity httpEntity) {
         return this.createHttpHandler(
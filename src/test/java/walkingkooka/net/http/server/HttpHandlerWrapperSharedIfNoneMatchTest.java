@@ -22,7 +22,9 @@ import walkingkooka.Binary;
 import walkingkooka.Cast;
 import walkingkooka.HasCharsetTesting;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.net.Url;
+import walkingkooka.net.header.CacheControl;
 import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.ETagComputerTesting;
 import walkingkooka.net.header.ETagList;
@@ -35,6 +37,7 @@ import walkingkooka.net.http.HttpStatus;
 import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.net.http.HttpTransport;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public final class HttpHandlerWrapperSharedIfNoneMatchTest extends HttpHandlerWrapperSharedTestCase<HttpHandlerWrapperSharedIfNoneMatch<FakeHttpHandlerContext>, FakeHttpHandlerContext>
@@ -244,6 +247,179 @@ public final class HttpHandlerWrapperSharedIfNoneMatchTest extends HttpHandlerWr
         );
     }
 
+    // ConditionalHttpHandler...........................................................................................
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerSameETagSkipsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HttpProtocolVersion.VERSION_1_0);
+        expected.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.E_TAG,
+                STRONG_ETAG
+            )
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler() {
+                    @Override
+                    public void handle(final HttpRequest request,
+                                       final HttpResponse response,
+                                       final FakeHttpHandlerContext context) {
+                        throw new UnsupportedOperationException("Handler should not be called");
+                    }
+                }
+            ),
+            this.request(STRONG_ETAG),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerSameETagSkipsHandlerIncludesValidators() {
+        final LocalDateTime lastModified = LocalDateTime.of(1999, 12, 31, 12, 58, 59);
+        final CacheControl cacheControl = CacheControl.parse("max-age=60");
+
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setVersion(HttpProtocolVersion.VERSION_1_0);
+        expected.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        expected.setEntity(
+            HttpEntity.EMPTY.addHeader(
+                HttpHeaderName.E_TAG,
+                STRONG_ETAG
+            ).setLastModified(
+                lastModified
+            ).setHeader(
+                HttpHeaderName.CACHE_CONTROL,
+                Lists.of(cacheControl)
+            )
+        );
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler() {
+                    @Override
+                    public void handle(final HttpRequest request,
+                                       final HttpResponse response,
+                                       final FakeHttpHandlerContext context) {
+                        throw new UnsupportedOperationException("Handler should not be called");
+                    }
+
+                    @Override
+                    public Optional<LocalDateTime> lastModified(final HttpRequest request,
+                                                                final FakeHttpHandlerContext context) {
+                        return Optional.of(lastModified);
+                    }
+
+                    @Override
+                    public Optional<CacheControl> cacheControl(final HttpRequest request,
+                                                               final FakeHttpHandlerContext context) {
+                        return Optional.of(cacheControl);
+                    }
+                }
+            ),
+            this.request(STRONG_ETAG),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandleGetRequestConditionalHttpHandlerDifferentETagCallsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(ENTITY);
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ),
+            this.request(DIFFERENT_STRONG_ETAG),
+            expected
+        );
+    }
+
+    @Test
+    public void testHandlePatchRequestConditionalHttpHandlerSameETagCallsHandler() {
+        final HttpResponse expected = HttpResponses.recording();
+        expected.setStatus(STATUS);
+        expected.setEntity(ENTITY);
+
+        this.handleAndCheck(
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ),
+            HttpRequests.patch(
+                HttpTransport.UNSECURED,
+                Url.parseRelative("/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY.addHeader(
+                    HttpHeaderName.IF_NONE_MATCHED,
+                    ETagList.EMPTY.concat(STRONG_ETAG)
+                )
+            ),
+            expected
+        );
+    }
+
+    @Test
+    public void testETag() {
+        this.checkEquals(
+            Optional.of(STRONG_ETAG),
+            this.createHttpHandler(
+                new TestConditionalHttpHandler()
+            ).etag(
+                HttpRequests.fake(),
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testETagNotConditionalHttpHandler() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createHttpHandler(HANDLER)
+                .etag(
+                    HttpRequests.fake(),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testETagWrappedTwice() {
+        this.checkEquals(
+            Optional.of(STRONG_ETAG),
+            this.createHttpHandler(
+                HttpHandlerWrapperSharedIfModifiedSince.with(
+                    new TestConditionalHttpHandler()
+                )
+            ).etag(
+                HttpRequests.fake(),
+                this.createContext()
+            )
+        );
+    }
+
+    static class TestConditionalHttpHandler implements ConditionalHttpHandler<FakeHttpHandlerContext> {
+
+        @Override
+        public void handle(final HttpRequest request,
+                           final HttpResponse response,
+                           final FakeHttpHandlerContext context) {
+            response.setStatus(STATUS);
+            response.setEntity(ENTITY);
+        }
+
+        @Override
+        public Optional<ETag> etag(final HttpRequest request,
+                                   final FakeHttpHandlerContext context) {
+            return Optional.of(STRONG_ETAG);
+        }
+    }
+
     private HttpHandlerWrapperSharedIfNoneMatch<FakeHttpHandlerContext> createHttpHandler(final HttpStatus httpStatus,
                                                                                           final HttpEntity httpEntity) {
         return this.createHttpHandler(
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class HttpMessageTooLargeExceptionTest implements ClassTesting2<HttpMessageTooLargeException> {
+
+    @Test
+    public void testStartLine() {
+        this.checkPartAndMessage(
+            HttpMessageTooLargeException.startLine(123),
+            HttpMessageTooLargeException.START_LINE,
+            "Start line too large, max=123"
+        );
+    }
+
+    @Test
+    public void testHeaders() {
+        this.checkPartAndMessage(
+            HttpMessageTooLargeException.headers(123),
+            HttpMessageTooLargeException.HEADERS,
+            "Headers too large, max=123"
+        );
+    }
+
+    @Test
+    public void testTrailers() {
+        this.checkPartAndMessage(
+            HttpMessageTooLargeException.trailers(123),
+            HttpMessageTooLargeException.HEADERS,
+            "Trailers too large, max=123"
+        );
+    }
+
+    @Test
+    public void testBody() {
+        this.checkPartAndMessage(
+            HttpMessageTooLargeException.body(123),
+            HttpMessageTooLargeException.BODY,
+            "Body too large, max=123"
+        );
+    }
+
+    private void checkPartAndMessage(final HttpMessageTooLargeException exception,
+                                     final int part,
+                                     final String message) {
+        this.checkEquals(
+            part,
+            exception.part,
+            "part"
+        );
+        this.checkEquals(
+            message,
+            exception.getMessage(),
+            "message"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HttpMessageTooLargeException> type() {
+        return HttpMessageTooLargeException.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
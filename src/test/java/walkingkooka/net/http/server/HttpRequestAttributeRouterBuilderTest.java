@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.build.BuilderException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpRequestAttributeRouterBuilderTest implements ClassTesting2<HttpRequestAttributeRouterBuilder<String>>,
+    ToStringTesting<HttpRequestAttributeRouterBuilder<String>> {
+
+    private final static HttpRequestAttributeRouting ROUTING1 = HttpRequestAttributeRouting.empty()
+        .method(HttpMethod.GET)
+        .path(UrlPath.parse("/a1"));
+
+    private final static HttpRequestAttributeRouting ROUTING2 = HttpRequestAttributeRouting.empty()
+        .method(HttpMethod.POST)
+        .path(UrlPath.parse("/b2/*"));
+
+    // add..............................................................................................................
+
+    @Test
+    public void testAddNullRoutingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(null, "target")
+        );
+    }
+
+    @Test
+    public void testAddNullTargetFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(ROUTING1, null)
+        );
+    }
+
+    @Test
+    public void testAddEmptyRoutingFails() {
+        assertThrows(
+            BuilderException.class,
+            () -> HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(HttpRequestAttributeRouting.empty(), "target")
+        );
+    }
+
+    @Test
+    public void testAdd() {
+        final HttpRequestAttributeRouterBuilder<String> empty = HttpRequestAttributeRouterBuilder.empty();
+        final HttpRequestAttributeRouterBuilder<String> builder = empty.add(ROUTING1, "target1");
+        assertNotSame(
+            empty,
+            builder
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            empty.routings,
+            "empty routings"
+        );
+        this.checkEquals(
+            Lists.of(ROUTING1),
+            builder.routings,
+            "routings"
+        );
+        this.checkEquals(
+            Lists.of("target1"),
+            builder.targets,
+            "targets"
+        );
+    }
+
+    @Test
+    public void testAddTwice() {
+        final HttpRequestAttributeRouterBuilder<String> builder = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(ROUTING1, "target1")
+            .add(ROUTING2, "target2");
+
+        this.checkEquals(
+            Lists.of(ROUTING1, ROUTING2),
+            builder.routings,
+            "routings"
+        );
+        this.checkEquals(
+            Lists.of("target1", "target2"),
+            builder.targets,
+            "targets"
+        );
+    }
+
+    // build............................................................................................................
+
+    @Test
+    public void testBuild() {
+        this.checkEquals(
+            HttpRequestAttributeRouter.class,
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(ROUTING1, "target1")
+                .build()
+                .getClass()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(ROUTING1, "target1")
+                .add(ROUTING2, "target2"),
+            ROUTING1 + "=target1, " + ROUTING2 + "=target2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpRequestAttributeRouterBuilder<String>> type() {
+        return Cast.to(HttpRequestAttributeRouterBuilder.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
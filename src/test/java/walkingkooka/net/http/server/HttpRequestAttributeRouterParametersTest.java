@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.UrlPathName;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpRequestAttributeRouterParametersTest implements ClassTesting2<HttpRequestAttributeRouterParameters>,
+    ToStringTesting<HttpRequestAttributeRouterParameters> {
+
+    private final static UrlPathName[] PATH_NAMES = new UrlPathName[]{
+        UrlPathName.EMPTY,
+        UrlPathName.with("a1")
+    };
+
+    private final static HttpRequestAttribute<?>[] ATTRIBUTES = new HttpRequestAttribute<?>[]{
+        HttpRequestAttributes.METHOD,
+        HttpRequestAttributes.TRANSPORT
+    };
+
+    @Test
+    public void testWithNullParametersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestAttributeRouterParameters.with(
+                null,
+                PATH_NAMES,
+                ATTRIBUTES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullPathNamesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestAttributeRouterParameters.with(
+                Maps.empty(),
+                null,
+                ATTRIBUTES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullAttributesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestAttributeRouterParameters.with(
+                Maps.empty(),
+                PATH_NAMES,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testPathName() {
+        final HttpRequestAttributeRouterParameters parameters = this.createParameters(Maps.empty());
+
+        this.checkEquals(PATH_NAMES[0], parameters.pathName(0), "pathName 0");
+        this.checkEquals(PATH_NAMES[1], parameters.pathName(1), "pathName 1");
+    }
+
+    @Test
+    public void testPathNameBeyondPath() {
+        this.checkEquals(
+            null,
+            this.createParameters(Maps.empty())
+                .pathName(2)
+        );
+    }
+
+    @Test
+    public void testValue() {
+        final HttpRequestAttributeRouterParameters parameters = this.createParameters(
+            Maps.of(
+                HttpRequestAttributes.METHOD,
+                HttpMethod.GET,
+                HttpRequestAttributes.TRANSPORT,
+                HttpTransport.SECURED
+            )
+        );
+
+        this.checkEquals(HttpMethod.GET, parameters.value(0), "slot 0");
+        this.checkEquals(HttpTransport.SECURED, parameters.value(1), "slot 1");
+    }
+
+    @Test
+    public void testValueAbsent() {
+        this.checkEquals(
+            null,
+            this.createParameters(Maps.empty())
+                .value(0)
+        );
+    }
+
+    @Test
+    public void testValueFetchedOnce() {
+        final Map<HttpRequestAttribute<?>, Object> values = Maps.of(
+            HttpRequestAttributes.METHOD,
+            HttpMethod.GET
+        );
+        final int[] gets = new int[1];
+
+        final HttpRequestAttributeRouterParameters parameters = this.createParameters(
+            new AbstractMap<HttpRequestAttribute<?>, Object>() {
+
+                @Override
+                public Object get(final Object key) {
+                    gets[0]++;
+                    return values.get(key);
+                }
+
+                @Override
+                public Set<Entry<HttpRequestAttribute<?>, Object>> entrySet() {
+                    return values.entrySet();
+                }
+            }
+        );
+
+        for (int i = 0; i < 3; i++) {
+            this.checkEquals(HttpMethod.GET, parameters.value(0), "slot 0");
+            this.checkEquals(null, parameters.value(1), "slot 1");
+        }
+
+        this.checkEquals(2, gets[0], "gets");
+    }
+
+    @Test
+    public void testToString() {
+        final Map<HttpRequestAttribute<?>, Object> values = Maps.of(
+            HttpRequestAttributes.METHOD,
+            HttpMethod.GET
+        );
+
+        this.toStringAndCheck(
+            this.createParameters(values),
+            values.toString()
+        );
+    }
+
+    private HttpRequestAttributeRouterParameters createParameters(final Map<HttpRequestAttribute<?>, Object> parameters) {
+        return HttpRequestAttributeRouterParameters.with(
+            parameters,
+            PATH_NAMES,
+            ATTRIBUTES
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpRequestAttributeRouterParameters> type() {
+        return HttpRequestAttributeRouterParameters.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
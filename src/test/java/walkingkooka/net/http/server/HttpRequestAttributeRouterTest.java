@@ -0,0 +1,493 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.UrlPathName;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.route.RouteMappings;
+import walkingkooka.route.Router;
+import walkingkooka.route.RouterTesting;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+public final class HttpRequestAttributeRouterTest implements ClassTesting2<HttpRequestAttributeRouter<String>>,
+    RouterTesting,
+    ToStringTesting<HttpRequestAttributeRouter<String>> {
+
+    private final static HttpHeaderName<String> HEADER = HttpHeaderName.with("x-header").stringValues();
+
+    // method...........................................................................................................
+
+    @Test
+    public void testMethod() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(this.routing(HttpMethod.GET, "/a1"), "get")
+            .add(this.routing(HttpMethod.POST, "/a1"), "post")
+            .build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.GET, "/a1"),
+            "get"
+        );
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.POST, "/a1"),
+            "post"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.PUT, "/a1")
+        );
+    }
+
+    @Test
+    public void testSeveralMethods() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .method(HttpMethod.HEAD),
+                "get-head"
+            ).build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.HEAD, "/a1"),
+            "get-head"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.POST, "/a1")
+        );
+    }
+
+    @Test
+    public void testAnyMethod() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                HttpRequestAttributeRouting.empty()
+                    .path(UrlPath.parse("/a1")),
+                "any"
+            ).build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.DELETE, "/a1"),
+            "any"
+        );
+    }
+
+    // path.............................................................................................................
+
+    @Test
+    public void testPathLiteral() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(this.routing(HttpMethod.GET, "/a1/b2"), "a1b2")
+            .add(this.routing(HttpMethod.GET, "/a1/c3"), "a1c3")
+            .build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/c3"),
+            "a1c3"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/d4")
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.GET, "/a1")
+        );
+    }
+
+    @Test
+    public void testPathLongerThanRouting() {
+        this.routeAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(this.routing(HttpMethod.GET, "/a1"), "a1")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1/b2/c3"),
+            "a1"
+        );
+    }
+
+    @Test
+    public void testPathWildcard() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(this.routing(HttpMethod.GET, "/a1/*/c3"), "wildcard")
+            .build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/anything/c3"),
+            "wildcard"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/anything/d4")
+        );
+    }
+
+    @Test
+    public void testPathWildcardRequiresPathComponent() {
+        this.routeFails(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(this.routing(HttpMethod.GET, "/a1/*"), "wildcard")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1")
+        );
+    }
+
+    @Test
+    public void testPathComponentSkipped() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                HttpRequestAttributeRouting.empty()
+                    .pathComponent(2, UrlPathName.with("b2")),
+                "b2"
+            ).build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.GET, "/anything/b2"),
+            "b2"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.GET, "/b2")
+        );
+    }
+
+    @Test
+    public void testPathComponentPredicate() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .pathComponent(2, (n) -> null != n && n.value().startsWith("x")),
+                "x"
+            ).build();
+
+        this.routeAndCheck(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/xyz"),
+            "x"
+        );
+        this.routeFails(
+            router,
+            this.parameters(HttpMethod.GET, "/a1/abc")
+        );
+    }
+
+    @Test
+    public void testPathComponentCount() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .pathComponentCount(c -> c == 2),
+                "exact"
+            ).build();
+
+        final Map<HttpRequestAttribute<?>, Object> parameters = this.parameters(HttpMethod.GET, "/a1");
+        parameters.put(HttpRequestAttributes.PATH_COMPONENT_COUNT, 2);
+        this.routeAndCheck(
+            router,
+            parameters,
+            "exact"
+        );
+
+        parameters.put(HttpRequestAttributes.PATH_COMPONENT_COUNT, 3);
+        this.routeFails(
+            router,
+            parameters
+        );
+    }
+
+    // first wins.......................................................................................................
+
+    @Test
+    public void testFirstAddedWinsWildcardBeforeLiteral() {
+        this.routeAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(this.routing(HttpMethod.GET, "/a1/*"), "wildcard")
+                .add(this.routing(HttpMethod.GET, "/a1/b2"), "literal")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1/b2"),
+            "wildcard"
+        );
+    }
+
+    @Test
+    public void testFirstAddedWinsLiteralBeforeWildcard() {
+        this.routeAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(this.routing(HttpMethod.GET, "/a1/b2"), "literal")
+                .add(this.routing(HttpMethod.GET, "/a1/*"), "wildcard")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1/b2"),
+            "literal"
+        );
+    }
+
+    @Test
+    public void testFirstAddedWinsAnyMethodBeforeMethod() {
+        this.routeAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(
+                    HttpRequestAttributeRouting.empty()
+                        .path(UrlPath.parse("/a1")),
+                    "any"
+                ).add(this.routing(HttpMethod.GET, "/a1"), "get")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1"),
+            "any"
+        );
+    }
+
+    @Test
+    public void testFirstAddedWinsShorterPath() {
+        this.routeAndCheck(
+            HttpRequestAttributeRouterBuilder.<String>empty()
+                .add(this.routing(HttpMethod.GET, "/a1"), "short")
+                .add(this.routing(HttpMethod.GET, "/a1/b2"), "long")
+                .build(),
+            this.parameters(HttpMethod.GET, "/a1/b2"),
+            "short"
+        );
+    }
+
+    // residuals........................................................................................................
+
+    @Test
+    public void testTransport() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .transport(HttpTransport.SECURED),
+                "secured"
+            ).build();
+
+        final Map<HttpRequestAttribute<?>, Object> parameters = this.parameters(HttpMethod.GET, "/a1");
+        this.routeFails(
+            router,
+            parameters
+        );
+
+        parameters.put(HttpRequestAttributes.TRANSPORT, HttpTransport.SECURED);
+        this.routeAndCheck(
+            router,
+            parameters,
+            "secured"
+        );
+    }
+
+    @Test
+    public void testHeaderFailsFallsThroughToLaterRoute() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .headerAndValue(HEADER, "value1"),
+                "header"
+            ).add(this.routing(HttpMethod.GET, "/a1"), "no-header")
+            .build();
+
+        final Map<HttpRequestAttribute<?>, Object> parameters = this.parameters(HttpMethod.GET, "/a1");
+        this.routeAndCheck(
+            router,
+            parameters,
+            "no-header"
+        );
+
+        parameters.put(HEADER, "value1");
+        this.routeAndCheck(
+            router,
+            parameters,
+            "header"
+        );
+    }
+
+    @Test
+    public void testHeaderSharedByRoutesFetchedOnce() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .headerAndValue(HEADER, "value1"),
+                "value1"
+            ).add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .headerAndValue(HEADER, "value2"),
+                "value2"
+            ).add(
+                this.routing(HttpMethod.GET, "/a1")
+                    .headerAndValue(HEADER, "value3"),
+                "value3"
+            ).build();
+
+        final Map<HttpRequestAttribute<?>, Object> parameters = this.parameters(HttpMethod.GET, "/a1");
+        parameters.put(HEADER, "value3");
+
+        final int[] headerGets = new int[1];
+
+        this.routeAndCheck(
+            router,
+            new AbstractMap<HttpRequestAttribute<?>, Object>() {
+
+                @Override
+                public Object get(final Object key) {
+                    if (HEADER.equals(key)) {
+                        headerGets[0]++;
+                    }
+                    return parameters.get(key);
+                }
+
+                @Override
+                public Set<Entry<HttpRequestAttribute<?>, Object>> entrySet() {
+                    return parameters.entrySet();
+                }
+            },
+            "value3"
+        );
+
+        this.checkEquals(
+            1,
+            headerGets[0],
+            "header gets"
+        );
+    }
+
+    // HttpRequestRouterParametersMap...................................................................................
+
+    @Test
+    public void testRequestRouterParameters() {
+        final Router<HttpRequestAttribute<?>, String> router = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(this.routing(HttpMethod.GET, "/api/*/items"), "items")
+            .add(this.routing(HttpMethod.GET, "/api/*/orders"), "orders")
+            .build();
+
+        this.routeAndCheck(
+            router,
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /api/123/orders?page=2 HTTP/1.1\r\n" +
+                    "\r\n"
+            ).routerParameters(),
+            "orders"
+        );
+    }
+
+    // RouteMappings....................................................................................................
+
+    @Test
+    public void testSameAsRouteMappings() {
+        HttpRequestAttributeRouterBuilder<String> builder = HttpRequestAttributeRouterBuilder.empty();
+        RouteMappings<HttpRequestAttribute<?>, String> mappings = RouteMappings.empty();
+
+        for (int i = 0; i < 50; i++) {
+            final HttpRequestAttributeRouting routing = this.routing(
+                0 == i % 2 ?
+                    HttpMethod.GET :
+                    HttpMethod.POST,
+                "/api/resource" + i + "/*"
+            );
+            final String target = "target" + i;
+
+            builder = builder.add(routing, target);
+            mappings = mappings.add(routing.build(), target);
+        }
+
+        final Router<HttpRequestAttribute<?>, String> compiled = builder.build();
+        final Router<HttpRequestAttribute<?>, String> linear = mappings.router();
+
+        for (int i = 0; i < 50; i++) {
+            for (final HttpMethod method : new HttpMethod[]{HttpMethod.GET, HttpMethod.POST}) {
+                for (final String path : new String[]{"/api/resource" + i, "/api/resource" + i + "/123"}) {
+                    final Map<HttpRequestAttribute<?>, Object> parameters = this.parameters(method, path);
+
+                    this.checkEquals(
+                        linear.route(parameters),
+                        compiled.route(parameters),
+                        () -> method + " " + path
+                    );
+                }
+            }
+        }
+    }
+
+    // helpers..........................................................................................................
+
+    private HttpRequestAttributeRouting routing(final HttpMethod method,
+                                                final String path) {
+        return HttpRequestAttributeRouting.empty()
+            .method(method)
+            .path(UrlPath.parse(path));
+    }
+
+    private Map<HttpRequestAttribute<?>, Object> parameters(final HttpMethod method,
+                                                            final String path) {
+        final Map<HttpRequestAttribute<?>, Object> parameters = Maps.ordered();
+        parameters.put(HttpRequestAttributes.METHOD, method);
+
+        int i = 0;
+        for (final UrlPathName name : UrlPath.parse(path)) {
+            parameters.put(
+                HttpRequestAttributes.pathComponent(i),
+                name
+            );
+            i++;
+        }
+
+        return parameters;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final HttpRequestAttributeRouterBuilder<String> builder = HttpRequestAttributeRouterBuilder.<String>empty()
+            .add(this.routing(HttpMethod.GET, "/a1"), "target1")
+            .add(this.routing(HttpMethod.POST, "/b2"), "target2");
+
+        this.toStringAndCheck(
+            builder.build(),
+            builder.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpRequestAttributeRouter<String>> type() {
+        return Cast.to(HttpRequestAttributeRouter.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -314,6 +314,21 @@ public final class HttpRequestAttributeRoutingTest extends HttpRequestAttributeR
         this.check(routing);
     }
 
+    @Test
+    public void testPathRecordsPathNames() {
+        final HttpRequestAttributeRouting routing = this.createRouting()
+            .path(UrlPath.parse("1a/*/3c"));
+
+        this.checkEquals(
+            Maps.of(
+                1, UrlPathName.with("1a"),
+                3, UrlPathName.with("3c")
+            ),
+            routing.pathNames,
+            "pathNames"
+        );
+    }
+
     // pathComponent ...................................................................................................
 
     @Test
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.Url;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpRequestByteBufferParserTest implements ClassTesting2<HttpRequestByteBufferParser>,
+    ToStringTesting<HttpRequestByteBufferParser> {
+
+    private final static HttpTransport TRANSPORT = HttpTransport.UNSECURED;
+
+    private final static int MAX_HEADER_SIZE = 1024;
+
+    private final static int MAX_BODY_SIZE = 64;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTransportFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpRequestByteBufferParser.with(
+                null,
+                MAX_HEADER_SIZE,
+                MAX_BODY_SIZE
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxHeaderSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpRequestByteBufferParser.with(
+                TRANSPORT,
+                0,
+                MAX_BODY_SIZE
+            )
+        );
+        this.checkEquals(
+            "Invalid max header size 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxBodySizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpRequestByteBufferParser.with(
+                TRANSPORT,
+                MAX_HEADER_SIZE,
+                -1
+            )
+        );
+        this.checkEquals(
+            "Invalid max body size -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testGet() {
+        this.parseAndCheck(
+            "GET /path?abc=123 HTTP/1.1\r\n" +
+                "Host: example.com\r\n" +
+                "\r\n",
+            HttpRequests.get(
+                TRANSPORT,
+                Url.parseRelative("/path?abc=123"),
+                HttpProtocolVersion.VERSION_1_1,
+                HttpEntity.EMPTY.addHeader(HttpHeaderName.HOST, "example.com")
+            )
+        );
+    }
+
+    @Test
+    public void testGetIncomplete() {
+        this.checkEquals(
+            Optional.empty(),
+            this.createParser()
+                .apply(
+                    this.buffer("GET / HTTP/1.1\r\nHost: example.com\r\n")
+                )
+        );
+    }
+
+    @Test
+    public void testGetOneByteAtATime() {
+        final HttpRequestByteBufferParser parser = this.createParser();
+        final byte[] bytes = "GET / HTTP/1.0\r\nContent-Type: text/plain\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        Optional<HttpRequest> request = Optional.empty();
+        for (int i = 0; i < bytes.length; i++) {
+            this.checkEquals(
+                Optional.empty(),
+                request,
+                "request completed early"
+            );
+            request = parser.apply(
+                ByteBuffer.wrap(
+                    bytes,
+                    i,
+                    1
+                )
+            );
+        }
+
+        this.checkEquals(
+            Optional.of(
+                HttpRequests.get(
+                    TRANSPORT,
+                    Url.parseRelative("/"),
+                    HttpProtocolVersion.VERSION_1_0,
+                    HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                )
+            ),
+            request
+        );
+    }
+
+    @Test
+    public void testLeadingEmptyLineIgnored() {
+        this.parseAndCheck(
+            "\r\nGET / HTTP/1.0\r\n\r\n",
+            HttpRequests.get(
+                TRANSPORT,
+                Url.parseRelative("/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY
+            )
+        );
+    }
+
+    @Test
+    public void testHeaderNameIgnoresCase() {
+        final HttpRequest request = this.parse("GET / HTTP/1.1\r\ncontent-TYPE: text/plain\r\n\r\n");
+
+        this.checkEquals(
+            Optional.of(MediaType.TEXT_PLAIN),
+            HttpHeaderName.CONTENT_TYPE.header(request)
+        );
+    }
+
+    @Test
+    public void testHeaderValueWhitespaceTrimmed() {
+        this.parseAndCheck(
+            "GET / HTTP/1.1\r\nHost: \t example.com \t\r\n\r\n",
+            HttpRequests.get(
+                TRANSPORT,
+                Url.parseRelative("/"),
+                HttpProtocolVersion.VERSION_1_1,
+                HttpEntity.EMPTY.addHeader(HttpHeaderName.HOST, "example.com")
+            )
+        );
+    }
+
+    @Test
+    public void testUnknownHeader() {
+        final HttpRequest request = this.parse("GET / HTTP/1.1\r\nX-Custom: value123\r\n\r\n");
+
+        this.checkEquals(
+            Optional.of("value123"),
+            HttpHeaderName.with("X-Custom")
+                .header(request)
+                .map(Object::toString)
+        );
+    }
+
+    @Test
+    public void testUnknownMethod() {
+        this.checkEquals(
+            HttpMethod.with("PROPFIND"),
+            this.parse("PROPFIND / HTTP/1.1\r\n\r\n")
+                .method()
+        );
+    }
+
+    @Test
+    public void testPostContentLength() {
+        this.parseAndCheck(
+            "POST / HTTP/1.1\r\nContent-Length: 7\r\n\r\nBody123",
+            HttpRequests.post(
+                TRANSPORT,
+                Url.parseRelative("/"),
+                HttpProtocolVersion.VERSION_1_1,
+                HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_LENGTH, 7L)
+                    .setBody(this.binary("Body123"))
+            )
+        );
+    }
+
+    @Test
+    public void testPostContentLengthSplitBody() {
+        final HttpRequestByteBufferParser parser = this.createParser();
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.apply(
+                this.buffer("POST / HTTP/1.1\r\nContent-Length: 7\r\n\r\nBody")
+            )
+        );
+        this.checkEquals(
+            Optional.of(
+                HttpRequests.post(
+                    TRANSPORT,
+                    Url.parseRelative("/"),
+                    HttpProtocolVersion.VERSION_1_1,
+                    HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_LENGTH, 7L)
+                        .setBody(this.binary("Body123"))
+                )
+            ),
+            parser.apply(
+                this.buffer("123")
+            )
+        );
+    }
+
+    @Test
+    public void testPostChunked() {
+        this.parseAndCheck(
+            "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                "4\r\nBody\r\n" +
+                "3;name=value\r\n123\r\n" +
+                "0\r\n" +
+                "\r\n",
+            HttpRequests.post(
+                TRANSPORT,
+                Url.parseRelative("/"),
+                HttpProtocolVersion.VERSION_1_1,
+                HttpEntity.EMPTY.addHeader(HttpHeaderName.TRANSFER_ENCODING, HttpEntity.CHUNKED)
+                    .setBody(this.binary("Body123"))
+            )
+        );
+    }
+
+    @Test
+    public void testPostChunkedTrailers() {
+        final HttpRequest request = this.parse(
+            "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                "7\r\nBody123\r\n" +
+                "0\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "\r\n"
+        );
+
+        this.checkEquals(
+            Optional.of(MediaType.TEXT_PLAIN),
+            HttpHeaderName.CONTENT_TYPE.header(request),
+            "trailer"
+        );
+        this.checkEquals(
+            Optional.of(HttpEntity.CHUNKED),
+            HttpHeaderName.TRANSFER_ENCODING.header(request),
+            "transfer-encoding"
+        );
+        this.checkEquals(
+            "Body123",
+            new String(
+                request.body(),
+                StandardCharsets.US_ASCII
+            )
+        );
+    }
+
+    @Test
+    public void testPipelined() {
+        final HttpRequestByteBufferParser parser = this.createParser();
+        final ByteBuffer buffer = this.buffer(
+            "POST /1 HTTP/1.1\r\nContent-Length: 1\r\n\r\nA" +
+                "GET /2 HTTP/1.1\r\n\r\n"
+        );
+
+        this.checkEquals(
+            Url.parseRelative("/1"),
+            parser.apply(buffer)
+                .get()
+                .url(),
+            "first"
+        );
+        this.checkEquals(
+            Url.parseRelative("/2"),
+            parser.apply(buffer)
+                .get()
+                .url(),
+            "second"
+        );
+        this.checkEquals(
+            0,
+            buffer.remaining(),
+            "remaining"
+        );
+    }
+
+    @Test
+    public void testInvalidRequestLineFails() {
+        this.parseFails(
+            "invalid 2 3 4\r\n\r\n",
+            "Request line invalid: \"invalid 2 3 4\""
+        );
+    }
+
+    @Test
+    public void testRequestLineMissingVersionFails() {
+        this.parseFails(
+            "GET /\r\n\r\n",
+            "Request line invalid: \"GET /\""
+        );
+    }
+
+    @Test
+    public void testInvalidLineEndingFails() {
+        this.parseFails(
+            "GET / HTTP/1.1\n\r\n",
+            "Invalid line ending"
+        );
+    }
+
+    @Test
+    public void testHeaderMissingSeparatorFails() {
+        this.parseFails(
+            "GET / HTTP/1.1\r\nInvalid-Header\r\n\r\n",
+            "Header missing separator/value=\"Invalid-Header\""
+        );
+    }
+
+    @Test
+    public void testTransferEncodingNotChunkedFails() {
+        this.parseFails(
+            "POST / HTTP/1.1\r\nTransfer-Encoding: gzip\r\n\r\n",
+            "Transfer-Encoding \"gzip\" not supported"
+        );
+    }
+
+    @Test
+    public void testRequestLineTooLongFails() {
+        this.parseStatusFails(
+            "GET /" + this.repeat('a', MAX_HEADER_SIZE) + " HTTP/1.1\r\n\r\n",
+            HttpStatusCode.REQUEST_URI_TOO_LONG
+        );
+    }
+
+    @Test
+    public void testHeadersTooLargeFails() {
+        this.parseStatusFails(
+            "GET / HTTP/1.1\r\nX-Large: " + this.repeat('a', MAX_HEADER_SIZE) + "\r\n\r\n",
+            HttpStatusCode.withCode(431)
+        );
+    }
+
+    @Test
+    public void testContentLengthTooLargeFails() {
+        this.parseStatusFails(
+            "POST / HTTP/1.1\r\nContent-Length: " + (MAX_BODY_SIZE + 1) + "\r\n\r\n",
+            HttpStatusCode.REQUEST_ENTITY_TOO_LARGE
+        );
+    }
+
+    @Test
+    public void testChunkedTooLargeFails() {
+        this.parseStatusFails(
+            "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                Integer.toHexString(MAX_BODY_SIZE + 1) + "\r\n",
+            HttpStatusCode.REQUEST_ENTITY_TOO_LARGE
+        );
+    }
+
+    private void parseAndCheck(final String text,
+                               final HttpRequest expected) {
+        this.checkEquals(
+            expected,
+            this.parse(text),
+            () -> text
+        );
+    }
+
+    private HttpRequest parse(final String text) {
+        final ByteBuffer buffer = this.buffer(text);
+        final HttpRequest request = this.createParser()
+            .apply(buffer)
+            .orElseThrow(() -> new AssertionError("Request incomplete"));
+
+        this.checkEquals(
+            0,
+            buffer.remaining(),
+            "remaining"
+        );
+        return request;
+    }
+
+    private void parseFails(final String text,
+                            final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.parse(text)
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    private void parseStatusFails(final String text,
+                                  final HttpStatusCode status) {
+        final HttpResponseHttpServerException thrown = assertThrows(
+            HttpResponseHttpServerException.class,
+            () -> this.parse(text)
+        );
+        this.checkEquals(
+            status,
+            thrown.status()
+                .value()
+        );
+    }
+
+    private String repeat(final char c,
+                          final int count) {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            b.append(c);
+        }
+        return b.toString();
+    }
+
+    private ByteBuffer buffer(final String text) {
+        return ByteBuffer.wrap(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private Binary binary(final String text) {
+        return Binary.with(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private HttpRequestByteBufferParser createParser() {
+        return HttpRequestByteBufferParser.with(
+            TRANSPORT,
+            MAX_HEADER_SIZE,
+            MAX_BODY_SIZE
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createParser(),
+            "maxHeaderSize=1024 maxBodySize=64"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpRequestByteBufferParser> type() {
+        return HttpRequestByteBufferParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.StreamSupport;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class HttpRequestRouterParametersMapTest implements ClassTesting2<HttpRequestRouterParametersMap>,
@@ -158,6 +159,57 @@ public final class HttpRequestRouterParametersMapTest implements ClassTesting2<H
         this.getPathAndCheck(map, 3, "c3");
     }
 
+    @Test
+    public void testGetPathComponentCount() {
+        final HttpRequestRouterParametersMap map = this.createMap();
+        this.getAndCheck(
+            map,
+            HttpRequestAttributes.PATH_COMPONENT_COUNT,
+            HttpRequestAttributes.PATH_COMPONENT_COUNT.parameterValue(map.request)
+                .get()
+        );
+    }
+
+    @Test
+    public void testGetPathComponentCountNotNormalized() {
+        final HttpRequestRouterParametersMap map = this.createMap(transport(),
+            this.method(),
+            Url.parseRelative("/a1/b2/./deleted-by-double-dot-after/../c3"),
+            this.protocolVersion(),
+            this.headers(),
+            this.parameters());
+        this.getAndCheck(
+            map,
+            HttpRequestAttributes.PATH_COMPONENT_COUNT,
+            HttpRequestAttributes.PATH_COMPONENT_COUNT.parameterValue(map.request)
+                .get()
+        );
+    }
+
+    @Test
+    public void testPathNamesManyComponents() {
+        final HttpRequestRouterParametersMap map = this.createMap(transport(),
+            this.method(),
+            Url.parseRelative("/a1/b2/c3/d4/e5/f6/g7/h8/i9/j10"),
+            this.protocolVersion(),
+            this.headers(),
+            this.parameters());
+
+        final UrlPathName[] pathNames = map.pathNames();
+        this.checkEquals(11, pathNames.length, "pathNames length");
+        this.getPathAndCheck(map, 0, "");
+        this.getPathAndCheck(map, 1, "a1");
+        this.getPathAndCheck(map, 8, "h8");
+        this.getPathAndCheck(map, 10, "j10");
+        this.getAndCheckAbsent(map, HttpRequestAttributes.pathComponent(11));
+    }
+
+    @Test
+    public void testPathNamesCached() {
+        final HttpRequestRouterParametersMap map = this.createMap();
+        assertSame(map.pathNames(), map.pathNames());
+    }
+
     private void getPathAndCheck(final HttpRequestRouterParametersMap map,
                                  final int pathComponent,
                                  final String expected) {
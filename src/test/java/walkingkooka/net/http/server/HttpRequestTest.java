@@ -99,6 +99,26 @@ public final class HttpRequestTest implements ClassTesting<HttpRequest> {
         this.checkEquals(123L, this.request("text/plain", new byte[123]).bodyLength());
     }
 
+    // headerTexts......................................................................................................
+
+    @Test
+    public void testHeaderTexts() {
+        this.checkEquals(
+            Lists.of("text/plain"),
+            this.request("text/plain", new byte[0])
+                .headerTexts(HttpHeaderName.CONTENT_TYPE)
+        );
+    }
+
+    @Test
+    public void testHeaderTextsAbsent() {
+        this.checkEquals(
+            Lists.empty(),
+            this.request(null, new byte[0])
+                .headerTexts(HttpHeaderName.CONTENT_TYPE)
+        );
+    }
+
     private HttpRequest request(final String contentType,
                                 final byte[] body) {
         return new HttpRequest() {
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpResponseByteBufferParserTest implements ClassTesting2<HttpResponseByteBufferParser>,
+    ToStringTesting<HttpResponseByteBufferParser> {
+
+    private final static int MAX_HEADER_SIZE = 1024;
+
+    private final static int MAX_BODY_SIZE = 64;
+
+    @Test
+    public void testWithInvalidMaxHeaderSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpResponseByteBufferParser.with(
+                -1,
+                MAX_BODY_SIZE
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxBodySizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpResponseByteBufferParser.with(
+                MAX_HEADER_SIZE,
+                -1
+            )
+        );
+    }
+
+    @Test
+    public void testWithoutHeaders() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+
+        this.parseAndCheck(
+            "HTTP/1.1 200 OK\r\n\r\n",
+            response
+        );
+    }
+
+    @Test
+    public void testCustomMessage() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_0);
+        response.setStatus(HttpStatusCode.CREATED.setMessage("Something Created"));
+
+        this.parseAndCheck(
+            "HTTP/1.0 201 Something Created\r\n\r\n",
+            response
+        );
+    }
+
+    @Test
+    public void testMissingReasonPhrase() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+
+        this.parseAndCheck(
+            "HTTP/1.1 200\r\n\r\n",
+            response
+        );
+    }
+
+    @Test
+    public void testContentLength() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, 7L)
+                .setBody(this.binary("Body123"))
+        );
+
+        this.parseAndCheck(
+            "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 7\r\n\r\nBody123",
+            response
+        );
+    }
+
+    @Test
+    public void testChunked() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.TRANSFER_ENCODING, HttpEntity.CHUNKED)
+                .setBody(this.binary("Body123"))
+        );
+
+        this.parseAndCheck(
+            "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nBody\r\n3\r\n123\r\n0\r\n\r\n",
+            response
+        );
+    }
+
+    @Test
+    public void testNotModifiedIgnoresContentLength() {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.NOT_MODIFIED.status());
+        response.setEntity(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_LENGTH, 123L)
+        );
+
+        this.parseAndCheck(
+            "HTTP/1.1 304 Not modified\r\nContent-Length: 123\r\n\r\n",
+            response
+        );
+    }
+
+    @Test
+    public void testSplitAcrossBuffers() {
+        final HttpResponseByteBufferParser parser = this.createParser();
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.apply(this.buffer("HTTP/1.1 200 OK\r\nContent-"))
+        );
+        this.checkEquals(
+            Optional.empty(),
+            parser.apply(this.buffer("Length: 3\r\n\r\nA"))
+        );
+        this.checkEquals(
+            this.binary("ABC"),
+            parser.apply(this.buffer("BC"))
+                .get()
+                .entity()
+                .body()
+        );
+    }
+
+    @Test
+    public void testInvalidStatusFails() {
+        this.parseFails(
+            "HTTP/1.1 2000 OK\r\n\r\n",
+            "Invalid status \"HTTP/1.1 2000 OK\""
+        );
+    }
+
+    @Test
+    public void testInvalidStatusCodeFails() {
+        this.parseFails(
+            "HTTP/1.1 ABC OK\r\n\r\n",
+            "Invalid status \"HTTP/1.1 ABC OK\""
+        );
+    }
+
+    @Test
+    public void testInvalidProtocolFails() {
+        this.parseFails(
+            "invalid 200 OK\r\n\r\n",
+            "Unknown protocol=\"invalid\""
+        );
+    }
+
+    @Test
+    public void testStatusLineTooLargeFails() {
+        this.tooLargeFails(
+            "HTTP/1.1 200 " + this.repeat('a', MAX_HEADER_SIZE) + "\r\n\r\n",
+            "Start line too large, max=" + MAX_HEADER_SIZE
+        );
+    }
+
+    @Test
+    public void testHeadersTooLargeFails() {
+        this.tooLargeFails(
+            "HTTP/1.1 200 OK\r\nX-Large: " + this.repeat('a', MAX_HEADER_SIZE) + "\r\n\r\n",
+            "Headers too large, max=" + MAX_HEADER_SIZE
+        );
+    }
+
+    @Test
+    public void testBodyTooLargeFails() {
+        this.tooLargeFails(
+            "HTTP/1.1 200 OK\r\nContent-Length: " + (MAX_BODY_SIZE + 1) + "\r\n\r\n",
+            "Body too large, max=" + MAX_BODY_SIZE
+        );
+    }
+
+    @Test
+    public void testChunkedTooLargeFails() {
+        this.tooLargeFails(
+            "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                Integer.toHexString(MAX_BODY_SIZE + 1) + "\r\n",
+            "Body too large, max=" + MAX_BODY_SIZE
+        );
+    }
+
+    /**
+     * A response that is too large is not reported with a server status such as 413 or 431.
+     */
+    private void tooLargeFails(final String text,
+                               final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createParser()
+                .apply(
+                    this.buffer(text)
+                )
+        );
+        this.checkEquals(
+            HttpMessageTooLargeException.class,
+            thrown.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    private String repeat(final char c,
+                          final int count) {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            b.append(c);
+        }
+        return b.toString();
+    }
+
+    private void parseAndCheck(final String text,
+                               final HttpResponse expected) {
+        final ByteBuffer buffer = this.buffer(text);
+
+        this.checkEquals(
+            Optional.of(expected),
+            this.createParser()
+                .apply(buffer),
+            () -> text
+        );
+        this.checkEquals(
+            0,
+            buffer.remaining(),
+            "remaining"
+        );
+    }
+
+    private void parseFails(final String text,
+                            final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createParser()
+                .apply(
+                    this.buffer(text)
+                )
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    private ByteBuffer buffer(final String text) {
+        return ByteBuffer.wrap(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private Binary binary(final String text) {
+        return Binary.with(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private HttpResponseByteBufferParser createParser() {
+        return HttpResponseByteBufferParser.with(
+            MAX_HEADER_SIZE,
+            MAX_BODY_SIZE
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createParser(),
+            "maxHeaderSize=1024 maxBodySize=64"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpResponseByteBufferParser> type() {
+        return HttpResponseByteBufferParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpResponseWriterTest implements ClassTesting2<HttpResponseWriter> {
+
+    @Test
+    public void testWriteNullResponseFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpResponseWriter.write(
+                null,
+                Channels.newChannel(new ByteArrayOutputStream())
+            )
+        );
+    }
+
+    @Test
+    public void testWriteNullChannelFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpResponseWriter.write(
+                HttpResponses.recording(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWriteMissingStatusFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> HttpResponseWriter.write(
+                HttpResponses.recording(),
+                Channels.newChannel(new ByteArrayOutputStream())
+            )
+        );
+        this.checkEquals(
+            "Missing status",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWriteWithoutEntity() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_0);
+        response.setStatus(HttpStatusCode.OK.status());
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.0 200 OK\r\n\r\n"
+        );
+    }
+
+    @Test
+    public void testWriteDefaultVersion() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setStatus(HttpStatusCode.CREATED.setMessage("Something Created"));
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 201 Something Created\r\n\r\n"
+        );
+    }
+
+    @Test
+    public void testWriteHeadersAndBody() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBody(this.binary("Body123"))
+                .setContentLength()
+        );
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 200 OK\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "Content-Length: 7\r\n" +
+                "\r\n" +
+                "Body123"
+        );
+    }
+
+    @Test
+    public void testWriteBodyInputStreamLargerThanBuffer() throws IOException {
+        final StringBuilder body = new StringBuilder();
+        while (body.length() < 20000) {
+            body.append("0123456789");
+        }
+
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_LENGTH, (long) body.length())
+                .setBodyInputStream(
+                    new ByteArrayInputStream(
+                        body.toString()
+                            .getBytes(StandardCharsets.US_ASCII)
+                    )
+                )
+        );
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 200 OK\r\n" +
+                "Content-Length: " + body.length() + "\r\n" +
+                "\r\n" +
+                body
+        );
+    }
+
+    @Test
+    public void testWriteWebFileTransferTo() throws IOException {
+        final StringBuilder body = new StringBuilder();
+        while (body.length() < 20000) {
+            body.append("0123456789");
+        }
+        final byte[] bodyBytes = body.toString()
+            .getBytes(StandardCharsets.US_ASCII);
+
+        final List<WritableByteChannel> transfers = Lists.array();
+
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.addHeader(HttpHeaderName.CONTENT_LENGTH, (long) bodyBytes.length)
+                .setBodyWebFile(
+                    new FakeWebFile() {
+                        @Override
+                        public long transferTo(final WritableByteChannel target) {
+                            transfers.add(target);
+                            try {
+                                return target.write(ByteBuffer.wrap(bodyBytes));
+                            } catch (final IOException cause) {
+                                throw new WebFileException(cause.getMessage(), cause);
+                            }
+                        }
+                    }
+                )
+        );
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 200 OK\r\n" +
+                "Content-Length: " + bodyBytes.length + "\r\n" +
+                "\r\n" +
+                body
+        );
+        this.checkEquals(
+            1,
+            transfers.size(),
+            "transferTo calls"
+        );
+    }
+
+    @Test
+    public void testWriteChunked() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .setBody(this.binary("Body123"))
+                .setTransferEncodingChunked()
+        );
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 200 OK\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "7\r\n" +
+                "Body123\r\n" +
+                "0\r\n" +
+                "\r\n"
+        );
+    }
+
+    @Test
+    public void testWriteChunkedTrailers() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .addHeader(HttpHeaderName.TRAILER, Lists.of(HttpHeaderName.CONTENT_TYPE))
+                .setBody(this.binary("Body123"))
+                .setTransferEncodingChunked()
+        );
+
+        this.writeAndCheck(
+            response,
+            "HTTP/1.1 200 OK\r\n" +
+                "Trailer: Content-Type\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                "7\r\n" +
+                "Body123\r\n" +
+                "0\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "\r\n"
+        );
+    }
+
+    @Test
+    public void testWriteGathering() throws IOException {
+        final HttpResponse response = HttpResponses.recording();
+        response.setVersion(HttpProtocolVersion.VERSION_1_1);
+        response.setStatus(HttpStatusCode.OK.status());
+        response.setEntity(
+            HttpEntity.EMPTY.setBody(this.binary("Body123"))
+        );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<Integer> gatheringWrites = Lists.array();
+
+        HttpResponseWriter.write(
+            response,
+            new GatheringByteChannel() {
+
+                @Override
+                public long write(final ByteBuffer[] buffers,
+                                  final int offset,
+                                  final int length) {
+                    long count = 0;
+                    for (int i = offset; i < offset + length; i++) {
+                        count += this.write(buffers[i]);
+                    }
+                    gatheringWrites.add(length);
+                    return count;
+                }
+
+                @Override
+                public long write(final ByteBuffer[] buffers) {
+                    return this.write(buffers, 0, buffers.length);
+                }
+
+                @Override
+                public int write(final ByteBuffer buffer) {
+                    final int count = buffer.remaining();
+                    while (buffer.hasRemaining()) {
+                        bytes.write(buffer.get());
+                    }
+                    return count;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            }
+        );
+
+        this.checkEquals(
+            "HTTP/1.1 200 OK\r\n\r\nBody123",
+            new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1),
+            "written"
+        );
+        this.checkEquals(
+            Lists.of(2),
+            gatheringWrites,
+            "gathering writes"
+        );
+    }
+
+    private void writeAndCheck(final HttpResponse response,
+                               final String expected) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HttpResponseWriter.write(
+            response,
+            Channels.newChannel(bytes)
+        );
+
+        this.checkEquals(
+            expected,
+            new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1),
+            response::toString
+        );
+    }
+
+    private Binary binary(final String text) {
+        return Binary.with(
+            text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HttpResponseWriter> type() {
+        return HttpResponseWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -18,9 +18,11 @@
 package walkingkooka.net.http.server;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.SetTesting2;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Enumeration;
@@ -48,13 +50,38 @@ public final class HttpServletRequestHttpRequestHeadersMapEntrySetTest extends H
         final Map<HttpHeaderName<?>, List<?>> entries = Maps.ordered();
 
         final HttpServletRequest request = this.request();
-        for (final Entry<HttpHeaderName<?>, List<?>> e : HttpServletRequestHttpRequestHeadersMapEntrySet.with(request)) {
+        for (final Entry<HttpHeaderName<?>, List<?>> e : this.createSet(request)) {
             entries.put(e.getKey(), e.getValue());
         }
 
         this.checkEquals(Maps.of(HEADER1, list(VALUE1), HEADER2, list(VALUE2)), entries, "iterator entries");
     }
 
+    @Test
+    public void testIteratorKeysDoesNotParse() {
+        final List<HttpHeaderName<?>> headers = Lists.array();
+
+        for (final Entry<HttpHeaderName<?>, List<?>> e : this.createSet(
+            new FakeHttpServletRequest() {
+                @Override
+                public Enumeration<String> getHeaders(final String header) {
+                    return enumeration("malformed!");
+                }
+
+                @Override
+                public Enumeration<String> getHeaderNames() {
+                    return enumeration(HEADER1.value(), HEADER2.value());
+                }
+            })) {
+            headers.add(e.getKey());
+        }
+
+        this.checkEquals(
+            Lists.of(HEADER1, HEADER2),
+            headers
+        );
+    }
+
     @Test
     public void testRemoveFails() {
         this.removeFails(this.createSet(),
@@ -68,7 +95,16 @@ public final class HttpServletRequestHttpRequestHeadersMapEntrySetTest extends H
 
     @Override
     public HttpServletRequestHttpRequestHeadersMapEntrySet createSet() {
-        return HttpServletRequestHttpRequestHeadersMapEntrySet.with(this.request());
+        return this.createSet(this.request());
+    }
+
+    private HttpServletRequestHttpRequestHeadersMapEntrySet createSet(final HttpServletRequest request) {
+        return HttpServletRequestHttpRequestHeadersMapEntrySet.with(
+            HttpServletRequestHttpRequestHeadersMap.with(
+                request,
+                HttpHeaderNameParseCache.DISABLED
+            )
+        );
     }
 
     private HttpServletRequest request() {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
+
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpServletRequestHttpRequestHeadersMapEntryTest extends HttpServletRequestTestCase<HttpServletRequestHttpRequestHeadersMapEntry>
+    implements ToStringTesting<HttpServletRequestHttpRequestHeadersMapEntry> {
+
+    private final static HttpHeaderName<Long> HEADER = HttpHeaderName.CONTENT_LENGTH;
+    private final static Long VALUE = 111L;
+
+    @Test
+    public void testGetKeyDoesNotParse() {
+        final List<String> getHeaders = Lists.array();
+
+        this.checkEquals(
+            HEADER,
+            this.createEntry(getHeaders)
+                .getKey()
+        );
+        this.checkEquals(
+            Lists.empty(),
+            getHeaders,
+            "getHeaders"
+        );
+    }
+
+    @Test
+    public void testGetValue() {
+        final List<String> getHeaders = Lists.array();
+        final HttpServletRequestHttpRequestHeadersMapEntry entry = this.createEntry(getHeaders);
+
+        this.checkEquals(list(VALUE), entry.getValue());
+        this.checkEquals(list(VALUE), entry.getValue());
+
+        this.checkEquals(
+            Lists.of(HEADER.value()),
+            getHeaders,
+            "getHeaders"
+        );
+    }
+
+    @Test
+    public void testSetValueFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> this.createEntry(Lists.array())
+                .setValue(list(VALUE))
+        );
+    }
+
+    @Test
+    public void testEquals() {
+        this.checkEquals(
+            Map.entry(HEADER, list(VALUE)),
+            this.createEntry(Lists.array())
+        );
+    }
+
+    @Test
+    public void testEqualsSymmetric() {
+        this.checkEquals(
+            this.createEntry(Lists.array()),
+            Map.entry(HEADER, list(VALUE))
+        );
+    }
+
+    @Test
+    public void testHashCode() {
+        this.checkEquals(
+            Map.entry(HEADER, list(VALUE)).hashCode(),
+            this.createEntry(Lists.array()).hashCode()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createEntry(Lists.array()),
+            HEADER + "=" + list(VALUE)
+        );
+    }
+
+    private HttpServletRequestHttpRequestHeadersMapEntry createEntry(final List<String> getHeaders) {
+        return HttpServletRequestHttpRequestHeadersMapEntry.with(
+            HEADER,
+            HttpServletRequestHttpRequestHeadersMap.with(
+                new FakeHttpServletRequest() {
+                    @Override
+                    public Enumeration<String> getHeaders(final String header) {
+                        getHeaders.add(header);
+                        return enumeration("" + VALUE);
+                    }
+                },
+                HttpHeaderNameParseCache.DISABLED
+            )
+        );
+    }
+
+    @Override
+    public Class<HttpServletRequestHttpRequestHeadersMapEntry> type() {
+        return HttpServletRequestHttpRequestHeadersMapEntry.class;
+    }
+}
@@ -20,15 +20,20 @@ package walkingkooka.net.http.server;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.MapTesting2;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.net.header.ETag;
 import walkingkooka.net.header.ETagValidator;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class HttpServletRequestHttpRequestHeadersMapTest extends HttpServletRequestTestCase<HttpServletRequestHttpRequestHeadersMap>
     implements MapTesting2<HttpServletRequestHttpRequestHeadersMap, HttpHeaderName<?>, List<?>> {
 
@@ -68,6 +73,81 @@ public final class HttpServletRequestHttpRequestHeadersMapTest extends HttpServl
         this.getAndCheck(HEADER2, list(VALUE2));
     }
 
+    @Test
+    public void testGetParseCache() {
+        final HttpHeaderNameParseCache parseCache = HttpHeaderNameParseCache.with(
+            Sets.of(HEADER1),
+            10
+        );
+        final HttpServletRequestHttpRequestHeadersMap map = HttpServletRequestHttpRequestHeadersMap.with(
+            this.request(),
+            parseCache
+        );
+
+        this.checkEquals(list(VALUE1), map.get(HEADER1));
+        this.checkEquals(list(VALUE1), map.get(HEADER1));
+        this.checkEquals(list(VALUE2), map.get(HEADER2));
+
+        this.checkEquals(1L, parseCache.hitCount(), "hitCount");
+        this.checkEquals(1L, parseCache.missCount(), "missCount");
+    }
+
+    @Test
+    public void testGetParsesOnce() {
+        final List<String> getHeaders = Lists.array();
+
+        final HttpServletRequestHttpRequestHeadersMap map = HttpServletRequestHttpRequestHeadersMap.with(
+            new FakeHttpServletRequest() {
+                @Override
+                public Enumeration<String> getHeaders(final String header) {
+                    getHeaders.add(header);
+                    return enumeration("" + VALUE1);
+                }
+            },
+            HttpHeaderNameParseCache.DISABLED
+        );
+
+        final List<?> values = map.get(HEADER1);
+        this.checkEquals(list(VALUE1), values);
+        assertSame(values, map.get(HEADER1));
+
+        this.checkEquals(
+            Lists.of(HEADER1.value()),
+            getHeaders,
+            "getHeaders"
+        );
+    }
+
+    @Test
+    public void testHeaderTexts() {
+        this.checkEquals(
+            Lists.of("" + VALUE1),
+            this.createMap()
+                .headerTexts(HEADER1)
+        );
+    }
+
+    @Test
+    public void testHeaderTextsAbsent() {
+        this.checkEquals(
+            Lists.empty(),
+            this.createMap()
+                .headerTexts(HttpHeaderName.E_TAG)
+        );
+    }
+
+    @Test
+    public void testHeadersText() {
+        this.checkEquals(
+            Maps.of(
+                HEADER1, Lists.of("" + VALUE1),
+                HEADER2, Lists.of("" + VALUE2)
+            ),
+            this.createMap()
+                .headersText()
+        );
+    }
+
     @Test
     public void testGetOrDefault() {
         final HttpServletRequestHttpRequestHeadersMap map = this.createMap();
@@ -99,7 +179,10 @@ public final class HttpServletRequestHttpRequestHeadersMapTest extends HttpServl
 
     @Override
     public HttpServletRequestHttpRequestHeadersMap createMap() {
-        return HttpServletRequestHttpRequestHeadersMap.with(this.request());
+        return HttpServletRequestHttpRequestHeadersMap.with(
+            this.request(),
+            HttpHeaderNameParseCache.DISABLED
+        );
     }
 
     private HttpServletRequest request() {
@@ -32,6 +32,8 @@ import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.Cookie;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -73,6 +76,18 @@ public final class HttpServletRequestHttpRequestTest extends HttpServletRequestT
         assertThrows(NullPointerException.class, () -> HttpServletRequestHttpRequest.with(null));
     }
 
+    @Test
+    public void testWithNullParseCacheFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> HttpServletRequestHttpRequest.with(
+                new FakeHttpServletRequest() {
+                },
+                null
+            )
+        );
+    }
+
     @Test
     public void testTransport() {
         assertSame(HttpTransport.SECURED,
@@ -123,6 +138,151 @@ public final class HttpServletRequestHttpRequestTest extends HttpServletRequestT
         assertArrayEquals(BYTES, this.createRequest().body());
     }
 
+    @Test
+    public void testBodyTwice() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        final byte[] body = request.body();
+
+        assertArrayEquals(BYTES, body);
+        assertArrayEquals(BYTES, request.body());
+        assertNotSame(body, request.body());
+    }
+
+    @Test
+    public void testBodyLength() {
+        this.checkEquals(
+            (long) BYTES.length,
+            this.createRequest()
+                .bodyLength()
+        );
+    }
+
+    @Test
+    public void testBodyInputStream() throws IOException {
+        try (final InputStream inputStream = this.createRequest().bodyInputStream()) {
+            assertArrayEquals(
+                BYTES,
+                inputStream.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testBodyInputStreamAfterBody() throws IOException {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.body();
+
+        try (final InputStream inputStream = request.bodyInputStream()) {
+            assertArrayEquals(
+                BYTES,
+                inputStream.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testBodyAfterBodyInputStreamFails() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.bodyInputStream();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            request::body
+        );
+        this.checkEquals(
+            "Body already consumed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testBodyTextAfterBodyInputStreamFails() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.bodyInputStream();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            request::bodyText
+        );
+        this.checkEquals(
+            "Body already consumed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testBodyInputStreamTwiceFails() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.bodyInputStream();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            request::bodyInputStream
+        );
+        this.checkEquals(
+            "Body already consumed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testBodyLengthAfterBody() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.body();
+
+        this.checkEquals(
+            (long) BYTES.length,
+            request.bodyLength()
+        );
+    }
+
+    @Test
+    public void testBodyLengthAfterBodyInputStream() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.bodyInputStream();
+
+        this.checkEquals(
+            Header1,
+            request.bodyLength()
+        );
+    }
+
+    @Test
+    public void testBodyLengthAfterBodyInputStreamContentLengthUnknownFails() {
+        final HttpServletRequestHttpRequest request = this.createRequest(
+            URL,
+            -1
+        );
+        request.bodyInputStream();
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            request::bodyLength
+        );
+        this.checkEquals(
+            "Body already consumed",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testHeadersAndToStringAfterBodyInputStream() {
+        final HttpServletRequestHttpRequest request = this.createRequest();
+        request.bodyInputStream();
+
+        this.checkEquals(
+            list("" + Header1),
+            request.headerTexts(HEADER1)
+        );
+        this.toStringAndCheck(
+            request,
+            "SECURED\r\n" +
+                "POST /path/file?abc=123 HTTP/1.1\r\n" +
+                "Content-Length: 111\r\n" +
+                "Server: Server2\r\n"
+        );
+    }
+
     @Test
     public void testBodyTextCharsetHeaderAbsent() {
         this.checkEquals(new String(BYTES, HttpEntity.CHARSET), this.createRequest().bodyText());
@@ -204,6 +364,24 @@ public final class HttpServletRequestHttpRequestTest extends HttpServletRequestT
             this.createRequest().parameterValues(HttpRequestParameterName.with(PARAMETER1)));
     }
 
+    @Test
+    public void testHeaderTexts() {
+        this.checkEquals(
+            list("" + Header1),
+            this.createRequest()
+                .headerTexts(HEADER1)
+        );
+    }
+
+    @Test
+    public void testHeaderTextsAbsent() {
+        this.checkEquals(
+            list(),
+            this.createRequest()
+                .headerTexts(HttpHeaderName.E_TAG)
+        );
+    }
+
     @Test
     public void testToString() {
         this.toStringAndCheck(this.createRequest(),
@@ -219,6 +397,14 @@ public final class HttpServletRequestHttpRequestTest extends HttpServletRequestT
     }
 
     private HttpServletRequestHttpRequest createRequest(final String url) {
+        return this.createRequest(
+            url,
+            Header1
+        );
+    }
+
+    private HttpServletRequestHttpRequest createRequest(final String url,
+                                                        final long contentLength) {
         final int queryStringStart = url.indexOf('?');
 
         return HttpServletRequestHttpRequest.with(new FakeHttpServletRequest() {
@@ -284,6 +470,11 @@ public final class HttpServletRequestHttpRequestTest extends HttpServletRequestT
                 return new Cookie[]{new Cookie(COOKIENAME, COOKIEVALUE)};
             }
 
+            @Override
+            public long getContentLengthLong() {
+                return contentLength;
+            }
+
             @Override
             public ServletInputStream getInputStream() {
                 final ByteArrayInputStream bytes = new ByteArrayInputStream(BYTES);
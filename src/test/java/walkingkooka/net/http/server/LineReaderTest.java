@@ -20,8 +20,10 @@ package walkingkooka.net.http.server;
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.net.header.HeaderException;
 import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.HttpHeaderNameParseCache;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.net.http.HasHeaders;
 import walkingkooka.net.http.HttpEntity;
@@ -32,6 +34,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class LineReaderTest implements ClassTesting2<LineReader>, ToStringTesting<LineReader> {
@@ -122,6 +125,37 @@ public final class LineReaderTest implements ClassTesting2<LineReader>, ToString
         );
     }
 
+    @Test
+    public void testReadHeadersParseCache() {
+        final HttpHeaderNameParseCache parseCache = HttpHeaderNameParseCache.with(
+            Sets.of(HttpHeaderName.CONTENT_TYPE),
+            10
+        );
+        final String text = "Content-Type: text/plain\r\nContent-Length: 123\r\n";
+
+        final HttpEntity first = LineReader.with(
+            text,
+            parseCache
+        ).readHeaders();
+        final HttpEntity second = LineReader.with(
+            text,
+            parseCache
+        ).readHeaders();
+
+        this.checkEquals(
+            HttpEntity.EMPTY.setContentType(MediaType.TEXT_PLAIN)
+                .addHeader(HttpHeaderName.CONTENT_LENGTH, 123L),
+            second
+        );
+        assertSame(
+            HttpHeaderName.CONTENT_TYPE.headerOrFail(first),
+            HttpHeaderName.CONTENT_TYPE.headerOrFail(second),
+            "Content-Type should have been reused"
+        );
+        this.checkEquals(1L, parseCache.hitCount(), "hitCount");
+        this.checkEquals(1L, parseCache.missCount(), "missCount");
+    }
+
     // ToString.........................................................................................................
 
     @Test
@@ -36,6 +36,7 @@ import walkingkooka.net.http.HttpEntity;
 import walkingkooka.net.http.HttpProtocolVersion;
 import walkingkooka.net.http.HttpStatusCode;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -312,6 +313,46 @@ public final class RangeAwareHttpResponseTest extends BufferingHttpResponseTestC
             multipart3);
     }
 
+    @Test
+    public void testRangeUnknownContentLengthUnchanged() {
+        final HttpEntity entity = HttpEntity.EMPTY
+            .addHeader(HttpHeaderName.SERVER, "Server123")
+            .setBodyInputStream(new ByteArrayInputStream(BODY));
+
+        this.rangeUnchangedAndCheck("bytes=1-2", entity);
+    }
+
+    @Test
+    public void testRangeTooManyRangesUnchanged() {
+        final StringBuilder ranges = new StringBuilder("bytes=");
+        for (int i = 0; i <= HttpHandlerWebFile.MAX_RANGES; i++) {
+            if (i > 0) {
+                ranges.append(',');
+            }
+            ranges.append(i)
+                .append('-')
+                .append(i);
+        }
+
+        this.rangeUnchangedAndCheck(
+            ranges.toString(),
+            this.httpEntity()
+        );
+    }
+
+    private void rangeUnchangedAndCheck(final String requestRanges,
+                                        final HttpEntity entity) {
+        this.setVersionStatusAddEntityAndCheck(
+            this.createRequest(RangeHeader.parse(requestRanges), IF_RANGE_ABSENT),
+            HttpProtocolVersion.VERSION_1_1,
+            HttpStatusCode.OK.status(),
+            entity,
+            HttpProtocolVersion.VERSION_1_1,
+            HttpStatusCode.OK.status(),
+            entity
+        );
+    }
+
     private ContentRange contentRange(final long lower, final long upper) {
         return ContentRange.with(RangeHeaderUnit.BYTES,
             Optional.of(Range.greaterThanEquals(lower).and(Range.lessThanEquals(upper))),
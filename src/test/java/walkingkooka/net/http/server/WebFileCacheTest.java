@@ -0,0 +1,443 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Either;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpStatus;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WebFileCacheTest implements ClassTesting2<WebFileCache>,
+    ToStringTesting<WebFileCache> {
+
+    private final static UrlPath PATH1 = UrlPath.parse("/file1.txt");
+    private final static UrlPath PATH2 = UrlPath.parse("/file2.txt");
+    private final static UrlPath PATH3 = UrlPath.parse("/file3.txt");
+
+    private final static LocalDateTime LAST_MODIFIED = LocalDateTime.of(2000, 1, 2, 3, 4, 5);
+    private final static MediaType CONTENT_TYPE = MediaType.TEXT_PLAIN;
+    private final static String CONTENT = "abc123";
+
+    private final static HttpStatus NOT_FOUND = HttpStatusCode.NOT_FOUND.status();
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFilesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileCache.with(
+                null,
+                1,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> WebFileCache.with(
+                this.files(),
+                0,
+                0
+            )
+        );
+        this.checkEquals(
+            "Invalid maxEntries 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxBodySizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> WebFileCache.with(
+                this.files(),
+                1,
+                -1
+            )
+        );
+        this.checkEquals(
+            "Invalid maxBodySize -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // apply............................................................................................................
+
+    @Test
+    public void testApplyNotFound() {
+        final WebFileCache cache = WebFileCache.with(
+            this.files(),
+            10,
+            0
+        );
+        this.checkEquals(
+            Either.right(NOT_FOUND),
+            cache.apply(UrlPath.parse("/unknown"))
+        );
+        this.countsAndCheck(cache, 0, 0, 0);
+    }
+
+    @Test
+    public void testApplyMiss() throws IOException {
+        final WebFileCache cache = WebFileCache.with(
+            this.files(),
+            10,
+            0
+        );
+        final WebFile file = cache.apply(PATH1)
+            .leftValue();
+
+        this.checkEquals(LAST_MODIFIED, file.lastModified(), "lastModified");
+        this.checkEquals(CONTENT_TYPE, file.contentType(), "contentType");
+        this.checkEquals((long) CONTENT.length(), file.contentSize(), "contentSize");
+        this.checkEquals(Optional.of(ETag.strong(PATH1.value().substring(1))), file.etag(), "etag");
+        this.contentAndCheck(file);
+
+        this.countsAndCheck(cache, 1, 0, 1);
+    }
+
+    @Test
+    public void testApplyHit() {
+        final TestFiles files = this.files();
+        final WebFileCache cache = WebFileCache.with(
+            files,
+            10,
+            0
+        );
+        cache.apply(PATH1);
+        cache.apply(PATH1);
+        cache.apply(PATH1);
+
+        this.countsAndCheck(cache, 1, 2, 1);
+        this.checkEquals(
+            1,
+            files.etagCount,
+            "etag should only be computed once"
+        );
+    }
+
+    @Test
+    public void testApplyHitReadsLatestFile() throws IOException {
+        final TestFiles files = this.files();
+        final WebFileCache cache = WebFileCache.with(
+            files,
+            10,
+            0
+        );
+        cache.apply(PATH1);
+
+        final WebFile file = cache.apply(PATH1)
+            .leftValue();
+        this.contentAndCheck(file);
+        this.checkEquals(
+            1,
+            files.contentCount,
+            "content read count"
+        );
+    }
+
+    @Test
+    public void testApplyLastModifiedChanged() {
+        final TestFiles files = this.files();
+        final WebFileCache cache = WebFileCache.with(
+            files,
+            10,
+            0
+        );
+        cache.apply(PATH1);
+
+        files.lastModified = LAST_MODIFIED.plusSeconds(1);
+        this.checkEquals(
+            files.lastModified,
+            cache.apply(PATH1)
+                .leftValue()
+                .lastModified()
+        );
+
+        this.countsAndCheck(cache, 1, 0, 2);
+    }
+
+    @Test
+    public void testApplySizeChanged() {
+        final TestFiles files = this.files();
+        final WebFileCache cache = WebFileCache.with(
+            files,
+            10,
+            0
+        );
+        cache.apply(PATH1);
+
+        files.content = "different";
+        this.checkEquals(
+            9L,
+            cache.apply(PATH1)
+                .leftValue()
+                .contentSize()
+        );
+
+        this.countsAndCheck(cache, 1, 0, 2);
+    }
+
+    @Test
+    public void testApplyCachesSmallBody() throws IOException {
+        final TestFiles files = this.files();
+        final WebFileCache cache = WebFileCache.with(
+            files,
+            10,
+            CONTENT.length()
+        );
+        final WebFile file = cache.apply(PATH1)
+            .leftValue();
+        this.checkEquals(
+            1,
+            files.contentCount,
+            "content read count"
+        );
+
+        this.contentAndCheck(file);
+        this.contentAndCheck(
+            cache.apply(PATH1)
+                .leftValue()
+        );
+
+        this.checkEquals(
+            1,
+            files.contentCount,
+            "content should only be read once"
+        );
+    }
+
+    @Test
+    public void testApplyDoesntCacheLargeBody() {
+        final WebFileCache cache = WebFileCache.with(
+            this.files(),
+            10,
+            CONTENT.length() - 1
+        );
+        this.checkEquals(
+            null,
+            ((WebFileCacheWebFile) cache.apply(PATH1).leftValue()).body
+        );
+    }
+
+    @Test
+    public void testApplyLargeFileNotReachable() throws Exception {
+        final List<WeakReference<WebFile>> resolved = Lists.array();
+        final WebFileCache cache = WebFileCache.with(
+            new TestFiles() {
+                @Override
+                WebFile file(final UrlPath path) {
+                    final WebFile file = super.file(path);
+                    resolved.add(new WeakReference<>(file));
+                    return file;
+                }
+            },
+            10,
+            CONTENT.length() - 1
+        );
+
+        this.applyAndContent(cache);
+        this.applyAndContent(cache);
+        this.countsAndCheck(cache, 1, 1, 1);
+
+        for (int i = 0; i < 10 && resolved.stream().anyMatch(r -> null != r.get()); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        for (final WeakReference<WebFile> file : resolved) {
+            this.checkEquals(
+                null,
+                file.get(),
+                "resolved file larger than maxBodySize should not be reachable from the cache"
+            );
+        }
+        this.checkEquals(1, cache.size(), "size");
+    }
+
+    private void applyAndContent(final WebFileCache cache) throws IOException {
+        this.contentAndCheck(
+            cache.apply(PATH1)
+                .leftValue()
+        );
+    }
+
+    @Test
+    public void testApplyEvictsLeastRecentlyUsed() {
+        final WebFileCache cache = WebFileCache.with(
+            this.files(),
+            2,
+            0
+        );
+        cache.apply(PATH1);
+        cache.apply(PATH2);
+        cache.apply(PATH1); // PATH2 is now least recently used
+        cache.apply(PATH3); // evicts PATH2
+
+        this.countsAndCheck(cache, 2, 1, 3);
+
+        cache.apply(PATH1);
+        this.countsAndCheck(cache, 2, 2, 3);
+
+        cache.apply(PATH2);
+        this.countsAndCheck(cache, 2, 2, 4);
+    }
+
+    private void contentAndCheck(final WebFile file) throws IOException {
+        try (final InputStream content = file.content()) {
+            assertArrayEquals(
+                CONTENT.getBytes(StandardCharsets.UTF_8),
+                content.readAllBytes()
+            );
+        }
+    }
+
+    private void countsAndCheck(final WebFileCache cache,
+                                final int size,
+                                final long hitCount,
+                                final long missCount) {
+        this.checkEquals(size, cache.size(), "size");
+        this.checkEquals(hitCount, cache.hitCount(), "hitCount");
+        this.checkEquals(missCount, cache.missCount(), "missCount");
+    }
+
+    private TestFiles files() {
+        return new TestFiles();
+    }
+
+    /**
+     * Creates a new {@link WebFile} for every request, counting etag and content calls.
+     */
+    static class TestFiles implements Function<UrlPath, Either<WebFile, HttpStatus>> {
+
+        @Override
+        public Either<WebFile, HttpStatus> apply(final UrlPath path) {
+            return path.value().startsWith("/file") ?
+                Either.left(this.file(path)) :
+                Either.right(NOT_FOUND);
+        }
+
+        WebFile file(final UrlPath path) {
+            final LocalDateTime lastModified = this.lastModified;
+            final String content = this.content;
+
+            return new FakeWebFile() {
+                @Override
+                public LocalDateTime lastModified() {
+                    return lastModified;
+                }
+
+                @Override
+                public MediaType contentType() {
+                    return CONTENT_TYPE;
+                }
+
+                @Override
+                public long contentSize() {
+                    return content.length();
+                }
+
+                @Override
+                public InputStream content() {
+                    TestFiles.this.contentCount++;
+                    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public Optional<ETag> etag() {
+                    TestFiles.this.etagCount++;
+                    return Optional.of(
+                        ETag.strong(
+                            path.value()
+                                .substring(1)
+                        )
+                    );
+                }
+
+                @Override
+                public String toString() {
+                    return path.value();
+                }
+            };
+        }
+
+        LocalDateTime lastModified = LAST_MODIFIED;
+
+        String content = CONTENT;
+
+        int contentCount;
+
+        int etagCount;
+
+        @Override
+        public String toString() {
+            return "TestFiles";
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            WebFileCache.with(
+                this.files(),
+                1,
+                0
+            ),
+            "WebFileCache TestFiles"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<WebFileCache> type() {
+        return WebFileCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
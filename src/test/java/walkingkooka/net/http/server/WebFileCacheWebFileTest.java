@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.ETag;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WebFileCacheWebFileTest implements ClassTesting2<WebFileCacheWebFile>,
+    ToStringTesting<WebFileCacheWebFile> {
+
+    private final static UrlPath PATH = UrlPath.parse("/file123.txt");
+
+    private final static LocalDateTime LAST_MODIFIED = LocalDateTime.of(2000, 1, 2, 3, 4, 5);
+    private final static MediaType CONTENT_TYPE = MediaType.TEXT_PLAIN;
+    private final static byte[] CONTENT = "abc123".getBytes(StandardCharsets.UTF_8);
+    private final static Optional<ETag> ETAG = Optional.of(ETag.weak("123"));
+
+    @Test
+    public void testWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileCacheWebFile.with(
+                null,
+                this.file(),
+                LAST_MODIFIED,
+                CONTENT.length,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullFileFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileCacheWebFile.with(
+                PATH,
+                null,
+                LAST_MODIFIED,
+                CONTENT.length,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final WebFileCacheWebFile file = this.createWebFile(null);
+
+        this.checkEquals(LAST_MODIFIED, file.lastModified(), "lastModified");
+        this.checkEquals(CONTENT_TYPE, file.contentType(), "contentType");
+        this.checkEquals((long) CONTENT.length, file.contentSize(), "contentSize");
+        this.checkEquals(ETAG, file.etag(), "etag");
+    }
+
+    @Test
+    public void testWithDoesntKeepFile() {
+        this.checkEquals(
+            null,
+            this.createWebFile(null).file
+        );
+    }
+
+    @Test
+    public void testIsSame() {
+        this.isSameAndCheck(
+            LAST_MODIFIED,
+            CONTENT.length,
+            true
+        );
+    }
+
+    @Test
+    public void testIsSameDifferentLastModified() {
+        this.isSameAndCheck(
+            LAST_MODIFIED.plusSeconds(1),
+            CONTENT.length,
+            false
+        );
+    }
+
+    @Test
+    public void testIsSameDifferentSize() {
+        this.isSameAndCheck(
+            LAST_MODIFIED,
+            CONTENT.length + 1,
+            false
+        );
+    }
+
+    private void isSameAndCheck(final LocalDateTime lastModified,
+                                final long contentSize,
+                                final boolean expected) {
+        this.checkEquals(
+            expected,
+            this.createWebFile(null)
+                .isSame(lastModified, contentSize)
+        );
+    }
+
+    @Test
+    public void testContentWithoutFileFails() {
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> this.createWebFile(null)
+                .content()
+        );
+        this.checkEquals(
+            "Missing file for /file123.txt",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testContentFromFile() throws IOException {
+        this.contentAndCheck(
+            this.createWebFile(null)
+                .setFile(this.file())
+        );
+    }
+
+    @Test
+    public void testSetFileDoesntChangeEntry() {
+        final WebFileCacheWebFile entry = this.createWebFile(null);
+        final WebFile file = this.file();
+
+        this.checkEquals(
+            file,
+            entry.setFile(file).file,
+            "file"
+        );
+        this.checkEquals(
+            null,
+            entry.file,
+            "entry file"
+        );
+    }
+
+    @Test
+    public void testContentFromBody() throws IOException {
+        this.contentAndCheck(
+            WebFileCacheWebFile.with(
+                PATH,
+                this.file(),
+                LAST_MODIFIED,
+                CONTENT.length,
+                Binary.with(CONTENT)
+            ).setFile(WebFiles.fake())
+        );
+    }
+
+    @Test
+    public void testSetFileWithBodySame() {
+        final WebFileCacheWebFile file = this.createWebFile(Binary.with(CONTENT));
+        assertSame(
+            file,
+            file.setFile(WebFiles.fake())
+        );
+    }
+
+    @Test
+    public void testTransferToFromBody() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            (long) CONTENT.length,
+            this.createWebFile(Binary.with(CONTENT))
+                .setFile(WebFiles.fake())
+                .transferTo(Channels.newChannel(output))
+        );
+        assertArrayEquals(
+            CONTENT,
+            output.toByteArray()
+        );
+    }
+
+    private void contentAndCheck(final WebFile file) throws IOException {
+        try (final InputStream content = file.content()) {
+            assertArrayEquals(
+                CONTENT,
+                content.readAllBytes()
+            );
+        }
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createWebFile(null),
+            "/file123.txt"
+        );
+    }
+
+    private WebFileCacheWebFile createWebFile(final Binary body) {
+        return WebFileCacheWebFile.with(
+            PATH,
+            this.file(),
+            LAST_MODIFIED,
+            CONTENT.length,
+            body
+        );
+    }
+
+    private WebFile file() {
+        return new FakeWebFile() {
+            @Override
+            public MediaType contentType() {
+                return CONTENT_TYPE;
+            }
+
+            @Override
+            public InputStream content() {
+                return new ByteArrayInputStream(CONTENT);
+            }
+
+            @Override
+            public Optional<ETag> etag() {
+                return ETAG;
+            }
+
+            @Override
+            public String toString() {
+                return "file123";
+            }
+        };
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<WebFileCacheWebFile> type() {
+        return WebFileCacheWebFile.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
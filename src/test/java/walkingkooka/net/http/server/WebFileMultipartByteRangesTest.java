@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.Range;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeBoundary;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WebFileMultipartByteRangesTest implements ClassTesting2<WebFileMultipartByteRanges> {
+
+    private final static String CONTENT = "abc123def456";
+
+    private final static MediaType CONTENT_TYPE = MediaType.TEXT_PLAIN;
+
+    private final static MediaTypeBoundary BOUNDARY = MediaTypeBoundary.with("boundary123");
+
+    private final static String MULTIPART = "--boundary123\r\n" +
+        "Content-Type: text/plain\r\n" +
+        "Content-Range: bytes 0-2/12\r\n" +
+        "\r\n" +
+        "abc" +
+        "\r\n--boundary123\r\n" +
+        "Content-Type: text/plain\r\n" +
+        "Content-Range: bytes 6-11/12\r\n" +
+        "\r\n" +
+        "def456" +
+        "\r\n--boundary123--\r\n";
+
+    @Test
+    public void testWithNullFileFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileMultipartByteRanges.with(null, CONTENT_TYPE, Lists.empty(), BOUNDARY)
+        );
+    }
+
+    @Test
+    public void testWithNullContentTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileMultipartByteRanges.with(this.file(new int[1]), null, Lists.empty(), BOUNDARY)
+        );
+    }
+
+    @Test
+    public void testWithNullRangesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileMultipartByteRanges.with(this.file(new int[1]), CONTENT_TYPE, null, BOUNDARY)
+        );
+    }
+
+    @Test
+    public void testWithNullBoundaryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileMultipartByteRanges.with(this.file(new int[1]), CONTENT_TYPE, Lists.empty(), null)
+        );
+    }
+
+    @Test
+    public void testContentType() {
+        this.checkEquals(
+            BOUNDARY.multipartByteRanges(),
+            this.createMultipart(new int[1])
+                .contentType()
+        );
+    }
+
+    @Test
+    public void testContentSize() {
+        this.checkEquals(
+            (long) MULTIPART.length(),
+            this.createMultipart(new int[1])
+                .contentSize()
+        );
+    }
+
+    @Test
+    public void testContent() throws IOException {
+        final int[] opened = new int[1];
+
+        try (final InputStream content = this.createMultipart(opened).content()) {
+            this.checkEquals(
+                0,
+                opened[0],
+                "content should not be opened until read"
+            );
+
+            this.checkEquals(
+                MULTIPART,
+                new String(content.readAllBytes(), StandardCharsets.UTF_8)
+            );
+        }
+
+        this.checkEquals(
+            2,
+            opened[0],
+            "opened"
+        );
+    }
+
+    @Test
+    public void testContentSingleBytes() throws IOException {
+        final StringBuilder b = new StringBuilder();
+
+        try (final InputStream content = this.createMultipart(new int[1]).content()) {
+            for (; ; ) {
+                final int c = content.read();
+                if (-1 == c) {
+                    break;
+                }
+                b.append((char) c);
+            }
+        }
+
+        this.checkEquals(
+            MULTIPART,
+            b.toString()
+        );
+    }
+
+    @Test
+    public void testContentReadAfterClose() throws IOException {
+        final InputStream content = this.createMultipart(new int[1]).content();
+        content.read();
+        content.close();
+
+        this.checkEquals(
+            -1,
+            content.read()
+        );
+    }
+
+    private WebFileMultipartByteRanges createMultipart(final int[] opened) {
+        return WebFileMultipartByteRanges.with(
+            this.file(opened),
+            CONTENT_TYPE,
+            Lists.of(
+                Range.greaterThanEquals(0L).and(Range.lessThanEquals(2L)),
+                Range.greaterThanEquals(6L).and(Range.lessThanEquals(11L))
+            ),
+            BOUNDARY
+        );
+    }
+
+    private WebFile file(final int[] opened) {
+        return new FakeWebFile() {
+
+            @Override
+            public long contentSize() {
+                return CONTENT.length();
+            }
+
+            @Override
+            public InputStream content() throws WebFileException {
+                opened[0]++;
+                return new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<WebFileMultipartByteRanges> type() {
+        return WebFileMultipartByteRanges.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
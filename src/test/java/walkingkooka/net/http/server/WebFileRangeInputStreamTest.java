@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WebFileRangeInputStreamTest implements ClassTesting2<WebFileRangeInputStream> {
+
+    @Test
+    public void testWithNullInputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileRangeInputStream.with(null, 1)
+        );
+    }
+
+    @Test
+    public void testWithInvalidCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WebFileRangeInputStream.with(this.input("abc"), -1)
+        );
+    }
+
+    @Test
+    public void testReadAll() throws IOException {
+        this.readAndCheck(
+            "abc123",
+            3,
+            "abc"
+        );
+    }
+
+    @Test
+    public void testReadCountGreaterThanInput() throws IOException {
+        this.readAndCheck(
+            "abc",
+            100,
+            "abc"
+        );
+    }
+
+    @Test
+    public void testReadZeroCount() throws IOException {
+        this.readAndCheck(
+            "abc",
+            0,
+            ""
+        );
+    }
+
+    @Test
+    public void testReadSingleBytes() throws IOException {
+        final InputStream input = WebFileRangeInputStream.with(
+            this.input("abc"),
+            2
+        );
+
+        this.checkEquals('a', input.read());
+        this.checkEquals('b', input.read());
+        this.checkEquals(-1, input.read());
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        final boolean[] closed = new boolean[1];
+
+        WebFileRangeInputStream.with(
+            new ByteArrayInputStream(new byte[0]) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            },
+            1
+        ).close();
+
+        this.checkEquals(
+            true,
+            closed[0]
+        );
+    }
+
+    private void readAndCheck(final String input,
+                              final long count,
+                              final String expected) throws IOException {
+        this.checkEquals(
+            expected,
+            new String(
+                WebFileRangeInputStream.with(
+                    this.input(input),
+                    count
+                ).readAllBytes(),
+                StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    private InputStream input(final String text) {
+        return new ByteArrayInputStream(
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<WebFileRangeInputStream> type() {
+        return WebFileRangeInputStream.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.net.http.server;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WebFileRangeTest implements ClassTesting2<WebFileRange>,
+    ToStringTesting<WebFileRange> {
+
+    private final static String CONTENT = "abc123def456";
+
+    @Test
+    public void testWithNullFileFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WebFileRange.with(null, 0, 1)
+        );
+    }
+
+    @Test
+    public void testWithInvalidPositionFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WebFileRange.with(this.file(), -1, 1)
+        );
+    }
+
+    @Test
+    public void testWithInvalidCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WebFileRange.with(this.file(), 0, -1)
+        );
+    }
+
+    @Test
+    public void testContentSize() {
+        this.checkEquals(
+            6L,
+            this.createRange()
+                .contentSize()
+        );
+    }
+
+    @Test
+    public void testContent() throws IOException {
+        try (final InputStream content = this.createRange().content()) {
+            this.checkEquals(
+                "123def",
+                new String(content.readAllBytes(), StandardCharsets.UTF_8)
+            );
+        }
+    }
+
+    @Test
+    public void testTransferTo() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            6L,
+            this.createRange()
+                .transferTo(
+                    Channels.newChannel(output)
+                )
+        );
+        this.checkEquals(
+            "123def",
+            new String(output.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createRange(),
+            "file 3-8"
+        );
+    }
+
+    private WebFileRange createRange() {
+        return WebFileRange.with(
+            this.file(),
+            3,
+            6
+        );
+    }
+
+    private WebFile file() {
+        return new FakeWebFile() {
+
+            @Override
+            public InputStream content() throws WebFileException {
+                return new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String toString() {
+                return "file";
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<WebFileRange> type() {
+        return WebFileRange.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -24,9 +24,14 @@ import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class WebFileTest implements ClassTesting2<WebFile> {
 
     @Test
@@ -46,6 +51,135 @@ public final class WebFileTest implements ClassTesting2<WebFile> {
         }.contentText(StandardCharsets.UTF_16));
     }
 
+    @Test
+    public void testTransferTo() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            12L,
+            this.webFile("abc123def456")
+                .transferTo(
+                    Channels.newChannel(output)
+                )
+        );
+        this.checkEquals(
+            "abc123def456",
+            new String(output.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testTransferToRegion() {
+        this.transferToAndCheck(
+            3,
+            6,
+            "123def"
+        );
+    }
+
+    @Test
+    public void testTransferToRegionCountGreaterThanContent() {
+        this.transferToAndCheck(
+            6,
+            100,
+            "def456"
+        );
+    }
+
+    @Test
+    public void testTransferToRegionPositionAfterEnd() {
+        this.transferToAndCheck(
+            100,
+            1,
+            ""
+        );
+    }
+
+    private void transferToAndCheck(final long position,
+                                    final long count,
+                                    final String expected) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        this.checkEquals(
+            (long) expected.length(),
+            this.webFile("abc123def456")
+                .transferTo(
+                    position,
+                    count,
+                    Channels.newChannel(output)
+                ),
+            "transferred"
+        );
+        this.checkEquals(
+            expected,
+            new String(output.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void testContentRegionInvalidPositionFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.webFile("abc").content(-1, 1)
+        );
+    }
+
+    @Test
+    public void testContentRegionInvalidCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.webFile("abc").content(0, -1)
+        );
+    }
+
+    @Test
+    public void testContentRegion() throws IOException {
+        this.contentAndCheck(
+            3,
+            6,
+            "123def"
+        );
+    }
+
+    @Test
+    public void testContentRegionCountGreaterThanContent() throws IOException {
+        this.contentAndCheck(
+            6,
+            100,
+            "def456"
+        );
+    }
+
+    @Test
+    public void testContentRegionPositionAfterEnd() throws IOException {
+        this.contentAndCheck(
+            100,
+            1,
+            ""
+        );
+    }
+
+    private void contentAndCheck(final long position,
+                                 final long count,
+                                 final String expected) throws IOException {
+        try (final InputStream content = this.webFile("abc123def456").content(position, count)) {
+            this.checkEquals(
+                expected,
+                new String(content.readAllBytes(), StandardCharsets.UTF_8)
+            );
+        }
+    }
+
+    private WebFile webFile(final String content) {
+        return new FakeWebFile() {
+
+            @Override
+            public InputStream content() throws WebFileException {
+                return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
     @Override
     public Class<WebFile> type() {
         return WebFile.class;